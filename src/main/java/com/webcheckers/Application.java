@@ -1,16 +1,55 @@
 package com.webcheckers;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.webcheckers.ai.AlphaBetaEngine;
+import com.webcheckers.ai.BookEngine;
+import com.webcheckers.ai.EndgameTablebase;
+import com.webcheckers.ai.Engine;
+import com.webcheckers.ai.MctsEngine;
+import com.webcheckers.ai.OpeningBook;
+import com.webcheckers.appl.ComputerMoveScheduler;
+import com.webcheckers.appl.ComputerPlayer;
 import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveTypeAdapter;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Ratings;
+import com.webcheckers.model.ScoreCounters;
+import com.webcheckers.model.ScoreLog;
 import com.webcheckers.model.TournamentScoreboard;
 import com.webcheckers.ui.WebServer;
+import com.webcheckers.appl.FileSessionStore;
+import com.webcheckers.appl.GameArchive;
 import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.GameRouter;
+import com.webcheckers.appl.InMemorySessionStore;
+import com.webcheckers.appl.NearCacheSessionStore;
+import com.webcheckers.appl.PositionAnalyzer;
+import com.webcheckers.appl.ReplicationShipper;
+import com.webcheckers.appl.ScoreGossip;
+import com.webcheckers.appl.SessionStore;
+import com.webcheckers.appl.StandbyReplica;
 
+import spark.Spark;
 import spark.TemplateEngine;
 import spark.template.freemarker.FreeMarkerEngine;
 
@@ -23,6 +62,60 @@ import spark.template.freemarker.FreeMarkerEngine;
 public final class Application {
   private static final Logger LOG = Logger.getLogger(Application.class.getName());
 
+  // System property setting the port the web server listens on, and its default
+  static final String PORT_PROPERTY = "webcheckers.port";
+  static final int DEFAULT_PORT = 4567;
+
+  // System property naming the endgame tablebase file, and its default
+  static final String TABLEBASE_PROPERTY = "webcheckers.tablebase";
+  static final String DEFAULT_TABLEBASE = "endgame.tb";
+
+  // System properties of the computer opponent: its opening book, the moves it searches at once, the
+  // games it plays at once and whether it searches while its opponents think
+  static final String OPENING_BOOK_PROPERTY = "webcheckers.openingbook";
+  static final String DEFAULT_OPENING_BOOK = "opening.book";
+  static final String COMPUTER_THREADS_PROPERTY = "webcheckers.computer.threads";
+  static final String COMPUTER_GAMES_PROPERTY = "webcheckers.computer.games";
+  static final String COMPUTER_PONDER_PROPERTY = "webcheckers.computer.ponder";
+
+  // System property of the time the analysis of a position for hints and spectators may take
+  static final String ANALYSIS_MILLIS_PROPERTY = "webcheckers.analysis.millis";
+
+  // System property naming the directory finished games are archived in, and its default
+  static final String ARCHIVE_PROPERTY = "webcheckers.archive";
+  static final String DEFAULT_ARCHIVE = "archive";
+  // System property naming the directory win and loss totals are kept in, and its default
+  static final String SCORES_PROPERTY = "webcheckers.scores";
+  static final String DEFAULT_SCORES = "scores";
+  // System property setting the length of a Glicko-2 rating period
+  static final String RATING_PERIOD_HOURS_PROPERTY = "webcheckers.rating.period.hours";
+
+  // System property naming this server among the nodes of a cluster
+  static final String NODE_PROPERTY = "webcheckers.node";
+  // System properties of sharing scores: the other nodes' gossip addresses (host:port,...), the address
+  // and port this node listens on and their defaults, and how often it sends its counts
+  static final String GOSSIP_PEERS_PROPERTY = "webcheckers.gossip.peers";
+  static final String GOSSIP_ADDRESS_PROPERTY = "webcheckers.gossip.address";
+  static final String DEFAULT_GOSSIP_ADDRESS = "127.0.0.1";
+  static final String GOSSIP_PORT_PROPERTY = "webcheckers.gossip.port";
+  static final int DEFAULT_GOSSIP_PORT = 4568;
+  static final String GOSSIP_MILLIS_PROPERTY = "webcheckers.gossip.millis";
+  // System property listing every node of a cluster and its URL (name=url,...), to route games by
+  static final String CLUSTER_NODES_PROPERTY = "webcheckers.cluster.nodes";
+  // System property holding the secret every node of a cluster signs the games it sends with
+  static final String CLUSTER_SECRET_PROPERTY = "webcheckers.cluster.secret";
+
+  // System properties of replication: the port a primary ships its games from, the primary a standby
+  // replicates (host:port), and how long the primary may be silent before the standby takes over
+  static final String REPLICATION_PORT_PROPERTY = "webcheckers.replication.port";
+  static final String STANDBY_OF_PROPERTY = "webcheckers.standby.of";
+  static final String STANDBY_PROMOTE_MILLIS_PROPERTY = "webcheckers.standby.promote.millis";
+
+  // System properties naming the directory sign-ins are shared in, and how long each server keeps one
+  // it has read before reading it again
+  static final String SESSIONS_PROPERTY = "webcheckers.sessions";
+  static final String SESSIONS_CACHE_MILLIS_PROPERTY = "webcheckers.sessions.cache.millis";
+
   //
   // Application Launch method
   //
@@ -50,21 +143,69 @@ public final class Application {
     }
 
     // Happy little singletons
-    final Gson gson = new Gson();
+    final Gson gson = new GsonBuilder()
+        .registerTypeAdapter(Move.class, new MoveTypeAdapter())
+        .create();
     final TemplateEngine templateEngine = new FreeMarkerEngine();
-    final GameManager gameManager = new GameManager();
+    final EndgameTablebase tablebase = loadTablebase();
+    final int computerThreads = Integer.getInteger(COMPUTER_THREADS_PROPERTY,
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    final ForkJoinPool searchPool = new ForkJoinPool(computerThreads);
+    final AlphaBetaEngine search = new AlphaBetaEngine(searchPool, AlphaBetaEngine.DEFAULT_TABLE_BITS, tablebase);
+    final OpeningBook openingBook = loadOpeningBook();
+    // Games choose an engine by name; the first is the default
+    final Map<String, Engine> engines = new LinkedHashMap<>();
+    engines.put(search.getName(), new BookEngine(openingBook, search));
+    final MctsEngine mcts = new MctsEngine(searchPool, MctsEngine.DEFAULT_MAX_NODES);
+    engines.put(mcts.getName(), new BookEngine(openingBook, mcts));
+    final ComputerMoveScheduler computerMoves = new ComputerMoveScheduler(
+        engines,
+        computerThreads,
+        Integer.getInteger(COMPUTER_GAMES_PROPERTY, ComputerMoveScheduler.DEFAULT_MAX_GAMES),
+        Boolean.parseBoolean(System.getProperty(COMPUTER_PONDER_PROPERTY, "true")));
+    final PositionAnalyzer analyzer = new PositionAnalyzer(search,
+        Long.getLong(ANALYSIS_MILLIS_PROPERTY, PositionAnalyzer.DEFAULT_BUDGET_MILLIS),
+        PositionAnalyzer.DEFAULT_CAPACITY,
+        computerThreads);
+    final GameArchive archive = openArchive();
+    final GameManager gameManager = new GameManager(tablebase, computerMoves, archive);
     final PlayerLobby playerLobby = new PlayerLobby();
-    final TournamentScoreboard tournamentScoreboard = new TournamentScoreboard();
+    final ScoreLog scoreLog = openScores();
+    final ScoreCounters clusterScores = startGossip(scoreLog);
+    final TournamentScoreboard tournamentScoreboard = new TournamentScoreboard(scoreLog, loadRatings(archive),
+        clusterScores);
 
     // Inject some dependencies
     final WebServer webServer = new WebServer(templateEngine,
                                               gameManager,
                                               playerLobby,
                                               gson,
-                                              tournamentScoreboard);
+                                              tournamentScoreboard,
+                                              analyzer,
+                                              startRouter(gameManager),
+                                              openSessions());
     final Application app = new Application(webServer);
 
-    app.initialize();
+    final String primary = System.getProperty(STANDBY_OF_PROPERTY);
+    if (primary == null || primary.trim().isEmpty()) {
+      startShipping(gameManager);
+      app.initialize();
+      return;
+    }
+    try {
+      final int colon = primary.lastIndexOf(':');
+      final InetSocketAddress address = new InetSocketAddress(primary.substring(0, colon).trim(),
+          Integer.parseInt(primary.substring(colon + 1).trim()));
+      StandbyReplica.start(gameManager, address,
+          Long.getLong(STANDBY_PROMOTE_MILLIS_PROPERTY, StandbyReplica.DEFAULT_PROMOTE_AFTER_MILLIS),
+          promoted -> {
+            startShipping(promoted);
+            app.initialize();
+          });
+      LOG.config("WebCheckers is standing by for " + primary);
+    } catch (RuntimeException e) {
+      LOG.severe(String.format("Could not read the primary '%s', so this server cannot stand by", primary));
+    }
   }
 
 
@@ -87,9 +228,228 @@ public final class Application {
   // Private methods
   //
 
+  /**
+   * Maps the endgame tablebase, if one has been generated
+   *
+   * @return - the tablebase, or the empty tablebase
+   */
+  private static EndgameTablebase loadTablebase() {
+    final Path file = Paths.get(System.getProperty(TABLEBASE_PROPERTY, DEFAULT_TABLEBASE));
+    if (!Files.isRegularFile(file)) {
+      return EndgameTablebase.empty();
+    }
+    try {
+      return EndgameTablebase.open(file);
+    } catch (IOException e) {
+      LOG.warning("Could not load the endgame tablebase because: " + e.getMessage());
+      return EndgameTablebase.empty();
+    }
+  }
+
+  /**
+   * Maps the opening book, if one has been built
+   *
+   * @return - the opening book, or the empty book
+   */
+  private static OpeningBook loadOpeningBook() {
+    final Path file = Paths.get(System.getProperty(OPENING_BOOK_PROPERTY, DEFAULT_OPENING_BOOK));
+    if (!Files.isRegularFile(file)) {
+      return OpeningBook.empty();
+    }
+    try {
+      return OpeningBook.open(file);
+    } catch (IOException e) {
+      LOG.warning("Could not load the opening book because: " + e.getMessage());
+      return OpeningBook.empty();
+    }
+  }
+
+  /**
+   * Opens the archive of finished games, creating it if needed
+   *
+   * @return - the archive, or null if it cannot be opened and games are not kept
+   */
+  private static GameArchive openArchive() {
+    final Path directory = Paths.get(System.getProperty(ARCHIVE_PROPERTY, DEFAULT_ARCHIVE));
+    try {
+      return GameArchive.open(directory);
+    } catch (IOException e) {
+      LOG.warning("Could not open the game archive because: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Opens the win and loss totals kept across restarts
+   *
+   * @return - the scores, or null to keep them in memory only
+   */
+  private static ScoreLog openScores() {
+    final Path directory = Paths.get(System.getProperty(SCORES_PROPERTY, DEFAULT_SCORES));
+    try {
+      return ScoreLog.open(directory);
+    } catch (IOException e) {
+      LOG.warning("Could not open the scores because: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Starts exchanging win and loss counts with the other nodes of a cluster, if peers are configured
+   *
+   * @param scoreLog - the results of the games that ended on this node, or null if they are not kept
+   * @return - the cluster's counters, or null if this is the only node
+   */
+  private static ScoreCounters startGossip(final ScoreLog scoreLog) {
+    final String peerList = System.getProperty(GOSSIP_PEERS_PROPERTY);
+    if (peerList == null || peerList.trim().isEmpty()) {
+      return null;
+    }
+    final int port = Integer.getInteger(GOSSIP_PORT_PROPERTY, DEFAULT_GOSSIP_PORT);
+    final List<InetSocketAddress> peers = new ArrayList<>();
+    try {
+      for (String peer : peerList.split(",")) {
+        final int colon = peer.lastIndexOf(':');
+        peers.add(new InetSocketAddress(peer.substring(0, colon).trim(),
+            Integer.parseInt(peer.substring(colon + 1).trim())));
+      }
+    } catch (RuntimeException e) {
+      LOG.warning(String.format("Could not read the peers '%s', so scores are not shared", peerList));
+      return null;
+    }
+
+    try {
+      final String node = System.getProperty(NODE_PROPERTY, InetAddress.getLocalHost().getHostName() + ":" + port);
+      final ScoreCounters counters = (scoreLog == null)
+          ? new ScoreCounters(node)
+          : ScoreCounters.seeded(node, scoreLog);
+      ScoreGossip.start(counters,
+          InetAddress.getByName(System.getProperty(GOSSIP_ADDRESS_PROPERTY, DEFAULT_GOSSIP_ADDRESS)), port, peers,
+          Long.getLong(GOSSIP_MILLIS_PROPERTY, ScoreGossip.DEFAULT_INTERVAL_MILLIS),
+          TournamentScoreboard::refreshCounts);
+      return counters;
+    } catch (IOException e) {
+      LOG.warning("Could not share scores with the other nodes because: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Starts sending games to the nodes of a cluster that own them, if the nodes are configured
+   *
+   * @param gameManager - this node's games
+   * @return - the router, or null if this is the only node
+   */
+  private static GameRouter startRouter(final GameManager gameManager) {
+    final String nodeList = System.getProperty(CLUSTER_NODES_PROPERTY);
+    if (nodeList == null || nodeList.trim().isEmpty()) {
+      return null;
+    }
+    final Map<String, String> nodes = new LinkedHashMap<>();
+    for (String node : nodeList.split(",")) {
+      final int equals = node.indexOf('=');
+      if (equals < 1) {
+        LOG.warning(String.format("Could not read the nodes '%s', so games are not routed", nodeList));
+        return null;
+      }
+      nodes.put(node.substring(0, equals).trim(), node.substring(equals + 1).trim());
+    }
+
+    final String self = System.getProperty(NODE_PROPERTY);
+    if (!nodes.containsKey(self)) {
+      LOG.warning(String.format("This node, %s=%s, is not one of %s, so games are not routed",
+          NODE_PROPERTY, self, nodes.keySet()));
+      return null;
+    }
+    final String secret = System.getProperty(CLUSTER_SECRET_PROPERTY);
+    if (secret == null || secret.isEmpty()) {
+      LOG.warning(String.format("%s is not set, so games are not routed", CLUSTER_SECRET_PROPERTY));
+      return null;
+    }
+    if (System.getProperty(SESSIONS_PROPERTY) == null) {
+      LOG.warning(String.format("Games are routed but %s is not set, so no node knows the players of another",
+          SESSIONS_PROPERTY));
+    }
+    final GameRouter router = new GameRouter(self, nodes, gameManager, secret.getBytes(StandardCharsets.UTF_8));
+    router.startChecking(GameRouter.DEFAULT_CHECK_MILLIS);
+    return router;
+  }
+
+  /**
+   * Opens the store of who each browser is signed in as, shared with other servers if a directory is configured
+   *
+   * @return - the sessions
+   */
+  private static SessionStore openSessions() {
+    final String directory = System.getProperty(SESSIONS_PROPERTY);
+    if (directory == null || directory.trim().isEmpty()) {
+      return new InMemorySessionStore();
+    }
+    try {
+      return new NearCacheSessionStore(
+          FileSessionStore.open(Paths.get(directory), FileSessionStore.DEFAULT_MAX_IDLE_MILLIS),
+          NearCacheSessionStore.DEFAULT_CAPACITY,
+          Long.getLong(SESSIONS_CACHE_MILLIS_PROPERTY, NearCacheSessionStore.DEFAULT_TTL_MILLIS));
+    } catch (IOException e) {
+      LOG.warning("Could not share sign-ins with other servers because: " + e.getMessage());
+      return new InMemorySessionStore();
+    }
+  }
+
+  /**
+   * Starts shipping this server's games to a standby, if a replication port is configured
+   *
+   * @param gameManager - this server's games
+   */
+  private static void startShipping(final GameManager gameManager) {
+    final Integer port = Integer.getInteger(REPLICATION_PORT_PROPERTY);
+    if (port == null) {
+      return;
+    }
+    try {
+      ReplicationShipper.start(gameManager, port, ReplicationShipper.DEFAULT_MAX_PENDING);
+    } catch (IOException e) {
+      LOG.warning("Could not ship games to a standby because: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Rates the players from the games in the archive, in the order they ended
+   *
+   * @param archive - the archive, or null if there is none
+   * @return - the ratings
+   */
+  private static Ratings loadRatings(final GameArchive archive) {
+    final long periodMillis = TimeUnit.HOURS.toMillis(
+        Long.getLong(RATING_PERIOD_HOURS_PROPERTY, TimeUnit.MILLISECONDS.toHours(Ratings.DEFAULT_PERIOD_MILLIS)));
+    final Ratings ratings = new Ratings(periodMillis, Ratings.DEFAULT_K);
+    if (archive == null) {
+      return ratings;
+    }
+    try {
+      archive.forEach(game -> {
+        if (ComputerPlayer.isComputerName(game.getWhite())) {
+          // Games against the computer are not rated
+          return;
+        }
+        if (game.getWinner() == Piece.Color.RED) {
+          ratings.recordResult(game.getRed(), game.getWhite(), game.getEndMillis());
+        } else if (game.getWinner() == Piece.Color.WHITE) {
+          ratings.recordResult(game.getWhite(), game.getRed(), game.getEndMillis());
+        }
+      });
+    } catch (IOException e) {
+      LOG.warning("Could not rate the archived games because: " + e.getMessage());
+    }
+    LOG.config(String.format("Rated %d players", ratings.getRanking().size()));
+    return ratings;
+  }
+
   private void initialize() {
     LOG.config("WebCheckers is initializing.");
 
+    Spark.port(Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT));
+
     webServer.initialize();
 
     LOG.config("WebCheckers initialization complete.");
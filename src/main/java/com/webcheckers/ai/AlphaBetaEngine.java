@@ -0,0 +1,475 @@
+package com.webcheckers.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Alpha-beta search for the computer player, run in parallel on a ForkJoinPool
+ *
+ * The search deepens iteratively and splits the tree the young brothers wait way: at a node with enough
+ * depth left the eldest (best ordered) move is searched first, then the remaining moves are forked as
+ * tasks that run on the pool's idle workers. The tasks of a split share its alpha, so a sibling that
+ * finds a better move narrows the window of the siblings that start after it, and a sibling that fails
+ * high stops the rest. All threads share one lock-free TranspositionTable.
+ *
+ * Scores are fail-hard: a search with window (alpha, beta) returns alpha, beta or the exact score.
+ * In deterministic mode the split siblings all search with the alpha the eldest move left, moves are
+ * ordered without the table and only table entries of exactly the remaining depth are used, so every
+ * task returns the same value whatever the timing of the other threads and the move chosen is the same
+ * with one thread or many.
+ *
+ * Below the root, a position with few enough pieces is looked up in the EndgameTablebase instead of
+ * being searched. The tablebase knows who wins but not how fast, so a won position scores KNOWN_WIN plus
+ * its evaluation, and the search still prefers the moves that make progress.
+ *
+ * A search can be stopped from outside, as pondering is when the opponent moves; the stop request is
+ * polled with the clock and ends the search as running out of time does.
+ */
+public class AlphaBetaEngine implements Engine {
+    private static final Logger LOG = Logger.getLogger(AlphaBetaEngine.class.getName());
+
+    public static final int DEFAULT_TABLE_BITS = 20;
+
+    // Nodes with less depth left than this are searched by one thread
+    static final int SPLIT_DEPTH = 4;
+
+    // Nodes between checks for a stopped split or an expired deadline, minus one
+    private static final int CHECK_INTERVAL = 1023;
+
+    private static final int INFINITY = Evaluator.WIN + 1;
+
+    private static final ThreadLocal<MoveList> MOVES = ThreadLocal.withInitial(MoveList::new);
+
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private final EndgameTablebase tablebase;
+
+    /**
+     * Default constructor
+     * Searches on the common pool with a table of 2^20 entries.
+     */
+    public AlphaBetaEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param pool      - pool the search runs on; its parallelism is the number of search threads
+     * @param tableBits - log2 of the number of transposition table entries
+     */
+    public AlphaBetaEngine(ForkJoinPool pool, int tableBits) {
+        this(pool, tableBits, EndgameTablebase.empty());
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param pool      - pool the search runs on; its parallelism is the number of search threads
+     * @param tableBits - log2 of the number of transposition table entries
+     * @param tablebase - results of the endgames the search does not need to search
+     */
+    public AlphaBetaEngine(ForkJoinPool pool, int tableBits, EndgameTablebase tablebase) {
+        Objects.requireNonNull(pool, "pool must not be null");
+        Objects.requireNonNull(tablebase, "tablebase must not be null");
+        this.pool = pool;
+        this.table = new TranspositionTable(tableBits);
+        this.tablebase = tablebase;
+    }
+
+    @Override
+    public String getName() {
+        return "alphabeta";
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    @Override
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board, limits, () -> false);
+    }
+
+    @Override
+    public SearchResult search(Board board, SearchLimits limits, BooleanSupplier stop) {
+        long start = System.nanoTime();
+        long deadline = (limits.getMillis() == 0)
+                ? Long.MAX_VALUE
+                : start + TimeUnit.MILLISECONDS.toNanos(limits.getMillis());
+
+        MoveList rootMoves = new MoveList();
+        if (board.generateMoves(rootMoves) == 0) {
+            return new SearchResult(0, Evaluator.lost(0), 0, 0, 0);
+        }
+
+        table.newSearch();
+        Search search = new Search(table, tablebase, limits.isDeterministic(), deadline, stop);
+
+        // Until the first iteration completes, play the first move
+        long bestMove = rootMoves.get(0);
+        int bestScore = Evaluator.evaluate(board);
+        int completed = 0;
+
+        for (int depth = 1; depth <= limits.getDepth(); depth++) {
+            SearchTask root = search.newIteration(board, depth);
+            // A search stopped between checks does not start another iteration
+            search.checkTime();
+            int score = pool.invoke(root);
+
+            if (search.isTimeUp()) {
+                break;
+            }
+            bestMove = root.rootMove;
+            bestScore = score;
+            completed = depth;
+
+            // A forced win or loss does not change with more depth
+            if (Evaluator.isWinOrLoss(score)) {
+                break;
+            }
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        SearchResult result = new SearchResult(bestMove, bestScore, completed, search.nodes.sum(), millis);
+        LOG.fine(String.format("Searched %s (%s): %s", board.getColorToMove(), limits, result));
+        return result;
+    }
+
+    /**
+     * One split point of the tree: the siblings forked together and the alpha they share
+     * Stopping a split stops every task below it.
+     */
+    private static final class Split {
+        private final Split parent;
+        private final AtomicInteger alpha;
+        private volatile boolean stopped;
+
+        Split(Split parent, int alpha) {
+            this.parent = parent;
+            this.alpha = new AtomicInteger(alpha);
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        boolean isStopped() {
+            for (Split split = this; split != null; split = split.parent) {
+                if (split.stopped) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Raises the shared alpha to a score found by one of the siblings
+         */
+        void raiseAlpha(int score) {
+            int current;
+            do {
+                current = alpha.get();
+            } while (score > current && !alpha.compareAndSet(current, score));
+        }
+    }
+
+    /**
+     * State of one call to search(): the tables, the mode, the clock, the node count and the stop request
+     */
+    private static final class Search {
+        private final TranspositionTable table;
+        private final EndgameTablebase tablebase;
+        private final boolean deterministic;
+        private final long deadline;
+        private final BooleanSupplier stop;
+        private final LongAdder nodes = new LongAdder();
+        private volatile Split root;
+        private volatile boolean timeUp;
+
+        Search(TranspositionTable table, EndgameTablebase tablebase, boolean deterministic, long deadline,
+               BooleanSupplier stop) {
+            this.table = table;
+            this.tablebase = tablebase;
+            this.deterministic = deterministic;
+            this.deadline = deadline;
+            this.stop = stop;
+        }
+
+        SearchTask newIteration(Board board, int depth) {
+            root = new Split(null, -INFINITY);
+            return new SearchTask(this, board, depth, -INFINITY, INFINITY, 0, root, false);
+        }
+
+        void checkTime() {
+            if ((deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) || stop.getAsBoolean()) {
+                timeUp = true;
+                root.stop();
+            }
+        }
+
+        boolean isTimeUp() {
+            return timeUp;
+        }
+    }
+
+    /**
+     * Searches one subtree; the root of an iteration or one sibling of a split
+     */
+    private static final class SearchTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final Board board;
+        private final int depth;
+        private final int beta;
+        private final int ply;
+        private final Split split;
+        private final boolean sibling;
+
+        // For a sibling of a split, the alpha it started with; set when it starts
+        private int alpha;
+        private long nodes;
+        private long rootMove;
+
+        SearchTask(Search search, Board board, int depth, int alpha, int beta, int ply, Split split, boolean sibling) {
+            this.search = search;
+            this.board = board;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.ply = ply;
+            this.split = split;
+            this.sibling = sibling;
+        }
+
+        /**
+         * Sibling of a split: searches one move of the split node and returns its score for that node
+         */
+        static SearchTask sibling(Search search, Board child, int depth, int beta, int ply, Split split) {
+            return new SearchTask(search, child, depth, split.alpha.get(), beta, ply, split, true);
+        }
+
+        @Override
+        protected Integer compute() {
+            try {
+                if (!sibling) {
+                    return negamax(board, depth, alpha, beta, ply, split, MOVES.get());
+                }
+
+                // Siblings deep in the tree may never reach CHECK_INTERVAL nodes, so each checks the clock first
+                search.checkTime();
+
+                // The board is the child position, searched with the window the split has when the task starts
+                alpha = split.alpha.get();
+                if (alpha >= beta || split.isStopped()) {
+                    return alpha;
+                }
+                int score = -negamax(board, depth, -beta, -alpha, ply, split, MOVES.get());
+
+                if (score > alpha && !split.isStopped()) {
+                    if (!search.deterministic) {
+                        split.raiseAlpha(score);
+                    }
+                    if (score >= beta) {
+                        split.stop();
+                    }
+                }
+                return score;
+            } finally {
+                search.nodes.add(nodes);
+            }
+        }
+
+        /**
+         * Fail-hard negamax
+         *
+         * @param board - position to search
+         * @param depth - depth left; at 0 or below only jumps are searched
+         * @param alpha - score the side to move already has
+         * @param beta  - score the opponent already has
+         * @param ply   - distance from the root
+         * @param split - innermost split this node belongs to
+         * @param moves - this thread's move stack
+         * @return - the score, between alpha and beta
+         */
+        private int negamax(Board board, int depth, int alpha, int beta, int ply, Split split, MoveList moves) {
+            if ((++nodes & CHECK_INTERVAL) == 0) {
+                search.checkTime();
+            }
+            if (split.isStopped()) {
+                return alpha;
+            }
+
+            int base = moves.size();
+            int count = board.generateMoves(moves);
+
+            if (count == 0) {
+                return clamp(Evaluator.lost(ply), alpha, beta);
+            }
+            if (ply > 0 && board.getPieceCount() <= search.tablebase.getMaxPieces()) {
+                moves.truncate(base);
+                return clamp(tablebaseScore(board), alpha, beta);
+            }
+            if (depth <= 0 && !Board.isJump(moves.get(base))) {
+                moves.truncate(base);
+                return clamp(Evaluator.evaluate(board), alpha, beta);
+            }
+
+            // Jumps are forced, so they are searched past the nominal depth
+            int tableDepth = Math.max(depth, 0);
+            int childDepth = Math.max(depth - 1, 0);
+
+            long entry = search.table.probe(board.getHash());
+            if (entry != TranspositionTable.NO_ENTRY) {
+                int entryDepth = TranspositionTable.depth(entry);
+
+                // The root always searches, as it has to find a move
+                if (ply > 0 && (search.deterministic ? entryDepth == tableDepth : entryDepth >= tableDepth)) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                        moves.truncate(base);
+                        return clamp(score, alpha, beta);
+                    }
+                }
+                if (!search.deterministic) {
+                    orderFirst(moves, base, count, entry);
+                }
+            }
+
+            int originalAlpha = alpha;
+            long bestMove = 0;
+            boolean parallel = depth >= SPLIT_DEPTH && count > 1;
+            int serialEnd = parallel ? base + 1 : base + count;
+
+            for (int i = base; i < serialEnd; i++) {
+                long move = moves.get(i);
+                int score = -negamax(board.play(move), childDepth, -beta, -alpha, ply + 1, split, moves);
+
+                if (split.isStopped()) {
+                    moves.truncate(base);
+                    return alpha;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                    if (alpha >= beta) {
+                        moves.truncate(base);
+                        store(board, tableDepth, beta, TranspositionTable.LOWER, move, ply);
+                        setRootMove(ply, move);
+                        return beta;
+                    }
+                }
+            }
+
+            if (parallel) {
+                long[] younger = moves.toArray(base + 1, base + count);
+                moves.truncate(base);
+
+                Split node = new Split(split, alpha);
+                List<SearchTask> siblings = new ArrayList<>(younger.length);
+                for (long move : younger) {
+                    siblings.add(sibling(search, board.play(move), childDepth, beta, ply + 1, node));
+                }
+                ForkJoinTask.invokeAll(siblings);
+
+                if (split.isStopped()) {
+                    return alpha;
+                }
+                if (node.stopped) {
+                    // A sibling failed high
+                    store(board, tableDepth, beta, TranspositionTable.LOWER, 0, ply);
+                    return beta;
+                }
+
+                // Only a score above the alpha a sibling started with is exact; the others are bounds
+                for (int i = 0; i < younger.length; i++) {
+                    SearchTask sibling = siblings.get(i);
+                    int score = sibling.join();
+
+                    if (score > sibling.alpha && score > alpha) {
+                        alpha = score;
+                        bestMove = younger[i];
+                    }
+                }
+            } else {
+                moves.truncate(base);
+            }
+
+            int bound = (alpha > originalAlpha) ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            store(board, tableDepth, alpha, bound, bestMove, ply);
+            setRootMove(ply, bestMove);
+            return alpha;
+        }
+
+        private int tablebaseScore(Board board) {
+            switch (search.tablebase.probe(board)) {
+                case WIN:
+                    return Evaluator.KNOWN_WIN + Evaluator.evaluate(board);
+                case LOSS:
+                    return -Evaluator.KNOWN_WIN + Evaluator.evaluate(board);
+                case DRAW:
+                    return 0;
+                default:
+                    return Evaluator.evaluate(board);
+            }
+        }
+
+        private void setRootMove(int ply, long move) {
+            if (ply == 0) {
+                rootMove = move;
+            }
+        }
+
+        private void store(Board board, int depth, int score, int bound, long move, int ply) {
+            search.table.store(board.getHash(), depth, toTable(score, ply), bound, move);
+        }
+    }
+
+    /**
+     * Moves the table's best move to the front of a node's moves
+     */
+    private static void orderFirst(MoveList moves, int base, int count, long entry) {
+        for (int i = base; i < base + count; i++) {
+            long move = moves.get(i);
+            if (TranspositionTable.isBestMove(entry, move)) {
+                moves.set(i, moves.get(base));
+                moves.set(base, move);
+                return;
+            }
+        }
+    }
+
+    private static int clamp(int score, int alpha, int beta) {
+        return Math.max(alpha, Math.min(beta, score));
+    }
+
+    // Won and lost scores count plies from the root; in the table they count from the stored position
+
+    private static int toTable(int score, int ply) {
+        if (score >= Evaluator.WIN_BOUND) {
+            return score + ply;
+        }
+        return (score <= -Evaluator.WIN_BOUND) ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= Evaluator.WIN_BOUND) {
+            return score - ply;
+        }
+        return (score <= -Evaluator.WIN_BOUND) ? score + ply : score;
+    }
+}
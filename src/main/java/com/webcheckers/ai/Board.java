@@ -0,0 +1,402 @@
+package com.webcheckers.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Position;
+import com.webcheckers.model.Space;
+import com.webcheckers.model.SquareTables;
+
+/**
+ * Compact, immutable checkers position used by the computer player
+ *
+ * The 32 playable squares use the SquareTables numbering, so every set of pieces is one int with
+ * a bit per square. A position is the RED pieces, the WHITE pieces, the kings of either color and
+ * the color to move, plus its Zobrist hash, which is updated as moves are played.
+ *
+ * A move is packed into a long: bits 0-31 hold the squares captured by a jump, bits 32-36 the
+ * starting square and bits 37-41 the landing square. A multi-jump is one move, as it is one turn.
+ * The rules follow Turn and MoveValidator: jumps are forced, a jump continues while the piece can
+ * jump again, captured pieces leave the board as they are jumped and a single is kinged when the
+ * turn ends on the far row.
+ */
+public final class Board {
+
+    public static final int RED = 0;
+    public static final int WHITE = 1;
+
+    // Squares on the row each color kings on
+    static final int RED_KING_ROW = 0xF0000000;
+    static final int WHITE_KING_ROW = 0x0000000F;
+
+    private static final int FROM_SHIFT = 32;
+    private static final int TO_SHIFT = 37;
+    private static final long CAPTURED_MASK = 0xFFFFFFFFL;
+
+    private static final Board START = new Board(0x00000FFF, 0xFFF00000, 0, RED);
+
+    private final int red;
+    private final int white;
+    private final int kings;
+    private final int sideToMove;
+    private final long hash;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param red        - squares holding RED pieces
+     * @param white      - squares holding WHITE pieces
+     * @param kings      - squares holding kings of either color
+     * @param sideToMove - RED or WHITE
+     */
+    public Board(int red, int white, int kings, int sideToMove) {
+        this(red, white, kings, sideToMove, Zobrist.hash(red, white, kings, sideToMove));
+    }
+
+    private Board(int red, int white, int kings, int sideToMove, long hash) {
+        if ((red & white) != 0 || (kings & ~(red | white)) != 0 || (sideToMove != RED && sideToMove != WHITE)) {
+            throw new IllegalArgumentException("Pieces overlap or the side to move is not RED or WHITE");
+        }
+        this.red = red;
+        this.white = white;
+        this.kings = kings;
+        this.sideToMove = sideToMove;
+        this.hash = hash;
+    }
+
+    /**
+     * The position CheckersBoardBuilder.aStartingBoard() sets up, RED to move
+     *
+     * @return - the starting position
+     */
+    public static Board startingPosition() {
+        return START;
+    }
+
+    /**
+     * Converts the board of a CheckersGame
+     *
+     * @param board      - the Space[][] board
+     * @param sideToMove - color of the player to move
+     * @return - the position
+     */
+    public static Board of(Space[][] board, Piece.Color sideToMove) {
+        int red = 0;
+        int white = 0;
+        int kings = 0;
+
+        for (int square = 0; square < SquareTables.SQUARES; square++) {
+            Space space = board[SquareTables.row(square)][SquareTables.cell(square)];
+            if (!space.isOccupied()) {
+                continue;
+            }
+            Piece piece = space.getPiece();
+            int bit = 1 << square;
+
+            if (piece.getColor() == Piece.Color.RED) {
+                red |= bit;
+            } else {
+                white |= bit;
+            }
+            if (piece.getType() == Piece.Type.KING) {
+                kings |= bit;
+            }
+        }
+        return new Board(red, white, kings, colorIndex(sideToMove));
+    }
+
+    public static int colorIndex(Piece.Color color) {
+        return (color == Piece.Color.RED) ? RED : WHITE;
+    }
+
+    public int getRed() { return red; }
+
+    public int getWhite() { return white; }
+
+    public int getKings() { return kings; }
+
+    public int getSideToMove() { return sideToMove; }
+
+    public Piece.Color getColorToMove() {
+        return (sideToMove == RED) ? Piece.Color.RED : Piece.Color.WHITE;
+    }
+
+    public long getHash() { return hash; }
+
+    public int getPieceCount() {
+        return Integer.bitCount(red | white);
+    }
+
+    /**
+     * Adds every legal move of the side to move to the list: only jumps if there are any
+     *
+     * @param moves - list to add to; it is not cleared first
+     * @return - number of moves added, 0 if the side to move has lost
+     */
+    public int generateMoves(MoveList moves) {
+        return generateMoves(red, white, kings, sideToMove, moves);
+    }
+
+    /**
+     * Adds every legal move of a position given as bit sets, without creating a Board
+     * Lets playouts keep their position in a few ints.
+     *
+     * @param red        - squares holding RED pieces
+     * @param white      - squares holding WHITE pieces
+     * @param kings      - squares holding kings of either color
+     * @param sideToMove - RED or WHITE
+     * @param moves      - list to add to; it is not cleared first
+     * @return - number of moves added, 0 if the side to move has lost
+     */
+    static int generateMoves(int red, int white, int kings, int sideToMove, MoveList moves) {
+        int own = (sideToMove == RED) ? red : white;
+        int opponents = (sideToMove == RED) ? white : red;
+        int empty = ~(red | white);
+        int before = moves.size();
+
+        for (int pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Integer.numberOfTrailingZeros(pieces);
+            addJumps(moves, from, from, kind(kings, sideToMove, from), opponents, empty | (1 << from), 0);
+        }
+        if (moves.size() > before) {
+            return moves.size() - before;
+        }
+
+        for (int pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Integer.numberOfTrailingZeros(pieces);
+            for (int to : SquareTables.steps(kind(kings, sideToMove, from), from)) {
+                if ((empty & (1 << to)) != 0) {
+                    moves.add(encode(from, to, 0));
+                }
+            }
+        }
+        return moves.size() - before;
+    }
+
+    /**
+     * Follows every jump sequence of one piece, adding a move where each sequence ends
+     */
+    private static void addJumps(MoveList moves, int from, int at, int kind, int opponents, int empty, int captured) {
+        int[] jumped = SquareTables.jumped(kind, at);
+        int[] landings = SquareTables.landings(kind, at);
+        boolean jumpedAgain = false;
+
+        for (int i = 0; i < jumped.length; i++) {
+            int over = 1 << jumped[i];
+            int landing = 1 << landings[i];
+
+            if ((opponents & over) != 0 && (empty & landing) != 0) {
+                jumpedAgain = true;
+                addJumps(moves, from, landings[i], kind, opponents & ~over, (empty | over) & ~landing, captured | over);
+            }
+        }
+        if (!jumpedAgain && captured != 0) {
+            moves.add(encode(from, at, captured));
+        }
+    }
+
+    private int kind(int square) {
+        return kind(kings, sideToMove, square);
+    }
+
+    private static int kind(int kings, int sideToMove, int square) {
+        if ((kings & (1 << square)) != 0) {
+            return SquareTables.KING;
+        }
+        return (sideToMove == RED) ? SquareTables.RED_SINGLE : SquareTables.WHITE_SINGLE;
+    }
+
+    /**
+     * Whether the side to move has a jump, which makes every other move illegal
+     *
+     * @return - true if a jump is available
+     */
+    public boolean hasJump() {
+        int own = (sideToMove == RED) ? red : white;
+        int opponents = (sideToMove == RED) ? white : red;
+        int empty = ~(red | white);
+
+        for (int pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Integer.numberOfTrailingZeros(pieces);
+            int kind = kind(from);
+            int[] jumped = SquareTables.jumped(kind, from);
+            int[] landings = SquareTables.landings(kind, from);
+
+            for (int i = 0; i < jumped.length; i++) {
+                if ((opponents & (1 << jumped[i])) != 0 && (empty & (1 << landings[i])) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plays a move generated for this position
+     *
+     * @param move - the move
+     * @return - the position after the move, with the other side to move
+     */
+    public Board play(long move) {
+        int from = from(move);
+        int to = to(move);
+        int captured = captured(move);
+        int fromBit = 1 << from;
+        int toBit = 1 << to;
+        boolean king = (kings & fromBit) != 0;
+        boolean white = sideToMove == WHITE;
+
+        int movingIndex = Zobrist.index(sideToMove, king);
+        long newHash = hash ^ Zobrist.key(movingIndex, from) ^ Zobrist.SIDE;
+
+        int own = ((white ? this.white : red) & ~fromBit) | toBit;
+        int opponents = (white ? red : this.white) & ~captured;
+        int newKings = kings & ~fromBit & ~captured;
+
+        for (int pieces = captured; pieces != 0; pieces &= pieces - 1) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            newHash ^= Zobrist.key(Zobrist.index(1 - sideToMove, (kings & (1 << square)) != 0), square);
+        }
+
+        if (king || (toBit & (white ? WHITE_KING_ROW : RED_KING_ROW)) != 0) {
+            newKings |= toBit;
+            movingIndex = Zobrist.index(sideToMove, true);
+        }
+        newHash ^= Zobrist.key(movingIndex, to);
+
+        return white
+                ? new Board(opponents, own, newKings, RED, newHash)
+                : new Board(own, opponents, newKings, WHITE, newHash);
+    }
+
+    /**
+     * The same pieces with the other side to move
+     * Used to look at the position from the opponent's point of view, e.g. while pondering.
+     *
+     * @return - the position with the side to move switched
+     */
+    public Board withSideSwitched() {
+        return new Board(red, white, kings, 1 - sideToMove, hash ^ Zobrist.SIDE);
+    }
+
+    // MOVE ENCODING
+
+    public static long encode(int from, int to, int captured) {
+        return ((long) to << TO_SHIFT) | ((long) from << FROM_SHIFT) | (captured & CAPTURED_MASK);
+    }
+
+    public static int from(long move) {
+        return (int) (move >>> FROM_SHIFT) & 31;
+    }
+
+    public static int to(long move) {
+        return (int) (move >>> TO_SHIFT) & 31;
+    }
+
+    public static int captured(long move) {
+        return (int) (move & CAPTURED_MASK);
+    }
+
+    public static boolean isJump(long move) {
+        return captured(move) != 0;
+    }
+
+    /**
+     * The single steps or jumps that make up a move, as the game's Turn expects them
+     *
+     * @param move - a move generated for this position
+     * @return - the steps, in the order they are played
+     */
+    public List<Move> toMoves(long move) {
+        int from = from(move);
+
+        if (!isJump(move)) {
+            return Collections.singletonList(moveBetween(from, to(move)));
+        }
+
+        List<Move> path = new ArrayList<>();
+        if (!findPath(from, to(move), captured(move), kind(from), ~(red | white) | (1 << from), path)) {
+            throw new IllegalArgumentException("Not a jump of this position: " + format(move));
+        }
+        return path;
+    }
+
+    /**
+     * Depth-first search for the jumps that capture exactly the given squares and end on the landing square
+     */
+    private static boolean findPath(int at, int to, int remaining, int kind, int empty, List<Move> path) {
+        if (remaining == 0) {
+            return at == to;
+        }
+        int[] jumped = SquareTables.jumped(kind, at);
+        int[] landings = SquareTables.landings(kind, at);
+
+        for (int i = 0; i < jumped.length; i++) {
+            int over = 1 << jumped[i];
+            int landing = 1 << landings[i];
+
+            if ((remaining & over) != 0 && (empty & landing) != 0) {
+                path.add(moveBetween(at, landings[i]));
+                if (findPath(landings[i], to, remaining & ~over, kind, (empty | over) & ~landing, path)) {
+                    return true;
+                }
+                path.remove(path.size() - 1);
+            }
+        }
+        return false;
+    }
+
+    private static Move moveBetween(int from, int to) {
+        return Move.between(Position.at(SquareTables.row(from), SquareTables.cell(from)),
+                Position.at(SquareTables.row(to), SquareTables.cell(to)));
+    }
+
+    /**
+     * Formats a move in numeric notation, e.g. 11-15 or 15x24
+     *
+     * @param move - the move
+     * @return - the notation
+     */
+    public static String format(long move) {
+        return (from(move) + 1) + (isJump(move) ? "x" : "-") + (to(move) + 1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) return true;
+        if (!(other instanceof Board)) return false;
+
+        Board that = (Board) other;
+        return red == that.red && white == that.white && kings == that.kings && sideToMove == that.sideToMove;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int row = 0; row < 8; row++) {
+            for (int cell = 0; cell < 8; cell++) {
+                int square = SquareTables.squareAt(row, cell);
+                int bit = (square < 0) ? 0 : 1 << square;
+                char piece = '.';
+
+                if ((red & bit) != 0) {
+                    piece = (kings & bit) != 0 ? 'R' : 'r';
+                } else if ((white & bit) != 0) {
+                    piece = (kings & bit) != 0 ? 'W' : 'w';
+                }
+                builder.append(piece);
+            }
+            builder.append('\n');
+        }
+        return builder.append((sideToMove == RED) ? "RED" : "WHITE").append(" to move").toString();
+    }
+}
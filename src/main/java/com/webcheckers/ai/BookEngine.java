@@ -0,0 +1,56 @@
+package com.webcheckers.ai;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Plays from an OpeningBook while the game is in it, and searches with another engine once it is not
+ *
+ * A book move is chosen at random in proportion to its weight, so the computer player does not play the
+ * same game every time; in deterministic mode the heaviest move is played. A book move costs no search.
+ */
+public class BookEngine implements Engine {
+    private static final Logger LOG = Logger.getLogger(BookEngine.class.getName());
+
+    private final OpeningBook book;
+    private final Engine engine;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param book   - the opening book
+     * @param engine - engine for the positions the book does not hold
+     */
+    public BookEngine(OpeningBook book, Engine engine) {
+        Objects.requireNonNull(book, "book must not be null");
+        Objects.requireNonNull(engine, "engine must not be null");
+
+        this.book = book;
+        this.engine = engine;
+    }
+
+    @Override
+    public String getName() {
+        return "book+" + engine.getName();
+    }
+
+    @Override
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board, limits, () -> false);
+    }
+
+    @Override
+    public SearchResult search(Board board, SearchLimits limits, BooleanSupplier stop) {
+        Random random = limits.isDeterministic() ? null : ThreadLocalRandom.current();
+        long move = book.choose(board, random);
+
+        if (move == 0) {
+            return engine.search(board, limits, stop);
+        }
+        LOG.fine(String.format("Book move %s for %s", Board.format(move), board.getColorToMove()));
+        return new SearchResult(move, -Evaluator.evaluate(board.play(move)), 0, 0, 0);
+    }
+}
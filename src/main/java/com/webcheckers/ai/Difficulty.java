@@ -0,0 +1,20 @@
+package com.webcheckers.ai;
+
+/**
+ * Difficulty levels of the computer opponent, as search limits
+ */
+public enum Difficulty {
+    EASY(SearchLimits.depth(2)),
+    MEDIUM(SearchLimits.time(250, 8)),
+    HARD(SearchLimits.time(2000, SearchLimits.MAX_DEPTH));
+
+    private final SearchLimits limits;
+
+    Difficulty(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    public SearchLimits getLimits() {
+        return limits;
+    }
+}
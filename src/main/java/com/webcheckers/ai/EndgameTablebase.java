@@ -0,0 +1,130 @@
+package com.webcheckers.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+/**
+ * Win/loss/draw results of every position with few pieces, read from a memory-mapped file
+ *
+ * The file is written by TablebaseGenerator: a header followed by two bits per position, in the order
+ * TablebaseIndex gives them. The table is mapped read-only, so the operating system pages it in as it is
+ * used and it never takes space on the heap; a probe computes the position's index and reads one byte.
+ * Any number of threads can probe at once.
+ */
+public final class EndgameTablebase {
+    private static final Logger LOG = Logger.getLogger(EndgameTablebase.class.getName());
+
+    /**
+     * Result of a position for the side to move, with perfect play
+     */
+    public enum Result {
+        // Not in the tablebase
+        UNKNOWN,
+        WIN,
+        LOSS,
+        DRAW
+    }
+
+    static final int MAGIC = 0x434B5442; // "CKTB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    private static final Result[] RESULTS = Result.values();
+
+    private static final EndgameTablebase EMPTY = new EndgameTablebase(null, null);
+
+    private final TablebaseIndex index;
+    private final ByteBuffer table;
+
+    private EndgameTablebase(TablebaseIndex index, ByteBuffer table) {
+        this.index = index;
+        this.table = table;
+    }
+
+    /**
+     * A tablebase without positions, for when no file has been generated
+     *
+     * @return - the empty tablebase
+     */
+    public static EndgameTablebase empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Maps a tablebase file
+     *
+     * @param file - file written by TablebaseGenerator
+     * @return - the tablebase
+     * @throws IOException - if the file cannot be read or is not a tablebase
+     */
+    public static EndgameTablebase open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tablebase is too large to map: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException("Not a tablebase file: " + file);
+            }
+
+            int maxPieces = mapped.getInt(8);
+            long entries = mapped.getLong(16);
+            TablebaseIndex index;
+            try {
+                index = new TablebaseIndex(maxPieces);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unsupported tablebase: " + e.getMessage());
+            }
+            if (entries != index.getEntries() || mapped.limit() < HEADER_BYTES + (entries + 3) / 4) {
+                throw new IOException("Truncated tablebase: " + file);
+            }
+
+            mapped.position(HEADER_BYTES);
+            LOG.config(String.format("Mapped %d-piece tablebase %s", maxPieces, file));
+            return new EndgameTablebase(index, mapped.slice());
+        }
+    }
+
+    /**
+     * @return - most pieces of a position in the tablebase, 0 for the empty tablebase
+     */
+    public int getMaxPieces() {
+        return (index == null) ? 0 : index.getMaxPieces();
+    }
+
+    /**
+     * Looks up a position
+     *
+     * @param board - the position
+     * @return - its result for the side to move, UNKNOWN if it has too many pieces
+     */
+    public Result probe(Board board) {
+        int pieces = board.getPieceCount();
+        if (pieces > getMaxPieces()) {
+            return Result.UNKNOWN;
+        }
+
+        TablebaseIndex.Slice slice = index.slice(board);
+        if (slice == null) {
+            // One side has no pieces left
+            int toMove = (board.getSideToMove() == Board.RED) ? board.getRed() : board.getWhite();
+            return (toMove == 0) ? Result.LOSS : Result.WIN;
+        }
+
+        long entry = slice.offset + TablebaseIndex.entry(board, slice);
+        return RESULTS[read(table, entry)];
+    }
+
+    /**
+     * Two-bit value of an entry of a packed table
+     */
+    static int read(ByteBuffer table, long entry) {
+        return (table.get((int) (entry >>> 2)) >>> ((int) (entry & 3) << 1)) & 3;
+    }
+}
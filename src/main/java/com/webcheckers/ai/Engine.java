@@ -0,0 +1,36 @@
+package com.webcheckers.ai;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A computer player's way of choosing moves
+ */
+public interface Engine {
+
+    /**
+     * Chooses a move for the side to move
+     *
+     * @param board  - the position
+     * @param limits - how long to search
+     * @return - the best move found; without a move if the side to move has lost
+     */
+    SearchResult search(Board board, SearchLimits limits);
+
+    /**
+     * Chooses a move for the side to move, stopping early when asked to
+     * Engines that cannot be stopped search to their limits.
+     *
+     * @param board - the position
+     * @param limits - how long to search at most
+     * @param stop   - polled during the search; once true the search returns the best move found so far
+     * @return - the best move found; without a move if the side to move has lost
+     */
+    default SearchResult search(Board board, SearchLimits limits, BooleanSupplier stop) {
+        return search(board, limits);
+    }
+
+    /**
+     * @return - short name of the engine, for logs and reports
+     */
+    String getName();
+}
@@ -0,0 +1,91 @@
+package com.webcheckers.ai;
+
+import com.webcheckers.model.SquareTables;
+
+/**
+ * Static evaluation of a position for the alpha-beta search
+ *
+ * Scores are in hundredths of a single piece, from the point of view of the side to move.
+ * Besides material the evaluation rewards singles for advancing towards the king row, for guarding
+ * their own back row, and any piece for holding the centre of the board.
+ */
+public final class Evaluator {
+
+    public static final int SINGLE = 100;
+    public static final int KING = 160;
+
+    // Scores at or beyond this are won or lost games, not evaluations
+    public static final int WIN = 30000;
+    public static final int WIN_BOUND = WIN - 1000;
+
+    // Added to the evaluation of a position the endgame tablebase shows won, so it outranks any other
+    // evaluation but not a win the search has seen to the end
+    public static final int KNOWN_WIN = 10000;
+
+    private static final int ADVANCE = 3;
+    private static final int BACK_ROW = 8;
+    private static final int CENTRE = 6;
+
+    // [color][square] -> positional bonus of a single, and [square] -> bonus of a king of either color
+    private static final int[][] SINGLE_BONUS = new int[2][SquareTables.SQUARES];
+    private static final int[] KING_BONUS = new int[SquareTables.SQUARES];
+
+    static {
+        for (int square = 0; square < SquareTables.SQUARES; square++) {
+            int redRank = square >> 2;
+            int whiteRank = 7 - redRank;
+            int row = SquareTables.row(square);
+            int cell = SquareTables.cell(square);
+            boolean centre = row >= 2 && row <= 5 && cell >= 2 && cell <= 5;
+
+            SINGLE_BONUS[Board.RED][square] = (redRank == 0 ? BACK_ROW : redRank * ADVANCE) + (centre ? CENTRE : 0);
+            SINGLE_BONUS[Board.WHITE][square] = (whiteRank == 0 ? BACK_ROW : whiteRank * ADVANCE) + (centre ? CENTRE : 0);
+            KING_BONUS[square] = centre ? CENTRE : 0;
+        }
+    }
+
+    private Evaluator() {
+    }
+
+    /**
+     * Evaluates a position
+     *
+     * @param board - the position
+     * @return - score for the side to move
+     */
+    public static int evaluate(Board board) {
+        int score = side(board.getRed(), board.getKings(), Board.RED)
+                - side(board.getWhite(), board.getKings(), Board.WHITE);
+
+        return (board.getSideToMove() == Board.RED) ? score : -score;
+    }
+
+    private static int side(int pieces, int kings, int color) {
+        int score = 0;
+
+        for (int remaining = pieces; remaining != 0; remaining &= remaining - 1) {
+            int square = Integer.numberOfTrailingZeros(remaining);
+
+            if ((kings & (1 << square)) != 0) {
+                score += KING + KING_BONUS[square];
+            } else {
+                score += SINGLE + SINGLE_BONUS[color][square];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Score of a lost game for the side to move, preferring the longest defence
+     *
+     * @param ply - moves played since the root of the search
+     * @return - the score
+     */
+    public static int lost(int ply) {
+        return -WIN + ply;
+    }
+
+    public static boolean isWinOrLoss(int score) {
+        return Math.abs(score) >= WIN_BOUND;
+    }
+}
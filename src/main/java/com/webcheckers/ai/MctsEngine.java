@@ -0,0 +1,285 @@
+package com.webcheckers.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Monte Carlo tree search for the computer player, an alternative to AlphaBetaEngine
+ *
+ * Each iteration walks down the tree choosing children by UCT, adds one node and scores it with a random
+ * Playout to the end of the game, then adds the result to every node on the way back up. Every thread of
+ * the ForkJoinPool runs iterations on the same tree. A thread going down a node adds a virtual loss to it
+ * until its result comes back, so the threads that follow are steered to other children instead of all
+ * playing out the same line; the counts are atomic, so threads never lock.
+ *
+ * A time budget runs iterations until it is spent. Without one, the depth of the limits buys
+ * PLAYOUTS_PER_DEPTH playouts a ply, so the difficulty levels work the same for both engines. In
+ * deterministic mode the search runs on the calling thread with playouts seeded from the position.
+ * The move played is the most visited child of the root; its score is the win rate, scaled so that
+ * winning three playouts in five is about one piece.
+ */
+public class MctsEngine implements Engine {
+    private static final Logger LOG = Logger.getLogger(MctsEngine.class.getName());
+
+    static final int PLAYOUTS_PER_DEPTH = 500;
+
+    // Nodes in the tree, after which iterations play out from the leaves they reach
+    public static final int DEFAULT_MAX_NODES = 1 << 20;
+
+    private static final double EXPLORATION = 1.4;
+    private static final int VIRTUAL_LOSS = 3;
+    private static final int MAX_PATH = 512;
+    private static final int SCORE_SCALE = 5 * Evaluator.SINGLE;
+
+    private final ForkJoinPool pool;
+    private final int maxNodes;
+
+    /**
+     * Default constructor
+     * Searches on the common pool.
+     */
+    public MctsEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param pool     - pool the playouts run on; its parallelism is the number of search threads
+     * @param maxNodes - nodes the tree may grow to in one search
+     */
+    public MctsEngine(ForkJoinPool pool, int maxNodes) {
+        Objects.requireNonNull(pool, "pool must not be null");
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("maxNodes must be positive");
+        }
+        this.pool = pool;
+        this.maxNodes = maxNodes;
+    }
+
+    @Override
+    public String getName() {
+        return "mcts";
+    }
+
+    @Override
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board, limits, () -> false);
+    }
+
+    @Override
+    public SearchResult search(Board board, SearchLimits limits, BooleanSupplier stop) {
+        long start = System.nanoTime();
+        Node root = new Node(board);
+        if (root.moves.length == 0) {
+            return new SearchResult(0, Evaluator.lost(0), 0, 0, 0);
+        }
+
+        long deadline = (limits.getMillis() == 0)
+                ? Long.MAX_VALUE
+                : start + TimeUnit.MILLISECONDS.toNanos(limits.getMillis());
+        int budget = (limits.getMillis() == 0) ? limits.getDepth() * PLAYOUTS_PER_DEPTH : Integer.MAX_VALUE;
+        Search search = new Search(root, deadline, budget, stop);
+
+        if (limits.isDeterministic()) {
+            search.run(board.getHash());
+        } else {
+            List<ForkJoinTask<?>> workers = new ArrayList<>();
+            for (int i = 0; i < pool.getParallelism(); i++) {
+                workers.add(pool.submit(() -> search.run(ThreadLocalRandom.current().nextLong())));
+            }
+            for (ForkJoinTask<?> worker : workers) {
+                worker.join();
+            }
+        }
+
+        int best = root.mostVisited();
+        Node child = root.children.get(best);
+        int score = (child == null) ? 0 : child.score();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        SearchResult result = new SearchResult(root.moves[best], score, search.maxDepth.get(),
+                search.playouts.sum(), millis);
+        LOG.fine(String.format("Searched %s (%s): %s, %d nodes", board.getColorToMove(), limits, result,
+                search.nodes.get()));
+        return result;
+    }
+
+    /**
+     * A position in the tree and the statistics of the iterations through it
+     */
+    private static final class Node {
+        private final Board board;
+        private final long[] moves;
+        // Created as iterations first choose them
+        private final AtomicReferenceArray<Node> children;
+        // Iterations through this node, virtual losses included
+        private final AtomicInteger visits = new AtomicInteger();
+        // Half points won by the side that moved into this node
+        private final AtomicInteger points = new AtomicInteger();
+
+        Node(Board board) {
+            MoveList list = new MoveList(16);
+            int count = board.generateMoves(list);
+
+            this.board = board;
+            this.moves = list.toArray(0, count);
+            this.children = new AtomicReferenceArray<>(count);
+        }
+
+        /**
+         * The child to go down: one not tried yet, or the best by UCT
+         */
+        int select() {
+            double logVisits = Math.log(Math.max(1, visits.get()));
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            for (int i = 0; i < moves.length; i++) {
+                Node child = children.get(i);
+                if (child == null) {
+                    return i;
+                }
+                int childVisits = child.visits.get();
+                if (childVisits == 0) {
+                    return i;
+                }
+                double value = child.points.get() / (2.0 * childVisits)
+                        + EXPLORATION * Math.sqrt(logVisits / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        int mostVisited() {
+            int best = 0;
+            int bestVisits = -1;
+
+            for (int i = 0; i < moves.length; i++) {
+                Node child = children.get(i);
+                int childVisits = (child == null) ? 0 : child.visits.get();
+                if (childVisits > bestVisits) {
+                    bestVisits = childVisits;
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Win rate of the side that moved into this node, as a score in hundredths of a piece
+         */
+        int score() {
+            int count = visits.get();
+            if (count == 0) {
+                return 0;
+            }
+            double rate = points.get() / (2.0 * count);
+            return (int) Math.round((2 * rate - 1) * SCORE_SCALE);
+        }
+    }
+
+    /**
+     * State of one call to search(), shared by its threads
+     */
+    private final class Search {
+        private final Node root;
+        private final long deadline;
+        private final int budget;
+        private final BooleanSupplier stop;
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger nodes = new AtomicInteger(1);
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        private final LongAdder playouts = new LongAdder();
+        private volatile boolean stopped;
+
+        Search(Node root, long deadline, int budget, BooleanSupplier stop) {
+            this.root = root;
+            this.deadline = deadline;
+            this.budget = budget;
+            this.stop = stop;
+        }
+
+        /**
+         * Runs iterations until the budget, the time or the stop request ends the search
+         *
+         * @param seed - seed of this thread's playouts
+         */
+        void run(long seed) {
+            Playout playout = new Playout(seed);
+            Node[] path = new Node[MAX_PATH];
+
+            while (!stopped && started.getAndIncrement() < budget) {
+                iterate(playout, path);
+                playouts.increment();
+
+                if ((deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) || stop.getAsBoolean()) {
+                    stopped = true;
+                }
+            }
+        }
+
+        private void iterate(Playout playout, Node[] path) {
+            Node node = root;
+            int length = 0;
+            path[length++] = node;
+            node.visits.addAndGet(VIRTUAL_LOSS);
+
+            int result;
+            while (true) {
+                if (node.moves.length == 0) {
+                    result = Playout.LOSS;
+                    break;
+                }
+                int index = node.select();
+                Node child = node.children.get(index);
+                boolean expanded = false;
+
+                if (child == null) {
+                    if (nodes.get() >= maxNodes || length == MAX_PATH) {
+                        result = playout.play(node.board);
+                        break;
+                    }
+                    Node created = new Node(node.board.play(node.moves[index]));
+                    if (node.children.compareAndSet(index, null, created)) {
+                        nodes.incrementAndGet();
+                        expanded = true;
+                    }
+                    child = node.children.get(index);
+                }
+
+                node = child;
+                path[length++] = node;
+                node.visits.addAndGet(VIRTUAL_LOSS);
+
+                if (expanded || length == MAX_PATH) {
+                    result = (node.moves.length == 0) ? Playout.LOSS : playout.play(node.board);
+                    break;
+                }
+            }
+            maxDepth.accumulateAndGet(length - 1, Math::max);
+
+            // The result is for the side to move at the leaf, so the leaf's mover won the opposite
+            int points = Playout.WIN - result;
+            for (int i = length - 1; i >= 0; i--) {
+                path[i].visits.addAndGet(1 - VIRTUAL_LOSS);
+                path[i].points.addAndGet(points);
+                path[i] = null;
+                points = Playout.WIN - points;
+            }
+        }
+    }
+}
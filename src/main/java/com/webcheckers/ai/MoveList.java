@@ -0,0 +1,64 @@
+package com.webcheckers.ai;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of packed moves (see Board), reused across the nodes of a search
+ * to keep move generation free of allocations.
+ */
+public final class MoveList {
+
+    private long[] moves;
+    private int size;
+
+    public MoveList() {
+        this(64);
+    }
+
+    public MoveList(int capacity) {
+        moves = new long[Math.max(1, capacity)];
+    }
+
+    public void add(long move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public long get(int index) {
+        return moves[index];
+    }
+
+    public void set(int index, long move) {
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drops every move from the given index on, so a search can pop the moves of a node it is done with
+     *
+     * @param newSize - number of moves to keep
+     */
+    public void truncate(int newSize) {
+        size = newSize;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copies a range of the moves into a new array
+     *
+     * @param from - first index
+     * @param to   - index after the last one
+     * @return - the moves
+     */
+    public long[] toArray(int from, int to) {
+        return Arrays.copyOfRange(moves, from, to);
+    }
+}
@@ -0,0 +1,190 @@
+package com.webcheckers.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Moves played from positions of recorded games, read from a memory-mapped file
+ *
+ * The file is written by OpeningBookBuilder: a header followed by fixed-size records of position hash,
+ * move and weight, sorted by hash and then by weight, heaviest first. A lookup binary searches the mapped
+ * records for the position's Zobrist hash, so it touches a few pages of the file and nothing is loaded
+ * on the heap. Moves that are not legal in the position, which a hash collision could produce, and moves
+ * without weight, known only from lost games, are skipped. Any number of threads can look up at once.
+ */
+public final class OpeningBook {
+    private static final Logger LOG = Logger.getLogger(OpeningBook.class.getName());
+
+    static final int MAGIC = 0x434B4F42; // "CKOB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    // long hash, long move, int weight
+    static final int RECORD_BYTES = 20;
+
+    private static final OpeningBook EMPTY = new OpeningBook(ByteBuffer.allocate(0), 0);
+
+    /**
+     * A move of the book and how strongly it is recommended
+     */
+    public static final class Candidate {
+        private final long move;
+        private final int weight;
+
+        Candidate(long move, int weight) {
+            this.move = move;
+            this.weight = weight;
+        }
+
+        public long getMove() { return move; }
+
+        public int getWeight() { return weight; }
+
+        @Override
+        public String toString() {
+            return Board.format(move) + " (" + weight + ")";
+        }
+    }
+
+    private final ByteBuffer records;
+    private final int size;
+
+    private OpeningBook(ByteBuffer records, int size) {
+        this.records = records;
+        this.size = size;
+    }
+
+    /**
+     * A book without positions, for when no file has been built
+     *
+     * @return - the empty book
+     */
+    public static OpeningBook empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Maps a book file
+     *
+     * @param file - file written by OpeningBookBuilder
+     * @return - the book
+     * @throws IOException - if the file cannot be read or is not a book
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Opening book is too large to map: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException("Not an opening book file: " + file);
+            }
+            int size = mapped.getInt(8);
+            if (size < 0 || mapped.limit() < HEADER_BYTES + (long) size * RECORD_BYTES) {
+                throw new IOException("Truncated opening book: " + file);
+            }
+
+            mapped.position(HEADER_BYTES);
+            LOG.config(String.format("Mapped opening book %s with %d moves", file, size));
+            return new OpeningBook(mapped.slice(), size);
+        }
+    }
+
+    /**
+     * @return - number of moves in the book, over every position
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Legal moves the book holds for a position
+     *
+     * @param board - the position
+     * @return - the moves, heaviest first; empty if the position is not in the book
+     */
+    public List<Candidate> lookup(Board board) {
+        long hash = board.getHash();
+        int low = 0;
+        int high = size;
+
+        // First record with this hash
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (hash(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == size || hash(low) != hash) {
+            return Collections.emptyList();
+        }
+
+        MoveList moves = new MoveList();
+        int count = board.generateMoves(moves);
+        List<Candidate> candidates = new ArrayList<>();
+
+        for (int record = low; record < size && hash(record) == hash; record++) {
+            long move = records.getLong(record * RECORD_BYTES + 8);
+            int weight = records.getInt(record * RECORD_BYTES + 16);
+            if (weight < 1) {
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                if (moves.get(i) == move) {
+                    candidates.add(new Candidate(move, weight));
+                    break;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Chooses a book move at random, in proportion to the weights
+     *
+     * @param board  - the position
+     * @param random - source of the choice, or null to always choose the heaviest move
+     * @return - the move, 0 if the position is not in the book or no move of it has weight
+     */
+    public long choose(Board board, Random random) {
+        List<Candidate> candidates = lookup(board);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        if (random == null) {
+            return candidates.get(0).getMove();
+        }
+
+        long total = 0;
+        for (Candidate candidate : candidates) {
+            total += candidate.getWeight();
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long pick = (long) (random.nextDouble() * total);
+        for (Candidate candidate : candidates) {
+            pick -= candidate.getWeight();
+            if (pick < 0) {
+                return candidate.getMove();
+            }
+        }
+        return candidates.get(candidates.size() - 1).getMove();
+    }
+
+    private long hash(int record) {
+        return records.getLong(record * RECORD_BYTES);
+    }
+}
@@ -0,0 +1,252 @@
+package com.webcheckers.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveNotation;
+
+/**
+ * Builds an OpeningBook from recorded games in numeric notation
+ *
+ * Every game is replayed from the starting position for its first plies, and each move played adds to
+ * the weight of that move in that position: 2 if the side that played it went on to win, 1 if the game
+ * was drawn or has no result, nothing if it lost. The games are split between a number of threads that
+ * each count into their own map; the maps are merged once every thread is done, so the book does not
+ * depend on the number of threads.
+ *
+ * A game's result is its last token, as in PDN: "1-0" is a RED win, "0-1" a WHITE win and "1/2-1/2"
+ * a draw. A game that leaves the rules is counted up to the turn that is not legal.
+ */
+public class OpeningBookBuilder {
+    private static final Logger LOG = Logger.getLogger(OpeningBookBuilder.class.getName());
+
+    public static final int DEFAULT_PLIES = 20;
+
+    private static final int WIN_WEIGHT = 2;
+    private static final int DRAW_WEIGHT = 1;
+
+    private final int plies;
+    private final int minWeight;
+
+    // position hash -> move -> weight
+    private final Map<Long, Map<Long, Integer>> weights = new HashMap<>();
+    private int games;
+    private int rejected;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param plies     - moves of each game added to the book, both sides together
+     * @param minWeight - weight a move needs to be kept in the book
+     */
+    public OpeningBookBuilder(int plies, int minWeight) {
+        if (plies < 1 || minWeight < 1) {
+            throw new IllegalArgumentException("plies and minWeight must be positive");
+        }
+        this.plies = plies;
+        this.minWeight = minWeight;
+    }
+
+    /**
+     * Adds games, replaying them on a number of threads
+     *
+     * @param records - games in numeric notation, one per string, optionally ending with the result
+     * @param threads - number of threads to replay on
+     * @return - this builder
+     * @throws InterruptedException - if interrupted while waiting for the threads
+     */
+    public OpeningBookBuilder addGames(List<String> records, int threads) throws InterruptedException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Partial>> partials = new ArrayList<>();
+        int chunk = Math.max(1, (records.size() + threads - 1) / threads);
+
+        try {
+            for (int start = 0; start < records.size(); start += chunk) {
+                List<String> part = records.subList(start, Math.min(start + chunk, records.size()));
+                partials.add(executor.submit(() -> replay(part)));
+            }
+            for (Future<Partial> partial : partials) {
+                merge(partial.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replaying games failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LOG.fine(String.format("Added %d games to the opening book, %d left the rules", games, rejected));
+        return this;
+    }
+
+    public int getGames() { return games; }
+
+    /**
+     * @return - games that stopped early on a turn that is not legal
+     */
+    public int getRejected() { return rejected; }
+
+    /**
+     * @return - positions in the book
+     */
+    public int getPositions() { return weights.size(); }
+
+    /**
+     * Weight a move has so far
+     *
+     * @param board - the position
+     * @param move  - the move
+     * @return - its weight, 0 if it was never played there
+     */
+    public int getWeight(Board board, long move) {
+        Map<Long, Integer> moves = weights.get(board.getHash());
+        return (moves == null) ? 0 : moves.getOrDefault(move, 0);
+    }
+
+    /**
+     * Writes the book, leaving out the moves lighter than the minimum weight
+     *
+     * @param file - file to write
+     * @return - number of moves written
+     * @throws IOException - if the file cannot be written
+     */
+    public int write(Path file) throws IOException {
+        List<long[]> records = new ArrayList<>();
+
+        for (Map.Entry<Long, Map<Long, Integer>> position : weights.entrySet()) {
+            for (Map.Entry<Long, Integer> move : position.getValue().entrySet()) {
+                if (move.getValue() >= minWeight) {
+                    records.add(new long[]{position.getKey(), move.getKey(), move.getValue()});
+                }
+            }
+        }
+        // By hash, heaviest move first, then by move so the file is the same on every run
+        records.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0])
+                : a[2] != b[2] ? Long.compare(b[2], a[2])
+                : Long.compare(a[1], b[1]));
+
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + records.size() * OpeningBook.RECORD_BYTES);
+        buffer.putInt(OpeningBook.MAGIC)
+                .putInt(OpeningBook.VERSION)
+                .putInt(records.size())
+                .putInt(0);
+        for (long[] record : records) {
+            buffer.putLong(record[0]).putLong(record[1]).putInt((int) Math.min(record[2], Integer.MAX_VALUE));
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        LOG.info(String.format("Wrote %s: %d moves in %d positions from %d games",
+                file, records.size(), weights.size(), games));
+        return records.size();
+    }
+
+    /**
+     * Counts of one thread's share of the games
+     */
+    private static final class Partial {
+        private final Map<Long, Map<Long, Integer>> weights = new HashMap<>();
+        private int games;
+        private int rejected;
+    }
+
+    private Partial replay(List<String> records) {
+        Partial partial = new Partial();
+
+        for (String record : records) {
+            String[] tokens = record.trim().split("\\s+");
+            int winner = winner(tokens[tokens.length - 1]);
+            List<List<Move>> turns;
+
+            try {
+                turns = MoveNotation.parseGame(record);
+            } catch (IllegalArgumentException e) {
+                partial.rejected++;
+                continue;
+            }
+            partial.games++;
+
+            Board board = Board.startingPosition();
+            MoveList moves = new MoveList();
+
+            for (int ply = 0; ply < Math.min(plies, turns.size()); ply++) {
+                long move = find(board, MoveNotation.formatTurn(turns.get(ply)), moves);
+                if (move == 0) {
+                    partial.rejected++;
+                    break;
+                }
+
+                int weight = (winner < 0) ? DRAW_WEIGHT : (winner == board.getSideToMove()) ? WIN_WEIGHT : 0;
+                if (weight > 0) {
+                    partial.weights.computeIfAbsent(board.getHash(), hash -> new HashMap<>())
+                            .merge(move, weight, Integer::sum);
+                }
+                board = board.play(move);
+            }
+        }
+        return partial;
+    }
+
+    private void merge(Partial partial) {
+        games += partial.games;
+        rejected += partial.rejected;
+
+        for (Map.Entry<Long, Map<Long, Integer>> position : partial.weights.entrySet()) {
+            Map<Long, Integer> moves = weights.computeIfAbsent(position.getKey(), hash -> new HashMap<>());
+            position.getValue().forEach((move, weight) -> moves.merge(move, weight, Integer::sum));
+        }
+    }
+
+    /**
+     * The legal move written as the given turn
+     *
+     * @return - the move, 0 if no legal move is written that way
+     */
+    private static long find(Board board, String turn, MoveList moves) {
+        moves.clear();
+        int count = board.generateMoves(moves);
+
+        for (int i = 0; i < count; i++) {
+            if (MoveNotation.formatTurn(board.toMoves(moves.get(i))).equals(turn)) {
+                return moves.get(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Side that won a game, from its result token
+     *
+     * @return - RED or WHITE, -1 for a draw or no result
+     */
+    private static int winner(String result) {
+        switch (result) {
+            case "1-0":
+                return Board.RED;
+            case "0-1":
+                return Board.WHITE;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.webcheckers.ai;
+
+/**
+ * Mutable position for the random games of MctsEngine
+ *
+ * A playout keeps the position in four ints and its own random number generator, and reuses one
+ * MoveList, so playing a game to the end allocates nothing. Each search thread has its own Playout.
+ * Moves are chosen at random among the legal ones; as jumps are forced that already plays captures.
+ * A game that runs past the ply limit is scored on material.
+ */
+final class Playout {
+
+    // Results of a playout, in half points for the side to move where it started
+    static final int LOSS = 0;
+    static final int DRAW = 1;
+    static final int WIN = 2;
+
+    static final int MAX_PLIES = 150;
+
+    private final MoveList moves = new MoveList();
+    private int red;
+    private int white;
+    private int kings;
+    private int sideToMove;
+    private long random;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param seed - seed of the move choices; the same seed plays the same games
+     */
+    Playout(long seed) {
+        // xorshift has to start from a state that is not 0
+        random = (seed == 0) ? 0x9E3779B97F4A7C15L : seed;
+    }
+
+    /**
+     * Plays a random game from a position
+     *
+     * @param board - the position
+     * @return - WIN, DRAW or LOSS for the side to move in the position
+     */
+    int play(Board board) {
+        red = board.getRed();
+        white = board.getWhite();
+        kings = board.getKings();
+        sideToMove = board.getSideToMove();
+        int start = sideToMove;
+
+        for (int ply = 0; ply < MAX_PLIES; ply++) {
+            moves.clear();
+            int count = Board.generateMoves(red, white, kings, sideToMove, moves);
+            if (count == 0) {
+                return (sideToMove == start) ? LOSS : WIN;
+            }
+            apply(moves.get(nextInt(count)));
+        }
+
+        int material = material(red) - material(white);
+        if (material == 0) {
+            return DRAW;
+        }
+        return ((material > 0) == (start == Board.RED)) ? WIN : LOSS;
+    }
+
+    /**
+     * Plays a move in place, as Board.play does without the hash
+     */
+    private void apply(long move) {
+        int fromBit = 1 << Board.from(move);
+        int toBit = 1 << Board.to(move);
+        int captured = Board.captured(move);
+        boolean king = (kings & fromBit) != 0;
+
+        if (sideToMove == Board.RED) {
+            red = (red & ~fromBit) | toBit;
+            white &= ~captured;
+        } else {
+            white = (white & ~fromBit) | toBit;
+            red &= ~captured;
+        }
+        kings &= ~fromBit & ~captured;
+        if (king || (toBit & (sideToMove == Board.RED ? Board.RED_KING_ROW : Board.WHITE_KING_ROW)) != 0) {
+            kings |= toBit;
+        }
+        sideToMove = 1 - sideToMove;
+    }
+
+    private int material(int pieces) {
+        return Integer.bitCount(pieces & ~kings) * Evaluator.SINGLE + Integer.bitCount(pieces & kings) * Evaluator.KING;
+    }
+
+    /**
+     * xorshift64*, uniform enough for choosing among a few moves
+     */
+    private int nextInt(int bound) {
+        random ^= random >>> 12;
+        random ^= random << 25;
+        random ^= random >>> 27;
+        long value = random * 0x2545F4914F6CDD1DL;
+        return (int) (((value >>> 33) * bound) >>> 31);
+    }
+}
@@ -0,0 +1,78 @@
+package com.webcheckers.ai;
+
+/**
+ * How long a computer player may search for one move
+ *
+ * A search deepens iteratively until it reaches the maximum depth or runs out of time. In deterministic
+ * mode there is no time limit and the search returns the same move and score whatever the number of
+ * threads and whatever earlier searches left in the transposition table, so tests and engine comparisons
+ * can be reproduced.
+ */
+public final class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+
+    private final int depth;
+    private final long millis;
+    private final boolean deterministic;
+
+    private SearchLimits(int depth, long millis, boolean deterministic) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH);
+        }
+        this.depth = depth;
+        this.millis = millis;
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Searches to a fixed depth however long it takes
+     *
+     * @param depth - depth in plies
+     * @return - the limits
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, false);
+    }
+
+    /**
+     * Searches as deep as possible within a time budget
+     *
+     * @param millis   - time budget
+     * @param maxDepth - depth at which to stop early
+     * @return - the limits
+     */
+    public static SearchLimits time(long millis, int maxDepth) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        return new SearchLimits(maxDepth, millis, false);
+    }
+
+    /**
+     * Searches to a fixed depth with a reproducible result
+     *
+     * @param depth - depth in plies
+     * @return - the limits
+     */
+    public static SearchLimits deterministic(int depth) {
+        return new SearchLimits(depth, 0, true);
+    }
+
+    public int getDepth() { return depth; }
+
+    /**
+     * @return - time budget in milliseconds, 0 for none
+     */
+    public long getMillis() { return millis; }
+
+    public boolean isDeterministic() { return deterministic; }
+
+    @Override
+    public String toString() {
+        if (deterministic) {
+            return String.format("depth %d, deterministic", depth);
+        }
+        return (millis == 0) ? String.format("depth %d", depth) : String.format("%d ms, depth %d", millis, depth);
+    }
+}
@@ -0,0 +1,57 @@
+package com.webcheckers.ai;
+
+/**
+ * Best move found by a search, with its score and what the search cost
+ */
+public final class SearchResult {
+
+    private final long move;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long millis;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param move   - best move (see Board), 0 if the side to move has no move
+     * @param score  - score of the move for the side to move
+     * @param depth  - depth of the last completed iteration
+     * @param nodes  - positions visited
+     * @param millis - time taken
+     */
+    public SearchResult(long move, int score, int depth, long nodes, long millis) {
+        this.move = move;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.millis = millis;
+    }
+
+    public long getMove() { return move; }
+
+    public boolean hasMove() { return move != 0; }
+
+    public int getScore() { return score; }
+
+    public int getDepth() { return depth; }
+
+    public long getNodes() { return nodes; }
+
+    public long getMillis() { return millis; }
+
+    /**
+     * Search speed
+     *
+     * @return - nodes per second, 0 if the search took no measurable time
+     */
+    public long getNodesPerSecond() {
+        return (millis == 0) ? 0 : nodes * 1000 / millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s score %d depth %d nodes %d in %d ms",
+                hasMove() ? Board.format(move) : "none", score, depth, nodes, millis);
+    }
+}
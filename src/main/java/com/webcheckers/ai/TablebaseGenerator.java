@@ -0,0 +1,249 @@
+package com.webcheckers.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.SquareTables;
+
+/**
+ * Solves every position with up to a given number of pieces and writes them as an EndgameTablebase
+ *
+ * Slices are solved in TablebaseIndex order, so every capture and promotion leads to a position that is
+ * already solved. Each slice is solved retrogradely:
+ *   1. Every position is visited once. A position without moves is lost. A position with a jump only
+ *      has moves out of the slice, so it is solved from the earlier slices. Otherwise moves out of the
+ *      slice (promotions) are looked up, and the moves staying in the slice are counted.
+ *   2. Starting from the solved positions, moves are taken back: a position that can move into a lost
+ *      position is won, and a position whose last counted move leads into a won position is lost.
+ *   3. What is left can avoid losing forever, or reach a drawn position, and is drawn.
+ */
+public class TablebaseGenerator {
+    private static final Logger LOG = Logger.getLogger(TablebaseGenerator.class.getName());
+
+    private static final int WIN = EndgameTablebase.Result.WIN.ordinal();
+    private static final int LOSS = EndgameTablebase.Result.LOSS.ordinal();
+    private static final int DRAW = EndgameTablebase.Result.DRAW.ordinal();
+    private static final int UNKNOWN = EndgameTablebase.Result.UNKNOWN.ordinal();
+
+    // Flag on a position's move counter: one of its moves leaves the slice into a drawn position
+    private static final int DRAW_EXIT = 0x80;
+
+    private final TablebaseIndex index;
+    private final byte[] table;
+    private final MoveList moves = new MoveList();
+
+    /**
+     * Parameterized constructor
+     *
+     * @param maxPieces - most pieces of a position to solve, 2 to 6; each extra piece takes about 25 times
+     *                  as long and as much space
+     */
+    public TablebaseGenerator(int maxPieces) {
+        this.index = new TablebaseIndex(maxPieces);
+        if (index.getEntries() / 4 >= Integer.MAX_VALUE - EndgameTablebase.HEADER_BYTES) {
+            throw new IllegalArgumentException("A " + maxPieces + "-piece tablebase does not fit one file");
+        }
+        this.table = new byte[(int) ((index.getEntries() + 3) / 4)];
+    }
+
+    /**
+     * Solves every slice
+     *
+     * @return - this generator, to write the result
+     */
+    public TablebaseGenerator generate() {
+        long start = System.currentTimeMillis();
+
+        for (TablebaseIndex.Slice slice : index.getSlices()) {
+            solve(slice);
+        }
+
+        LOG.info(String.format("Solved %d positions with up to %d pieces in %d ms",
+                index.getEntries(), index.getMaxPieces(), System.currentTimeMillis() - start));
+        return this;
+    }
+
+    /**
+     * Writes the solved table
+     *
+     * @param file - file to write
+     * @throws IOException - if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(EndgameTablebase.HEADER_BYTES);
+        header.putInt(EndgameTablebase.MAGIC)
+                .putInt(EndgameTablebase.VERSION)
+                .putInt(index.getMaxPieces())
+                .putInt(0)
+                .putLong(index.getEntries())
+                .flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            ByteBuffer data = ByteBuffer.wrap(table);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        LOG.info(String.format("Wrote %s (%d bytes)", file, EndgameTablebase.HEADER_BYTES + table.length));
+    }
+
+    private void solve(TablebaseIndex.Slice slice) {
+        int entries = (int) slice.getEntries();
+        byte[] counters = new byte[entries];
+        int[] queue = new int[entries];
+        int tail = 0;
+
+        // 1. Solve what the moves out of the slice decide, count the moves within it
+        for (int entry = 0; entry < entries; entry++) {
+            Board board = TablebaseIndex.board(slice, entry);
+            if (!TablebaseIndex.isLegal(board)) {
+                continue;
+            }
+
+            moves.clear();
+            int count = board.generateMoves(moves);
+            int within = 0;
+            boolean win = false;
+            boolean draw = false;
+
+            for (int i = 0; i < count; i++) {
+                Board child = board.play(moves.get(i));
+
+                if (!Board.isJump(moves.get(i)) && index.slice(child) == slice) {
+                    within++;
+                    continue;
+                }
+                int result = result(child);
+                win |= result == LOSS;
+                draw |= result == DRAW;
+            }
+
+            if (win) {
+                set(slice, entry, WIN);
+                queue[tail++] = entry;
+            } else if (within == 0) {
+                set(slice, entry, draw ? DRAW : LOSS);
+                if (!draw) {
+                    queue[tail++] = entry;
+                }
+            } else {
+                counters[entry] = (byte) (within | (draw ? DRAW_EXIT : 0));
+            }
+        }
+
+        // 2. Take moves back from the solved positions
+        for (int head = 0; head < tail; head++) {
+            Board board = TablebaseIndex.board(slice, queue[head]);
+            boolean lost = get(slice, queue[head]) == LOSS;
+            int mover = 1 - board.getSideToMove();
+            int pieces = (mover == Board.RED) ? board.getRed() : board.getWhite();
+            int empty = ~(board.getRed() | board.getWhite());
+
+            for (int remaining = pieces; remaining != 0; remaining &= remaining - 1) {
+                int to = Integer.numberOfTrailingZeros(remaining);
+
+                for (int from : SquareTables.steps(reverseKind(board, mover, to), to)) {
+                    if ((empty & (1 << from)) == 0) {
+                        continue;
+                    }
+                    int previous = (int) TablebaseIndex.entry(unmove(board, mover, from, to), slice);
+                    if (get(slice, previous) != UNKNOWN) {
+                        continue;
+                    }
+
+                    if (lost) {
+                        set(slice, previous, WIN);
+                        queue[tail++] = previous;
+                    } else {
+                        int counter = counters[previous] - 1;
+                        counters[previous] = (byte) counter;
+
+                        if ((counter & ~DRAW_EXIT) == 0) {
+                            boolean draw = (counter & DRAW_EXIT) != 0;
+                            set(slice, previous, draw ? DRAW : LOSS);
+                            if (!draw) {
+                                queue[tail++] = previous;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // 3. The rest are draws
+        int draws = 0;
+        for (int entry = 0; entry < entries; entry++) {
+            if (counters[entry] != 0 && get(slice, entry) == UNKNOWN) {
+                set(slice, entry, DRAW);
+                draws++;
+            }
+        }
+
+        LOG.fine(String.format("Slice %s: %d positions, %d decided by retrograde search, %d drawn",
+                slice, entries, tail, draws));
+    }
+
+    /**
+     * Kind of piece whose steps, taken backwards, reach the given square
+     * A RED single came from the squares a WHITE single would step to, and the other way round.
+     */
+    private static int reverseKind(Board board, int mover, int square) {
+        if ((board.getKings() & (1 << square)) != 0) {
+            return SquareTables.KING;
+        }
+        return (mover == Board.RED) ? SquareTables.WHITE_SINGLE : SquareTables.RED_SINGLE;
+    }
+
+    /**
+     * The position before the mover stepped from one square to the other
+     */
+    private static Board unmove(Board board, int mover, int from, int to) {
+        int moved = (1 << from) | (1 << to);
+        int red = board.getRed();
+        int white = board.getWhite();
+        int kings = board.getKings();
+
+        if (mover == Board.RED) {
+            red ^= moved;
+        } else {
+            white ^= moved;
+        }
+        if ((kings & (1 << to)) != 0) {
+            kings ^= moved;
+        }
+        return new Board(red, white, kings, mover);
+    }
+
+    /**
+     * Result of a solved position for its side to move
+     */
+    private int result(Board board) {
+        TablebaseIndex.Slice slice = index.slice(board);
+        if (slice == null) {
+            int toMove = (board.getSideToMove() == Board.RED) ? board.getRed() : board.getWhite();
+            return (toMove == 0) ? LOSS : WIN;
+        }
+        return get(slice, TablebaseIndex.entry(board, slice));
+    }
+
+    private int get(TablebaseIndex.Slice slice, long entry) {
+        long position = slice.offset + entry;
+        return (table[(int) (position >>> 2)] >>> ((int) (position & 3) << 1)) & 3;
+    }
+
+    private void set(TablebaseIndex.Slice slice, long entry, int value) {
+        long position = slice.offset + entry;
+        int byteIndex = (int) (position >>> 2);
+        int shift = (int) (position & 3) << 1;
+
+        table[byteIndex] = (byte) ((table[byteIndex] & ~(3 << shift)) | (value << shift));
+    }
+}
@@ -0,0 +1,283 @@
+package com.webcheckers.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.webcheckers.model.SquareTables;
+
+/**
+ * Maps every position with up to a given number of pieces to an entry of the endgame tablebase
+ *
+ * Positions are grouped in slices by their material: the numbers of RED singles, RED kings, WHITE singles
+ * and WHITE kings. Within a slice the RED singles, WHITE singles, RED kings and WHITE kings are placed in
+ * turn on the squares still free, and each group of squares is ranked with the combinatorial number
+ * system, so the index of a position is computed from its bitboards with a few table lookups and no search.
+ * Every slice holds the positions with RED to move followed by the same positions with WHITE to move.
+ *
+ * Slices are ordered so that every position a move can reach is in an earlier slice or in the same one:
+ * fewer pieces first, then fewer singles, as a capture removes a piece and a promotion turns a single
+ * into a king.
+ */
+final class TablebaseIndex {
+
+    // Piece counts above this would not fit a memory-mapped table
+    static final int MAX_PIECES = 6;
+
+    private static final long[][] CHOOSE = new long[SquareTables.SQUARES + 1][SquareTables.SQUARES + 1];
+
+    static {
+        for (int n = 0; n <= SquareTables.SQUARES; n++) {
+            CHOOSE[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                CHOOSE[n][k] = CHOOSE[n - 1][k - 1] + CHOOSE[n - 1][k];
+            }
+        }
+    }
+
+    /**
+     * Positions with one material balance
+     */
+    static final class Slice {
+        final int redSingles;
+        final int redKings;
+        final int whiteSingles;
+        final int whiteKings;
+        final long size;
+        long offset;
+
+        Slice(int redSingles, int redKings, int whiteSingles, int whiteKings) {
+            this.redSingles = redSingles;
+            this.redKings = redKings;
+            this.whiteSingles = whiteSingles;
+            this.whiteKings = whiteKings;
+
+            int free = SquareTables.SQUARES;
+            long placements = choose(free, redSingles);
+            free -= redSingles;
+            placements *= choose(free, whiteSingles);
+            free -= whiteSingles;
+            placements *= choose(free, redKings);
+            free -= redKings;
+            this.size = placements * choose(free, whiteKings);
+        }
+
+        int getPieces() {
+            return redSingles + redKings + whiteSingles + whiteKings;
+        }
+
+        int getSingles() {
+            return redSingles + whiteSingles;
+        }
+
+        /**
+         * Entries of the slice, both sides to move
+         */
+        long getEntries() {
+            return 2 * size;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%dr%dR-%dw%dW", redSingles, redKings, whiteSingles, whiteKings);
+        }
+    }
+
+    private final int maxPieces;
+    private final List<Slice> slices = new ArrayList<>();
+
+    // [red singles][red kings][white singles][white kings] -> slice
+    private final Slice[][][][] lookup;
+    private final long entries;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param maxPieces - largest number of pieces on the board, both colors together
+     */
+    TablebaseIndex(int maxPieces) {
+        if (maxPieces < 2 || maxPieces > MAX_PIECES) {
+            throw new IllegalArgumentException("Tablebases hold 2 to " + MAX_PIECES + " pieces");
+        }
+        this.maxPieces = maxPieces;
+        this.lookup = new Slice[maxPieces + 1][maxPieces + 1][maxPieces + 1][maxPieces + 1];
+
+        for (int rs = 0; rs <= maxPieces; rs++) {
+            for (int rk = 0; rs + rk <= maxPieces; rk++) {
+                for (int ws = 0; rs + rk + ws <= maxPieces; ws++) {
+                    for (int wk = 0; rs + rk + ws + wk <= maxPieces; wk++) {
+                        // A side without pieces has lost; those positions are not stored
+                        if (rs + rk > 0 && ws + wk > 0) {
+                            Slice slice = new Slice(rs, rk, ws, wk);
+                            slices.add(slice);
+                            lookup[rs][rk][ws][wk] = slice;
+                        }
+                    }
+                }
+            }
+        }
+
+        slices.sort(Comparator.comparingInt(Slice::getPieces).thenComparingInt(Slice::getSingles));
+
+        long offset = 0;
+        for (Slice slice : slices) {
+            slice.offset = offset;
+            offset += slice.getEntries();
+        }
+        this.entries = offset;
+    }
+
+    static long choose(int n, int k) {
+        return (k < 0 || k > n) ? 0 : CHOOSE[n][k];
+    }
+
+    int getMaxPieces() { return maxPieces; }
+
+    long getEntries() { return entries; }
+
+    List<Slice> getSlices() {
+        return Collections.unmodifiableList(slices);
+    }
+
+    /**
+     * Slice holding a position
+     *
+     * @return - the slice, or null if a side has no pieces or there are too many pieces
+     */
+    Slice slice(Board board) {
+        int kings = board.getKings();
+        int redKings = Integer.bitCount(board.getRed() & kings);
+        int whiteKings = Integer.bitCount(board.getWhite() & kings);
+        int redSingles = Integer.bitCount(board.getRed()) - redKings;
+        int whiteSingles = Integer.bitCount(board.getWhite()) - whiteKings;
+
+        if (redSingles + redKings + whiteSingles + whiteKings > maxPieces) {
+            return null;
+        }
+        return lookup[redSingles][redKings][whiteSingles][whiteKings];
+    }
+
+    /**
+     * Entry of a position in its slice, not counting the slice's offset
+     *
+     * @param board - a position of the slice
+     * @param slice - its slice
+     * @return - the entry within the slice
+     */
+    static long entry(Board board, Slice slice) {
+        int kings = board.getKings();
+        int redSingles = board.getRed() & ~kings;
+        int whiteSingles = board.getWhite() & ~kings;
+        int redKings = board.getRed() & kings;
+        int whiteKings = board.getWhite() & kings;
+
+        int occupied = 0;
+        int free = SquareTables.SQUARES;
+        long placement = rank(redSingles, occupied);
+        occupied |= redSingles;
+        free -= slice.redSingles;
+
+        placement = placement * choose(free, slice.whiteSingles) + rank(whiteSingles, occupied);
+        occupied |= whiteSingles;
+        free -= slice.whiteSingles;
+
+        placement = placement * choose(free, slice.redKings) + rank(redKings, occupied);
+        occupied |= redKings;
+        free -= slice.redKings;
+
+        placement = placement * choose(free, slice.whiteKings) + rank(whiteKings, occupied);
+
+        return (board.getSideToMove() == Board.RED) ? placement : slice.size + placement;
+    }
+
+    /**
+     * Rank of a set of squares among the squares not yet occupied
+     */
+    private static long rank(int squares, int occupied) {
+        long rank = 0;
+        int k = 1;
+
+        for (int remaining = squares; remaining != 0; remaining &= remaining - 1, k++) {
+            int square = Integer.numberOfTrailingZeros(remaining);
+            int free = square - Integer.bitCount(occupied & ((1 << square) - 1));
+            rank += CHOOSE[free][k];
+        }
+        return rank;
+    }
+
+    /**
+     * Position of an entry of a slice; the inverse of entry()
+     *
+     * @param slice - the slice
+     * @param entry - entry within the slice
+     * @return - the position; it may be illegal, with a single on its king row
+     */
+    static Board board(Slice slice, long entry) {
+        int side = (entry < slice.size) ? Board.RED : Board.WHITE;
+        long placement = (side == Board.RED) ? entry : entry - slice.size;
+
+        int free = SquareTables.SQUARES - slice.getPieces() + slice.whiteKings;
+        long whiteKingsSize = choose(free, slice.whiteKings);
+        long whiteKingsRank = placement % whiteKingsSize;
+        placement /= whiteKingsSize;
+
+        free += slice.redKings;
+        long redKingsSize = choose(free, slice.redKings);
+        long redKingsRank = placement % redKingsSize;
+        placement /= redKingsSize;
+
+        free += slice.whiteSingles;
+        long whiteSinglesSize = choose(free, slice.whiteSingles);
+        long whiteSinglesRank = placement % whiteSinglesSize;
+        long redSinglesRank = placement / whiteSinglesSize;
+
+        int redSingles = unrank(redSinglesRank, slice.redSingles, 0);
+        int whiteSingles = unrank(whiteSinglesRank, slice.whiteSingles, redSingles);
+        int redKings = unrank(redKingsRank, slice.redKings, redSingles | whiteSingles);
+        int whiteKings = unrank(whiteKingsRank, slice.whiteKings, redSingles | whiteSingles | redKings);
+
+        return new Board(redSingles | redKings, whiteSingles | whiteKings, redKings | whiteKings, side);
+    }
+
+    /**
+     * Set of k squares with the given rank among the squares not yet occupied
+     */
+    private static int unrank(long rank, int k, int occupied) {
+        int squares = 0;
+
+        for (int i = k; i >= 1; i--) {
+            int free = i - 1;
+            while (CHOOSE[free + 1][i] <= rank) {
+                free++;
+            }
+            rank -= CHOOSE[free][i];
+            squares |= 1 << nthFree(free, occupied);
+        }
+        return squares;
+    }
+
+    /**
+     * The n-th (from 0) square not occupied
+     */
+    private static int nthFree(int n, int occupied) {
+        int square = 0;
+        for (int seen = -1; ; square++) {
+            if ((occupied & (1 << square)) == 0 && ++seen == n) {
+                return square;
+            }
+        }
+    }
+
+    /**
+     * Whether a position can occur in a game: no single on the row it would have been kinged on
+     *
+     * @param board - the position
+     * @return - true if legal
+     */
+    static boolean isLegal(Board board) {
+        int singles = ~board.getKings();
+        return (board.getRed() & singles & Board.RED_KING_ROW) == 0
+                && (board.getWhite() & singles & Board.WHITE_KING_ROW) == 0;
+    }
+}
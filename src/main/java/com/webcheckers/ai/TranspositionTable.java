@@ -0,0 +1,140 @@
+package com.webcheckers.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free transposition table shared by every thread of a search
+ *
+ * Each entry is two longs: the packed data and the position hash XORed with that data. Threads store
+ * and probe entries without locks; if two threads race on an entry and a probe reads the key of one
+ * store and the data of another, the XOR no longer matches the hash and the probe misses, so a torn
+ * entry is never used.
+ *
+ * Data layout: score (16 bits), depth (8 bits), bound (2 bits), best move from and to squares
+ * (5 bits each) and the search generation (8 bits) used to replace entries of earlier searches.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    public static final long NO_ENTRY = 0;
+
+    private static final int SCORE_BITS = 16;
+    private static final int DEPTH_SHIFT = 16;
+    private static final int BOUND_SHIFT = 24;
+    private static final int FROM_SHIFT = 26;
+    private static final int TO_SHIFT = 31;
+    private static final int GENERATION_SHIFT = 36;
+    private static final int NO_MOVE = 0x3FF;
+
+    private final AtomicLongArray entries;
+    private final int mask;
+    private volatile int generation;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param bits - log2 of the number of entries; each entry takes 16 bytes
+     */
+    public TranspositionTable(int bits) {
+        if (bits < 1 || bits > 28) {
+            throw new IllegalArgumentException("Table size must be between 2^1 and 2^28 entries");
+        }
+        this.entries = new AtomicLongArray(2 << bits);
+        this.mask = (1 << bits) - 1;
+    }
+
+    /**
+     * Starts a new search; entries of earlier searches are replaced first
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Looks up a position
+     *
+     * @param hash - Zobrist hash of the position
+     * @return - the packed entry, or NO_ENTRY
+     */
+    public long probe(long hash) {
+        int index = slot(hash);
+        long data = entries.get(index + 1);
+        long key = entries.get(index);
+
+        return (data != NO_ENTRY && (key ^ data) == hash) ? data : NO_ENTRY;
+    }
+
+    /**
+     * Stores the result of searching a position, keeping a deeper result of the current search
+     *
+     * @param hash  - Zobrist hash of the position
+     * @param depth - remaining depth the position was searched to
+     * @param score - score, already made independent of the distance from the root
+     * @param bound - EXACT, LOWER or UPPER
+     * @param move  - best move found, or 0
+     */
+    public void store(long hash, int depth, int score, int bound, long move) {
+        int index = slot(hash);
+        long existing = entries.get(index + 1);
+
+        if (existing != NO_ENTRY && (entries.get(index) ^ existing) == hash
+                && generation(existing) == generation && depth(existing) > depth) {
+            return;
+        }
+
+        int bestMove = (move == 0) ? NO_MOVE : (Board.from(move) | Board.to(move) << 5);
+        long data = (score & 0xFFFFL)
+                | ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) bestMove << FROM_SHIFT)
+                | ((long) generation << GENERATION_SHIFT);
+
+        // A reader racing with these two writes sees a mismatched key and misses
+        entries.set(index, hash ^ data);
+        entries.set(index + 1, data);
+    }
+
+    private int slot(long hash) {
+        return (int) (hash & mask) << 1;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, 0);
+        }
+    }
+
+    // ENTRY FIELDS
+
+    public static int score(long entry) {
+        return (short) (entry & ((1L << SCORE_BITS) - 1));
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 3;
+    }
+
+    /**
+     * Whether a generated move is the best move stored in an entry
+     *
+     * @param entry - the entry
+     * @param move  - a packed move
+     * @return - true if the starting and landing squares match
+     */
+    public static boolean isBestMove(long entry, long move) {
+        int from = (int) (entry >>> FROM_SHIFT) & 31;
+        int to = (int) (entry >>> TO_SHIFT) & 31;
+        return ((entry >>> FROM_SHIFT) & NO_MOVE) != NO_MOVE && from == Board.from(move) && to == Board.to(move);
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & 0xFF;
+    }
+}
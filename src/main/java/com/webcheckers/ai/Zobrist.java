@@ -0,0 +1,59 @@
+package com.webcheckers.ai;
+
+import java.util.Random;
+
+import com.webcheckers.model.SquareTables;
+
+/**
+ * Zobrist hashing of checkers positions
+ *
+ * Every (kind of piece, square) pair and the side to move get a random 64-bit key; a position hashes to
+ * the XOR of the keys of its pieces, so playing a move updates the hash with a handful of XORs.
+ * The keys come from a fixed seed, so hashes are the same in every run and can be stored in files.
+ */
+final class Zobrist {
+
+    private static final long SEED = 0x5EEDC4EC4E25L;
+
+    // Kinds of piece: RED single, WHITE single, RED king, WHITE king
+    private static final int KINDS = 4;
+
+    private static final long[] KEYS = new long[KINDS * SquareTables.SQUARES];
+
+    // Toggled when WHITE is to move
+    static final long SIDE;
+
+    static {
+        Random random = new Random(SEED);
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = random.nextLong();
+        }
+        SIDE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    static int index(int color, boolean king) {
+        return (king ? 2 : 0) + color;
+    }
+
+    static long key(int index, int square) {
+        return KEYS[index * SquareTables.SQUARES + square];
+    }
+
+    /**
+     * Hash of a whole position, computed from scratch
+     */
+    static long hash(int red, int white, int kings, int sideToMove) {
+        long hash = (sideToMove == Board.WHITE) ? SIDE : 0;
+
+        for (int pieces = red | white; pieces != 0; pieces &= pieces - 1) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            int color = ((red & (1 << square)) != 0) ? Board.RED : Board.WHITE;
+
+            hash ^= key(index(color, (kings & (1 << square)) != 0), square);
+        }
+        return hash;
+    }
+}
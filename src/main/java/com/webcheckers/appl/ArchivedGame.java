@@ -0,0 +1,102 @@
+package com.webcheckers.appl;
+
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveNotation;
+import com.webcheckers.model.PdnGame;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.PositionString;
+
+/**
+ * A finished game read back from the GameArchive
+ */
+public final class ArchivedGame {
+    private final long id;
+    private final long endMillis;
+    private final String red;
+    private final String white;
+    private final Piece.Color winner;
+    private final PositionString start;
+    private final List<List<Move>> turns;
+
+    ArchivedGame(long id, long endMillis, String red, String white, Piece.Color winner, PositionString start,
+                 List<List<Move>> turns) {
+        this.id = id;
+        this.endMillis = endMillis;
+        this.red = red;
+        this.white = white;
+        this.winner = winner;
+        this.start = start;
+        this.turns = Collections.unmodifiableList(turns);
+    }
+
+    /**
+     * @return - id the archive gave the game, increasing in the order games ended
+     */
+    public long getId() { return id; }
+
+    /**
+     * @return - when the game ended, in milliseconds since the epoch
+     */
+    public long getEndMillis() { return endMillis; }
+
+    /**
+     * @return - name of the RED player
+     */
+    public String getRed() { return red; }
+
+    /**
+     * @return - name of the WHITE player
+     */
+    public String getWhite() { return white; }
+
+    /**
+     * @return - color of the winner, or null if the game ended without one
+     */
+    public Piece.Color getWinner() { return winner; }
+
+    /**
+     * @return - position the game started from
+     */
+    public PositionString getStart() { return start; }
+
+    /**
+     * @return - the moves of every turn, in order
+     */
+    public List<List<Move>> getTurns() { return turns; }
+
+    /**
+     * The game as PDN, with the players, the date it ended and, if it was not the usual one, the start
+     *
+     * @return - the PDN game
+     */
+    public PdnGame toPdn() {
+        SimpleDateFormat date = new SimpleDateFormat("yyyy.MM.dd");
+        date.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "WebCheckers game " + id);
+        tags.put("Date", date.format(new Date(endMillis)));
+        tags.put(PdnGame.BLACK_TAG, red);
+        tags.put(PdnGame.WHITE_TAG, white);
+        if (!start.equals(PositionString.load(PositionString.STARTING))) {
+            tags.put(PdnGame.FEN_TAG, start.toString());
+        }
+
+        String result = (winner == null) ? PdnGame.NO_RESULT
+                : (winner == Piece.Color.RED) ? PdnGame.RED_WINS : PdnGame.WHITE_WINS;
+        return new PdnGame(tags, turns, result);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s vs. %s: %s", id, red, white, MoveNotation.formatGame(turns));
+    }
+}
@@ -0,0 +1,446 @@
+package com.webcheckers.appl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.Engine;
+import com.webcheckers.ai.SearchLimits;
+import com.webcheckers.ai.SearchResult;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Turn;
+
+/**
+ * Plays the computer players' turns on a small pool of its own, away from the web server's threads
+ *
+ * The scheduler holds one or more engines by name, and each computer player is played by the engine
+ * its game was started with, so the engines can be compared on the same server.
+ *
+ * A game asks for a move when its computer player's turn starts and has at most one request waiting,
+ * so the first-in first-out queue serves the games in turn. The number of games against the computer
+ * is limited (admission control), which also bounds the queue; a game that would go over the limit is
+ * refused when it is set up, not in the middle of play. The queue has room for a ponder of every game
+ * besides its request, and a request that still finds it full, such as one of the games a promoted
+ * standby takes over, waits for the next worker to finish rather than being dropped.
+ *
+ * Each request has a deadline: the difficulty's think time from when it was queued. Time spent waiting
+ * counts against it, and while more games wait than there are workers the think time is shared out
+ * between them, so a rush of games against the computer makes the computer play faster and weaker
+ * instead of slowing down the web requests of human players.
+ *
+ * With pondering on, a worker that is not needed keeps searching after the computer moves: it predicts
+ * the opponent's reply and searches the position that reply leads to, with the difficulty's limits,
+ * while the human thinks. If the human plays the predicted move, the computer answers with that search
+ * at once; otherwise the search has still warmed the engine's transposition table. Pondering gives way
+ * to real work: it only starts when no other request is queued or being searched, and every new request
+ * stops the searches in progress.
+ */
+public class ComputerMoveScheduler {
+    private static final Logger LOG = Logger.getLogger(ComputerMoveScheduler.class.getName());
+
+    public static final int DEFAULT_MAX_GAMES = 64;
+
+    // Think time a move always gets, however busy the pool
+    static final long MIN_THINK_MILLIS = 50;
+
+    // Engines by the name games choose them with; the first is the default
+    private final Map<String, Engine> engines;
+    private final int workers;
+    private final int maxGames;
+    private final boolean pondering;
+    private final ThreadPoolExecutor executor;
+
+    // Games with a request queued or being searched -> that request
+    private final ConcurrentHashMap<CheckersGame, Object> pending = new ConcurrentHashMap<>();
+    // Requests the full queue turned away, queued as workers finish
+    private final ConcurrentLinkedDeque<Runnable> waiting = new ConcurrentLinkedDeque<>();
+
+    // Games -> the search of the position the computer expects to face next; dropped with the game
+    private final Map<CheckersGame, Ponder> ponders = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Metrics
+    private final AtomicInteger searching = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder waitMillis = new LongAdder();
+    private final LongAdder thinkMillis = new LongAdder();
+    private final LongAdder refusedGames = new LongAdder();
+    private final AtomicLong failures = new AtomicLong();
+    private final LongAdder pondered = new LongAdder();
+    private final LongAdder ponderHits = new LongAdder();
+
+    /**
+     * A search started while the opponent thinks
+     */
+    private static final class Ponder {
+        // Position searched, with the computer to move; 0 until the opponent's reply is predicted
+        private volatile long hash;
+        // Set if the search ran to its limits
+        private volatile SearchResult result;
+        private volatile boolean stopped;
+
+        void stop() {
+            stopped = true;
+        }
+
+        boolean isStopped() {
+            return stopped;
+        }
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param engine   - engine that chooses the moves; it is shared by every worker
+     * @param workers  - number of moves searched at once
+     * @param maxGames - number of games against the computer allowed at once
+     */
+    public ComputerMoveScheduler(Engine engine, int workers, int maxGames) {
+        this(engine, workers, maxGames, false);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param engine    - engine that chooses the moves; it is shared by every worker
+     * @param workers   - number of moves searched at once
+     * @param maxGames  - number of games against the computer allowed at once
+     * @param pondering - whether idle workers search while the opponents think
+     */
+    public ComputerMoveScheduler(Engine engine, int workers, int maxGames, boolean pondering) {
+        this(Collections.singletonMap(Objects.requireNonNull(engine, "engine must not be null").getName(), engine),
+                workers, maxGames, pondering);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param engines   - engines a game can be played with, by name; the first is the default
+     * @param workers   - number of moves searched at once
+     * @param maxGames  - number of games against the computer allowed at once
+     * @param pondering - whether idle workers search while the opponents think
+     */
+    public ComputerMoveScheduler(Map<String, Engine> engines, int workers, int maxGames, boolean pondering) {
+        Objects.requireNonNull(engines, "engines must not be null");
+        if (engines.isEmpty()) {
+            throw new IllegalArgumentException("engines must not be empty");
+        }
+        if (workers < 1 || maxGames < 1) {
+            throw new IllegalArgumentException("workers and maxGames must be positive");
+        }
+        this.engines = new LinkedHashMap<>(engines);
+        this.workers = workers;
+        this.maxGames = maxGames;
+        this.pondering = pondering;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threads = runnable -> {
+            Thread thread = new Thread(runnable, "computer-player-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // A request and a ponder for each game
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(2 * maxGames), threads);
+    }
+
+    public int getMaxGames() { return maxGames; }
+
+    /**
+     * @return - names of the engines a game can be played with, the default first
+     */
+    public Set<String> getEngineNames() {
+        return Collections.unmodifiableSet(engines.keySet());
+    }
+
+    /**
+     * The engine that plays a computer player: the one it chose, or the default
+     *
+     * @param player - the computer player
+     * @return - the engine
+     */
+    Engine engine(ComputerPlayer player) {
+        Engine engine = (player.getEngineName() == null) ? null : engines.get(player.getEngineName());
+        return (engine == null) ? engines.values().iterator().next() : engine;
+    }
+
+    public int getWorkers() { return workers; }
+
+    /**
+     * Admission control for a new game against the computer
+     *
+     * @param activeGames - games against the computer in progress
+     * @return - true if another game may start
+     */
+    public boolean admit(int activeGames) {
+        if (activeGames < maxGames) {
+            return true;
+        }
+        refusedGames.increment();
+        LOG.warning(String.format("Refused a game against the computer, %d games in progress", activeGames));
+        return false;
+    }
+
+    /**
+     * Queues the search for a computer player's turn
+     *
+     * @param game      - the game
+     * @param player    - the computer player whose turn it is
+     * @param submitter - submits the turn once its moves are made, as GameManager.submitTurn
+     * @return - true if queued, false if the game already has a request
+     */
+    public boolean submit(CheckersGame game, ComputerPlayer player,
+                          BiFunction<CheckersGame, ComputerPlayer, Message> submitter) {
+        final Object request = new Object();
+        if (pending.putIfAbsent(game, request) != null) {
+            return false;
+        }
+        stopPondering();
+
+        final long queued = System.nanoTime();
+        final Runnable task = () -> play(game, player, submitter, request, queued);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOG.warning(String.format("Computer player queue is full, %s waits for a worker", game));
+            waiting.offerLast(task);
+            // The workers may all have finished since
+            queueWaiting();
+        }
+        maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+        return true;
+    }
+
+    /**
+     * Queues the requests the full queue turned away, oldest first, while there is room
+     */
+    private void queueWaiting() {
+        Runnable task;
+        while ((task = waiting.pollFirst()) != null) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                waiting.offerFirst(task);
+                return;
+            }
+        }
+    }
+
+    private void play(CheckersGame game, ComputerPlayer player,
+                      BiFunction<CheckersGame, ComputerPlayer, Message> submitter, Object request, long queued) {
+        searching.incrementAndGet();
+        try {
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queued);
+
+            Board board;
+            synchronized (game) {
+                Turn turn = game.getTurn();
+                if (turn == null || !turn.isMyTurn(player)) {
+                    return;
+                }
+                board = Board.of(game.getBoard(), game.getPlayerColor(player));
+            }
+
+            SearchResult result = null;
+            Ponder ponder = ponders.remove(game);
+            if (ponder != null) {
+                ponder.stop();
+                if (ponder.hash == board.getHash() && ponder.result != null) {
+                    result = ponder.result;
+                    ponderHits.increment();
+                }
+            }
+            if (result == null) {
+                SearchLimits limits = limits(player.getDifficulty().getLimits(), waited,
+                        executor.getQueue().size() + searching.get());
+                result = engine(player).search(board, limits);
+            }
+
+            if (!result.hasMove()) {
+                LOG.warning(String.format("Computer player %s has no move", player.getName()));
+                return;
+            }
+
+            synchronized (game) {
+                Turn turn = game.getTurn();
+                if (turn == null || !turn.isMyTurn(player)) {
+                    return;
+                }
+                for (Move move : board.toMoves(result.getMove())) {
+                    turn.validateMove(move);
+                }
+                // The opponent's next turn may ask for the following move before this request finishes
+                pending.remove(game, request);
+                submitter.apply(game, player);
+            }
+            moves.increment();
+            waitMillis.add(waited);
+            thinkMillis.add(result.getMillis());
+
+            LOG.fine(String.format("%s played %s after waiting %d ms (%s), queue depth %d",
+                    player.getName(), Board.format(result.getMove()), waited, result, getQueueDepth()));
+
+            ponder(game, player, board.play(result.getMove()));
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LOG.log(Level.WARNING, "Computer player failed to move in " + game, e);
+        } finally {
+            searching.decrementAndGet();
+            pending.remove(game, request);
+            queueWaiting();
+        }
+    }
+
+    /**
+     * Starts pondering a game, if pondering is on and nothing else needs the workers
+     *
+     * @param game     - the game
+     * @param player   - the computer player that just moved
+     * @param opponent - the position after its move, with the opponent to move
+     */
+    private void ponder(CheckersGame game, ComputerPlayer player, Board opponent) {
+        SearchLimits limits = player.getDifficulty().getLimits();
+        // This request is still counted as searching
+        if (!pondering || limits.getMillis() == 0 || !executor.getQueue().isEmpty() || searching.get() > 1) {
+            return;
+        }
+
+        Ponder ponder = new Ponder();
+        ponders.put(game, ponder);
+        try {
+            Engine engine = engine(player);
+            executor.execute(() -> ponder(ponder, engine, opponent, limits));
+        } catch (RejectedExecutionException e) {
+            ponders.remove(game, ponder);
+        }
+    }
+
+    private void ponder(Ponder ponder, Engine engine, Board opponent, SearchLimits limits) {
+        try {
+            // A short search predicts the reply, then the position it leads to gets the full limits
+            SearchLimits predict = SearchLimits.time(Math.max(MIN_THINK_MILLIS, limits.getMillis() / 4),
+                    limits.getDepth());
+            SearchResult reply = engine.search(opponent, predict, ponder::isStopped);
+            if (ponder.isStopped() || !reply.hasMove()) {
+                return;
+            }
+
+            Board expected = opponent.play(reply.getMove());
+            ponder.hash = expected.getHash();
+            SearchResult result = engine.search(expected, limits, ponder::isStopped);
+            if (!ponder.isStopped()) {
+                ponder.result = result;
+                pondered.increment();
+            }
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Pondering failed", e);
+        } finally {
+            queueWaiting();
+        }
+    }
+
+    /**
+     * Stops every search started while an opponent thinks, leaving the workers to real requests
+     */
+    private void stopPondering() {
+        synchronized (ponders) {
+            for (Ponder ponder : ponders.values()) {
+                ponder.stop();
+            }
+        }
+    }
+
+    /**
+     * Search limits of a request, given how long it waited and how many requests share the workers
+     *
+     * @param limits  - the difficulty's limits
+     * @param waited  - milliseconds the request was queued
+     * @param pending - requests queued or being searched, this one included
+     * @return - limits with the think time that is left, the same limits if they have no time budget
+     */
+    SearchLimits limits(SearchLimits limits, long waited, int pending) {
+        if (limits.getMillis() == 0) {
+            return limits;
+        }
+        long share = limits.getMillis() * workers / Math.max(workers, pending);
+        long left = Math.min(share, limits.getMillis() - waited);
+        return SearchLimits.time(Math.max(MIN_THINK_MILLIS, left), limits.getDepth());
+    }
+
+    // METRICS
+
+    /**
+     * @return - requests waiting for a worker
+     */
+    public int getQueueDepth() { return executor.getQueue().size() + waiting.size(); }
+
+    public int getMaxQueueDepth() { return maxQueueDepth.get(); }
+
+    /**
+     * @return - requests being searched
+     */
+    public int getSearching() { return searching.get(); }
+
+    public long getMoves() { return moves.sum(); }
+
+    public long getRefusedGames() { return refusedGames.sum(); }
+
+    public long getFailures() { return failures.get(); }
+
+    /**
+     * @return - positions searched to the end while the opponents thought
+     */
+    public long getPondered() { return pondered.sum(); }
+
+    /**
+     * @return - moves answered at once, as the opponent played the predicted reply
+     */
+    public long getPonderHits() { return ponderHits.sum(); }
+
+    public long getAverageWaitMillis() {
+        long count = moves.sum();
+        return (count == 0) ? 0 : waitMillis.sum() / count;
+    }
+
+    public long getAverageThinkMillis() {
+        long count = moves.sum();
+        return (count == 0) ? 0 : thinkMillis.sum() / count;
+    }
+
+    /**
+     * Stops the workers; queued requests are dropped
+     *
+     * @return - the requests that never ran
+     */
+    public List<Runnable> shutdown() {
+        return executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queue %d (max %d), searching %d, moves %d, avg wait %d ms, avg think %d ms, "
+                        + "refused games %d, failures %d, pondered %d, ponder hits %d",
+                getQueueDepth(), getMaxQueueDepth(), getSearching(), getMoves(), getAverageWaitMillis(),
+                getAverageThinkMillis(), getRefusedGames(), getFailures(), getPondered(), getPonderHits());
+    }
+}
@@ -0,0 +1,68 @@
+package com.webcheckers.appl;
+
+import java.util.Objects;
+
+import com.webcheckers.ai.Difficulty;
+import com.webcheckers.model.Player;
+
+/**
+ * A Player whose turns are played by the computer
+ *
+ * Each game against the computer gets its own ComputerPlayer, so the usual one-game-per-player rules
+ * of GameManager hold. Computer players never sign in and are not listed in the PlayerLobby, and as
+ * each is thrown away with its game their results are not scored or rated.
+ */
+public class ComputerPlayer extends Player {
+
+    // Its number, then its difficulty and engine; no player who signs in can have a name like it
+    static final String NAME_FORMAT = "Computer %d (%s)";
+
+    private final Difficulty difficulty;
+    private final String engineName;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param name       - unique name of this computer player
+     * @param type       - game type, the same as its human opponent's
+     * @param difficulty - how long it thinks
+     */
+    public ComputerPlayer(String name, GameType type, Difficulty difficulty) {
+        this(name, type, difficulty, null);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param name       - unique name of this computer player
+     * @param type       - game type, the same as its human opponent's
+     * @param difficulty - how long it thinks
+     * @param engineName - engine that chooses its moves, null for the default engine
+     */
+    public ComputerPlayer(String name, GameType type, Difficulty difficulty, String engineName) {
+        super(name, type);
+        Objects.requireNonNull(difficulty, "difficulty must not be null");
+
+        this.difficulty = difficulty;
+        this.engineName = engineName;
+    }
+
+    /**
+     * @param name - name of a player, as a game or the archive keeps it
+     * @return - true if it names a computer player
+     */
+    public static boolean isComputerName(String name) {
+        return name.startsWith("Computer ") && name.endsWith(")");
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @return - name of the engine that chooses its moves, null for the default engine
+     */
+    public String getEngineName() {
+        return engineName;
+    }
+}
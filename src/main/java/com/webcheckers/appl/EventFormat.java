@@ -0,0 +1,30 @@
+package com.webcheckers.appl;
+
+import java.util.List;
+
+import com.webcheckers.model.Player;
+
+/**
+ * How an event pairs its players round by round: Swiss, round-robin or knockout
+ *
+ * An EventRunner plays the rounds. It asks for a round only once every pairing of the one before has
+ * been scored, so a format sees whole rounds and need not know when games start or end.
+ */
+public interface EventFormat {
+
+    /**
+     * Pairs the next round from the results so far
+     *
+     * @return - the pairings, empty once the event is over
+     */
+    List<Pairing> pairRound();
+
+    /**
+     * Scores a pairing of the current round
+     * A bye is scored as won by its player; the format decides what that is worth.
+     *
+     * @param pairing - the pairing
+     * @param winner  - the player who won, or null if neither player could play
+     */
+    void score(Pairing pairing, Player winner);
+}
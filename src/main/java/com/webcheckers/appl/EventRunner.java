@@ -0,0 +1,181 @@
+package com.webcheckers.appl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+
+/**
+ * Plays an event's rounds through the GameManager, starting each round the moment the last game of the one before ends
+ *
+ * All of a round's games are started at once, in parallel. The round's barrier is a count of its games
+ * still to end: the runner hears each result through a game end listener, scores it and counts it
+ * down, and the thread that ends the round's last game pairs and starts the next round itself, so no
+ * thread waits between rounds. Games in play are found by their RED player, so ending a game costs a
+ * lookup and a round transition costs the pairing and one game started per board.
+ *
+ * A game that cannot start because a player is still in another game is lost by that player; if both
+ * are busy, neither wins it. A finished game that a player has not looked at yet is cleared first.
+ */
+public class EventRunner implements GameManager.GameEndListener {
+    private static final Logger LOG = Logger.getLogger(EventRunner.class.getName());
+
+    private final GameManager gameManager;
+    private final EventFormat format;
+
+    // The current round's games, by RED player
+    private final Map<Player, Pairing> inPlay = new ConcurrentHashMap<>();
+    // The current round's games yet to end, plus one while the round is being started
+    private final AtomicInteger barrier = new AtomicInteger();
+
+    private final List<List<Pairing>> rounds = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean finished;
+    private volatile long transitionNanos;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param gameManager - starts the games
+     * @param format      - pairs the rounds
+     */
+    public EventRunner(GameManager gameManager, EventFormat format) {
+        this.gameManager = Objects.requireNonNull(gameManager, "gameManager must not be null");
+        this.format = Objects.requireNonNull(format, "format must not be null");
+    }
+
+    /**
+     * Starts the first round; the others start as the rounds before them end
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("The event has started");
+        }
+        gameManager.addGameEndListener(this);
+        advance();
+    }
+
+    /**
+     * Scores a game of the current round, and starts the next round once it was the last
+     *
+     * @param game - the game, which has its winner and loser
+     */
+    @Override
+    public void gameEnded(CheckersGame game) {
+        Pairing pairing = inPlay.get(game.getPlayerRed());
+        if (pairing == null || !pairing.getWhite().equals(game.getPlayerWhite())
+                || !inPlay.remove(game.getPlayerRed(), pairing)) {
+            return;
+        }
+        format.score(pairing, game.getWinner());
+        if (barrier.decrementAndGet() == 0) {
+            advance();
+        }
+    }
+
+    /**
+     * @return - rounds started so far
+     */
+    public int getRound() {
+        return rounds.size();
+    }
+
+    /**
+     * @return - true once every game of the last round has ended
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @param round - a round started so far, from 1
+     * @return - its pairings
+     */
+    public List<Pairing> getPairings(int round) {
+        return Collections.unmodifiableList(rounds.get(round - 1));
+    }
+
+    /**
+     * @return - nanoseconds the last round took to pair and start
+     */
+    public long getTransitionNanos() {
+        return transitionNanos;
+    }
+
+    /**
+     * Starts rounds until one has games in play or the event is over
+     * Only the thread that brought the barrier to zero gets here, so rounds are started one at a time.
+     */
+    private void advance() {
+        do {
+            long begin = System.nanoTime();
+            List<Pairing> round = format.pairRound();
+            if (round.isEmpty()) {
+                finished = true;
+                gameManager.removeGameEndListener(this);
+                LOG.info(String.format("Event finished after %d rounds", rounds.size()));
+                return;
+            }
+            rounds.add(round);
+
+            List<Pairing> games = new ArrayList<>(round.size());
+            for (Pairing pairing : round) {
+                if (pairing.isBye()) {
+                    format.score(pairing, pairing.getRed());
+                } else {
+                    games.add(pairing);
+                }
+            }
+            barrier.set(games.size() + 1);
+
+            // Spectators are not thread safe, so the last round's games are cleared on this thread
+            for (Pairing pairing : games) {
+                clearEnded(pairing.getRed());
+                clearEnded(pairing.getWhite());
+            }
+            games.parallelStream().forEach(this::launch);
+
+            transitionNanos = System.nanoTime() - begin;
+            LOG.fine(String.format("Round %d started %d games in %d ms", rounds.size(), games.size(),
+                    TimeUnit.NANOSECONDS.toMillis(transitionNanos)));
+        } while (barrier.decrementAndGet() == 0);
+    }
+
+    /**
+     * Clears a player's game if it has ended, as it may still be listed for the player to look at
+     */
+    private void clearEnded(Player player) {
+        CheckersGame last = gameManager.getGame(player);
+        if (last != null && last.getTurn() == null) {
+            gameManager.clearGame(player);
+        }
+    }
+
+    /**
+     * Starts a pairing's game, or scores it as a forfeit if it cannot start
+     */
+    private void launch(Pairing pairing) {
+        // Listed before the game exists, as it may end before getNewGame returns
+        inPlay.put(pairing.getRed(), pairing);
+        if (gameManager.getNewGame(pairing.getRed(), pairing.getWhite()) != null
+                || !inPlay.remove(pairing.getRed(), pairing)) {
+            return;
+        }
+
+        boolean redBusy = gameManager.isPlayerInAGame(pairing.getRed());
+        boolean whiteBusy = gameManager.isPlayerInAGame(pairing.getWhite());
+        LOG.warning(String.format("Could not start %s, scoring it as a forfeit", pairing));
+        format.score(pairing, (redBusy == whiteBusy) ? null : redBusy ? pairing.getWhite() : pairing.getRed());
+        barrier.decrementAndGet();
+    }
+}
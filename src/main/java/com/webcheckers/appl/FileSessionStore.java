@@ -0,0 +1,135 @@
+package com.webcheckers.appl;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Sessions kept as files in a directory that several servers share, one small file per session
+ *
+ * A session's file holds its encoded PlayerReference and is replaced whole, by writing a new file and
+ * moving it into place, so a reader sees the old reference or the new one. A session that has not been
+ * used for the idle timeout is signed out; its file is deleted when it is next read, and the files of
+ * every such session when the store is opened.
+ */
+public class FileSessionStore implements SessionStore {
+    private static final Logger LOG = Logger.getLogger(FileSessionStore.class.getName());
+
+    public static final long DEFAULT_MAX_IDLE_MILLIS = TimeUnit.DAYS.toMillis(1);
+    static final String SUFFIX = ".session";
+
+    // Session ids become file names, so they may not name anything outside the directory
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Path directory;
+    private final long maxIdleMillis;
+
+    private FileSessionStore(Path directory, long maxIdleMillis) {
+        this.directory = directory;
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    /**
+     * Opens the sessions in a directory, creating it if needed, and deletes the ones that have expired
+     *
+     * @param directory     - the directory
+     * @param maxIdleMillis - how long a session stays signed in without being used
+     * @return - the store
+     * @throws IOException - if the directory cannot be created or read
+     */
+    public static FileSessionStore open(Path directory, long maxIdleMillis) throws IOException {
+        Objects.requireNonNull(directory, "directory must not be null");
+        if (maxIdleMillis < 1) {
+            throw new IllegalArgumentException("maxIdleMillis must be positive");
+        }
+        Files.createDirectories(directory);
+
+        FileSessionStore store = new FileSessionStore(directory, maxIdleMillis);
+        int expired = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                if (store.expired(Files.getLastModifiedTime(file))) {
+                    Files.deleteIfExists(file);
+                    expired++;
+                }
+            }
+        }
+        LOG.config(String.format("Sessions kept in %s, %d expired", directory, expired));
+        return store;
+    }
+
+    @Override
+    public PlayerReference get(String sessionId) {
+        if (!SESSION_ID.matcher(sessionId).matches()) {
+            return null;
+        }
+        Path file = file(sessionId);
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (expired(modified)) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            PlayerReference player = PlayerReference.decode(Files.readAllBytes(file));
+            // Using a session keeps it signed in; the file's time only needs to move now and then
+            long now = System.currentTimeMillis();
+            if (now - modified.toMillis() > maxIdleMillis / 2) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+            }
+            return player;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.warning(String.format("Could not read session %s because: %s", sessionId, e.getMessage()));
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String sessionId, PlayerReference player) {
+        Objects.requireNonNull(player, "player must not be null");
+        if (!SESSION_ID.matcher(sessionId).matches()) {
+            throw new IllegalArgumentException("Not a session id: " + sessionId);
+        }
+        try {
+            Path written = Files.createTempFile(directory, sessionId, ".tmp");
+            try {
+                Files.write(written, player.encode());
+                Files.move(written, file(sessionId), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(written);
+            }
+        } catch (IOException e) {
+            LOG.warning(String.format("Could not keep session %s because: %s", sessionId, e.getMessage()));
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        if (!SESSION_ID.matcher(sessionId).matches()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file(sessionId));
+        } catch (IOException e) {
+            LOG.warning(String.format("Could not remove session %s because: %s", sessionId, e.getMessage()));
+        }
+    }
+
+    private Path file(String sessionId) {
+        return directory.resolve(sessionId + SUFFIX);
+    }
+
+    private boolean expired(FileTime modified) {
+        return System.currentTimeMillis() - modified.toMillis() > maxIdleMillis;
+    }
+}
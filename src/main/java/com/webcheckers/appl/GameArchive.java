@@ -0,0 +1,539 @@
+package com.webcheckers.appl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Position;
+import com.webcheckers.model.PositionString;
+import com.webcheckers.model.SquareTables;
+
+/**
+ * Finished games, appended to segment files in a directory and read back through memory-mapped blocks
+ *
+ * Each game is one record: its id, end time, result, the players' names, the starting position if it was
+ * not the usual one, and one byte for every move. A move byte holds the 32-square number the piece
+ * moves from, the diagonal it moves along and whether it jumps; the landing square follows from those.
+ * The next jump of a multi-jump starts where the last one landed, which is how the turns are told apart
+ * again, as a new turn never moves the piece that has just landed.
+ *
+ * Records are grouped into blocks of up to a block size, 16 KB by default, and a new segment file is
+ * started once the last one would grow past the segment size, 16 MB by default. The in-memory index is
+ * sparse, one entry a block rather than a game: the block's first and last game id and end time, both
+ * increasing as games are appended, and for every player the blocks holding their games. A lookup maps
+ * only the blocks the index points at. The index is rebuilt from the record headers when the archive is
+ * opened, dropping a record cut short by a crash.
+ */
+public final class GameArchive implements Closeable {
+    private static final Logger LOG = Logger.getLogger(GameArchive.class.getName());
+
+    static final int MAGIC = 0x434B4741; // "CKGA"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+
+    public static final int DEFAULT_SEGMENT_BYTES = 16 << 20;
+    public static final int DEFAULT_BLOCK_BYTES = 16 << 10;
+
+    private static final String SEGMENT_GLOB = "games-*.seg";
+    private static final String SEGMENT_FORMAT = "games-%06d.seg";
+
+    // Result byte of a game without a winner
+    private static final byte NO_WINNER = -1;
+
+    // Bits of a move byte: the jump flag, the diagonal (down, right) and the square moved from
+    static final int JUMP = 0x80;
+    private static final int DOWN = 0x40;
+    private static final int RIGHT = 0x20;
+    private static final int SQUARE = 0x1F;
+
+    private static final PositionString STARTING = PositionString.load(PositionString.STARTING);
+
+    /**
+     * A segment file and where the next record goes
+     */
+    private static final class Segment {
+        private final FileChannel channel;
+        private long size;
+        // The whole file, once it is full
+        private MappedByteBuffer sealed;
+
+        Segment(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+
+    /**
+     * A run of records in one segment, the unit the index points at and lookups read
+     */
+    private static final class Block {
+        private final int segment;
+        private final long offset;
+        private final long firstId;
+        private final long firstEnd;
+        private int length;
+        private long lastId;
+        private long lastEnd;
+
+        Block(int segment, long offset, long firstId, long firstEnd) {
+            this.segment = segment;
+            this.offset = offset;
+            this.firstId = firstId;
+            this.firstEnd = firstEnd;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int blockBytes;
+    private final List<Segment> segments = new ArrayList<>();
+    private final List<Block> blocks = new ArrayList<>();
+    // Player name -> indexes of the blocks with their games, in order
+    private final Map<String, List<Integer>> playerBlocks = new HashMap<>();
+    private long nextId = 1;
+    private long lastEnd;
+    private int games;
+    private long blocksRead;
+
+    private GameArchive(Path directory, int segmentBytes, int blockBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.blockBytes = blockBytes;
+    }
+
+    /**
+     * Opens the archive in a directory, creating it if needed
+     *
+     * @param directory - directory of the segment files
+     * @return - the archive
+     * @throws IOException - if the segments cannot be read or are not archive segments
+     */
+    public static GameArchive open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_BLOCK_BYTES);
+    }
+
+    static GameArchive open(Path directory, int segmentBytes, int blockBytes) throws IOException {
+        Objects.requireNonNull(directory, "directory must not be null");
+        if (blockBytes < 1 || segmentBytes < blockBytes) {
+            throw new IllegalArgumentException("segmentBytes must be at least blockBytes, which must be positive");
+        }
+        Files.createDirectories(directory);
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_GLOB)) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+
+        GameArchive archive = new GameArchive(directory, segmentBytes, blockBytes);
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                archive.recover(files.get(i), i == files.size() - 1);
+            }
+        } catch (IOException | RuntimeException e) {
+            archive.close();
+            throw e;
+        }
+        LOG.config(String.format("Opened game archive %s with %d games in %d blocks",
+                directory, archive.games, archive.blocks.size()));
+        return archive;
+    }
+
+    /**
+     * Appends a finished game
+     *
+     * @param game - the game
+     * @return - the id of the game in the archive
+     * @throws IOException - if the game cannot be written
+     */
+    public synchronized long archive(CheckersGame game) throws IOException {
+        byte[] red = name(game.getPlayerRed());
+        byte[] white = name(game.getPlayerWhite());
+        byte[] start = STARTING.equals(game.getStartingPosition())
+                ? new byte[0]
+                : game.getStartingPosition().toString().getBytes(StandardCharsets.UTF_8);
+        byte[] moves = encode(game.getTurns());
+
+        Player winner = game.isWon() || game.isResigned() ? game.getWinner() : null;
+        Piece.Color winnerColor = (winner == null) ? null : game.getPlayerColor(winner);
+        long id = nextId;
+        long end = Math.max(System.currentTimeMillis(), lastEnd);
+
+        int bytes = 4 + 8 + 8 + 1 + 2 + red.length + 2 + white.length + 2 + start.length + 4 + moves.length;
+        ByteBuffer record = ByteBuffer.allocate(bytes);
+        record.putInt(bytes - 4)
+                .putLong(id)
+                .putLong(end)
+                .put((winnerColor == null) ? NO_WINNER : (byte) winnerColor.ordinal());
+        put(record, red);
+        put(record, white);
+        put(record, start);
+        record.putInt(moves.length).put(moves).flip();
+
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || (segment.size > HEADER_BYTES && segment.size + bytes > segmentBytes)) {
+            if (segment != null) {
+                segment.sealed = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.size);
+            }
+            segment = create();
+        }
+        long offset = segment.size;
+        while (record.hasRemaining()) {
+            segment.channel.write(record, offset + record.position());
+        }
+        segment.size += bytes;
+
+        index(segments.size() - 1, offset, bytes, id, end,
+                game.getPlayerRed().getName(), game.getPlayerWhite().getName());
+        return id;
+    }
+
+    /**
+     * A game by its id
+     *
+     * @param id - id the archive gave the game
+     * @return - the game, or null if there is none with that id
+     * @throws IOException - if the block cannot be read
+     */
+    public synchronized ArchivedGame get(long id) throws IOException {
+        int low = 0;
+        int high = blocks.size();
+
+        // First block whose last id is not before the id
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (blocks.get(middle).lastId < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == blocks.size() || blocks.get(low).firstId > id) {
+            return null;
+        }
+
+        ByteBuffer block = read(blocks.get(low));
+        while (block.hasRemaining()) {
+            int start = block.position();
+            int length = block.getInt();
+            if (block.getLong() == id) {
+                block.position(start);
+                return decode(block);
+            }
+            block.position(start + 4 + length);
+        }
+        return null;
+    }
+
+    /**
+     * Every game a player played
+     *
+     * @param name - name of the player
+     * @return - the games, oldest first
+     * @throws IOException - if a block cannot be read
+     */
+    public synchronized List<ArchivedGame> getGames(String name) throws IOException {
+        List<ArchivedGame> found = new ArrayList<>();
+        for (int index : playerBlocks.getOrDefault(name, Collections.emptyList())) {
+            ByteBuffer block = read(blocks.get(index));
+            while (block.hasRemaining()) {
+                ArchivedGame game = decode(block);
+                if (game.getRed().equals(name) || game.getWhite().equals(name)) {
+                    found.add(game);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The games that ended in a span of time
+     *
+     * @param fromMillis - start of the span, inclusive, in milliseconds since the epoch
+     * @param toMillis   - end of the span, inclusive
+     * @return - the games, oldest first
+     * @throws IOException - if a block cannot be read
+     */
+    public synchronized List<ArchivedGame> getGamesEnded(long fromMillis, long toMillis) throws IOException {
+        int low = 0;
+        int high = blocks.size();
+
+        // First block that ends within or after the span
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (blocks.get(middle).lastEnd < fromMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        List<ArchivedGame> found = new ArrayList<>();
+        for (int index = low; index < blocks.size() && blocks.get(index).firstEnd <= toMillis; index++) {
+            ByteBuffer block = read(blocks.get(index));
+            while (block.hasRemaining()) {
+                ArchivedGame game = decode(block);
+                if (game.getEndMillis() >= fromMillis && game.getEndMillis() <= toMillis) {
+                    found.add(game);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Visits every game, oldest first, reading one block at a time
+     * Games archived meanwhile are visited too; the archive is not locked while a game is visited.
+     *
+     * @param action - what to do with each game
+     * @throws IOException - if a block cannot be read
+     */
+    public void forEach(Consumer<ArchivedGame> action) throws IOException {
+        for (int index = 0; ; index++) {
+            List<ArchivedGame> found = new ArrayList<>();
+            synchronized (this) {
+                if (index == blocks.size()) {
+                    return;
+                }
+                ByteBuffer block = read(blocks.get(index));
+                while (block.hasRemaining()) {
+                    found.add(decode(block));
+                }
+            }
+            found.forEach(action);
+        }
+    }
+
+    /**
+     * @return - number of games in the archive
+     */
+    public synchronized int size() {
+        return games;
+    }
+
+    /**
+     * @return - number of blocks in the index
+     */
+    public synchronized int getBlockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * @return - number of blocks lookups have read
+     */
+    public synchronized long getBlocksRead() {
+        return blocksRead;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+    }
+
+    /**
+     * The bytes of the moves of a game, one a move
+     *
+     * @param turns - the moves of every turn
+     * @return - the move bytes
+     */
+    static byte[] encode(List<List<Move>> turns) {
+        int count = 0;
+        for (List<Move> turn : turns) {
+            count += turn.size();
+        }
+
+        byte[] bytes = new byte[count];
+        int i = 0;
+        for (List<Move> turn : turns) {
+            for (Move move : turn) {
+                Position start = move.getStart();
+                Position end = move.getEnd();
+                int square = SquareTables.squareAt(start.getRow(), start.getCell());
+
+                bytes[i++] = (byte) ((move.isJump() ? JUMP : 0)
+                        | (end.getRow() > start.getRow() ? DOWN : 0)
+                        | (end.getCell() > start.getCell() ? RIGHT : 0)
+                        | square);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The turns of a game from its move bytes
+     *
+     * @param buffer - buffer positioned at the move bytes
+     * @param count  - number of move bytes
+     * @return - the moves of every turn
+     */
+    static List<List<Move>> decode(ByteBuffer buffer, int count) {
+        List<List<Move>> turns = new ArrayList<>();
+        List<Move> turn = null;
+        Move last = null;
+
+        for (int i = 0; i < count; i++) {
+            int bits = buffer.get() & 0xFF;
+            int square = bits & SQUARE;
+            int distance = ((bits & JUMP) != 0) ? 2 : 1;
+            int row = SquareTables.row(square);
+            int cell = SquareTables.cell(square);
+
+            Move move = Move.between(Position.at(row, cell), Position.at(
+                    row + (((bits & DOWN) != 0) ? distance : -distance),
+                    cell + (((bits & RIGHT) != 0) ? distance : -distance)));
+
+            if (last == null || !last.isJump() || !move.isJump() || !move.getStart().equals(last.getEnd())) {
+                turn = new ArrayList<>();
+                turns.add(turn);
+            }
+            turn.add(move);
+            last = move;
+        }
+        return turns;
+    }
+
+    private void recover(Path file, boolean last) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(channel, channel.size());
+        segments.add(segment);
+
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.size);
+        if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            throw new IOException("Not a game archive segment: " + file);
+        }
+
+        int offset = HEADER_BYTES;
+        while (offset < mapped.limit()) {
+            int length = (mapped.limit() - offset >= 4) ? mapped.getInt(offset) : -1;
+            if (length < 0 || mapped.limit() - offset - 4 < length) {
+                if (!last) {
+                    throw new IOException("Truncated game archive segment: " + file);
+                }
+                LOG.warning(String.format("Dropping the incomplete game at the end of %s", file));
+                channel.truncate(offset);
+                segment.size = offset;
+                break;
+            }
+
+            mapped.position(offset + 4);
+            long id = mapped.getLong();
+            long end = mapped.getLong();
+            mapped.get();
+            String red = string(mapped);
+            String white = string(mapped);
+            index(segments.size() - 1, offset, 4 + length, id, end, red, white);
+            offset += 4 + length;
+        }
+
+        if (!last) {
+            segment.sealed = mapped;
+        }
+    }
+
+    private Segment create() throws IOException {
+        Path file = directory.resolve(String.format(SEGMENT_FORMAT, segments.size() + 1));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+
+        Segment segment = new Segment(channel, HEADER_BYTES);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Adds a record to the index, in a new block if it does not fit the last one
+     */
+    private void index(int segment, long offset, int bytes, long id, long end, String red, String white) {
+        Block block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (block == null || block.segment != segment || block.length + bytes > blockBytes) {
+            block = new Block(segment, offset, id, end);
+            blocks.add(block);
+        }
+        block.length += bytes;
+        block.lastId = id;
+        block.lastEnd = end;
+
+        int index = blocks.size() - 1;
+        for (String name : new String[]{red, white}) {
+            List<Integer> postings = playerBlocks.computeIfAbsent(name, key -> new ArrayList<>());
+            if (postings.isEmpty() || postings.get(postings.size() - 1) != index) {
+                postings.add(index);
+            }
+        }
+
+        nextId = Math.max(nextId, id + 1);
+        lastEnd = Math.max(lastEnd, end);
+        games++;
+    }
+
+    private ByteBuffer read(Block block) throws IOException {
+        blocksRead++;
+        Segment segment = segments.get(block.segment);
+        if (segment.sealed != null) {
+            ByteBuffer view = segment.sealed.duplicate();
+            view.limit((int) block.offset + block.length).position((int) block.offset);
+            return view.slice();
+        }
+        return segment.channel.map(FileChannel.MapMode.READ_ONLY, block.offset, block.length);
+    }
+
+    private static ArchivedGame decode(ByteBuffer buffer) {
+        buffer.getInt();
+        long id = buffer.getLong();
+        long end = buffer.getLong();
+        byte result = buffer.get();
+        String red = string(buffer);
+        String white = string(buffer);
+        String start = string(buffer);
+        int count = buffer.getInt();
+
+        return new ArchivedGame(id, end, red, white,
+                (result == NO_WINNER) ? null : Piece.Color.values()[result],
+                start.isEmpty() ? STARTING : PositionString.load(start),
+                decode(buffer, count));
+    }
+
+    private static byte[] name(Player player) {
+        byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Player name is too long to archive: " + player.getName());
+        }
+        return name;
+    }
+
+    private static void put(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
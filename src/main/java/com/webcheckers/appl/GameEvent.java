@@ -0,0 +1,263 @@
+package com.webcheckers.appl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+import com.webcheckers.ai.Difficulty;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Position;
+
+/**
+ * A change to a game in play, as shipped from a primary server to its standby
+ *
+ * Events name their game by its players, and applying one is idempotent: a game that already exists
+ * is not started again, and a turn carries its index so a turn already played is skipped. A standby
+ * can therefore take a snapshot of every game and the events that raced with it, in either order.
+ */
+public final class GameEvent {
+    private static final Logger LOG = Logger.getLogger(GameEvent.class.getName());
+
+    public enum Kind { STARTED, TURN, RESIGNED, ADJUDICATED, CLEARED }
+
+    private final Kind kind;
+    private final String red;
+    private final String white;
+
+    // STARTED: the game type, and WHITE's difficulty and engine if it is the computer
+    private final Player.GameType type;
+    private final Difficulty difficulty;
+    private final String engineName;
+
+    // TURN: the turn's index and moves; RESIGNED and ADJUDICATED: the player who resigned or won
+    private final int index;
+    private final List<Move> moves;
+    private final String player;
+
+    private GameEvent(Kind kind, String red, String white, Player.GameType type, Difficulty difficulty,
+                      String engineName, int index, List<Move> moves, String player) {
+        this.kind = kind;
+        this.red = red;
+        this.white = white;
+        this.type = type;
+        this.difficulty = difficulty;
+        this.engineName = engineName;
+        this.index = index;
+        this.moves = moves;
+        this.player = player;
+    }
+
+    private static GameEvent of(Kind kind, CheckersGame game, int index, List<Move> moves, String player) {
+        return new GameEvent(kind, game.getPlayerRed().getName(), game.getPlayerWhite().getName(), null, null,
+                null, index, moves, player);
+    }
+
+    static GameEvent started(CheckersGame game) {
+        Player white = game.getPlayerWhite();
+        boolean computer = white instanceof ComputerPlayer;
+        return new GameEvent(Kind.STARTED, game.getPlayerRed().getName(), white.getName(),
+                game.getPlayerRed().getType(),
+                computer ? ((ComputerPlayer) white).getDifficulty() : null,
+                computer ? ((ComputerPlayer) white).getEngineName() : null,
+                0, Collections.emptyList(), null);
+    }
+
+    static GameEvent turn(CheckersGame game, int index) {
+        return of(Kind.TURN, game, index, game.getTurns().get(index), null);
+    }
+
+    static GameEvent resigned(CheckersGame game) {
+        return of(Kind.RESIGNED, game, 0, Collections.emptyList(), game.getLoser().getName());
+    }
+
+    static GameEvent adjudicated(CheckersGame game) {
+        return of(Kind.ADJUDICATED, game, 0, Collections.emptyList(), game.getWinner().getName());
+    }
+
+    static GameEvent cleared(CheckersGame game) {
+        return of(Kind.CLEARED, game, 0, Collections.emptyList(), null);
+    }
+
+    /**
+     * The events that rebuild a game as it stands; the caller holds the game's lock
+     *
+     * @param game - the game
+     * @return - its start, every turn, and how it ended if it has
+     */
+    static List<GameEvent> snapshot(CheckersGame game) {
+        List<GameEvent> events = new ArrayList<>();
+        events.add(started(game));
+        for (int index = 0; index < game.getTurns().size(); index++) {
+            events.add(turn(game, index));
+        }
+        if (game.isResigned()) {
+            events.add(resigned(game));
+        } else if (game.getWinner() != null) {
+            // Won on the board or adjudicated; adjudicating a game already won does nothing
+            events.add(adjudicated(game));
+        }
+        return events;
+    }
+
+    public Kind getKind() { return kind; }
+
+    /**
+     * @return - the id of the event's game
+     */
+    public String getGameId() { return red + " vs. " + white; }
+
+    /**
+     * Applies the event to a standby's games
+     * Turns are played on the game itself, not through the GameManager, so the standby neither
+     * records results, archives games nor plays the computer's turns; the primary does all three.
+     *
+     * @param gameManager - the standby's games
+     * @return - false if the event did not fit the game, which has diverged from the primary's
+     */
+    boolean apply(GameManager gameManager) {
+        CheckersGame game = gameManager.getGame(new Player(red, Player.GameType.NORMAL));
+        if (game != null && !game.toString().equals(getGameId())) {
+            game = null;
+        }
+
+        if (kind == Kind.STARTED) {
+            if (game != null) {
+                return true;
+            }
+            Player whitePlayer = (difficulty == null)
+                    ? new Player(white, type)
+                    : new ComputerPlayer(white, type, difficulty, engineName);
+            return gameManager.getNewGame(new Player(red, type), whitePlayer) != null;
+        }
+        if (game == null) {
+            // Cleared, or started before the snapshot that replaced it
+            return kind != Kind.TURN;
+        }
+
+        synchronized (game) {
+            switch (kind) {
+                case TURN:
+                    return applyTurn(game);
+                case RESIGNED:
+                    game.resignGame(named(game, player));
+                    return true;
+                case ADJUDICATED:
+                    game.adjudicate(named(game, player));
+                    return true;
+                default:
+                    gameManager.clearGame(game.getPlayerRed());
+                    return true;
+            }
+        }
+    }
+
+    private boolean applyTurn(CheckersGame game) {
+        int played = game.getTurns().size();
+        if (index < played) {
+            return true;
+        }
+        if (index > played || game.getTurn() == null) {
+            return false;
+        }
+
+        Player active = game.getTurn().getPlayer();
+        for (Move move : moves) {
+            if (game.getTurn().validateMove(Move.between(move.getStart(), move.getEnd())).getType()
+                    != Message.MessageType.info) {
+                LOG.warning(String.format("The standby could not play %s in %s", move, getGameId()));
+                return false;
+            }
+        }
+        return game.submitTurn(active).getType() == Message.MessageType.info;
+    }
+
+    private static Player named(CheckersGame game, String name) {
+        return game.getPlayerRed().getName().equals(name) ? game.getPlayerRed() : game.getPlayerWhite();
+    }
+
+    /**
+     * Writes the event
+     *
+     * @param out - where to
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeByte(kind.ordinal());
+        out.writeUTF(red);
+        out.writeUTF(white);
+        switch (kind) {
+            case STARTED:
+                out.writeByte(type.ordinal());
+                out.writeByte((difficulty == null) ? -1 : difficulty.ordinal());
+                out.writeUTF((engineName == null) ? "" : engineName);
+                break;
+            case TURN:
+                out.writeInt(index);
+                out.writeByte(moves.size());
+                for (Move move : moves) {
+                    out.writeByte(move.getStartRow() << 4 | move.getStartCell());
+                    out.writeByte(move.getEndRow() << 4 | move.getEndCell());
+                }
+                break;
+            case RESIGNED:
+            case ADJUDICATED:
+                out.writeUTF(player);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Reads an event written by write()
+     *
+     * @param in - where from
+     * @return - the event
+     * @throws IOException - if the bytes are not an event
+     */
+    static GameEvent read(DataInputStream in) throws IOException {
+        int kindIndex = in.readByte();
+        if (kindIndex < 0 || kindIndex >= Kind.values().length) {
+            throw new IOException("Not a game event: " + kindIndex);
+        }
+        Kind kind = Kind.values()[kindIndex];
+        String red = in.readUTF();
+        String white = in.readUTF();
+        switch (kind) {
+            case STARTED: {
+                Player.GameType type = Player.GameType.values()[in.readByte()];
+                int difficulty = in.readByte();
+                String engineName = in.readUTF();
+                return new GameEvent(kind, red, white, type,
+                        (difficulty < 0) ? null : Difficulty.values()[difficulty],
+                        engineName.isEmpty() ? null : engineName, 0, Collections.emptyList(), null);
+            }
+            case TURN: {
+                int index = in.readInt();
+                List<Move> moves = new ArrayList<>();
+                for (int count = in.readUnsignedByte(); count > 0; count--) {
+                    int start = in.readUnsignedByte();
+                    int end = in.readUnsignedByte();
+                    moves.add(Move.between(Position.at(start >> 4, start & 0xf), Position.at(end >> 4, end & 0xf)));
+                }
+                return new GameEvent(kind, red, white, null, null, null, index, moves, null);
+            }
+            case RESIGNED:
+            case ADJUDICATED:
+                return new GameEvent(kind, red, white, null, null, null, 0, Collections.emptyList(), in.readUTF());
+            default:
+                return new GameEvent(kind, red, white, null, null, null, 0, Collections.emptyList(), null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + getGameId() + ((kind == Kind.TURN) ? " #" + index : "");
+    }
+}
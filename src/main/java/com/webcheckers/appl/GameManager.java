@@ -1,10 +1,22 @@
 package com.webcheckers.appl;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.Difficulty;
+import com.webcheckers.ai.EndgameTablebase;
 import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Message;
 import com.webcheckers.model.Player;
+import com.webcheckers.model.TournamentScoreboard;
 import com.webcheckers.model.Turn;
 
 /**
@@ -14,17 +26,93 @@ public class GameManager {
 
     private static final Logger LOG = Logger.getLogger(GameManager.class.getName());
 
-    // A list of all active games
-    private ArrayList<CheckersGame> gameList;
+    /**
+     * Told about every game that ends, by a win or a resignation
+     */
+    public interface GameEndListener {
+        /**
+         * Called on the thread that ended the game, while it holds the game's lock
+         *
+         * @param game - the game, which has its winner and loser
+         */
+        void gameEnded(CheckersGame game);
+    }
+
+    /**
+     * Told about every change to a game: started, a turn played, resigned, adjudicated or cleared
+     */
+    public interface GameEventListener {
+        /**
+         * Called on the thread that changed the game, after the change; must return quickly
+         *
+         * @param event - the change
+         */
+        void gameChanged(GameEvent event);
+    }
+
+    // All active games, sorted by their "red vs. white" name for the paged lobby listing
+    private ConcurrentSkipListMap<String, CheckersGame> gameList;
+    // The same games by each of their players, so a player's game is found without a scan
+    private final ConcurrentHashMap<Player, CheckersGame> gamesByPlayer = new ConcurrentHashMap<>();
     private HashMap<Player, Player> spectators;
 
+    // Decides games that reach an endgame it has solved
+    private final EndgameTablebase tablebase;
+
+    // Plays the computer players' turns, null if there is no computer opponent
+    private final ComputerMoveScheduler computerMoves;
+    private final AtomicInteger computerPlayerCount = new AtomicInteger();
+    // Games against the computer still in play, which is what the scheduler admits new games against
+    private final Set<CheckersGame> computerGamesInPlay = ConcurrentHashMap.newKeySet();
+
+    // Keeps the finished games, null if they are not kept
+    private final GameArchive archive;
+
+    private final List<GameEndListener> gameEndListeners = new CopyOnWriteArrayList<>();
+    private final List<GameEventListener> gameEventListeners = new CopyOnWriteArrayList<>();
+
     /**
      * default construct
      * Initializes gameList on instantiation
      */
     public GameManager() {
-        gameList = new ArrayList<>();
+        this(EndgameTablebase.empty());
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param tablebase - endgame tablebase used to adjudicate games that are certainly won
+     */
+    public GameManager(EndgameTablebase tablebase) {
+        this(tablebase, null);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param tablebase     - endgame tablebase used to adjudicate games that are certainly won
+     * @param computerMoves - plays the computer players' turns, null if there is no computer opponent
+     */
+    public GameManager(EndgameTablebase tablebase, ComputerMoveScheduler computerMoves) {
+        this(tablebase, computerMoves, null);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param tablebase     - endgame tablebase used to adjudicate games that are certainly won
+     * @param computerMoves - plays the computer players' turns, null if there is no computer opponent
+     * @param archive       - keeps the games that end, null if they are not kept
+     */
+    public GameManager(EndgameTablebase tablebase, ComputerMoveScheduler computerMoves, GameArchive archive) {
+        Objects.requireNonNull(tablebase, "tablebase must not be null");
+
+        gameList = new ConcurrentSkipListMap<>();
         spectators = new HashMap<>();
+        this.tablebase = tablebase;
+        this.computerMoves = computerMoves;
+        this.archive = archive;
     }
 
 
@@ -38,12 +126,7 @@ public class GameManager {
 
         if (gameList == null || player == null) return false;
 
-        for (CheckersGame game : gameList) {
-            if (isPlayerInThisGame(game, player)) {
-                return true;
-            }
-        }
-        return false;
+        return gamesByPlayer.containsKey(player);
     }
 
     public boolean isPlayerASpectator(Player player){
@@ -65,11 +148,27 @@ public class GameManager {
     }
 
     public HashMap<String, CheckersGame> getGameList(){
-        HashMap<String, CheckersGame> games = new HashMap<>();
-        for (CheckersGame game : gameList) {
-            games.put(game.toString(), game);
-        }
-        return games;
+        return new HashMap<>(gameList);
+    }
+
+    /**
+     * Returns one page of active games, sorted by name
+     *
+     * @param after - cursor from the previous page, null for the first page
+     * @param limit - maximum number of games on the page
+     * @return - LobbyPage of games
+     */
+    public LobbyPage<CheckersGame> getGamesPage(String after, int limit) {
+        return LobbyPage.of(gameList, null, after, limit);
+    }
+
+    /**
+     * Determines whether any game is in progress
+     *
+     * @return - true if there is at least one active game, false otherwise
+     */
+    public boolean hasGames() {
+        return !gameList.isEmpty();
     }
 
     public HashMap<Player, Player> clearGameSpectators(Player player, HashMap<Player, Player> specs){
@@ -108,16 +207,13 @@ public class GameManager {
      * @return - CheckerGame reference to the game that the player is in
      */
     public CheckersGame getGame(Player player1, Player player2) {
-        CheckersGame aGame = null;
+        CheckersGame game = getGame(player1);
+        if (game != null && isPlayerInThisGame(game, player2)) {
+            LOG.finer(String.format("getGame(Player: '%s', Player: '%s') Found a game in progress",
+                    player1.getName(),
+                    player2.getName()));
 
-        for (CheckersGame game : gameList) {
-            if (isPlayerInThisGame(game, player1) && isPlayerInThisGame(game, player2)) {
-                LOG.finer(String.format("getGame(Player: '%s', Player: '%s') Found a game in progress",
-                        player1.getName(),
-                        player2.getName()));
-
-                return game;
-            }
+            return game;
         }
 
         return getNewGame(player1, player2);
@@ -131,16 +227,14 @@ public class GameManager {
      * @return - CheckersGame that the player is in
      */
     public CheckersGame getGame(Player currentPlayer) {
-        for (CheckersGame game : gameList) {
-            if (isPlayerInThisGame(game, currentPlayer)) {
-                LOG.finer(String.format("getGame(Player: '%s') Found game in STATE %s",
-                        currentPlayer.getName(),
-                        game.getState()));
-                return game;
-            }
+        CheckersGame game = (currentPlayer == null) ? null : gamesByPlayer.get(currentPlayer);
+        if (game != null) {
+            LOG.finer(String.format("getGame(Player: '%s') Found game in STATE %s",
+                    currentPlayer.getName(),
+                    game.getState()));
         }
 
-        return null;
+        return game;
     }
 
 
@@ -169,7 +263,19 @@ public class GameManager {
         }
 
         final CheckersGame newGame = new CheckersGame(playerRed, playerWhite);
-        gameList.add(newGame);
+        // Claims both players at once, so two threads cannot put a player in two games
+        if (gamesByPlayer.putIfAbsent(playerRed, newGame) != null) {
+            return null;
+        }
+        if (gamesByPlayer.putIfAbsent(playerWhite, newGame) != null) {
+            gamesByPlayer.remove(playerRed, newGame);
+            return null;
+        }
+        gameList.put(newGame.toString(), newGame);
+        if (playerWhite instanceof ComputerPlayer) {
+            computerGamesInPlay.add(newGame);
+        }
+        changed(newGame, GameEvent::started);
 
         LOG.fine(String.format("getNewGame(Player: '%s', Player: '%s') New game created",
                 playerRed.getName(),
@@ -178,6 +284,46 @@ public class GameManager {
         return newGame;
     }
 
+    /**
+     * Starts a game against the computer, which plays WHITE
+     *
+     * @param player     - the human player, who plays RED and moves first
+     * @param difficulty - how long the computer thinks
+     * @return - the new game, or null if the player is in a game or the computer has too many games
+     */
+    public CheckersGame getNewComputerGame(Player player, Difficulty difficulty) {
+        return getNewComputerGame(player, difficulty, null);
+    }
+
+    /**
+     * Starts a game against one of the computer's engines, which plays WHITE
+     *
+     * @param player     - the human player, who plays RED and moves first
+     * @param difficulty - how long the computer thinks
+     * @param engineName - engine that chooses the computer's moves, null or unknown for the default
+     * @return - the new game, or null if the player is in a game or the computer has too many games
+     */
+    public CheckersGame getNewComputerGame(Player player, Difficulty difficulty, String engineName) {
+        if (computerMoves == null || isPlayerInAGame(player)) {
+            return null;
+        }
+
+        if (engineName != null && !computerMoves.getEngineNames().contains(engineName)) {
+            engineName = null;
+        }
+        String level = difficulty.name().toLowerCase() + ((engineName == null) ? "" : ", " + engineName);
+        // Admitted and counted in one step, so games set up at once cannot go over the limit together
+        synchronized (computerGamesInPlay) {
+            if (!computerMoves.admit(computerGamesInPlay.size())) {
+                return null;
+            }
+            ComputerPlayer computer = new ComputerPlayer(
+                    String.format(ComputerPlayer.NAME_FORMAT, computerPlayerCount.incrementAndGet(), level),
+                    player.getType(), difficulty, engineName);
+            return getNewGame(player, computer);
+        }
+    }
+
     /**
      * resignGame method
      * This mehod is used to resign a game
@@ -187,12 +333,46 @@ public class GameManager {
     public boolean resignGame(Player player) {
         CheckersGame game = getGame(player);
 
-        // A player can only resign if it their turn and they have not made any moves
-        if (game.resignGame(player)) {
-        	return true;
+        // Under the game's lock, as a computer's turn or a tournament round may be ending the game too
+        synchronized (game) {
+            // A player can only resign if it their turn and they have not made any moves
+            if (game.resignGame(player)) {
+                changed(game, GameEvent::resigned);
+                ended(game);
+                if (game.getPlayerWhite() instanceof ComputerPlayer) {
+                    // The computer will not look at the final board, and its player has gone home
+                    clearGame(player);
+                }
+                return true;
+
+            } else {
+                return false;
+            }
+        }
+    }
 
-        } else {
-            return false;
+    /**
+     * Takes a player who is signing out out of their game, resigning it even in the middle of their turn
+     * A game against the computer is cleared, as nobody is left to look at it.
+     *
+     * @param player - the player
+     */
+    public void leaveGame(Player player) {
+        CheckersGame game = getGame(player);
+        if (game == null) {
+            return;
+        }
+        synchronized (game) {
+            Turn turn = game.getTurn();
+            if (turn != null && turn.isMyTurn(player)) {
+                // Moves made but not submitted keep a player from resigning
+                while (turn.backupMove()) {
+                    LOG.finest(String.format("Took back a move %s made before leaving", player.getName()));
+                }
+            }
+            if (!resignGame(player) && game.getPlayerWhite() instanceof ComputerPlayer) {
+                clearGame(player);
+            }
         }
     }
 
@@ -202,8 +382,13 @@ public class GameManager {
      * @param player
      */
     public void clearGame(Player player) {
-        spectators = clearGameSpectators(getGame(player).getPlayerRed(), spectators);
-        gameList.remove(getGame(player));
+        CheckersGame game = getGame(player);
+        changed(game, GameEvent::cleared);
+        spectators = clearGameSpectators(game.getPlayerRed(), spectators);
+        computerGamesInPlay.remove(game);
+        gameList.remove(game.toString());
+        gamesByPlayer.remove(game.getPlayerRed(), game);
+        gamesByPlayer.remove(game.getPlayerWhite(), game);
     }
 
     /**
@@ -213,19 +398,184 @@ public class GameManager {
     public void clearGames() {
         this.spectators.clear();
         this.gameList.clear();
+        this.gamesByPlayer.clear();
+        this.computerGamesInPlay.clear();
+    }
+
+    /**
+     * Submits a player's turn and adjudicates the game if the endgame tablebase shows who wins
+     * A drawn endgame is played on, as the game has no draws.
+     *
+     * @param game   - the player's game
+     * @param player - the player submitting
+     * @return - Message from the game
+     */
+    public Message submitTurn(CheckersGame game, Player player) {
+        // The computer player's turns are submitted from its own threads
+        synchronized (game) {
+            boolean inPlay = game.getTurn() != null;
+            Message message = game.submitTurn(player);
+            if (message.getType() == Message.MessageType.info) {
+                changed(game, played -> GameEvent.turn(played, played.getTurns().size() - 1));
+            }
+
+            Turn turn = game.getTurn();
+            if (message.getType() == Message.MessageType.info && turn != null && tablebase.getMaxPieces() > 0) {
+                Player next = turn.getPlayer();
+                Board board = Board.of(game.getBoard(), game.getPlayerColor(next));
+
+                switch (tablebase.probe(board)) {
+                    case WIN:
+                        game.adjudicate(next);
+                        changed(game, GameEvent::adjudicated);
+                        break;
+                    case LOSS:
+                        game.adjudicate(next.equals(game.getPlayerRed()) ? game.getPlayerWhite() : game.getPlayerRed());
+                        changed(game, GameEvent::adjudicated);
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            turn = game.getTurn();
+            if (inPlay && turn == null) {
+                ended(game);
+            }
+            if (turn != null && turn.getPlayer() instanceof ComputerPlayer && computerMoves != null) {
+                computerMoves.submit(game, (ComputerPlayer) turn.getPlayer(), this::submitTurn);
+            }
+            return message;
+        }
+    }
+
+    /**
+     * Adds a listener told about every game that ends from now on
+     *
+     * @param listener - the listener
+     */
+    public void addGameEndListener(GameEndListener listener) {
+        gameEndListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
+    }
+
+    /**
+     * Removes a listener
+     *
+     * @param listener - the listener
+     */
+    public void removeGameEndListener(GameEndListener listener) {
+        gameEndListeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener told about every change to a game from now on
+     *
+     * @param listener - the listener
+     */
+    public void addGameEventListener(GameEventListener listener) {
+        gameEventListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
+    }
+
+    /**
+     * Removes a listener
+     *
+     * @param listener - the listener
+     */
+    public void removeGameEventListener(GameEventListener listener) {
+        gameEventListeners.remove(listener);
+    }
+
+    /**
+     * Hands the computer its turns in every game where it is to move
+     * A standby promoted to primary calls this, as the games it took over were played elsewhere.
+     */
+    public void resumeComputerTurns() {
+        if (computerMoves == null) {
+            return;
+        }
+        for (CheckersGame game : gameList.values()) {
+            synchronized (game) {
+                Turn turn = game.getTurn();
+                if (turn != null && turn.getPlayer() instanceof ComputerPlayer) {
+                    computerMoves.submit(game, (ComputerPlayer) turn.getPlayer(), this::submitTurn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells the listeners about a change to a game; the event is only made if someone listens
+     *
+     * @param game  - the game that changed
+     * @param event - makes the event
+     */
+    private void changed(CheckersGame game, Function<CheckersGame, GameEvent> event) {
+        if (gameEventListeners.isEmpty()) {
+            return;
+        }
+        GameEvent made = event.apply(game);
+        for (GameEventListener listener : gameEventListeners) {
+            try {
+                listener.gameChanged(made);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, String.format("A game event listener failed on %s", made), e);
+            }
+        }
+    }
+
+    /**
+     * Records the result of a game that has ended, archives it and tells the listeners
+     * Every game that ends on this server ends here, by a win, an adjudication or a resignation.
+     * A listener that fails is logged, so it cannot keep the others from hearing of the game.
+     *
+     * @param game - the game that ended
+     */
+    private void ended(CheckersGame game) {
+        computerGamesInPlay.remove(game);
+        // Each computer player lives for one game, so its results would only pile up unrated names
+        if (game.getWinner() != null && !(game.getPlayerWhite() instanceof ComputerPlayer)) {
+            TournamentScoreboard.recordResult(game.getWinner(), game.getLoser());
+        }
+        archive(game);
+        for (GameEndListener listener : gameEndListeners) {
+            try {
+                listener.gameEnded(game);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, String.format("A game end listener failed on %s", game), e);
+            }
+        }
+    }
+
+    /**
+     * Keeps a game that has ended in the archive, if there is one
+     * A game that cannot be written is logged and dropped, as the players are done with it.
+     *
+     * @param game - the game that ended
+     */
+    private void archive(CheckersGame game) {
+        if (archive == null) {
+            return;
+        }
+        try {
+            long id = archive.archive(game);
+            LOG.fine(String.format("Archived %s as game %d", game, id));
+        } catch (IOException e) {
+            LOG.warning(String.format("Could not archive %s because: %s", game, e.getMessage()));
+        }
     }
 
     /**
      * Get the Turn of the given player
      *
      * @param player - player whose game a Turn is being made for
-     * @return - a new Turn
+     * @return - the active Turn, or null if it is not the player's turn or the game is over
      */
     public Turn getPlayerTurn(Player player) {
         final CheckersGame game = getGame(player);
+        final Turn turn = (game == null) ? null : game.getTurn();
 
-        if (player.equals(game.getPlayerActive())) {
-            return game.getTurn();
+        if (turn != null && turn.isMyTurn(player)) {
+            return turn;
         }
 
         return null;
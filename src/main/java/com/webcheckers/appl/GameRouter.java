@@ -0,0 +1,313 @@
+package com.webcheckers.appl;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+
+/**
+ * Decides which node of a cluster hosts each game, so both of a game's players are sent to the same server
+ *
+ * Games are owned by consistent hashing of their id, "red vs. white", over the nodes that are up. A
+ * request to start a game that lands on another node is sent to the owner, and every later request
+ * of the game goes there too. The opponent is handed off: their next visit home on the node that
+ * sent the game away takes them to it, and from then on both players are served by the owner, which
+ * knows who they are from the sessions the nodes share. The node sending a game signs it with the
+ * secret the nodes share, so the owner takes in an opponent it has not seen only when a node of the
+ * cluster vouches that they are signed in there. The other configured nodes are probed from
+ * time to time: one that stops answering leaves the ring and one that answers again joins it, and
+ * only the games whose owner changed start somewhere else. A game in play stays on the node that
+ * started it until it ends, since only that node has it.
+ */
+public class GameRouter {
+    private static final Logger LOG = Logger.getLogger(GameRouter.class.getName());
+
+    public static final long DEFAULT_CHECK_MILLIS = 2000;
+    static final int PROBE_TIMEOUT_MILLIS = 500;
+    // Long enough for an opponent waiting at home to be told of the game
+    static final long HAND_OFF_MILLIS = 60_000;
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+
+    private final String self;
+    private final Map<String, String> urls;
+    private final GameManager gameManager;
+    private final SecretKeySpec secret;
+
+    // Replaced, not changed, when a node joins or leaves
+    private volatile HashRing ring;
+    // Opponents of games sent elsewhere, by name: the owner's base URL and when the game was sent
+    private final Map<String, HandOff> handOffs = new ConcurrentHashMap<>();
+
+    /**
+     * Parameterized constructor
+     *
+     * @param self        - name of this node
+     * @param nodes       - every node's name and base URL, this one's included
+     * @param gameManager - this node's games
+     * @param secret      - key every node of the cluster signs the games it sends with
+     */
+    public GameRouter(String self, Map<String, String> nodes, GameManager gameManager, byte[] secret) {
+        this(self, nodes, gameManager, secret, HashRing.DEFAULT_REPLICAS);
+    }
+
+    GameRouter(String self, Map<String, String> nodes, GameManager gameManager, byte[] secret, int replicas) {
+        Objects.requireNonNull(self, "self must not be null");
+        Objects.requireNonNull(nodes, "nodes must not be null");
+        Objects.requireNonNull(secret, "secret must not be null");
+        if (!nodes.containsKey(self)) {
+            throw new IllegalArgumentException(self + " is not one of the nodes " + nodes.keySet());
+        }
+        if (secret.length == 0) {
+            throw new IllegalArgumentException("secret must not be empty");
+        }
+        this.secret = new SecretKeySpec(secret, SIGNATURE_ALGORITHM);
+        this.self = self;
+        this.urls = Collections.unmodifiableMap(new LinkedHashMap<>(nodes));
+        this.gameManager = Objects.requireNonNull(gameManager, "gameManager must not be null");
+        this.ring = new HashRing(nodes.keySet(), replicas);
+    }
+
+    /**
+     * @param red   - name of the RED player
+     * @param white - name of the WHITE player
+     * @return - the id of their game, as the game itself names it
+     */
+    public static String gameId(String red, String white) {
+        return red + " vs. " + white;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    /**
+     * @return - the nodes up, as last probed
+     */
+    public HashRing getRing() {
+        return ring;
+    }
+
+    /**
+     * @param gameId - id of a game
+     * @return - name of the node that owns it
+     */
+    public String ownerOf(String gameId) {
+        return ring.owner(gameId);
+    }
+
+    /**
+     * @param node - name of a node
+     * @return - its base URL, or null if it is not configured
+     */
+    public String getUrl(String node) {
+        return urls.get(node);
+    }
+
+    /**
+     * Where a player's request to start a game should go
+     *
+     * @param player   - the player starting the game, who plays RED
+     * @param opponent - name of the player to play
+     * @return - the base URL of the node that owns the game, or null to serve it here
+     */
+    public String route(Player player, String opponent) {
+        if (gameManager.isPlayerInAGame(player)) {
+            // Only this node has the player's game
+            return null;
+        }
+        String owner = ownerOf(gameId(player.getName(), opponent));
+        return owner.equals(self) ? null : urls.get(owner);
+    }
+
+    /**
+     * Signs a game this node sends to its owner
+     *
+     * @param gameId - id of the game
+     * @param millis - when it is sent
+     * @return - the signature, url-safe
+     */
+    public String sign(String gameId, long millis) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac(gameId, self, millis));
+    }
+
+    /**
+     * Tells whether another node of the cluster sent a game here, recently
+     *
+     * @param gameId    - id of the game
+     * @param node      - name of the node that sent it
+     * @param millis    - when it was sent
+     * @param signature - what the node signed it with
+     * @return - true if the node is configured, signed this game and sent it at most a hand-off ago
+     */
+    public boolean verify(String gameId, String node, long millis, String signature) {
+        if (node == null || signature == null || !urls.containsKey(node)
+                || Math.abs(System.currentTimeMillis() - millis) > HAND_OFF_MILLIS) {
+            return false;
+        }
+        final byte[] sent;
+        try {
+            sent = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(mac(gameId, node, millis), sent);
+    }
+
+    private byte[] mac(String gameId, String node, long millis) {
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(secret);
+            return mac.doFinal((gameId + "\n" + node + "\n" + millis).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            // Every Java platform has HmacSHA256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Remembers that a player's game was sent to another node, to send the player there too
+     *
+     * @param opponent - name of the player the game was started with
+     * @param url      - base URL of the node the game was sent to
+     */
+    public void handOff(String opponent, String url) {
+        handOffs.put(opponent, new HandOff(url, System.currentTimeMillis()));
+    }
+
+    /**
+     * Where a player's game was sent, forgotten once asked for
+     *
+     * @param player - a player on this node
+     * @return - the base URL of the node with the player's game, or null to stay here
+     */
+    public String takeHandOff(Player player) {
+        HandOff handOff = handOffs.remove(player.getName());
+        if (handOff == null || gameManager.isPlayerInAGame(player)
+                || System.currentTimeMillis() - handOff.millis > HAND_OFF_MILLIS) {
+            return null;
+        }
+        return handOff.url;
+    }
+
+    /**
+     * Puts a configured node back in the ring
+     *
+     * @param node - name of the node
+     * @return - true if it was not in the ring
+     */
+    public synchronized boolean join(String node) {
+        if (!urls.containsKey(node) || ring.getNodes().contains(node)) {
+            return false;
+        }
+        ring = ring.with(node);
+        rebalanced(node + " joined");
+        return true;
+    }
+
+    /**
+     * Takes a node out of the ring; this node never leaves its own ring
+     *
+     * @param node - name of the node
+     * @return - true if it was in the ring
+     */
+    public synchronized boolean leave(String node) {
+        if (node.equals(self) || !ring.getNodes().contains(node)) {
+            return false;
+        }
+        ring = ring.without(node);
+        rebalanced(node + " left");
+        return true;
+    }
+
+    /**
+     * Probes every other node, and joins or leaves it by whether it answers
+     *
+     * @param isUp - tells whether the node at a base URL answers
+     */
+    public void checkNodes(Predicate<String> isUp) {
+        for (Map.Entry<String, String> node : urls.entrySet()) {
+            if (node.getKey().equals(self)) {
+                continue;
+            }
+            if (isUp.test(node.getValue())) {
+                join(node.getKey());
+            } else {
+                leave(node.getKey());
+            }
+        }
+    }
+
+    /**
+     * Probes the other nodes every interval, on a thread of its own
+     *
+     * @param intervalMillis - time between probes
+     */
+    public void startChecking(long intervalMillis) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-router");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(() -> checkNodes(GameRouter::answers), 0, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param url - base URL of a node
+     * @return - true if something accepts connections at its host and port
+     */
+    public static boolean answers(String url) {
+        URI uri = URI.create(url);
+        int port = (uri.getPort() < 0) ? 80 : uri.getPort();
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(uri.getHost(), port), PROBE_TIMEOUT_MILLIS);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Logs how the ring changed, and how many games in play here another node now owns
+     */
+    private void rebalanced(String change) {
+        int moved = 0;
+        for (CheckersGame game : gameManager.getGameList().values()) {
+            if (!ownerOf(game.toString()).equals(self)) {
+                moved++;
+            }
+        }
+        LOG.info(String.format("%s, the ring has %s; %d games in play here now belong elsewhere and stay until they end",
+                change, ring.getNodes(), moved));
+    }
+
+    private static final class HandOff {
+        private final String url;
+        private final long millis;
+
+        HandOff(String url, long millis) {
+            this.url = url;
+            this.millis = millis;
+        }
+    }
+}
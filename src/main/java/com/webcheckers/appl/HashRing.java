@@ -0,0 +1,117 @@
+package com.webcheckers.appl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A consistent-hash ring: maps keys onto a set of nodes so that a node joining or leaving moves few keys
+ *
+ * Each node stands at many points of a ring of 64-bit hashes, its virtual nodes, and a key belongs to
+ * the node at the first point at or after the key's hash. A node that joins takes over only the keys
+ * just before its points, about 1/n of them, and one that leaves hands only its own keys to the nodes
+ * after it. The ring is immutable: joining or leaving makes a new one, so lookups never lock.
+ */
+public final class HashRing {
+
+    public static final int DEFAULT_REPLICAS = 160;
+
+    private final Set<String> nodes;
+    private final int replicas;
+
+    // The points of the ring, sorted, and the node at each
+    private final long[] points;
+    private final String[] owners;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param nodes    - names of the nodes
+     * @param replicas - virtual nodes for each node; more spread the keys more evenly
+     */
+    public HashRing(Set<String> nodes, int replicas) {
+        if (nodes.isEmpty() || replicas < 1) {
+            throw new IllegalArgumentException("A ring needs a node and a replica");
+        }
+        this.nodes = Collections.unmodifiableSet(new TreeSet<>(nodes));
+        this.replicas = replicas;
+
+        long[][] placed = new long[this.nodes.size() * replicas][];
+        String[] names = this.nodes.toArray(new String[0]);
+        int count = 0;
+        for (int node = 0; node < names.length; node++) {
+            for (int replica = 0; replica < replicas; replica++) {
+                placed[count++] = new long[]{hash(names[node] + "#" + replica), node};
+            }
+        }
+        Arrays.sort(placed, (a, b) -> Long.compare(a[0], b[0]));
+
+        points = new long[placed.length];
+        owners = new String[placed.length];
+        for (int i = 0; i < placed.length; i++) {
+            points[i] = placed[i][0];
+            owners[i] = names[(int) placed[i][1]];
+        }
+    }
+
+    /**
+     * @param key - a key
+     * @return - the node the key belongs to
+     */
+    public String owner(String key) {
+        int found = Arrays.binarySearch(points, hash(key));
+        int point = (found >= 0) ? found : -found - 1;
+        return owners[(point == points.length) ? 0 : point];
+    }
+
+    /**
+     * @return - names of the nodes, sorted
+     */
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @param node - a node to add
+     * @return - the ring with the node in it
+     */
+    public HashRing with(String node) {
+        Set<String> more = new TreeSet<>(nodes);
+        more.add(node);
+        return new HashRing(more, replicas);
+    }
+
+    /**
+     * @param node - a node to remove, which must not be the last
+     * @return - the ring without the node
+     */
+    public HashRing without(String node) {
+        Set<String> fewer = new TreeSet<>(nodes);
+        fewer.remove(node);
+        return new HashRing(fewer, replicas);
+    }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes, finished with a mix so that similar keys spread around the ring
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d nodes, %d points", nodes.size(), points.length);
+    }
+}
@@ -0,0 +1,35 @@
+package com.webcheckers.appl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sessions kept in this server's memory, for a server that does not share its players
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    private final Map<String, PlayerReference> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public PlayerReference get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    @Override
+    public void put(String sessionId, PlayerReference player) {
+        sessions.put(sessionId, Objects.requireNonNull(player, "player must not be null"));
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * @return - sessions signed in
+     */
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,167 @@
+package com.webcheckers.appl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.Player;
+
+/**
+ * A single-elimination bracket: whoever loses a game is out, and the last player left wins
+ *
+ * Entrants are seeded in the order given, strongest first, into a bracket of the next power of two
+ * laid out so that the best seeds meet as late as they can: first meets last, and the top two seeds
+ * can only meet in the final. The places no player fills are byes, and they fall to the top seeds.
+ * The better seed plays RED. A game neither player could play is won by the better seed.
+ */
+public class Knockout implements EventFormat {
+    private static final Logger LOG = Logger.getLogger(Knockout.class.getName());
+
+    private final List<Player> players;
+    private final Map<Player, Integer> seeds = new HashMap<>();
+    private final int rounds;
+
+    // Guarded by this: the players still in, in bracket order, and the winners of the current round's pairings
+    private Player[] bracket;
+    private final Map<Pairing, Integer> current = new IdentityHashMap<>();
+    private Player[] winners;
+    private int round;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param players - the entrants, strongest first
+     */
+    public Knockout(List<Player> players) {
+        Objects.requireNonNull(players, "players must not be null");
+        if (players.size() < 2) {
+            throw new IllegalArgumentException("A knockout needs two players");
+        }
+        this.players = new ArrayList<>(players);
+        for (Player player : players) {
+            if (seeds.put(player, seeds.size()) != null) {
+                throw new IllegalArgumentException(player.getName() + " has entered twice");
+            }
+        }
+
+        int[] order = bracketOrder(players.size());
+        this.rounds = Integer.numberOfTrailingZeros(order.length);
+        bracket = new Player[order.length];
+        for (int slot = 0; slot < order.length; slot++) {
+            bracket[slot] = (order[slot] < players.size()) ? players.get(order[slot]) : null;
+        }
+    }
+
+    /**
+     * The seeds of a bracket in the order they stand, each seed's first opponent next to it
+     * Each doubling of the bracket puts seed s beside seed 2n - 1 - s, so seeds 0 and 1 are in different halves.
+     *
+     * @param players - number of players
+     * @return - seeds from 0, in slot order, over the next power of two
+     */
+    static int[] bracketOrder(int players) {
+        int[] order = {0};
+        while (order.length < players) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = next.length - 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * @return - rounds paired so far
+     */
+    public synchronized int getRound() {
+        return round;
+    }
+
+    /**
+     * @return - the winner, or null until the final has been played
+     */
+    public synchronized Player getChampion() {
+        return (bracket.length == 1) ? bracket[0] : null;
+    }
+
+    /**
+     * @return - the players still in, best seed first
+     */
+    public synchronized List<Player> getRemaining() {
+        Set<Player> in = new HashSet<>(Arrays.asList(bracket));
+        List<Player> remaining = new ArrayList<>();
+        for (Player player : players) {
+            if (in.contains(player)) {
+                remaining.add(player);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Pairs the next round from the winners of the last
+     *
+     * @return - the pairings, empty once there is a champion
+     */
+    @Override
+    public synchronized List<Pairing> pairRound() {
+        if (winners != null) {
+            if (!current.isEmpty()) {
+                throw new IllegalStateException("The round has games still to score");
+            }
+            bracket = winners;
+        }
+        if (bracket.length == 1) {
+            LOG.info("Knockout won by " + bracket[0].getName());
+            return Collections.emptyList();
+        }
+
+        winners = new Player[bracket.length / 2];
+        List<Pairing> pairings = new ArrayList<>(winners.length);
+        for (int i = 0; i < winners.length; i++) {
+            Player one = bracket[2 * i];
+            Player other = bracket[2 * i + 1];
+            Pairing pairing;
+            if (one == null || other == null) {
+                pairing = new Pairing((one == null) ? other : one, null);
+            } else if (seeds.get(one) < seeds.get(other)) {
+                pairing = new Pairing(one, other);
+            } else {
+                pairing = new Pairing(other, one);
+            }
+            current.put(pairing, i);
+            pairings.add(pairing);
+        }
+        round++;
+        return pairings;
+    }
+
+    /**
+     * Scores a game, sending its winner, or the better seed if neither played, through to the next round
+     */
+    @Override
+    public synchronized void score(Pairing pairing, Player winner) {
+        Integer slot = current.remove(pairing);
+        if (slot == null) {
+            throw new IllegalArgumentException(pairing + " is not in the current round");
+        }
+        // RED is the better seed
+        Player through = (winner == null) ? pairing.getRed() : winner;
+        pairing.setWinner(winner);
+        winners[slot] = through;
+    }
+}
@@ -0,0 +1,119 @@
+package com.webcheckers.appl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+
+/**
+ * One page of a lobby listing (players or games) along with the cursor needed to fetch the next page.
+ * The cursor is the key of the last entry on this page, so pages stay stable while the lobby changes.
+ *
+ * @param <T> - type of the listed entries
+ */
+public class LobbyPage<T> {
+
+    // Number of entries rendered per page of the home view
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param items      - entries on this page
+     * @param nextCursor - key to resume from, or null if this is the last page
+     */
+    public LobbyPage(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Walks at most limit entries of a sorted index whose keys start with prefix, strictly after cursor
+     *
+     * @param index  - sorted index to page through
+     * @param prefix - key prefix to match, null or empty for every key
+     * @param after  - cursor returned by the previous page, null for the first page
+     * @param limit  - maximum number of entries on the page
+     * @return - the requested page
+     */
+    static <T> LobbyPage<T> of(NavigableMap<String, T> index, String prefix, String after, int limit) {
+        String from = "";
+        boolean fromInclusive = true;
+
+        if (prefix != null) {
+            from = prefix;
+        }
+        // A cursor before the prefix range is ignored rather than rejected
+        if (after != null && after.compareTo(from) >= 0) {
+            from = after;
+            fromInclusive = false;
+        }
+
+        NavigableMap<String, T> range;
+
+        if (prefix != null && !prefix.isEmpty()) {
+            // Every key starting with prefix sorts before prefix + the largest char
+            String to = prefix + Character.MAX_VALUE;
+            if (from.compareTo(to) >= 0) {
+                return new LobbyPage<>(new ArrayList<>(), null);
+            }
+            range = index.subMap(from, fromInclusive, to, false);
+        } else {
+            range = index.tailMap(from, fromInclusive);
+        }
+
+        List<T> items = new ArrayList<>(limit);
+        String lastKey = null;
+        boolean hasMore = false;
+
+        for (NavigableMap.Entry<String, T> entry : range.entrySet()) {
+            if (items.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            items.add(entry.getValue());
+            lastKey = entry.getKey();
+        }
+
+        return new LobbyPage<>(items, hasMore ? lastKey : null);
+    }
+
+    /**
+     * Used by home.ftl to list the page entries
+     *
+     * @return - entries on this page
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Used by home.ftl to link to the next page
+     *
+     * @return - cursor for the next page, null if there is none
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Determines whether another page follows this one
+     *
+     * @return - true if there is a next page, false otherwise
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Determines whether this page has no entries
+     *
+     * @return - true if the page is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
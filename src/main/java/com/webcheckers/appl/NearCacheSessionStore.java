@@ -0,0 +1,119 @@
+package com.webcheckers.appl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the sessions this server has used lately in memory, in front of a store shared by every server
+ *
+ * A session read from the shared store is kept for a short time, so the requests a page makes in quick
+ * succession read the store once. Signing in and out write through to the store at once. A session
+ * signed out on another server may therefore stay signed in here until its entry expires, one second
+ * by default. Sessions that are not signed in are not kept, so signing in elsewhere shows at once.
+ */
+public class NearCacheSessionStore implements SessionStore {
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final long DEFAULT_TTL_MILLIS = 1000;
+
+    /**
+     * A session kept in memory, and when it must be read again
+     */
+    private static final class Entry {
+        private final PlayerReference player;
+        private final long expiresNanos;
+
+        Entry(PlayerReference player, long expiresNanos) {
+            this.player = player;
+            this.expiresNanos = expiresNanos;
+        }
+    }
+
+    private final SessionStore store;
+    private final long ttlNanos;
+    // Least recently used first
+    private final Map<String, Entry> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Parameterized constructor
+     *
+     * @param store     - the shared store
+     * @param capacity  - most sessions kept in memory
+     * @param ttlMillis - how long a session is kept before it is read again
+     */
+    public NearCacheSessionStore(SessionStore store, int capacity, long ttlMillis) {
+        Objects.requireNonNull(store, "store must not be null");
+        if (capacity < 1 || ttlMillis < 0) {
+            throw new IllegalArgumentException("capacity must be positive and ttlMillis not negative");
+        }
+        this.store = store;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public PlayerReference get(String sessionId) {
+        long now = System.nanoTime();
+        synchronized (cache) {
+            Entry entry = cache.get(sessionId);
+            if (entry != null && now - entry.expiresNanos < 0) {
+                hits.incrementAndGet();
+                return entry.player;
+            }
+        }
+
+        misses.incrementAndGet();
+        PlayerReference player = store.get(sessionId);
+        synchronized (cache) {
+            if (player == null) {
+                cache.remove(sessionId);
+            } else {
+                cache.put(sessionId, new Entry(player, now + ttlNanos));
+            }
+        }
+        return player;
+    }
+
+    @Override
+    public void put(String sessionId, PlayerReference player) {
+        store.put(sessionId, player);
+        synchronized (cache) {
+            cache.put(sessionId, new Entry(player, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        synchronized (cache) {
+            cache.remove(sessionId);
+        }
+        store.remove(sessionId);
+    }
+
+    /**
+     * @return - reads answered from memory
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return - reads that went to the shared store
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
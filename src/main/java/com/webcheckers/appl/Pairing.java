@@ -0,0 +1,40 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.Player;
+
+/**
+ * Two players meeting in a round of an event, or a player with a bye
+ */
+public final class Pairing {
+    private final Player red;
+    private final Player white;
+    private volatile Player winner;
+
+    Pairing(Player red, Player white) {
+        this.red = red;
+        this.white = white;
+    }
+
+    public Player getRed() { return red; }
+
+    /**
+     * @return - the player RED meets, or null if RED has a bye
+     */
+    public Player getWhite() { return white; }
+
+    public boolean isBye() { return white == null; }
+
+    /**
+     * @return - the winner, or null until the game has ended or if neither player could play it
+     */
+    public Player getWinner() { return winner; }
+
+    void setWinner(Player winner) {
+        this.winner = winner;
+    }
+
+    @Override
+    public String toString() {
+        return isBye() ? red.getName() + " has a bye" : red.getName() + " vs. " + white.getName();
+    }
+}
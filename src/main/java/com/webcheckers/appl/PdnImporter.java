@@ -0,0 +1,213 @@
+package com.webcheckers.appl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.PdnGame;
+import com.webcheckers.model.PdnReader;
+
+/**
+ * Replays the games of a PDN stream through the model's rules on several threads and hands on the legal ones
+ *
+ * The calling thread reads the games one at a time and queues them for the worker threads, which replay
+ * each game with PdnGame.replay() and pass it to a Sink: the GameArchive, the opening book builder or
+ * any other job. The queue is bounded, so reading waits for the workers and memory stays constant
+ * however long the stream is. Games are handed on in the order the workers finish them.
+ */
+public class PdnImporter {
+    private static final Logger LOG = Logger.getLogger(PdnImporter.class.getName());
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    // Messages kept of the games that were rejected
+    static final int MAX_ERRORS = 20;
+
+    // Tells a worker there are no more games
+    private static final PdnGame END = new PdnGame(Collections.emptyMap(), Collections.emptyList(), null);
+
+    /**
+     * Takes each game that was replayed
+     */
+    public interface Sink {
+        /**
+         * @param record - the game as read
+         * @param game   - the game as replayed; once its turns are played out a decisive result is adjudicated
+         * @throws IOException - if the game cannot be kept; the import stops
+         */
+        void accept(PdnGame record, CheckersGame game) throws IOException;
+    }
+
+    /**
+     * Counts of an import
+     */
+    public static final class Result {
+        private final int read;
+        private final int imported;
+        private final int rejected;
+        private final List<String> errors;
+
+        Result(int read, int imported, int rejected, List<String> errors) {
+            this.read = read;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        public int getRead() { return read; }
+
+        public int getImported() { return imported; }
+
+        public int getRejected() { return rejected; }
+
+        /**
+         * @return - why games were rejected, for the first MAX_ERRORS of them
+         */
+        public List<String> getErrors() { return errors; }
+
+        @Override
+        public String toString() {
+            return String.format("%d games read, %d imported, %d rejected", read, imported, rejected);
+        }
+    }
+
+    private final int threads;
+    private final int queueCapacity;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param threads - number of threads replaying games
+     */
+    public PdnImporter(int threads) {
+        this(threads, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param threads       - number of threads replaying games
+     * @param queueCapacity - games read ahead of the replaying threads
+     */
+    public PdnImporter(int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("threads and queueCapacity must be positive");
+        }
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Reads, replays and hands on every game of a stream
+     *
+     * @param reader - the games
+     * @param sink   - takes each legal game
+     * @return - counts of the games
+     * @throws IOException          - if the stream cannot be read or the sink fails
+     * @throws InterruptedException - if interrupted while waiting for the workers
+     */
+    public Result importGames(PdnReader reader, Sink sink) throws IOException, InterruptedException {
+        Objects.requireNonNull(reader, "reader must not be null");
+        Objects.requireNonNull(sink, "sink must not be null");
+
+        BlockingQueue<PdnGame> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger imported = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    for (PdnGame record = queue.take(); record != END; record = queue.take()) {
+                        CheckersGame game;
+                        try {
+                            game = record.replay();
+                        } catch (IllegalArgumentException e) {
+                            reject(rejected, errors, describe(record) + ": " + e.getMessage());
+                            continue;
+                        }
+                        sink.accept(record, game);
+                        imported.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            while (true) {
+                PdnGame record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    reject(rejected, errors, e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                // A worker that failed takes no more games, so give up rather than wait on a full queue
+                while (!queue.offer(record, 100, TimeUnit.MILLISECONDS)) {
+                    failed(workers);
+                }
+            }
+            for (int i = 0; i < threads; i++) {
+                queue.put(END);
+            }
+            for (Future<?> worker : workers) {
+                join(worker);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Result result = new Result(reader.getGames(), imported.get(), rejected.get(), new ArrayList<>(errors));
+        LOG.info("Imported PDN: " + result);
+        return result;
+    }
+
+    private static void reject(AtomicInteger rejected, List<String> errors, String message) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+    }
+
+    private static String describe(PdnGame record) {
+        return String.format("%s vs. %s", record.getTags().getOrDefault(PdnGame.BLACK_TAG, "?"),
+                record.getTags().getOrDefault(PdnGame.WHITE_TAG, "?"));
+    }
+
+    private static void failed(List<Future<?>> workers) throws IOException, InterruptedException {
+        for (Future<?> worker : workers) {
+            if (worker.isDone()) {
+                join(worker);
+            }
+        }
+    }
+
+    private static void join(Future<?> worker) throws IOException, InterruptedException {
+        try {
+            worker.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Replaying games failed", e.getCause());
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.webcheckers.appl;
 
 import com.webcheckers.model.Player;
 
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -14,14 +17,25 @@ public class PlayerLobby {
     private static final String MESSAGE_PLAYER_NAME_INVALID = "Chosen player name not valid. Please use only alphanumerics and spaces.";
 
     // instance variable
-    private HashMap<String, Player> activePlayers;
+    private final ConcurrentSkipListMap<String, Player> activePlayers;
+
+    // Sorted name index per game type, backing the paged lobby listing
+    private final EnumMap<Player.GameType, ConcurrentSkipListMap<String, Player>> playersByType;
+
+    // Skip list size() walks the whole list, so the count is kept alongside it
+    private final AtomicInteger activePlayerCount;
 
     /**
      * default constructor
-     * This initializes the activePlayers HashMap on instantiation
+     * This initializes the activePlayers map and its indexes on instantiation
      */
     public PlayerLobby() {
-        activePlayers = new HashMap<String, Player>();
+        activePlayers = new ConcurrentSkipListMap<>();
+        playersByType = new EnumMap<>(Player.GameType.class);
+        for (Player.GameType type : Player.GameType.values()) {
+            playersByType.put(type, new ConcurrentSkipListMap<>());
+        }
+        activePlayerCount = new AtomicInteger();
     }
 
     // Behaviors
@@ -29,19 +43,32 @@ public class PlayerLobby {
     /**
      * This may be an interim method.
      *
-     * @return - Hashmap containing all the active players
+     * @return - Map containing all the active players, sorted by name
      */
-    public HashMap<String, Player> getActivePlayers() {
+    public Map<String, Player> getActivePlayers() {
         return activePlayers;
     }
 
+    /**
+     * Returns one page of active players of the given type, sorted by name
+     *
+     * @param type   - game type of the listed players
+     * @param prefix - only list players whose name starts with this, null for all players
+     * @param after  - cursor from the previous page, null for the first page
+     * @param limit  - maximum number of players on the page
+     * @return - LobbyPage of players
+     */
+    public LobbyPage<Player> getPlayersPage(Player.GameType type, String prefix, String after, int limit) {
+        return LobbyPage.of(playersByType.get(type), prefix, after, limit);
+    }
+
     /**
      * Returns a count of the number of active players in the lobby
      *
      * @return - Integer activePlayerCount
      */
     public Integer getActivePlayerCount() {
-        return this.activePlayers.size();
+        return activePlayerCount.get();
     }
 
     /**
@@ -75,14 +102,14 @@ public class PlayerLobby {
             throw new PlayerLobbyException(MESSAGE_PLAYER_NAME_INVALID);
         }
 
-        if (activePlayers.containsKey(name)) {
-            throw new PlayerLobbyException(MESSAGE_PLAYER_NAME_TAKEN);
-        }
-
         final Player newPlayer = new Player(name, type);
 
-        // Add the player to our lobby
-        this.activePlayers.put(name, newPlayer);
+        // Add the player to our lobby, unless another sign-in claimed the name first
+        if (this.activePlayers.putIfAbsent(name, newPlayer) != null) {
+            throw new PlayerLobbyException(MESSAGE_PLAYER_NAME_TAKEN);
+        }
+        this.playersByType.get(type).put(name, newPlayer);
+        this.activePlayerCount.incrementAndGet();
 
         return newPlayer;
     }
@@ -113,7 +140,9 @@ public class PlayerLobby {
      * Clears the list of active players
      */
     public void clearLobby() {
-        this.activePlayers.clear();
+        for (String name : this.activePlayers.keySet()) {
+            destroyPlayer(name);
+        }
     }
 
     /**
@@ -122,6 +151,11 @@ public class PlayerLobby {
      * @param playerName - Player being removed
      */
     public void destroyPlayer(String playerName) {
-        this.activePlayers.remove(playerName);
+        final Player removed = this.activePlayers.remove(playerName);
+
+        if (removed != null) {
+            this.playersByType.get(removed.getType()).remove(playerName);
+            this.activePlayerCount.decrementAndGet();
+        }
     }
 }
@@ -0,0 +1,96 @@
+package com.webcheckers.appl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.webcheckers.model.Player;
+
+/**
+ * Who a session is signed in as, small enough to keep in a session store shared by every server
+ *
+ * A reference is the player's name and game type, which is all it takes to find the player again on
+ * any server, as players are equal by name. Encoded it is a byte for the type followed by the name in
+ * UTF-8, a few bytes where a serialized Player would be hundreds.
+ */
+public final class PlayerReference {
+
+    private final String name;
+    private final Player.GameType type;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param name - name of the player
+     * @param type - the player's game type
+     */
+    public PlayerReference(String name, Player.GameType type) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.type = Objects.requireNonNull(type, "type must not be null");
+    }
+
+    /**
+     * @param player - a player
+     * @return - a reference to the player
+     */
+    public static PlayerReference of(Player player) {
+        return new PlayerReference(player.getName(), player.getType());
+    }
+
+    public String getName() { return name; }
+
+    public Player.GameType getType() { return type; }
+
+    /**
+     * @param player - a player, or null
+     * @return - true if this refers to the player
+     */
+    public boolean refersTo(Player player) {
+        return player != null && name.equals(player.getName()) && type == player.getType();
+    }
+
+    /**
+     * @return - the reference as bytes
+     */
+    public byte[] encode() {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[nameBytes.length + 1];
+        bytes[0] = (byte) type.ordinal();
+        System.arraycopy(nameBytes, 0, bytes, 1, nameBytes.length);
+        return bytes;
+    }
+
+    /**
+     * Reads a reference written by encode()
+     *
+     * @param bytes - the encoded reference
+     * @return - the reference
+     * @throws IllegalArgumentException - if the bytes are not a reference
+     */
+    public static PlayerReference decode(byte[] bytes) {
+        if (bytes.length < 2 || bytes[0] < 0 || bytes[0] >= Player.GameType.values().length) {
+            throw new IllegalArgumentException("Not a player reference: " + Arrays.toString(bytes));
+        }
+        return new PlayerReference(new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8),
+                Player.GameType.values()[bytes[0]]);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof PlayerReference)) {
+            return false;
+        }
+        PlayerReference reference = (PlayerReference) other;
+        return name.equals(reference.name) && type == reference.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode() * 31 + type.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + type + ")";
+    }
+}
@@ -0,0 +1,137 @@
+package com.webcheckers.appl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.Engine;
+import com.webcheckers.ai.SearchLimits;
+import com.webcheckers.ai.SearchResult;
+
+/**
+ * Best move and evaluation of game positions, for hints and for spectators, shared by every viewer
+ *
+ * Results are cached by the position's Zobrist hash, which includes the side to move. The first request
+ * for a position searches it under the time budget; requests for the same position that arrive during
+ * the search wait for that search instead of starting their own, and later ones are answered from the
+ * cache. At most a fixed number of positions are searched at once; a request that would go over it is
+ * turned away rather than queued, so the web server's threads are never stuck behind analysis.
+ */
+public class PositionAnalyzer {
+    private static final Logger LOG = Logger.getLogger(PositionAnalyzer.class.getName());
+
+    public static final long DEFAULT_BUDGET_MILLIS = 300;
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    private final Engine engine;
+    private final SearchLimits limits;
+    private final Semaphore searches;
+
+    // Least recently used positions are dropped first; guarded by itself
+    private final Map<Long, CompletableFuture<SearchResult>> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+
+    /**
+     * Parameterized constructor
+     *
+     * @param engine        - engine that searches the positions
+     * @param budgetMillis  - time each search may take
+     * @param capacity      - positions kept in the cache
+     * @param maxSearches   - positions searched at once
+     */
+    public PositionAnalyzer(Engine engine, long budgetMillis, int capacity, int maxSearches) {
+        Objects.requireNonNull(engine, "engine must not be null");
+        if (capacity < 1 || maxSearches < 1) {
+            throw new IllegalArgumentException("capacity and maxSearches must be positive");
+        }
+        this.engine = engine;
+        this.limits = SearchLimits.time(budgetMillis, SearchLimits.MAX_DEPTH);
+        this.searches = new Semaphore(maxSearches);
+        this.cache = new LinkedHashMap<Long, CompletableFuture<SearchResult>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CompletableFuture<SearchResult>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Analyzes a position, or waits for the analysis another request started
+     *
+     * @param board - the position
+     * @return - best move and score for the side to move, or null if too many positions are being searched
+     */
+    public SearchResult analyze(Board board) {
+        CompletableFuture<SearchResult> result;
+        boolean owner = false;
+
+        synchronized (cache) {
+            result = cache.get(board.getHash());
+            if (result == null) {
+                result = new CompletableFuture<>();
+                cache.put(board.getHash(), result);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            hits.increment();
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                return null;
+            }
+        }
+
+        misses.increment();
+        if (!searches.tryAcquire()) {
+            refused.increment();
+            forget(board, result);
+            LOG.fine("Refused an analysis, too many positions are being searched");
+            return null;
+        }
+        try {
+            SearchResult analysis = engine.search(board, limits);
+            result.complete(analysis);
+            return analysis;
+        } catch (RuntimeException e) {
+            forget(board, result);
+            throw e;
+        } finally {
+            searches.release();
+        }
+    }
+
+    /**
+     * Drops an analysis that did not complete, releasing the requests that waited for it
+     */
+    private void forget(Board board, CompletableFuture<SearchResult> result) {
+        synchronized (cache) {
+            cache.remove(board.getHash(), result);
+        }
+        result.completeExceptionally(new IllegalStateException("Analysis did not complete"));
+    }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public long getRefused() { return refused.sum(); }
+
+    public int getCachedPositions() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.webcheckers.appl;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.CheckersGame;
+
+/**
+ * Ships every change to the games in play to a standby server, which keeps a copy it can take over with
+ *
+ * A game's change is only queued on the thread that made it, so shipping adds nothing a player waits
+ * for. One thread sends the queue to the standby in batches, at most one write and flush a batch, and
+ * a heartbeat when there is nothing to send; the standby answers each batch with the sequence number
+ * of the last change it applied. How far the standby is behind is kept as a count of changes and the
+ * age of the oldest one not yet applied. The queue is bounded: if the standby falls that far behind it
+ * is disconnected, and when it connects again it is sent a snapshot of every game first, as it is
+ * when it first connects.
+ */
+public class ReplicationShipper implements GameManager.GameEventListener, Closeable {
+    private static final Logger LOG = Logger.getLogger(ReplicationShipper.class.getName());
+
+    public static final int DEFAULT_MAX_PENDING = 100_000;
+    static final int MAX_BATCH = 1024;
+    static final long HEARTBEAT_MILLIS = 500;
+
+    // A frame's flags: the standby drops its games and rebuilds them from this frame
+    static final byte RESET = 1;
+
+    /**
+     * A change waiting to be shipped
+     */
+    private static final class Pending {
+        private final long sequence;
+        private final long queuedNanos;
+        private final GameEvent event;
+
+        Pending(long sequence, long queuedNanos, GameEvent event) {
+            this.sequence = sequence;
+            this.queuedNanos = queuedNanos;
+            this.event = event;
+        }
+    }
+
+    private final GameManager gameManager;
+    private final ServerSocket server;
+    private final int maxPending;
+    private final LinkedBlockingQueue<Pending> queue;
+    private final Thread shipper;
+
+    // Held while a change is numbered and queued, so the queue is always in sequence order
+    private final Object enqueueLock = new Object();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    // Batches sent and not yet applied: last sequence and when its first change was queued
+    private final ConcurrentLinkedDeque<long[]> unacknowledged = new ConcurrentLinkedDeque<>();
+    private volatile long acknowledged;
+    private volatile boolean shipping;
+    private volatile Socket standby;
+    private volatile boolean closed;
+
+    private ReplicationShipper(GameManager gameManager, ServerSocket server, int maxPending) {
+        this.gameManager = gameManager;
+        this.server = server;
+        this.maxPending = maxPending;
+        this.queue = new LinkedBlockingQueue<>(maxPending);
+
+        shipper = new Thread(this::run, "replication-shipper");
+        shipper.setDaemon(true);
+        shipper.start();
+        gameManager.addGameEventListener(this);
+    }
+
+    /**
+     * Starts listening for a standby and shipping it every change to the games
+     *
+     * @param gameManager - the games
+     * @param port        - port the standby connects to, 0 for any free one
+     * @param maxPending  - most changes queued for the standby before it is disconnected
+     * @return - the running shipper
+     * @throws IOException - if the port cannot be listened on
+     */
+    public static ReplicationShipper start(GameManager gameManager, int port, int maxPending) throws IOException {
+        Objects.requireNonNull(gameManager, "gameManager must not be null");
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("maxPending must be positive");
+        }
+        ServerSocket server = new ServerSocket(port);
+        LOG.config(String.format("Shipping game changes to a standby on port %d", server.getLocalPort()));
+        return new ReplicationShipper(gameManager, server, maxPending);
+    }
+
+    /**
+     * Queues a change for the standby, if one is connected; never waits
+     *
+     * @param event - the change
+     */
+    @Override
+    public void gameChanged(GameEvent event) {
+        if (!shipping) {
+            return;
+        }
+        synchronized (enqueueLock) {
+            if (shipping && !queue.offer(new Pending(sequence.incrementAndGet(), System.nanoTime(), event))) {
+                // The standby is too far behind to catch up change by change
+                shipping = false;
+                overflows.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return - the port the standby connects to
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    public boolean isStandbyConnected() {
+        return standby != null && shipping;
+    }
+
+    /**
+     * @return - changes made that the standby has not applied yet, 0 if no standby is connected
+     */
+    public long getLagChanges() {
+        return isStandbyConnected() ? Math.max(0, sequence.get() - acknowledged) : 0;
+    }
+
+    /**
+     * @return - milliseconds since the oldest change the standby has not applied was made, 0 if none
+     */
+    public long getLagMillis() {
+        long[] oldestSent = unacknowledged.peekFirst();
+        Pending oldestQueued = queue.peek();
+        long oldest = (oldestSent != null) ? oldestSent[1]
+                : (oldestQueued != null) ? oldestQueued.queuedNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+    }
+
+    /**
+     * @return - times the standby fell so far behind that it was disconnected
+     */
+    public long getOverflows() {
+        return overflows.get();
+    }
+
+    /**
+     * Stops shipping and disconnects the standby
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        shipping = false;
+        gameManager.removeGameEventListener(this);
+        server.close();
+        Socket connected = standby;
+        if (connected != null) {
+            connected.close();
+        }
+        try {
+            shipper.join(HEARTBEAT_MILLIS * 4);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The shipper thread: serves one standby at a time
+     */
+    private void run() {
+        while (!closed) {
+            try (Socket socket = server.accept()) {
+                standby = socket;
+                ship(socket);
+            } catch (IOException e) {
+                if (!closed) {
+                    LOG.log(Level.WARNING, "Lost the standby", e);
+                }
+            } finally {
+                shipping = false;
+                standby = null;
+                queue.clear();
+                unacknowledged.clear();
+            }
+        }
+    }
+
+    /**
+     * Sends a snapshot of every game, then the changes as they come, until the standby is lost
+     */
+    private void ship(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        Thread acknowledger = new Thread(() -> acknowledge(in), "replication-acks");
+        acknowledger.setDaemon(true);
+
+        // Changes from here on are queued; any that raced with the snapshot are applied once
+        long snapshotSequence;
+        synchronized (enqueueLock) {
+            queue.clear();
+            unacknowledged.clear();
+            shipping = true;
+            snapshotSequence = sequence.get();
+        }
+        long snapshotNanos = System.nanoTime();
+        List<GameEvent> snapshot = new ArrayList<>();
+        for (CheckersGame game : gameManager.getGameList().values()) {
+            synchronized (game) {
+                snapshot.addAll(GameEvent.snapshot(game));
+            }
+        }
+        unacknowledged.add(new long[]{snapshotSequence, snapshotNanos});
+        send(out, RESET, snapshotSequence, snapshot);
+        LOG.info(String.format("Standby %s connected, sent %d games' changes", socket.getRemoteSocketAddress(),
+                snapshot.size()));
+        acknowledger.start();
+
+        long last = snapshotSequence;
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        List<GameEvent> events = new ArrayList<>(MAX_BATCH);
+        while (!closed) {
+            if (!shipping) {
+                throw new IOException(String.format("The standby fell more than %d changes behind", maxPending));
+            }
+            batch.clear();
+            events.clear();
+            try {
+                Pending first = queue.poll(HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            for (Pending pending : batch) {
+                events.add(pending.event);
+            }
+            // An empty batch is a heartbeat, and repeats the last sequence number sent
+            if (!batch.isEmpty()) {
+                last = batch.get(batch.size() - 1).sequence;
+                unacknowledged.add(new long[]{last, batch.get(0).queuedNanos});
+            }
+            send(out, (byte) 0, last, events);
+        }
+    }
+
+    private static void send(DataOutputStream out, byte flags, long last, List<GameEvent> events)
+            throws IOException {
+        out.writeByte(flags);
+        out.writeLong(last);
+        out.writeInt(events.size());
+        for (GameEvent event : events) {
+            event.write(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads the standby's answers, each the sequence number of the last change it applied
+     */
+    private void acknowledge(DataInputStream in) {
+        try {
+            while (true) {
+                long applied = in.readLong();
+                acknowledged = applied;
+                long[] oldest;
+                while ((oldest = unacknowledged.peekFirst()) != null && oldest[0] <= applied) {
+                    unacknowledged.pollFirst();
+                }
+            }
+        } catch (IOException e) {
+            LOG.fine("The standby stopped answering: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.webcheckers.appl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.Player;
+
+/**
+ * Round-robin pools: everyone in a pool meets everyone else in it once
+ *
+ * Entrants are seeded in the order given, strongest first, and dealt into the pools like cards, back and
+ * forth, so the pools are equally strong. Each pool is paired by the circle method: one player stays
+ * put while the others turn around them a place each round. A pool of n players plays n - 1 rounds, n
+ * if it is odd, when someone sits out each round with a bye that scores nothing. The player who stays
+ * put changes color every round. All the pools play their rounds at the same time.
+ */
+public class RoundRobin implements EventFormat {
+    private static final Logger LOG = Logger.getLogger(RoundRobin.class.getName());
+
+    private final List<List<Player>> pools = new ArrayList<>();
+    private final Map<Player, Integer> seeds = new HashMap<>();
+    private final int rounds;
+
+    // Guarded by this
+    private final Map<Player, Integer> wins = new HashMap<>();
+    private int round;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param players - the entrants, strongest first
+     * @param pools   - number of pools to deal them into
+     */
+    public RoundRobin(List<Player> players, int pools) {
+        Objects.requireNonNull(players, "players must not be null");
+        if (pools < 1 || players.size() < 2 * pools) {
+            throw new IllegalArgumentException("Every pool needs two players");
+        }
+
+        for (int pool = 0; pool < pools; pool++) {
+            this.pools.add(new ArrayList<>());
+        }
+        for (Player player : players) {
+            int seed = seeds.size();
+            if (seeds.put(player, seed) != null) {
+                throw new IllegalArgumentException(player.getName() + " has entered twice");
+            }
+            int pass = seed / pools;
+            this.pools.get((pass % 2 == 0) ? seed % pools : pools - 1 - seed % pools).add(player);
+            wins.put(player, 0);
+        }
+
+        int most = 0;
+        for (List<Player> pool : this.pools) {
+            most = Math.max(most, (pool.size() % 2 == 0) ? pool.size() - 1 : pool.size());
+        }
+        this.rounds = most;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * @return - rounds paired so far
+     */
+    public synchronized int getRound() {
+        return round;
+    }
+
+    /**
+     * @return - the pools, each strongest seed first
+     */
+    public List<List<Player>> getPools() {
+        List<List<Player>> copy = new ArrayList<>(pools.size());
+        for (List<Player> pool : pools) {
+            copy.add(Collections.unmodifiableList(pool));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * @param player - a player in the event
+     * @return - games the player has won
+     */
+    public synchronized int getWins(Player player) {
+        return wins.get(player);
+    }
+
+    /**
+     * @param pool - index of a pool
+     * @return - its players by games won, then by seed
+     */
+    public synchronized List<Player> getStandings(int pool) {
+        List<Player> standings = new ArrayList<>(pools.get(pool));
+        standings.sort(Comparator.comparingInt((Player player) -> -wins.get(player))
+                .thenComparingInt(seeds::get));
+        return Collections.unmodifiableList(standings);
+    }
+
+    /**
+     * Pairs every pool's next round
+     *
+     * @return - the pairings, empty once every pool has played all its rounds
+     */
+    @Override
+    public synchronized List<Pairing> pairRound() {
+        if (round == rounds) {
+            LOG.info(String.format("Round-robin of %d pools finished", pools.size()));
+            return Collections.emptyList();
+        }
+
+        List<Pairing> pairings = new ArrayList<>();
+        for (List<Player> pool : pools) {
+            pairPool(pool, round, pairings);
+        }
+        round++;
+        return pairings;
+    }
+
+    /**
+     * Pairs a round of one pool by the circle method
+     *
+     * @param pool     - the pool's players
+     * @param round    - the round, from 0
+     * @param pairings - where the pairings go
+     */
+    private static void pairPool(List<Player> pool, int round, List<Pairing> pairings) {
+        // An odd pool has an empty seat, and whoever draws it has a bye
+        int seats = pool.size() + pool.size() % 2;
+        int turning = seats - 1;
+        if (round >= turning) {
+            return;
+        }
+
+        for (int table = 0; table < seats / 2; table++) {
+            Player one = (table == 0) ? pool.get(0) : seat(pool, 1 + (round + table - 1) % turning);
+            Player other = seat(pool, 1 + (round + turning - 1 - table) % turning);
+            if (one == null || other == null) {
+                pairings.add(new Pairing((one == null) ? other : one, null));
+            } else if (table > 0 || round % 2 == 0) {
+                // Whoever turns plays RED in the top row, as often as WHITE in the bottom one
+                pairings.add(new Pairing(one, other));
+            } else {
+                pairings.add(new Pairing(other, one));
+            }
+        }
+    }
+
+    private static Player seat(List<Player> pool, int seat) {
+        return (seat < pool.size()) ? pool.get(seat) : null;
+    }
+
+    /**
+     * Scores a game; a bye scores nothing
+     */
+    @Override
+    public synchronized void score(Pairing pairing, Player winner) {
+        pairing.setWinner(winner);
+        if (winner != null && !pairing.isBye()) {
+            wins.merge(winner, 1, Integer::sum);
+        }
+    }
+}
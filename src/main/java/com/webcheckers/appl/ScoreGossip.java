@@ -0,0 +1,217 @@
+package com.webcheckers.appl;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.ScoreCounters;
+
+/**
+ * Exchanges the score counters with the other nodes of a cluster, so every node's scoreboard counts every game
+ *
+ * Every interval the node connects to each of its peers and sends its counters, and the peer merges
+ * them and answers with its own, which the node merges in turn. Counters merge in any order, so a
+ * peer that is down or slow only delays the totals; they converge once it is heard from again, and
+ * no node waits on another to record a game.
+ *
+ * Counters only ever merge upward, so a node listens on the address it is given and takes counters
+ * only from the hosts of its peers; any other connection is closed unread.
+ */
+public class ScoreGossip implements Closeable {
+    private static final Logger LOG = Logger.getLogger(ScoreGossip.class.getName());
+
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    static final int TIMEOUT_MILLIS = 2000;
+    static final int MAX_STATE_BYTES = 64 << 20;
+
+    private final ScoreCounters counters;
+    private final Runnable onChange;
+    private final List<InetSocketAddress> peers = new CopyOnWriteArrayList<>();
+    private final ServerSocket server;
+    private final Thread listener;
+    private final ScheduledExecutorService timer;
+    private final AtomicLong exchanges = new AtomicLong();
+    private volatile boolean closed;
+
+    private ScoreGossip(ScoreCounters counters, ServerSocket server, List<InetSocketAddress> peers,
+                        long intervalMillis, Runnable onChange) {
+        this.counters = counters;
+        this.server = server;
+        this.peers.addAll(peers);
+        this.onChange = onChange;
+
+        listener = new Thread(this::listen, "score-gossip-" + server.getLocalPort());
+        listener.setDaemon(true);
+        listener.start();
+
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-gossip-timer-" + server.getLocalPort());
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::gossip, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts listening for peers, and sending the counters to them every interval
+     *
+     * @param counters       - this node's counters
+     * @param address        - address to listen on, such as the loopback address
+     * @param port           - port to listen on, 0 for any free one
+     * @param peers          - the other nodes
+     * @param intervalMillis - time between exchanges
+     * @param onChange       - run when another node's counts raised a total
+     * @return - the running gossip
+     * @throws IOException - if the port cannot be listened on
+     */
+    public static ScoreGossip start(ScoreCounters counters, InetAddress address, int port,
+                                    List<InetSocketAddress> peers, long intervalMillis, Runnable onChange)
+            throws IOException {
+        Objects.requireNonNull(counters, "counters must not be null");
+        Objects.requireNonNull(address, "address must not be null");
+        Objects.requireNonNull(peers, "peers must not be null");
+        Objects.requireNonNull(onChange, "onChange must not be null");
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("intervalMillis must be positive");
+        }
+
+        ServerSocket server = new ServerSocket(port, 0, address);
+        LOG.config(String.format("Node %s gossips scores on %s port %d with %s", counters.getNode(),
+                address.getHostAddress(), server.getLocalPort(), peers));
+        return new ScoreGossip(counters, server, peers, intervalMillis, onChange);
+    }
+
+    /**
+     * @return - the port listened on
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * @param peer - another node to send the counters to
+     */
+    public void addPeer(InetSocketAddress peer) {
+        peers.add(Objects.requireNonNull(peer, "peer must not be null"));
+    }
+
+    /**
+     * @return - exchanges with peers that completed, either way
+     */
+    public long getExchanges() {
+        return exchanges.get();
+    }
+
+    /**
+     * Exchanges counters with every peer now; one that cannot be reached is tried again next time
+     */
+    public void gossip() {
+        for (InetSocketAddress peer : new ArrayList<>(peers)) {
+            try (Socket socket = new Socket()) {
+                socket.connect(peer, TIMEOUT_MILLIS);
+                socket.setSoTimeout(TIMEOUT_MILLIS);
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                send(out, counters.encode());
+                merge(receive(new DataInputStream(socket.getInputStream())));
+            } catch (IOException e) {
+                LOG.fine(String.format("Could not exchange scores with %s because: %s", peer, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Stops listening and sending
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        timer.shutdownNow();
+        server.close();
+        try {
+            listener.join(TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The listener thread: merges each peer's counters and answers with this node's, merged
+     */
+    private void listen() {
+        while (!closed) {
+            try (Socket socket = server.accept()) {
+                if (!isPeer(socket.getInetAddress())) {
+                    LOG.warning("Refused scores from " + socket.getInetAddress().getHostAddress()
+                            + ", which is not a peer");
+                    continue;
+                }
+                socket.setSoTimeout(TIMEOUT_MILLIS);
+                byte[] state = receive(new DataInputStream(socket.getInputStream()));
+                merge(state);
+                send(new DataOutputStream(socket.getOutputStream()), counters.encode());
+            } catch (SocketException e) {
+                if (!closed) {
+                    LOG.log(Level.WARNING, "Score gossip connection failed", e);
+                }
+            } catch (IOException e) {
+                LOG.warning("Could not take in a peer's scores because: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Whether a connection came from the host of one of the peers
+     *
+     * @param address - the address the connection came from
+     */
+    private boolean isPeer(InetAddress address) {
+        for (InetSocketAddress peer : peers) {
+            InetAddress peerAddress = peer.isUnresolved()
+                    ? new InetSocketAddress(peer.getHostString(), peer.getPort()).getAddress()
+                    : peer.getAddress();
+            if (address.equals(peerAddress)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void merge(byte[] state) throws IOException {
+        exchanges.incrementAndGet();
+        if (counters.merge(state)) {
+            onChange.run();
+        }
+    }
+
+    private static void send(DataOutputStream out, byte[] state) throws IOException {
+        out.writeInt(state.length);
+        out.write(state);
+        out.flush();
+    }
+
+    private static byte[] receive(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STATE_BYTES) {
+            throw new IOException("A peer sent " + length + " bytes of scores");
+        }
+        byte[] state = new byte[length];
+        in.readFully(state);
+        return state;
+    }
+}
@@ -0,0 +1,31 @@
+package com.webcheckers.appl;
+
+/**
+ * Where sessions keep who they are signed in as, so any server can serve any session's requests
+ *
+ * Sessions are named by an id the browser sends with every request. Implementations are safe to use
+ * from many threads at once.
+ */
+public interface SessionStore {
+
+    /**
+     * @param sessionId - id of a session
+     * @return - who the session is signed in as, or null if it is not signed in
+     */
+    PlayerReference get(String sessionId);
+
+    /**
+     * Signs a session in
+     *
+     * @param sessionId - id of the session
+     * @param player    - who the session is signed in as
+     */
+    void put(String sessionId, PlayerReference player);
+
+    /**
+     * Signs a session out
+     *
+     * @param sessionId - id of the session
+     */
+    void remove(String sessionId);
+}
@@ -0,0 +1,207 @@
+package com.webcheckers.appl;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * A standby server's copy of a primary's games, kept up to date from the changes the primary ships
+ *
+ * The standby connects to the primary's ReplicationShipper, takes the snapshot it is sent and then
+ * applies each batch of changes, answering with the last one applied. If the connection drops it
+ * connects again and starts over from a new snapshot. Once the primary has been silent for the
+ * promotion timeout, heartbeats included, the standby promotes itself: it stops replicating, hands
+ * the computer its turns, and tells its owner, which starts serving the games.
+ */
+public class StandbyReplica implements Closeable {
+    private static final Logger LOG = Logger.getLogger(StandbyReplica.class.getName());
+
+    public static final long DEFAULT_PROMOTE_AFTER_MILLIS = 3000;
+    static final long RETRY_MILLIS = 100;
+
+    private final GameManager gameManager;
+    private final InetSocketAddress primary;
+    private final long promoteAfterMillis;
+    private final Consumer<GameManager> onPromoted;
+    private final Thread replicator;
+
+    private final AtomicLong applied = new AtomicLong();
+    private volatile long lastSequence;
+    private volatile long lastHeardMillis;
+    private volatile boolean heardFromPrimary;
+    private volatile Socket connection;
+    private volatile boolean promoted;
+    private volatile boolean closed;
+
+    private StandbyReplica(GameManager gameManager, InetSocketAddress primary, long promoteAfterMillis,
+                           Consumer<GameManager> onPromoted) {
+        this.gameManager = gameManager;
+        this.primary = primary;
+        this.promoteAfterMillis = promoteAfterMillis;
+        this.onPromoted = onPromoted;
+
+        // Not a daemon: until it is promoted, the replica is what keeps a standby server running
+        replicator = new Thread(this::run, "standby-replica");
+        replicator.start();
+    }
+
+    /**
+     * Starts replicating a primary's games
+     *
+     * @param gameManager        - the standby's games, which the primary's replace
+     * @param primary            - where the primary ships its changes
+     * @param promoteAfterMillis - how long the primary may be silent before the standby takes over
+     * @param onPromoted         - told once the standby has taken over, with its games
+     * @return - the running replica
+     */
+    public static StandbyReplica start(GameManager gameManager, InetSocketAddress primary, long promoteAfterMillis,
+                                       Consumer<GameManager> onPromoted) {
+        Objects.requireNonNull(gameManager, "gameManager must not be null");
+        Objects.requireNonNull(primary, "primary must not be null");
+        Objects.requireNonNull(onPromoted, "onPromoted must not be null");
+        if (promoteAfterMillis <= ReplicationShipper.HEARTBEAT_MILLIS) {
+            throw new IllegalArgumentException("promoteAfterMillis must be longer than the primary's heartbeat");
+        }
+        return new StandbyReplica(gameManager, primary, promoteAfterMillis, onPromoted);
+    }
+
+    /**
+     * @return - changes applied so far
+     */
+    public long getApplied() {
+        return applied.get();
+    }
+
+    /**
+     * @return - sequence number of the last change applied
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public boolean isPromoted() {
+        return promoted;
+    }
+
+    /**
+     * Stops replicating and takes over the games, unless that has been done already
+     */
+    public void promote() {
+        synchronized (this) {
+            if (promoted || closed) {
+                return;
+            }
+            promoted = true;
+        }
+        disconnect();
+        LOG.warning(String.format("Standby promoted with %d games, %d changes applied",
+                gameManager.getGameList().size(), applied.get()));
+        gameManager.resumeComputerTurns();
+        onPromoted.accept(gameManager);
+    }
+
+    /**
+     * Stops replicating without taking over
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        disconnect();
+        try {
+            replicator.join(promoteAfterMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The replicator thread: connects, replicates until the connection drops, and promotes once the primary is gone
+     */
+    private void run() {
+        while (!closed && !promoted) {
+            try (Socket socket = new Socket()) {
+                socket.connect(primary, (int) promoteAfterMillis);
+                socket.setSoTimeout((int) promoteAfterMillis);
+                connection = socket;
+                replicate(socket);
+            } catch (IOException e) {
+                if (!closed && !promoted) {
+                    LOG.fine(String.format("Not replicating from %s because: %s", primary, e.getMessage()));
+                }
+            } finally {
+                connection = null;
+            }
+
+            if (heardFromPrimary && System.currentTimeMillis() - lastHeardMillis >= promoteAfterMillis) {
+                promote();
+            } else if (!closed && !promoted) {
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the primary's frames until the connection drops or a change does not fit
+     */
+    private void replicate(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        List<GameEvent> events = new ArrayList<>();
+        while (!closed && !promoted) {
+            byte flags = in.readByte();
+            long last = in.readLong();
+            events.clear();
+            try {
+                for (int count = in.readInt(); count > 0; count--) {
+                    events.add(GameEvent.read(in));
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("The primary sent a change that could not be read", e);
+            }
+            heardFromPrimary = true;
+            lastHeardMillis = System.currentTimeMillis();
+
+            if ((flags & ReplicationShipper.RESET) != 0) {
+                gameManager.clearGames();
+            }
+            for (GameEvent event : events) {
+                if (!event.apply(gameManager)) {
+                    // Connecting again brings a new snapshot
+                    throw new IOException("The standby's copy of " + event.getGameId() + " has diverged");
+                }
+            }
+            applied.addAndGet(events.size());
+            lastSequence = last;
+            out.writeLong(last);
+            out.flush();
+        }
+    }
+
+    private void disconnect() {
+        Socket socket = connection;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOG.fine("Could not close the connection to the primary: " + e.getMessage());
+            }
+        }
+    }
+}
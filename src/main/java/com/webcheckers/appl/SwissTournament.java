@@ -0,0 +1,274 @@
+package com.webcheckers.appl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.webcheckers.model.Player;
+
+/**
+ * A Swiss-system tournament: each round every player meets one with the same score, and never the same one twice
+ *
+ * Entrants are seeded in the order given, strongest first, e.g. by rating. Before each round players are
+ * ranked by score, then seed, and paired score group by score group from the top. A group is split in
+ * halves and its top half meets its bottom half, first against first (the Dutch system); a player who
+ * has already met that partner takes the nearest one in the other half they have not met. Whoever is
+ * left over floats down into the next group. With an odd number of players the lowest ranked player
+ * who has not had a bye gets one, which counts as a win. Pairing a round is a sort and one pass over
+ * the groups, so thousands of entrants are paired in milliseconds.
+ *
+ * An EventRunner plays the rounds, each as soon as the one before has ended.
+ */
+public class SwissTournament implements EventFormat {
+    private static final Logger LOG = Logger.getLogger(SwissTournament.class.getName());
+
+    /**
+     * A player's place in the tournament
+     */
+    public static final class Standing {
+        private final Player player;
+        private final int score;
+        private final int buchholz;
+
+        Standing(Player player, int score, int buchholz) {
+            this.player = player;
+            this.score = score;
+            this.buchholz = buchholz;
+        }
+
+        public Player getPlayer() { return player; }
+
+        /**
+         * @return - games won, byes included
+         */
+        public int getScore() { return score; }
+
+        /**
+         * @return - sum of the scores of the players met, which breaks ties
+         */
+        public int getBuchholz() { return buchholz; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d (%d)", player.getName(), score, buchholz);
+        }
+    }
+
+    /**
+     * A player's record in the tournament
+     */
+    private static final class Entrant {
+        private final Player player;
+        private final int seed;
+        private final Set<Integer> opponents = new HashSet<>();
+        private int score;
+        // RED games less WHITE games
+        private int colorBalance;
+        private boolean hadBye;
+
+        Entrant(Player player, int seed) {
+            this.player = player;
+            this.seed = seed;
+        }
+    }
+
+    // Higher score first, then the better seed
+    private static final Comparator<Entrant> RANKED = Comparator.comparingInt((Entrant entrant) -> -entrant.score)
+            .thenComparingInt(entrant -> entrant.seed);
+
+    private final int rounds;
+    private final List<Entrant> entrants = new ArrayList<>();
+    private final Map<Player, Entrant> byPlayer = new HashMap<>();
+
+    // Guarded by this
+    private final List<List<Pairing>> pairings = new ArrayList<>();
+
+    /**
+     * Parameterized constructor
+     *
+     * @param players - the entrants, strongest first
+     * @param rounds  - number of rounds to play
+     */
+    public SwissTournament(List<Player> players, int rounds) {
+        Objects.requireNonNull(players, "players must not be null");
+        if (players.size() < 2 || rounds < 1) {
+            throw new IllegalArgumentException("A tournament needs two players and a round");
+        }
+
+        this.rounds = rounds;
+        for (Player player : players) {
+            Entrant entrant = new Entrant(player, entrants.size());
+            if (byPlayer.put(player, entrant) != null) {
+                throw new IllegalArgumentException(player.getName() + " has entered twice");
+            }
+            entrants.add(entrant);
+        }
+    }
+
+    /**
+     * @return - rounds paired so far
+     */
+    public synchronized int getRound() {
+        return pairings.size();
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * @return - the players by score, then by the scores of the players they met, then by seed
+     */
+    public synchronized List<Standing> getStandings() {
+        List<Standing> standings = new ArrayList<>(entrants.size());
+        for (Entrant entrant : entrants) {
+            int buchholz = 0;
+            for (int opponent : entrant.opponents) {
+                buchholz += entrants.get(opponent).score;
+            }
+            standings.add(new Standing(entrant.player, entrant.score, buchholz));
+        }
+        standings.sort(Comparator.comparingInt((Standing standing) -> -standing.score)
+                .thenComparingInt(standing -> -standing.buchholz)
+                .thenComparingInt(standing -> byPlayer.get(standing.player).seed));
+        return Collections.unmodifiableList(standings);
+    }
+
+    /**
+     * Scores a game, or a bye as a win
+     */
+    @Override
+    public synchronized void score(Pairing pairing, Player winner) {
+        pairing.setWinner(winner);
+        if (winner != null) {
+            byPlayer.get(winner).score++;
+        }
+    }
+
+    /**
+     * Pairs the next round from the scores so far, and notes who meets whom
+     *
+     * @return - the pairings, empty once every round has been paired
+     */
+    @Override
+    public synchronized List<Pairing> pairRound() {
+        if (pairings.size() == rounds) {
+            LOG.info("Swiss tournament finished: " + getStandings().subList(0, Math.min(3, entrants.size())));
+            return Collections.emptyList();
+        }
+        List<Entrant> ranked = new ArrayList<>(entrants);
+        ranked.sort(RANKED);
+        List<Pairing> round = new ArrayList<>(ranked.size() / 2 + 1);
+
+        Entrant bye = null;
+        if (ranked.size() % 2 == 1) {
+            int lowest = ranked.size() - 1;
+            while (lowest > 0 && ranked.get(lowest).hadBye) {
+                lowest--;
+            }
+            bye = ranked.remove(lowest);
+            bye.hadBye = true;
+        }
+
+        List<Entrant> floaters = new ArrayList<>();
+        for (int start = 0; start < ranked.size(); ) {
+            int end = start;
+            while (end < ranked.size() && ranked.get(end).score == ranked.get(start).score) {
+                end++;
+            }
+            List<Entrant> group = new ArrayList<>(floaters.size() + end - start);
+            group.addAll(floaters);
+            group.addAll(ranked.subList(start, end));
+            floaters = pairGroup(group, round);
+            start = end;
+        }
+
+        // Players left at the bottom meet whoever is left, if need be again
+        while (floaters.size() >= 2) {
+            Entrant first = floaters.remove(0);
+            int partner = 0;
+            while (partner < floaters.size() - 1 && first.opponents.contains(floaters.get(partner).seed)) {
+                partner++;
+            }
+            round.add(pair(first, floaters.remove(partner)));
+        }
+
+        if (bye != null) {
+            round.add(new Pairing(bye.player, null));
+        }
+        pairings.add(round);
+        LOG.fine(String.format("Round %d of %d paired", pairings.size(), rounds));
+        return round;
+    }
+
+    /**
+     * Pairs the top half of a score group against its bottom half, avoiding rematches
+     *
+     * @param group - the group, floaters from above first
+     * @param round - where the pairings go
+     * @return - the players left over, to float down into the next group
+     */
+    private List<Entrant> pairGroup(List<Entrant> group, List<Pairing> round) {
+        List<Entrant> down = new ArrayList<>();
+        if (group.size() % 2 == 1) {
+            down.add(group.remove(group.size() - 1));
+        }
+
+        int half = group.size() / 2;
+        boolean[] paired = new boolean[half];
+        for (int i = 0; i < half; i++) {
+            Entrant top = group.get(i);
+            int partner = -1;
+            // The natural partner, then the nearest below it, then the nearest above it
+            for (int distance = 0; distance < half && partner < 0; distance++) {
+                if (i + distance < half && available(top, group.get(half + i + distance), paired[i + distance])) {
+                    partner = i + distance;
+                } else if (distance > 0 && i - distance >= 0
+                        && available(top, group.get(half + i - distance), paired[i - distance])) {
+                    partner = i - distance;
+                }
+            }
+            if (partner < 0) {
+                down.add(top);
+            } else {
+                paired[partner] = true;
+                round.add(pair(top, group.get(half + partner)));
+            }
+        }
+        for (int i = 0; i < half; i++) {
+            if (!paired[i]) {
+                down.add(group.get(half + i));
+            }
+        }
+        down.sort(RANKED);
+        return down;
+    }
+
+    private static boolean available(Entrant player, Entrant partner, boolean paired) {
+        return !paired && !player.opponents.contains(partner.seed);
+    }
+
+    /**
+     * Pairs two players, giving RED to the one who has played it less, then alternately to the better seed
+     */
+    private Pairing pair(Entrant one, Entrant other) {
+        boolean oneIsRed = (one.colorBalance != other.colorBalance)
+                ? one.colorBalance < other.colorBalance
+                : (pairings.size() % 2 == 0) == (one.seed < other.seed);
+        Entrant red = oneIsRed ? one : other;
+        Entrant white = oneIsRed ? other : one;
+
+        red.opponents.add(white.seed);
+        white.opponents.add(red.seed);
+        red.colorBalance++;
+        white.colorBalance--;
+        return new Pairing(red.player, white.player);
+    }
+}
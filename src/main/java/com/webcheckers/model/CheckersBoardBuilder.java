@@ -185,7 +185,7 @@ public class CheckersBoardBuilder {
             int startCell = (cellValid) ? 0 : 1;
 
             for (int cellId = startCell; cellId < CELLS; cellId += 2) {
-                board[rowId][cellId].addPiece(new Piece(SINGLE, Piece.Color.WHITE));
+                board[rowId][cellId].addPiece(Piece.of(SINGLE, Piece.Color.WHITE));
             }
         }
 
@@ -196,7 +196,7 @@ public class CheckersBoardBuilder {
         	int startCell = (cellValid) ? 0 : 1;
 
         	for (int cellId = startCell; cellId < CELLS; cellId += 2) {
-        	    board[rowId][cellId].addPiece(new Piece(SINGLE, Piece.Color.RED));
+        	    board[rowId][cellId].addPiece(Piece.of(SINGLE, Piece.Color.RED));
             }
         }
     }
@@ -1,7 +1,9 @@
 package com.webcheckers.model;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.logging.Logger;
 
 public class CheckersGame {
@@ -20,6 +22,9 @@ public class CheckersGame {
     private Space[][] board;
     private Turn activeTurn;
     private State state;
+    private final PositionString startingPosition;
+    // The moves of every submitted turn, for the game archive
+    private final List<List<Move>> turns = new ArrayList<>();
 
     /**
      * Parameterized constructor
@@ -29,6 +34,19 @@ public class CheckersGame {
      * @param playerWhite - Player two
      */
     public CheckersGame(Player playerRed, Player playerWhite) {
+        this(playerRed, playerWhite, startingPosition(playerRed, playerWhite));
+    }
+
+    /**
+     * Parameterized constructor
+     * Create a new checkers game between two players, starting from a position
+     *
+     * @param playerRed   - Player one, red player
+     * @param playerWhite - Player two
+     * @param position    - position to start from, which says who moves first
+     */
+    public CheckersGame(Player playerRed, Player playerWhite, PositionString position) {
+        Objects.requireNonNull(position, "position must not be null");
         LOG.info(String.format("I am a new CheckersGame between [%s] and [%s]",
                 playerRed.getName(),
                 playerWhite.getName()));
@@ -38,10 +56,15 @@ public class CheckersGame {
         this.state = State.IN_PLAY;
         this.winner = null;
         this.loser = null;
+        this.startingPosition = position;
 
-        initStartingBoard();
+        initStartingBoard(position);
 
-        this.activeTurn = new Turn(board, playerRed, Piece.Color.RED);
+        if (position.getColorToMove() == Piece.Color.RED) {
+            this.activeTurn = new Turn(board, playerRed, Piece.Color.RED);
+        } else {
+            this.activeTurn = new Turn(board, playerWhite, Piece.Color.WHITE);
+        }
     }
 
 
@@ -115,6 +138,11 @@ public class CheckersGame {
         } else if (nextPlayerHasMoves && nextPlayerHasPieces) {
         	LOG.fine("Nobody has WON yet");
             activeTurn = new Turn(board, nextPlayer, nextPlayerColor);
+
+        } else {
+            // The next player still has pieces but every one of them is blocked
+            LOG.fine(String.format("WON: %s won, %s lost. (%s cannot move)", activePlayer, nextPlayer, nextPlayer));
+            recordEndGame(activePlayer, nextPlayer);
         }
     }
 
@@ -129,12 +157,6 @@ public class CheckersGame {
         this.winner = winner;
         this.loser = loser;
 
-        winner.wonAGame();
-
-        //if (winner.isTournament()) {
-            TournamentScoreboard.sortPlayers();
-        //}
-
         activeTurn = null;
 
     }
@@ -168,32 +190,54 @@ public class CheckersGame {
     }
 
     /**
-     * Uses our static CheckersBoardBuilder to generate the starting Checkers Board
+     * The position a new game starts from
+     *
+     * @param playerRed   - Player one, red player
+     * @param playerWhite - Player two
+     * @return - the starting position
      */
-    private void initStartingBoard() {
-        CheckersBoardBuilder builder;
-
-        // Paging Mike Rowe - we've got a dirty job
+    private static PositionString startingPosition(Player playerRed, Player playerWhite) {
         // This is our backdoor into setting up a starting board for testing
-        // If the red player is named one of the public static methods in TestCheckersBoards
-        // then we use that board builder
+        // If the red player is named "Tester" and the white player is named after one of the
+        // TestCheckersBoards boards then we start from that board
         if (playerRed.getName().equals("Tester")) {
-            try {
-                Method boardBuilderMethod = TestCheckersBoards.class.getMethod(playerWhite.getName());
-
-                builder = (CheckersBoardBuilder) boardBuilderMethod.invoke(null);
-
-            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                builder = CheckersBoardBuilder.aStartingBoard();
+            PositionString position = TestCheckersBoards.position(playerWhite.getName());
+            if (position != null) {
+                return position;
             }
-        } else {
-            builder = CheckersBoardBuilder.aStartingBoard();
         }
+        return PositionString.load(PositionString.STARTING);
+    }
+
+    /**
+     * Sets up the board of a position
+     *
+     * @param position - the starting position
+     */
+    private void initStartingBoard(PositionString position) {
+        board = position.getBoard();
 
         LOG.finest("Starting board:");
-        LOG.finest(builder.formatBoardString());
+        LOG.finest(CheckersBoardHelper.formatBoardString(board));
+    }
+
+
+    /**
+     * The position the game started from
+     *
+     * @return - the starting position
+     */
+    public PositionString getStartingPosition() {
+        return startingPosition;
+    }
 
-        board = builder.getBoard();
+    /**
+     * The moves of every turn submitted so far
+     *
+     * @return - the turns, in order, each with its moves in order
+     */
+    public List<List<Move>> getTurns() {
+        return Collections.unmodifiableList(turns);
     }
 
 
@@ -215,9 +259,11 @@ public class CheckersGame {
      * @return Message indicating reason for turn submission
      */
     public Message submitTurn(Player player) {
-        if (player.equals(getPlayerActive())) {
+        // Once the game is over getPlayerActive() is the winner, who has no turn left to submit
+        if (activeTurn != null && player.equals(getPlayerActive())) {
         	Message finalizedMessage = getTurn().isFinalized();
         	if (finalizedMessage.getType() == Message.MessageType.info) {
+                turns.add(new ArrayList<>(getTurn().getMoves()));
                 board = getTurn().getLatestBoard();
                 changeActivePlayer();
           }
@@ -233,17 +279,26 @@ public class CheckersGame {
      * When pieces reach the proper end row, the piece will be kinged
      */
     private void makeKings(){
+        makeKings(board);
+    }
+
+    /**
+     * Kings the pieces that ended a turn on the far row of a board
+     *
+     * @param board - the board
+     */
+    static void makeKings(Space[][] board){
         // King red pieces
         for(int cell = 0; cell < 8; cell++){
             if(board[0][cell].isOccupied() && board[0][cell].getPiece().getColor() == Piece.Color.RED){
-                board[0][cell].getPiece().kingMe();
+                board[0][cell].kingMe();
             }
         }
 
         // King white pieces
         for(int cell = 0; cell < 8; cell++){
             if(board[7][cell].isOccupied() && board[7][cell].getPiece().getColor() == Piece.Color.WHITE){
-                board[7][cell].getPiece().kingMe();
+                board[7][cell].kingMe();
             }
         }
     }
@@ -270,6 +325,22 @@ public class CheckersGame {
         return false;
     }
 
+    /**
+     * Ends the game in favour of a player whose win is certain, e.g. by the endgame tablebase
+     *
+     * @param winner - the player who wins
+     * @return - true if the game was still in play and has ended
+     */
+    public boolean adjudicate(Player winner) {
+        if (activeTurn == null || getPlayerColor(winner) == null)
+            return false;
+
+        Player loser = winner.equals(playerRed) ? playerWhite : playerRed;
+        LOG.fine(String.format("WON: %s won, %s lost. (adjudicated)", winner, loser));
+        recordEndGame(winner, loser);
+        return true;
+    }
+
     /**
      * Indicates if this game is resigned
      * @return boolean
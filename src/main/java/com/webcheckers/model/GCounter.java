@@ -0,0 +1,88 @@
+package com.webcheckers.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A grow-only counter that many nodes count on at once, and that merges without coordination
+ *
+ * Each node counts in its own slot, and the counter's value is the sum of the slots. Merging takes the
+ * larger of each slot, so merges can come in any order, any number of times, and every node that has
+ * seen the same counts has the same value. Not thread safe; ScoreCounters guards its counters.
+ */
+public final class GCounter {
+
+    private final Map<String, Long> slots = new HashMap<>();
+
+    /**
+     * Counts one on a node
+     *
+     * @param node - the node counting
+     */
+    public void increment(String node) {
+        slots.merge(Objects.requireNonNull(node, "node must not be null"), 1L, Long::sum);
+    }
+
+    /**
+     * Raises a node's count to at least a value
+     *
+     * @param node  - the node
+     * @param count - the value
+     * @return - true if the count went up
+     */
+    public boolean raise(String node, long count) {
+        Long current = slots.get(node);
+        if (current != null && current >= count) {
+            return false;
+        }
+        slots.put(node, count);
+        return true;
+    }
+
+    /**
+     * Takes in every count of another counter
+     *
+     * @param other - the other counter
+     * @return - true if any count went up
+     */
+    public boolean merge(GCounter other) {
+        boolean changed = false;
+        for (Map.Entry<String, Long> slot : other.slots.entrySet()) {
+            changed |= raise(slot.getKey(), slot.getValue());
+        }
+        return changed;
+    }
+
+    /**
+     * @return - the sum of every node's count
+     */
+    public long value() {
+        long sum = 0;
+        for (long count : slots.values()) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * @param node - a node
+     * @return - what the node has counted
+     */
+    public long get(String node) {
+        return slots.getOrDefault(node, 0L);
+    }
+
+    /**
+     * @return - each node's count
+     */
+    public Map<String, Long> getSlots() {
+        return Collections.unmodifiableMap(slots);
+    }
+
+    @Override
+    public String toString() {
+        return slots.toString();
+    }
+}
@@ -2,15 +2,32 @@ package com.webcheckers.model;
 
 /**
  * A move is identified by a start and end position, and a piece color
+ * Moves are immutable. Every move between two on-board positions is cached, see Move.between;
+ * the player and piece color making a move are attached with Move.withPlayer.
  */
 public class Move {
 
+    private static final int POSITIONS = CheckersBoardBuilder.ROWS * CheckersBoardBuilder.CELLS;
+
+    // One shared move per (start, end) pair of on-board positions
+    private static final Move[] MOVES = new Move[POSITIONS * POSITIONS];
+
+    static {
+        for (int start = 0; start < POSITIONS; start++) {
+            for (int end = 0; end < POSITIONS; end++) {
+                MOVES[start * POSITIONS + end] = new Move(
+                        Position.at(start / CheckersBoardBuilder.CELLS, start % CheckersBoardBuilder.CELLS),
+                        Position.at(end / CheckersBoardBuilder.CELLS, end % CheckersBoardBuilder.CELLS));
+            }
+        }
+    }
+
     //instance variable
-    private Position start;
-    private Position end;
+    private final Position start;
+    private final Position end;
 
-    private Player player;
-    private Piece.Color pieceColor;
+    private final Player player;
+    private final Piece.Color pieceColor;
 
     /**
      * param constructor take in the start and end position
@@ -19,10 +36,7 @@ public class Move {
      * @param end   - end position of the move
      */
     public Move(Position start, Position end) {
-        this.start = start;
-        this.end = end;
-        player = null;
-        pieceColor = null;
+        this(start, end, null, null);
     }
 
     /**
@@ -39,6 +53,42 @@ public class Move {
         this.pieceColor = color;
     }
 
+    /**
+     * Returns the shared move between two positions
+     * Moves to or from off-board positions are not cached.
+     *
+     * @param start - start position of the move
+     * @param end   - end position of the move
+     * @return - the Move
+     */
+    public static Move between(Position start, Position end) {
+        if (start.isOnBoard() && end.isOnBoard()) {
+            return MOVES[index(start) * POSITIONS + index(end)];
+        }
+        return new Move(start, end);
+    }
+
+    /**
+     * Index of an on-board position in the move cache
+     */
+    private static int index(Position position) {
+        return position.getRow() * CheckersBoardBuilder.CELLS + position.getCell();
+    }
+
+    /**
+     * Returns this move as made by the given player, moving a piece of the given color
+     *
+     * @param player - player making the move
+     * @param color  - color of the piece being moved
+     * @return - a Move carrying the player and color
+     */
+    public Move withPlayer(Player player, Piece.Color color) {
+        if (player == this.player && color == this.pieceColor) {
+            return this;
+        }
+        return new Move(start, end, player, color);
+    }
+
     /**
      * Used to access start position of the move
      *
@@ -67,7 +117,7 @@ public class Move {
             int midRow = getStartRow() + (getEndRow() - getStartRow()) / 2;
             int midCell = getStartCell() + (getEndCell() - getStartCell()) / 2;
 
-            return new Position(midRow, midCell);
+            return Position.at(midRow, midCell);
         } else {
             return start;
         }
@@ -121,26 +171,10 @@ public class Move {
 
     /**
      * Get the player name who is making the move
-     * @return
+     * @return - the name, or null if no player is attached to this move
      */
     public String getPlayerName() {
-        return player.getName();
-    }
-
-    /**
-     * Set the player making the move
-     * @param player
-     */
-    public void setPlayer(Player player) {
-        this.player = player;
-    }
-
-    /**
-     * Set the piece color being moved
-     * @param color
-     */
-    public void setPieceColor(Piece.Color color) {
-        this.pieceColor = color;
+        return (player == null) ? null : player.getName();
     }
 
     /**
@@ -0,0 +1,132 @@
+package com.webcheckers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes turns in standard numeric checkers notation
+ *
+ * Squares are numbered 1-32 from RED's side of the board, the SquareTables numbering plus one.
+ * A single move is written "11-15", and a jump lists every landing square: "15x22" or "15x22x29".
+ * A game is a whitespace separated list of turns, RED first. Move numbers ("1." or "1...")
+ * and results ("1-0", "0-1", "1/2-1/2", "*") are skipped.
+ */
+public final class MoveNotation {
+
+    private MoveNotation() {
+    }
+
+    /**
+     * Parses the moves of one turn
+     *
+     * @param text - turn such as "11-15" or "15x22x29"
+     * @return - the moves of the turn, in order
+     * @throws IllegalArgumentException - if the text is not a turn or names a square outside 1-32
+     */
+    public static List<Move> parseTurn(String text) {
+        String[] squares = text.split("[-x]", -1);
+
+        if (squares.length < 2 || (squares.length > 2 && text.indexOf('-') >= 0)) {
+            throw new IllegalArgumentException(String.format("Not a turn: '%s'", text));
+        }
+
+        List<Move> moves = new ArrayList<>(squares.length - 1);
+        Position start = position(squares[0], text);
+
+        for (int i = 1; i < squares.length; i++) {
+            Position end = position(squares[i], text);
+            moves.add(Move.between(start, end));
+            start = end;
+        }
+        return moves;
+    }
+
+    /**
+     * Parses every turn of a game
+     *
+     * @param text - turns of the game, separated by whitespace
+     * @return - the turns of the game, in order
+     * @throws IllegalArgumentException - if a turn cannot be parsed
+     */
+    public static List<List<Move>> parseGame(String text) {
+        List<List<Move>> turns = new ArrayList<>();
+
+        for (String token : text.trim().split("\\s+")) {
+            // Strip a move number glued to the turn, "1.11-15"
+            String turn = token.replaceFirst("^\\d+\\.+", "");
+
+            if (!turn.isEmpty() && !isResult(turn)) {
+                turns.add(parseTurn(turn));
+            }
+        }
+        return turns;
+    }
+
+    /**
+     * Formats the moves of one turn
+     *
+     * @param moves - moves of the turn, in order
+     * @return - the turn in numeric notation
+     */
+    public static String formatTurn(List<Move> moves) {
+        StringBuilder text = new StringBuilder();
+        text.append(square(moves.get(0).getStart()));
+
+        for (Move move : moves) {
+            text.append(move.isJump() ? 'x' : '-').append(square(move.getEnd()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Formats every turn of a game
+     *
+     * @param turns - turns of the game, in order
+     * @return - the turns in numeric notation, separated by spaces
+     */
+    public static String formatGame(List<List<Move>> turns) {
+        StringBuilder text = new StringBuilder();
+
+        for (List<Move> turn : turns) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(formatTurn(turn));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Numeric notation square of a position
+     *
+     * @param position - a dark square of the board
+     * @return - square 1-32
+     * @throws IllegalArgumentException - if the position is not a dark square
+     */
+    public static int square(Position position) {
+        int square = SquareTables.squareAt(position.getRow(), position.getCell());
+
+        if (square < 0) {
+            throw new IllegalArgumentException(String.format("No square at %s", position));
+        }
+        return square + 1;
+    }
+
+    private static Position position(String square, String text) {
+        int number;
+
+        try {
+            number = Integer.parseInt(square);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Not a turn: '%s'", text));
+        }
+        if (number < 1 || number > SquareTables.SQUARES) {
+            throw new IllegalArgumentException(String.format("No square %d in '%s'", number, text));
+        }
+        return Position.at(SquareTables.row(number - 1), SquareTables.cell(number - 1));
+    }
+
+    private static boolean isResult(String token) {
+        return token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2") || token.equals("*");
+    }
+}
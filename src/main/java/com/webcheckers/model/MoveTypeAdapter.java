@@ -0,0 +1,113 @@
+package com.webcheckers.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes the {"start": {"row", "cell"}, "end": {"row", "cell"}} JSON sent by the game view
+ * Parsed moves and positions are the shared instances from Move.between and Position.at,
+ * so validating a move from the browser allocates neither. A position missing its row or cell
+ * leaves the move null, as a missing position does.
+ */
+public class MoveTypeAdapter extends TypeAdapter<Move> {
+
+    /**
+     * Writes a move as JSON
+     *
+     * @param out  - JSON writer
+     * @param move - move to write
+     * @throws IOException - if the writer fails
+     */
+    @Override
+    public void write(JsonWriter out, Move move) throws IOException {
+        if (move == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("start");
+        writePosition(out, move.getStart());
+        out.name("end");
+        writePosition(out, move.getEnd());
+        out.endObject();
+    }
+
+    /**
+     * Reads a move from JSON
+     *
+     * @param in - JSON reader
+     * @return - the Move, or null for a JSON null
+     * @throws IOException - if the reader fails
+     */
+    @Override
+    public Move read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Position start = null;
+        Position end = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "start":
+                    start = readPosition(in);
+                    break;
+                case "end":
+                    end = readPosition(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (start == null || end == null) {
+            return null;
+        }
+        return Move.between(start, end);
+    }
+
+    private static void writePosition(JsonWriter out, Position position) throws IOException {
+        out.beginObject();
+        out.name("row").value(position.getRow());
+        out.name("cell").value(position.getCell());
+        out.endObject();
+    }
+
+    private static Position readPosition(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Integer row = null;
+        Integer cell = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "row":
+                    row = in.nextInt();
+                    break;
+                case "cell":
+                    cell = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (row == null || cell == null) {
+            return null;
+        }
+        return Position.at(row, cell);
+    }
+}
@@ -1,10 +1,12 @@
 package com.webcheckers.model;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static com.webcheckers.model.CheckersBoardHelper.getSpace;
 import static com.webcheckers.model.CheckersBoardHelper.formatBoardString;
-import static com.webcheckers.model.CheckersBoardHelper.getSpacePieceColor;
 
 /**
  * Move validation requires several things:
@@ -17,11 +19,12 @@ import static com.webcheckers.model.CheckersBoardHelper.getSpacePieceColor;
  *
  * 2. Given a board and a player color it will determine if that player has any moves available
  *
+ * 3. Given a board and a player color it will list the moves that player may make
+ *
  */
 public class MoveValidator {
 
     private static final Logger LOG = Logger.getLogger(MoveValidator.class.getName());
-    private static final int JUMP_DIFF = 2;
 
     /**
      * Entrypoint to move validation algorithm - kicks off the process
@@ -38,6 +41,7 @@ public class MoveValidator {
         logMove(board, move);
 
         boolean isMoveValidOnBoard = move.isValid() &&
+									isStartSpaceOccupied(board, move) &&
 									isMoveInRightDirection(board, move) &&
 									isEndSpaceOpen(board, move) &&
 									(move.isSingleSpace() || isMoveJumpingAPiece(board, move)) &&
@@ -50,65 +54,96 @@ public class MoveValidator {
 
     /**
      * Checks to see if there are any available moves for the player color
+     * Walks the precomputed SquareTables, so no Position or Move is allocated along the way.
      *
      * @return true if there are available moves, false otherwise
      */
     public static boolean areMovesAvailableForPlayer(Space[][] board, Player player, Piece.Color color){
         boolean movesLeft = false;
 
-        LOG.fine(String.format("Determining if %s player has any moves left", color));
-
-        boardWalk: {
-            // for each row
-            for(int i = 0; i < 8; i++){
-                // for each cell
-                for(int j = 0; j < 8; j++){
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine(String.format("Determining if %s player has any moves left", color));
+        }
 
-                    if(board[i][j].isOccupied() && board[i][j].getPiece().getColor() == color){
-                        Position currentPos = new Position(i, j);
+        for (int square = 0; square < SquareTables.SQUARES && !movesLeft; square++) {
+            Space space = board[SquareTables.row(square)][SquareTables.cell(square)];
 
-                        Move checkMove;
+            if (space.isOccupied() && space.getPiece().getColor() == color) {
+                int kind = SquareTables.kind(color, space.getPiece().getType());
 
-                        for(int row = -2; row <= 2; row += 1){
+                for (int target : SquareTables.steps(kind, square)) {
+                    if (board[SquareTables.row(target)][SquareTables.cell(target)].isOpen()) {
+                        movesLeft = true;
+                        break;
+                    }
+                }
 
-                            for(int col = -2; col <= 2; col += 1){
+                movesLeft = movesLeft || canJump(board, square, kind, color);
+            }
+        }
 
-                                int destRow = i + row;
-                                int destCell = j + col;
+        if (LOG.isLoggable(Level.FINE)) {
+            String condition = (movesLeft) ? "has" : "does not have";
+            LOG.fine(String.format("%s Player %s moves left", color, condition));
+        }
 
-                                LOG.info(String.format("Checking space <%d, %d>", destRow, destCell));
+        return movesLeft;
+    }
 
-                                if (destRow < 0 || destCell < 0) {
-                                    LOG.info("Row or Cell is less than 0.");
-                                    continue;
-                                }
+    /**
+     * Lists every move the player may start their turn with
+     * Jumps are mandatory, so when any jump is available only the jumps are listed.
+     * The moves are the shared Move.between instances, without a player attached.
+     *
+     * @param board - board to check
+     * @param color - color of the player's pieces
+     * @return - legal first moves of the turn, empty if the player cannot move
+     */
+    public static List<Move> getMovesForPlayer(Space[][] board, Piece.Color color) {
+        List<Move> jumps = new ArrayList<>();
+        List<Move> steps = new ArrayList<>();
 
-                                if (destRow >= CheckersBoardBuilder.ROWS || destCell >= CheckersBoardBuilder.CELLS) {
-                                    LOG.info("Row or Cell is greater than the number of rows or cells.");
-                                    continue;
-                                }
+        for (int square = 0; square < SquareTables.SQUARES; square++) {
+            Space space = board[SquareTables.row(square)][SquareTables.cell(square)];
 
-                                Position place = new Position(destRow, destCell);
-                                checkMove = new Move(currentPos, place, player, color);
+            if (space.isOccupied() && space.getPiece().getColor() == color) {
+                int kind = SquareTables.kind(color, space.getPiece().getType());
 
-                                if(validateMove(board, checkMove)) {
-                                    LOG.finest(String.format("Found a valid move! %s", checkMove.toString()));
-                                    movesLeft = true;
-                                    break boardWalk;
-                                }
+                addJumps(board, square, kind, color, jumps);
 
-                            }
+                if (jumps.isEmpty()) {
+                    for (int target : SquareTables.steps(kind, square)) {
+                        if (board[SquareTables.row(target)][SquareTables.cell(target)].isOpen()) {
+                            steps.add(moveBetween(square, target));
                         }
                     }
                 }
             }
         }
 
-        String condition = (movesLeft) ? "has" : "does not have";
+        return jumps.isEmpty() ? steps : jumps;
+    }
+
+    /**
+     * Lists the jumps that continue a multi-jump from the given position
+     *
+     * @param board - board to check
+     * @param pos   - position the jumping piece landed on
+     * @param color - color of the player's pieces
+     * @return - jumps available to the piece, empty if the multi-jump is over
+     */
+    public static List<Move> getJumpsFrom(Space[][] board, Position pos, Piece.Color color) {
+        List<Move> jumps = new ArrayList<>();
+        int square = SquareTables.squareAt(pos.getRow(), pos.getCell());
 
-        LOG.fine(String.format("%s Player %s moves left", color, condition));
+        if (square >= 0) {
+            Space space = board[pos.getRow()][pos.getCell()];
 
-        return movesLeft;
+            if (space.isOccupied() && space.getPiece().getColor() == color) {
+                addJumps(board, square, SquareTables.kind(color, space.getPiece().getType()), color, jumps);
+            }
+        }
+        return jumps;
     }
 
     /**
@@ -150,7 +185,7 @@ public class MoveValidator {
         Space endSpace = getSpace(matrix, move.getEnd());
 
         LOG.finest(String.format("Starting position state is [%s] by a %s Piece", startSpace.getState(),
-                startSpace.getPiece().getColor()));
+                startSpace.isOccupied() ? startSpace.getPiece().getColor() : null));
         LOG.finest(String.format("End position state is [%s]", endSpace.getState()));
 
 
@@ -163,6 +198,20 @@ public class MoveValidator {
         //LOG.finest(String.format("Validate     └─ isDiagonal() -  %s", move.isDiagonal()));
     }
 
+    /**
+     * Given a move is there a piece to move at the start position
+     *
+     * @param move - Move being made
+     * @return - true if the space being moved from holds a piece
+     */
+    private static boolean isStartSpaceOccupied(Space[][] matrix, Move move) {
+        boolean conditionTruth = getSpace(matrix, move.getStart()).isOccupied();
+
+        LOG.finest(String.format("Validate isStartSpaceOccupied(): %s", conditionTruth));
+
+        return conditionTruth;
+    }
+
     /**
      * Given a move is the end position open
      *
@@ -261,11 +310,9 @@ public class MoveValidator {
      * @return boolean - true if there is a jump move, false otherwise
      */
     public static boolean areJumpsAvailableForPlayer(Space[][] board, Piece.Color playerColor){
-        for (int row = 0; row < board.length; row++) {
-            for (int cell = 0; cell < board[row].length; cell++) {
-                if (canJump(board, row, cell, playerColor))
-                    return true;
-            }
+        for (int square = 0; square < SquareTables.SQUARES; square++) {
+            if (canJump(board, square, playerColor))
+                return true;
         }
         return false;
     }
@@ -282,50 +329,85 @@ public class MoveValidator {
      */
     public static boolean canContinueJump(Space[][]board, Position pos, Piece.Color piece){
         boolean condition;
-        int row = pos.getRow();
-        int cell = pos.getCell();
-        condition = canJump(board, row, cell, piece);
-        LOG.fine(String.format("Can Mutlt-jump: %b", condition));
+        int square = SquareTables.squareAt(pos.getRow(), pos.getCell());
+        condition = square >= 0 && canJump(board, square, piece);
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine(String.format("Can multi-jump: %b", condition));
+        }
         return condition;
     }
 
-    private static boolean canJump(Space[][] board, int row, int cell, Piece.Color piece) {
-        Space cur = board[row][cell];
-        if (cur.isOccupied() && piece.equals(cur.getPiece().getColor())) {
-            Move testMove;
-            Position start = new Position(row, cell);
-            if (cell + 2 < board[row].length) {
-                if (row + 2 < board.length) {
-                    testMove = new Move(start, new Position(row + JUMP_DIFF, cell + JUMP_DIFF));
-                    testMove.setPieceColor(getSpacePieceColor(board, testMove.getStart()));
-                    if (canJumpValidation(board,testMove))
-                        return true;
-                }
-                if (row - 2 >= 0) {
-                    testMove = new Move(start, new Position(row - JUMP_DIFF, cell + JUMP_DIFF));
-                    testMove.setPieceColor(getSpacePieceColor(board, testMove.getStart()));
-                    if (canJumpValidation(board,testMove))
-                        return true;
-                }
-            }
-            if (cell - 2 >= 0) {
-                if (row + 2 < board.length) {
-                    testMove = new Move(start, new Position(row + JUMP_DIFF, cell - JUMP_DIFF));
-                    testMove.setPieceColor(getSpacePieceColor(board, testMove.getStart()));
-                    if (canJumpValidation(board,testMove))
-                        return true;
-                }
-                if (row - 2 >= 0) {
-                    testMove = new Move(start, new Position(row - JUMP_DIFF, cell - JUMP_DIFF));
-                    testMove.setPieceColor(getSpacePieceColor(board, testMove.getStart()));
-                    if (canJumpValidation(board,testMove))
-                        return true;
-                }
+    /**
+     * Determines if the piece of the given color on a square has a jump available
+     *
+     * @param board  - board to check
+     * @param square - square the piece is on
+     * @param color  - color of the player's pieces
+     * @return - true if that piece can jump, false otherwise
+     */
+    private static boolean canJump(Space[][] board, int square, Piece.Color color) {
+        Space cur = board[SquareTables.row(square)][SquareTables.cell(square)];
+        if (cur.isOccupied() && color == cur.getPiece().getColor()) {
+            return canJump(board, square, SquareTables.kind(color, cur.getPiece().getType()), color);
+        }
+        return false;
+    }
+
+    /**
+     * Walks the jump table of a kind of piece: a jump needs an opposing piece to jump over and an open landing
+     *
+     * @param board  - board to check
+     * @param square - square the piece is on
+     * @param kind   - SquareTables kind of the piece
+     * @param color  - color of the piece
+     * @return - true if any jump is available, false otherwise
+     */
+    private static boolean canJump(Space[][] board, int square, int kind, Piece.Color color) {
+        int[] jumped = SquareTables.jumped(kind, square);
+        int[] landings = SquareTables.landings(kind, square);
+
+        for (int i = 0; i < landings.length; i++) {
+            Space over = board[SquareTables.row(jumped[i])][SquareTables.cell(jumped[i])];
+            Space landing = board[SquareTables.row(landings[i])][SquareTables.cell(landings[i])];
+
+            if (over.isOccupied() && over.getPiece().getColor() != color && landing.isOpen()) {
+                return true;
             }
         }
         return false;
     }
 
+    /**
+     * Adds the jumps available to a piece to the given list
+     *
+     * @param board  - board to check
+     * @param square - square the piece is on
+     * @param kind   - SquareTables kind of the piece
+     * @param color  - color of the piece
+     * @param jumps  - list the jumps are added to
+     */
+    private static void addJumps(Space[][] board, int square, int kind, Piece.Color color, List<Move> jumps) {
+        int[] jumped = SquareTables.jumped(kind, square);
+        int[] landings = SquareTables.landings(kind, square);
+
+        for (int i = 0; i < landings.length; i++) {
+            Space over = board[SquareTables.row(jumped[i])][SquareTables.cell(jumped[i])];
+            Space landing = board[SquareTables.row(landings[i])][SquareTables.cell(landings[i])];
+
+            if (over.isOccupied() && over.getPiece().getColor() != color && landing.isOpen()) {
+                jumps.add(moveBetween(square, landings[i]));
+            }
+        }
+    }
+
+    /**
+     * Shared move between two squares
+     */
+    private static Move moveBetween(int from, int to) {
+        return Move.between(Position.at(SquareTables.row(from), SquareTables.cell(from)),
+                Position.at(SquareTables.row(to), SquareTables.cell(to)));
+    }
+
     public static boolean canJumpValidation(Space[][] board, Move move)
     {
         return isMoveJumpingAPiece(board, move) && isEndSpaceOpen(board, move) && isMoveInRightDirection(board, move);
@@ -0,0 +1,162 @@
+package com.webcheckers.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One game of a Portable Draughts Notation file: its tags, its turns and its result
+ *
+ * PDN calls the side that moves first Black, which is our RED, so the Black tag names the RED player.
+ * Results are kept as MoveNotation reads them, from RED's side: "1-0" is a RED win, "0-1" a WHITE win,
+ * "1/2-1/2" a draw and "*" no result. The "2-0", "0-2" and "1-1" of draughts PDN are read the same.
+ */
+public final class PdnGame {
+
+    public static final String RED_WINS = "1-0";
+    public static final String WHITE_WINS = "0-1";
+    public static final String DRAW = "1/2-1/2";
+    public static final String NO_RESULT = "*";
+
+    public static final String BLACK_TAG = "Black";
+    public static final String WHITE_TAG = "White";
+    public static final String RESULT_TAG = "Result";
+    public static final String FEN_TAG = "FEN";
+
+    private final Map<String, String> tags;
+    private final List<List<Move>> turns;
+    private final String result;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param tags   - tags of the game, in order
+     * @param turns  - the moves of every turn, in order
+     * @param result - result of the game, null to take it from the Result tag
+     */
+    public PdnGame(Map<String, String> tags, List<List<Move>> turns, String result) {
+        Objects.requireNonNull(tags, "tags must not be null");
+        Objects.requireNonNull(turns, "turns must not be null");
+
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        this.turns = Collections.unmodifiableList(new ArrayList<>(turns));
+        String normalized = normalizeResult((result == null) ? tags.get(RESULT_TAG) : result);
+        this.result = (normalized == null) ? NO_RESULT : normalized;
+    }
+
+    /**
+     * @param name - name of a tag
+     * @return - its value, or null if the game has no such tag
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * @return - every tag, in order
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return - the moves of every turn, in order
+     */
+    public List<List<Move>> getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return - RED_WINS, WHITE_WINS, DRAW or NO_RESULT
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * The position the game starts from, the FEN tag's or the usual one
+     *
+     * @return - the position
+     * @throws IllegalArgumentException - if the FEN tag is not a position
+     */
+    public PositionString getStart() {
+        String fen = tags.get(FEN_TAG);
+        return PositionString.load((fen == null) ? PositionString.STARTING : fen);
+    }
+
+    /**
+     * Plays the game through the model's rules, turn by turn as players would
+     * A game that ends with a decisive result before either side has won on the board is adjudicated to
+     * the winner, as a resignation would have ended it.
+     *
+     * @return - the game as played
+     * @throws IllegalArgumentException - if a turn is not legal or comes after the game has ended
+     */
+    public CheckersGame replay() {
+        String redName = tags.getOrDefault(BLACK_TAG, BLACK_TAG);
+        String whiteName = tags.getOrDefault(WHITE_TAG, WHITE_TAG);
+        if (whiteName.equals(redName)) {
+            // Players are told apart by name
+            whiteName = whiteName + " (" + WHITE_TAG + ")";
+        }
+        Player red = new Player(redName, Player.GameType.NORMAL);
+        Player white = new Player(whiteName, Player.GameType.NORMAL);
+        CheckersGame game = new CheckersGame(red, white, getStart());
+
+        for (int i = 0; i < turns.size(); i++) {
+            Turn turn = game.getTurn();
+            if (turn == null) {
+                throw new IllegalArgumentException(String.format("Turn %d comes after the game has ended", i + 1));
+            }
+            for (Move move : turns.get(i)) {
+                Message validated = turn.validateMove(move);
+                if (validated.getType() != Message.MessageType.info) {
+                    throw new IllegalArgumentException(String.format("Turn %d %s is not legal: %s",
+                            i + 1, MoveNotation.formatTurn(turns.get(i)), validated.getText()));
+                }
+            }
+            Message submitted = game.submitTurn(turn.getPlayer());
+            if (submitted.getType() != Message.MessageType.info) {
+                throw new IllegalArgumentException(String.format("Turn %d %s is not complete: %s",
+                        i + 1, MoveNotation.formatTurn(turns.get(i)), submitted.getText()));
+            }
+        }
+
+        if (game.getTurn() != null && result.equals(RED_WINS)) {
+            game.adjudicate(red);
+        } else if (game.getTurn() != null && result.equals(WHITE_WINS)) {
+            game.adjudicate(white);
+        }
+        return game;
+    }
+
+    /**
+     * A result token in the form this class keeps
+     *
+     * @param token - a result as PDN writes it
+     * @return - RED_WINS, WHITE_WINS, DRAW or NO_RESULT, or null if the token is not a result
+     */
+    static String normalizeResult(String token) {
+        if (token == null) {
+            return null;
+        }
+        switch (token) {
+            case "1-0":
+            case "2-0":
+                return RED_WINS;
+            case "0-1":
+            case "0-2":
+                return WHITE_WINS;
+            case "1/2-1/2":
+            case "1-1":
+                return DRAW;
+            case "*":
+                return NO_RESULT;
+            default:
+                return null;
+        }
+    }
+}
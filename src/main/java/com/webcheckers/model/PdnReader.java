@@ -0,0 +1,274 @@
+package com.webcheckers.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads Portable Draughts Notation games one at a time from a stream
+ *
+ * Only the game being read is held in memory, so a file of any size can be read in constant memory.
+ * Tags ("[Black "Ann"]"), move numbers ("1." and "1..."), numeric turns ("11-15", "15x22x29") with
+ * their annotations ("!", "?") and the result end up in a PdnGame. Comments ("{...}" and ";" to the end
+ * of the line), variations ("(...)", nested) and "%" escape lines are skipped. A game ends at its result,
+ * at the tags of the next game or at the end of the stream.
+ *
+ * A game whose text cannot be read is still read to its end before next() throws, so the caller can
+ * report it and carry on with the next game.
+ */
+public final class PdnReader implements Closeable {
+
+    // Longest tag value or move text token, so a corrupt file cannot grow the buffer without bound
+    static final int MAX_TOKEN = 4096;
+
+    private static final int END = -1;
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder token = new StringBuilder();
+    private int position;
+    private int limit;
+    private int pushedBack = NONE;
+    private boolean lineStart = true;
+    // A token was cut at MAX_TOKEN characters
+    private boolean tooLong;
+    private int games;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param in - the PDN text; it is read in blocks, so it need not be buffered
+     */
+    public PdnReader(Reader in) {
+        this.in = Objects.requireNonNull(in, "in must not be null");
+    }
+
+    /**
+     * Reads the next game
+     *
+     * @return - the game, or null at the end of the stream
+     * @throws IOException              - if the stream cannot be read
+     * @throws IllegalArgumentException - if the game's text is not PDN; the stream is left at the next game
+     */
+    public PdnGame next() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<List<Move>> turns = new ArrayList<>();
+        String result = null;
+        String error = null;
+        boolean moveText = false;
+
+        while (true) {
+            int c = read();
+            if (c == END) {
+                if (tags.isEmpty() && !moveText) {
+                    return null;
+                }
+                break;
+            }
+
+            boolean atLineStart = lineStart;
+            lineStart = c == '\n';
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+
+            if (c == '%' && atLineStart) {
+                skipLine();
+            } else if (c == ';') {
+                skipLine();
+            } else if (c == '{') {
+                skipTo('}');
+            } else if (c == '(') {
+                skipVariation();
+            } else if (c == '[') {
+                if (moveText) {
+                    // The next game's tags: this game had no result
+                    pushedBack = c;
+                    break;
+                }
+                try {
+                    readTag(tags);
+                } catch (IllegalArgumentException e) {
+                    error = (error == null) ? e.getMessage() : error;
+                }
+            } else {
+                moveText = true;
+                String word = readToken(c);
+                if (tooLong) {
+                    error = (error == null) ? "Token longer than " + MAX_TOKEN + " characters" : error;
+                    tooLong = false;
+                    continue;
+                }
+                String resultToken = PdnGame.normalizeResult(word);
+                if (resultToken != null) {
+                    result = resultToken;
+                    break;
+                }
+                try {
+                    String turn = stripMoveNumber(word);
+                    if (!turn.isEmpty()) {
+                        turns.add(MoveNotation.parseTurn(turn));
+                    }
+                } catch (IllegalArgumentException e) {
+                    error = (error == null) ? e.getMessage() : error;
+                }
+            }
+        }
+
+        games++;
+        if (error != null) {
+            throw new IllegalArgumentException(String.format("Game %d: %s", games, error));
+        }
+        return new PdnGame(tags, turns, result);
+    }
+
+    /**
+     * @return - number of games read so far, including those that could not be read
+     */
+    public int getGames() {
+        return games;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return END;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != '\n' && c != END);
+        lineStart = true;
+    }
+
+    private void skipTo(char close) throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != close && c != END);
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c == END) {
+                return;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipTo('}');
+            }
+        }
+    }
+
+    /**
+     * Reads a tag after its "[": a name, then a quoted value, then "]"
+     */
+    private void readTag(Map<String, String> tags) throws IOException {
+        token.setLength(0);
+        int c = read();
+        while (c != END && !Character.isWhitespace(c) && c != '"' && c != ']') {
+            append(c);
+            c = read();
+        }
+        String name = token.toString();
+        while (c != END && Character.isWhitespace(c)) {
+            c = read();
+        }
+        if (c != '"') {
+            if (c != ']') {
+                skipTo(']');
+            }
+            throw new IllegalArgumentException(String.format("Tag %s has no quoted value", name));
+        }
+
+        token.setLength(0);
+        for (c = read(); c != END && c != '"'; c = read()) {
+            if (c == '\\') {
+                c = read();
+            }
+            if (c != END) {
+                append(c);
+            }
+        }
+        skipTo(']');
+        if (tooLong) {
+            tooLong = false;
+            throw new IllegalArgumentException(String.format("Tag %s is longer than %d characters", name, MAX_TOKEN));
+        }
+        tags.put(name, token.toString());
+    }
+
+    private String readToken(int first) throws IOException {
+        token.setLength(0);
+        int c = first;
+        while (c != END && !Character.isWhitespace(c) && c != '[' && c != '{' && c != '(' && c != ';') {
+            append(c);
+            c = read();
+        }
+        if (c != END && !Character.isWhitespace(c)) {
+            pushedBack = c;
+        } else {
+            lineStart = c == '\n';
+        }
+        return token.toString();
+    }
+
+    private void append(int c) {
+        if (token.length() < MAX_TOKEN) {
+            token.append((char) c);
+        } else {
+            tooLong = true;
+        }
+    }
+
+    /**
+     * A turn without the move number glued to it and without annotations, "12.11-15!" to "11-15"
+     */
+    private static String stripMoveNumber(String word) {
+        int start = 0;
+        while (start < word.length() && Character.isDigit(word.charAt(start))) {
+            start++;
+        }
+        if (start < word.length() && word.charAt(start) == '.') {
+            while (start < word.length() && word.charAt(start) == '.') {
+                start++;
+            }
+        } else {
+            start = 0;
+        }
+
+        int end = word.length();
+        while (end > start && (word.charAt(end - 1) == '!' || word.charAt(end - 1) == '?')) {
+            end--;
+        }
+        return word.substring(start, end);
+    }
+}
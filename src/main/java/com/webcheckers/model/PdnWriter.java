@@ -0,0 +1,110 @@
+package com.webcheckers.model;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes games as Portable Draughts Notation, one at a time to a stream
+ *
+ * Each game is its tags, a blank line, its numbered turns wrapped to LINE_WIDTH columns and its result,
+ * then a blank line. A game starting from a position where WHITE moves first opens with "1...".
+ * Nothing is kept between games, so any number of games can be written in constant memory.
+ */
+public final class PdnWriter implements Closeable, Flushable {
+
+    static final int LINE_WIDTH = 79;
+
+    private final Writer out;
+    private int column;
+    private int games;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param out - where the PDN text goes; wrap it in a BufferedWriter, as it is written a word at a time
+     */
+    public PdnWriter(Writer out) {
+        this.out = Objects.requireNonNull(out, "out must not be null");
+    }
+
+    /**
+     * Writes a game
+     *
+     * @param game - the game
+     * @throws IOException - if the stream cannot be written
+     */
+    public void write(PdnGame game) throws IOException {
+        for (Map.Entry<String, String> tag : game.getTags().entrySet()) {
+            if (!tag.getKey().equals(PdnGame.RESULT_TAG)) {
+                writeTag(tag.getKey(), tag.getValue());
+            }
+        }
+        writeTag(PdnGame.RESULT_TAG, game.getResult());
+        out.write('\n');
+
+        column = 0;
+        boolean whiteFirst = game.getStart().getColorToMove() == Piece.Color.WHITE;
+        List<List<Move>> turns = game.getTurns();
+
+        for (int i = 0; i < turns.size(); i++) {
+            int ply = whiteFirst ? i + 1 : i;
+            if (ply % 2 == 0) {
+                word((ply / 2 + 1) + ".");
+            } else if (i == 0) {
+                word("1...");
+            }
+            word(MoveNotation.formatTurn(turns.get(i)));
+        }
+        word(game.getResult());
+        out.write("\n\n");
+        games++;
+    }
+
+    /**
+     * @return - number of games written so far
+     */
+    public int getGames() {
+        return games;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeTag(String name, String value) throws IOException {
+        out.write('[');
+        out.write(name);
+        out.write(" \"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+            }
+            out.write(c);
+        }
+        out.write("\"]\n");
+    }
+
+    private void word(String word) throws IOException {
+        if (column > 0 && column + 1 + word.length() > LINE_WIDTH) {
+            out.write('\n');
+            column = 0;
+        } else if (column > 0) {
+            out.write(' ');
+            column++;
+        }
+        out.write(word);
+        column += word.length();
+    }
+}
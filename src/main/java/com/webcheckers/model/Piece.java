@@ -2,7 +2,8 @@ package com.webcheckers.model;
 
 /**
  * <p>Title: Piece class</p>
- * <p>Description: This class represents a checkers piece</p>
+ * <p>Description: This class represents a checkers piece.
+ * Pieces are immutable flyweights: there is one instance per type and color, shared by every board.</p>
  */
 public class Piece {
 
@@ -13,9 +14,20 @@ public class Piece {
 
     public enum Color {RED, WHITE}
 
+    // The four pieces of the game, indexed by [type][color]
+    private static final Piece[][] PIECES = new Piece[Type.values().length][Color.values().length];
+
+    static {
+        for (Type type : Type.values()) {
+            for (Color color : Color.values()) {
+                PIECES[type.ordinal()][color.ordinal()] = new Piece(type, color);
+            }
+        }
+    }
+
     //instance
-    private Type type;
-    private Color color;
+    private final Type type;
+    private final Color color;
 
     /**
      * Parameterized constructor
@@ -25,11 +37,22 @@ public class Piece {
      * @param type  - type of the piece (SINGLE, KING)
      * @param color - Color of the PIECE (RED, WHITE)
      */
-    public Piece(Type type, Color color) {
+    private Piece(Type type, Color color) {
         this.type = type;
         this.color = color;
     }
 
+    /**
+     * Returns the shared piece of the given type and color
+     *
+     * @param type  - type of the piece (SINGLE, KING)
+     * @param color - Color of the PIECE (RED, WHITE)
+     * @return - the Piece
+     */
+    public static Piece of(Type type, Color color) {
+        return PIECES[type.ordinal()][color.ordinal()];
+    }
+
     /**
      * getter for type
      *
@@ -50,18 +73,20 @@ public class Piece {
 
     /**
      * clone method
-     * This method return a cloned copy of the object
+     * Pieces are immutable, so the piece itself is returned
      */
     public Piece clone()
     {
-        return new Piece(this.type, this.color);
+        return this;
     }
 
     /**
-     * Makes the piece a king
+     * Returns the king of this piece's color
+     *
+     * @return - the king Piece
      */
-    public void kingMe(){
-        this.type = Type.KING;
+    public Piece kingMe(){
+        return of(Type.KING, this.color);
     }
 
     @Override
@@ -79,6 +104,11 @@ public class Piece {
         return true;
     }
 
+    @Override
+    public int hashCode() {
+        return type.ordinal() * 2 + color.ordinal();
+    }
+
     /**
      * Creates and returns a string detailing the piece's color and type
      *
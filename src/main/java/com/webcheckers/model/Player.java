@@ -17,6 +17,7 @@ public class Player {
 
     public int wins;
 
+    public int losses;
 
     /**
      * Parameterize constructor
@@ -29,6 +30,7 @@ public class Player {
         this.name = name;
         this.type = type;
         this.wins = 0;
+        this.losses = 0;
     }
 
     /**
@@ -59,6 +61,18 @@ public class Player {
      */
     public void wonAGame(){ this.wins++; }
 
+    /**
+     * Gets the player's number of losses
+     *
+     * @return - number of losses
+     */
+    public Integer getLosses(){ return this.losses; }
+
+    /**
+     * Increment the number of losses if the player lost their game
+     */
+    public void lostAGame(){ this.losses++; }
+
     /**
      * Used by home.ftl to determine if a player is in tournament mode
      * or not
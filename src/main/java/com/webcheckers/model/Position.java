@@ -1,10 +1,25 @@
 package com.webcheckers.model;
 
+/**
+ * An immutable row and cell on the board
+ * The 64 on-board positions are interned, see Position.at
+ */
 public class Position {
 
+    // One shared instance per on-board row and cell
+    private static final Position[] POSITIONS = new Position[CheckersBoardBuilder.ROWS * CheckersBoardBuilder.CELLS];
+
+    static {
+        for (int row = 0; row < CheckersBoardBuilder.ROWS; row++) {
+            for (int cell = 0; cell < CheckersBoardBuilder.CELLS; cell++) {
+                POSITIONS[row * CheckersBoardBuilder.CELLS + cell] = new Position(row, cell);
+            }
+        }
+    }
+
     //instance variables
-    private int row;
-    private int cell;
+    private final int row;
+    private final int cell;
 
     /**
      * Parameterized constructor
@@ -18,6 +33,21 @@ public class Position {
         this.cell = cell;
     }
 
+    /**
+     * Returns the shared Position for an on-board row and cell
+     * Off-board coordinates still get a fresh Position, so they can be validated like any other.
+     *
+     * @param row  - row ID of the cell
+     * @param cell - space ID within the row
+     * @return - the Position
+     */
+    public static Position at(int row, int cell) {
+        if (row >= 0 && row < CheckersBoardBuilder.ROWS && cell >= 0 && cell < CheckersBoardBuilder.CELLS) {
+            return POSITIONS[row * CheckersBoardBuilder.CELLS + cell];
+        }
+        return new Position(row, cell);
+    }
+
     /**
      * This method returns the x coordinate of the position
      *
@@ -38,7 +68,7 @@ public class Position {
         int x = Math.abs(end.row - start.row);
         int y = Math.abs(end.cell - start.cell);
 
-        return new Position(x, y);
+        return at(x, y);
     }
 
     /**
@@ -60,6 +90,21 @@ public class Position {
         return this.cell;
     }
 
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) return true;
+        if (!(other instanceof Position)) return false;
+
+        Position position = (Position) other;
+
+        return row == position.row && cell == position.cell;
+    }
+
+    @Override
+    public int hashCode() {
+        return row * 31 + cell;
+    }
+
     /**
      * This method generates a string representing the state of the
      * Position object
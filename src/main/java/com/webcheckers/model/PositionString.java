@@ -0,0 +1,297 @@
+package com.webcheckers.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A position written as a compact string, to start a game or a tool from
+ *
+ * The format is the FEN of Portable Draughts Notation: the color to move, then the WHITE pieces and
+ * the RED pieces, each list of squares prefixed with its color and separated by colons, e.g.
+ * "B:W18,24,K27:B12,16,K22". Squares are numbered 1-32 as in MoveNotation and a K marks a king.
+ * Standard checkers calls the side that moves first, our RED, "B" for black; "R" is read the same.
+ * A range "1-12" lists every square in it, and a trailing period is ignored.
+ *
+ * Text is read one character at a time into three bit masks, one bit a square, and written straight
+ * into one StringBuilder, so neither step builds substrings or lists. Positions loaded by string are
+ * kept in a small LRU cache, as games started from the same setup ask for the same string.
+ */
+public final class PositionString {
+
+    public static final String STARTING = "B:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12";
+
+    // Strings kept by load()
+    static final int CACHE_CAPACITY = 1024;
+
+    private static final Map<String, PositionString> CACHE =
+            new LinkedHashMap<String, PositionString>(64, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PositionString> eldest) {
+                    return size() > CACHE_CAPACITY;
+                }
+            };
+
+    // Squares on each color's king row
+    private static final int RED_KING_ROW = 0xF0000000;
+    private static final int WHITE_KING_ROW = 0x0000000F;
+
+    private final int red;
+    private final int white;
+    private final int kings;
+    private final Piece.Color colorToMove;
+
+    private PositionString(int red, int white, int kings, Piece.Color colorToMove) {
+        this.red = red;
+        this.white = white;
+        this.kings = kings;
+        this.colorToMove = colorToMove;
+    }
+
+    /**
+     * Loads a position, reusing the one already read from the same string
+     *
+     * @param text - the position string
+     * @return - the position
+     * @throws IllegalArgumentException - if the text is not a position
+     */
+    public static PositionString load(String text) {
+        synchronized (CACHE) {
+            PositionString cached = CACHE.get(text);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        PositionString position = parse(text);
+        synchronized (CACHE) {
+            CACHE.put(text, position);
+        }
+        return position;
+    }
+
+    /**
+     * Reads a position
+     *
+     * @param text - the position string
+     * @return - the position
+     * @throws IllegalArgumentException - if the text is not a position
+     */
+    public static PositionString parse(String text) {
+        Objects.requireNonNull(text, "text must not be null");
+        int length = text.length();
+        if (length > 0 && text.charAt(length - 1) == '.') {
+            length--;
+        }
+        if (length < 1) {
+            throw invalid(text, "it is empty");
+        }
+
+        Piece.Color colorToMove = color(text, 0);
+        int red = 0;
+        int white = 0;
+        int kings = 0;
+        boolean redListed = false;
+        boolean whiteListed = false;
+        int i = 1;
+
+        while (i < length) {
+            if (text.charAt(i) != ':' || i + 1 >= length) {
+                throw invalid(text, "a colon and a color are expected at " + i);
+            }
+            Piece.Color side = color(text, i + 1);
+            if (side == Piece.Color.RED ? redListed : whiteListed) {
+                throw invalid(text, "a color is listed twice");
+            }
+            redListed |= side == Piece.Color.RED;
+            whiteListed |= side == Piece.Color.WHITE;
+            i += 2;
+
+            // Comma separated squares, up to the next colon
+            while (i < length && text.charAt(i) != ':') {
+                boolean king = text.charAt(i) == 'K';
+                if (king) {
+                    i++;
+                }
+                int first = 0;
+                int start = i;
+                while (i < length && Character.isDigit(text.charAt(i))) {
+                    first = first * 10 + (text.charAt(i++) - '0');
+                }
+                int last = first;
+                if (i < length && text.charAt(i) == '-') {
+                    last = 0;
+                    while (++i < length && Character.isDigit(text.charAt(i))) {
+                        last = last * 10 + (text.charAt(i) - '0');
+                    }
+                }
+                if (i == start || first < 1 || last < first || last > SquareTables.SQUARES) {
+                    throw invalid(text, "a square 1-" + SquareTables.SQUARES + " is expected at " + start);
+                }
+
+                for (int square = first; square <= last; square++) {
+                    int bit = 1 << (square - 1);
+                    if (((red | white) & bit) != 0) {
+                        throw invalid(text, "square " + square + " is listed twice");
+                    }
+                    if (side == Piece.Color.RED) {
+                        red |= bit;
+                    } else {
+                        white |= bit;
+                    }
+                    if (king) {
+                        kings |= bit;
+                    }
+                }
+
+                if (i < length && text.charAt(i) == ',') {
+                    i++;
+                } else if (i < length && text.charAt(i) != ':') {
+                    throw invalid(text, "a comma is expected at " + i);
+                }
+            }
+        }
+
+        if ((((red & RED_KING_ROW) | (white & WHITE_KING_ROW)) & ~kings) != 0) {
+            throw invalid(text, "a single piece is on its king row");
+        }
+        return new PositionString(red, white, kings, colorToMove);
+    }
+
+    /**
+     * The position of a board
+     *
+     * @param board       - the board
+     * @param colorToMove - color of the player to move
+     * @return - the position
+     */
+    public static PositionString of(Space[][] board, Piece.Color colorToMove) {
+        Objects.requireNonNull(colorToMove, "colorToMove must not be null");
+        int red = 0;
+        int white = 0;
+        int kings = 0;
+
+        for (int square = 0; square < SquareTables.SQUARES; square++) {
+            Piece piece = board[SquareTables.row(square)][SquareTables.cell(square)].getPiece();
+            if (piece == null) {
+                continue;
+            }
+            int bit = 1 << square;
+            if (piece.getColor() == Piece.Color.RED) {
+                red |= bit;
+            } else {
+                white |= bit;
+            }
+            if (piece.getType() == Piece.Type.KING) {
+                kings |= bit;
+            }
+        }
+        return new PositionString(red, white, kings, colorToMove);
+    }
+
+    /**
+     * The same pieces with the other player, or the same one, to move
+     *
+     * @param colorToMove - color of the player to move
+     * @return - the position
+     */
+    public PositionString withColorToMove(Piece.Color colorToMove) {
+        Objects.requireNonNull(colorToMove, "colorToMove must not be null");
+        return (colorToMove == this.colorToMove) ? this : new PositionString(red, white, kings, colorToMove);
+    }
+
+    /**
+     * Color of the player to move
+     *
+     * @return - the color
+     */
+    public Piece.Color getColorToMove() {
+        return colorToMove;
+    }
+
+    /**
+     * A new board set up with the position, which the caller may change
+     *
+     * @return - the board
+     */
+    public Space[][] getBoard() {
+        CheckersBoardBuilder builder = CheckersBoardBuilder.aBoard();
+
+        for (int square = 0; square < SquareTables.SQUARES; square++) {
+            int bit = 1 << square;
+            if (((red | white) & bit) != 0) {
+                Piece.Type type = ((kings & bit) != 0) ? Piece.Type.KING : Piece.Type.SINGLE;
+                Piece.Color color = ((red & bit) != 0) ? Piece.Color.RED : Piece.Color.WHITE;
+                builder.withPieceAt(Piece.of(type, color),
+                        Position.at(SquareTables.row(square), SquareTables.cell(square)));
+            }
+        }
+        return builder.getBoard();
+    }
+
+    /**
+     * The position string, WHITE's pieces before RED's and each in square order
+     *
+     * @return - the text
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(8 + 4 * Integer.bitCount(red | white));
+        text.append(colorToMove == Piece.Color.RED ? 'B' : 'W');
+        append(text.append(":W"), white);
+        append(text.append(":B"), red);
+        return text.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof PositionString)) {
+            return false;
+        }
+        PositionString that = (PositionString) other;
+        return red == that.red && white == that.white && kings == that.kings && colorToMove == that.colorToMove;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(red, white, kings, colorToMove);
+    }
+
+    static int cachedPositions() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    private void append(StringBuilder text, int pieces) {
+        boolean first = true;
+        for (int rest = pieces; rest != 0; rest &= rest - 1) {
+            int square = Integer.numberOfTrailingZeros(rest);
+            if (!first) {
+                text.append(',');
+            }
+            if ((kings & (1 << square)) != 0) {
+                text.append('K');
+            }
+            text.append(square + 1);
+            first = false;
+        }
+    }
+
+    private static Piece.Color color(String text, int index) {
+        switch (text.charAt(index)) {
+            case 'B':
+            case 'R':
+                return Piece.Color.RED;
+            case 'W':
+                return Piece.Color.WHITE;
+            default:
+                throw invalid(text, "a color B, R or W is expected at " + index);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String text, String reason) {
+        return new IllegalArgumentException(String.format("Not a position: '%s', %s", text, reason));
+    }
+}
@@ -0,0 +1,86 @@
+package com.webcheckers.model;
+
+/**
+ * A player's ratings at one moment: Elo, updated after every game, and Glicko-2, updated once a rating period
+ *
+ * Glicko-2 rates a player with a deviation as well, how uncertain the rating is, and a volatility, how
+ * erratic the player's results are. Players are ranked by their rating less twice its deviation, the
+ * rating they are at least 95% sure to have, so a few lucky games do not put a newcomer on top.
+ */
+public final class Rating {
+
+    public static final double DEFAULT_RATING = 1500;
+    public static final double DEFAULT_DEVIATION = 350;
+    public static final double DEFAULT_VOLATILITY = 0.06;
+
+    private final String name;
+    private final double elo;
+    private final double rating;
+    private final double deviation;
+    private final double volatility;
+    private final int games;
+
+    Rating(String name, double elo, double rating, double deviation, double volatility, int games) {
+        this.name = name;
+        this.elo = elo;
+        this.rating = rating;
+        this.deviation = deviation;
+        this.volatility = volatility;
+        this.games = games;
+    }
+
+    /**
+     * The ratings of a player who has not played yet
+     *
+     * @param name - name of the player
+     * @return - the ratings
+     */
+    static Rating unrated(String name) {
+        return new Rating(name, DEFAULT_RATING, DEFAULT_RATING, DEFAULT_DEVIATION, DEFAULT_VOLATILITY, 0);
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * @return - Elo rating
+     */
+    public double getElo() { return elo; }
+
+    /**
+     * @return - Glicko-2 rating, on the same scale as Elo
+     */
+    public double getRating() { return rating; }
+
+    /**
+     * @return - Glicko-2 rating deviation
+     */
+    public double getDeviation() { return deviation; }
+
+    /**
+     * @return - Glicko-2 volatility
+     */
+    public double getVolatility() { return volatility; }
+
+    /**
+     * @return - number of games rated
+     */
+    public int getGames() { return games; }
+
+    /**
+     * @return - the rating less twice its deviation, which players are ranked by
+     */
+    public double getRankingScore() { return rating - 2 * deviation; }
+
+    Rating withElo(double newElo) {
+        return new Rating(name, newElo, rating, deviation, volatility, games + 1);
+    }
+
+    Rating withGlicko(double newRating, double newDeviation, double newVolatility) {
+        return new Rating(name, elo, newRating, newDeviation, newVolatility, games);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.0f (RD %.0f), Elo %.0f, %d games", name, rating, deviation, elo, games);
+    }
+}
@@ -0,0 +1,323 @@
+package com.webcheckers.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Rates players from the results of their games, with Elo after every game and Glicko-2 every rating period
+ *
+ * Elo moves both players' ratings as soon as a game ends. Glicko-2 rates the games of a rating period
+ * together, one day by default: when a result comes in after the period has ended, every player's
+ * rating is recomputed from the period's games and the ratings at its start, each player on its own,
+ * in parallel. Players who did not play grow less certain.
+ *
+ * Readers never wait. Ratings are immutable, and the ranking is a sorted list that is replaced, not
+ * changed, whenever a rating moves, so getRanking() and getRating() only read what was last published.
+ */
+public class Ratings {
+    private static final Logger LOG = Logger.getLogger(Ratings.class.getName());
+
+    public static final long DEFAULT_PERIOD_MILLIS = TimeUnit.DAYS.toMillis(1);
+    public static final double DEFAULT_K = 32;
+
+    // Glicko-2 constants: the system constant tau limits how fast volatility changes
+    static final double TAU = 0.5;
+    private static final double SCALE = 173.7178;
+    private static final double EPSILON = 0.000001;
+
+    // Best rated first, then best Elo
+    public static final Comparator<Rating> BY_RATING = Comparator.comparingDouble(Rating::getRankingScore)
+            .reversed()
+            .thenComparing(Comparator.comparingDouble(Rating::getElo).reversed());
+
+    // The ranking's order: by rating, then by name so the order is stable
+    static final Comparator<Rating> RANKING = BY_RATING.thenComparing(Rating::getName);
+
+    /**
+     * A game of a rating period
+     */
+    static final class Result {
+        private final String winner;
+        private final String loser;
+
+        Result(String winner, String loser) {
+            this.winner = winner;
+            this.loser = loser;
+        }
+    }
+
+    private final long periodMillis;
+    private final double k;
+
+    private final Map<String, Rating> ratings = new ConcurrentHashMap<>();
+    private volatile List<Rating> ranking = Collections.emptyList();
+
+    // Guarded by this
+    private List<Result> period = new ArrayList<>();
+    private long periodStart = -1;
+    private int periods;
+
+    // Held while a period is rated, so periods are rated one at a time and in order
+    private final Object ratingPeriods = new Object();
+
+    /**
+     * Default constructor: daily rating periods and an Elo K-factor of 32
+     */
+    public Ratings() {
+        this(DEFAULT_PERIOD_MILLIS, DEFAULT_K);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param periodMillis - length of a Glicko-2 rating period
+     * @param k            - Elo K-factor, the most a rating moves in one game
+     */
+    public Ratings(long periodMillis, double k) {
+        if (periodMillis < 1 || k <= 0) {
+            throw new IllegalArgumentException("periodMillis and k must be positive");
+        }
+        this.periodMillis = periodMillis;
+        this.k = k;
+    }
+
+    /**
+     * Records the result of a game that ended now
+     *
+     * @param winner - name of the player who won
+     * @param loser  - name of the player who lost
+     */
+    public void recordResult(String winner, String loser) {
+        recordResult(winner, loser, System.currentTimeMillis());
+    }
+
+    /**
+     * Records the result of a game, first rating the periods that ended before it
+     * Games must be recorded in the order they ended.
+     *
+     * @param winner    - name of the player who won
+     * @param loser     - name of the player who lost
+     * @param endMillis - when the game ended, in milliseconds since the epoch
+     */
+    public void recordResult(String winner, String loser, long endMillis) {
+        Objects.requireNonNull(winner, "winner must not be null");
+        Objects.requireNonNull(loser, "loser must not be null");
+        if (winner.equals(loser)) {
+            throw new IllegalArgumentException("A player cannot beat themselves");
+        }
+        closePeriods(endMillis);
+
+        synchronized (this) {
+            Rating won = rating(winner);
+            Rating lost = rating(loser);
+            double expected = 1 / (1 + Math.pow(10, (lost.getElo() - won.getElo()) / 400));
+            ratings.put(winner, won.withElo(won.getElo() + k * (1 - expected)));
+            ratings.put(loser, lost.withElo(lost.getElo() - k * (1 - expected)));
+            period.add(new Result(winner, loser));
+            publish();
+        }
+    }
+
+    /**
+     * Rates the periods that ended before a moment
+     *
+     * @param millis - the moment, in milliseconds since the epoch
+     */
+    public void closePeriods(long millis) {
+        synchronized (ratingPeriods) {
+            List<Result> games;
+            long ended;
+            synchronized (this) {
+                if (periodStart < 0) {
+                    periodStart = millis - Math.floorMod(millis, periodMillis);
+                }
+                ended = (millis - periodStart) / periodMillis;
+                if (ended <= 0) {
+                    return;
+                }
+                games = period;
+                period = new ArrayList<>();
+                periodStart += ended * periodMillis;
+            }
+            ratePeriod(games, ended);
+        }
+    }
+
+    /**
+     * Rates the games of the current period now, and starts a new one
+     */
+    public void closePeriod() {
+        synchronized (ratingPeriods) {
+            List<Result> games;
+            synchronized (this) {
+                games = period;
+                period = new ArrayList<>();
+            }
+            ratePeriod(games, 1);
+        }
+    }
+
+    /**
+     * @param name - name of a player
+     * @return - the player's ratings, the starting ones if they have not played
+     */
+    public Rating getRating(String name) {
+        Rating found = ratings.get(name);
+        return (found == null) ? Rating.unrated(name) : found;
+    }
+
+    /**
+     * @return - every rated player, best first
+     */
+    public List<Rating> getRanking() {
+        return ranking;
+    }
+
+    /**
+     * @return - number of rating periods rated so far
+     */
+    public synchronized int getPeriods() {
+        return periods;
+    }
+
+    private Rating rating(String name) {
+        return ratings.computeIfAbsent(name, Rating::unrated);
+    }
+
+    /**
+     * Rates a period's games in parallel over the players, then puts the new Glicko-2 ratings in place
+     * Elo ratings moved by games that ended meanwhile are kept.
+     *
+     * @param games  - the games of the period
+     * @param length - periods that have passed; the ones after the first had no games
+     */
+    private void ratePeriod(List<Result> games, long length) {
+        Map<String, Rating> start = new HashMap<>(ratings);
+        Map<String, List<Result>> byPlayer = new HashMap<>();
+        for (Result game : games) {
+            byPlayer.computeIfAbsent(game.winner, name -> new ArrayList<>()).add(game);
+            byPlayer.computeIfAbsent(game.loser, name -> new ArrayList<>()).add(game);
+        }
+
+        Map<String, double[]> rated = start.keySet().parallelStream().collect(Collectors.toMap(
+                name -> name,
+                name -> glicko(start.get(name), byPlayer.getOrDefault(name, Collections.emptyList()), start,
+                        length - 1)));
+
+        synchronized (this) {
+            for (Map.Entry<String, double[]> entry : rated.entrySet()) {
+                double[] glicko = entry.getValue();
+                ratings.computeIfPresent(entry.getKey(),
+                        (name, current) -> current.withGlicko(glicko[0], glicko[1], glicko[2]));
+            }
+            periods++;
+            publish();
+        }
+        LOG.fine(String.format("Rated %d games of %d players", games.size(), rated.size()));
+    }
+
+    /**
+     * One player's Glicko-2 rating after a period, following Glickman's "Example of the Glicko-2 system"
+     *
+     * @param player    - the player's ratings at the start of the period
+     * @param games     - the player's games in the period
+     * @param start     - everyone's ratings at the start of the period
+     * @param idleAfter - periods without games that followed
+     * @return - rating, deviation and volatility
+     */
+    static double[] glicko(Rating player, List<Result> games, Map<String, Rating> start, long idleAfter) {
+        double mu = (player.getRating() - Rating.DEFAULT_RATING) / SCALE;
+        double phi = player.getDeviation() / SCALE;
+        double sigma = player.getVolatility();
+
+        if (!games.isEmpty()) {
+            double inverseV = 0;
+            double improvement = 0;
+            for (Result game : games) {
+                boolean won = game.winner.equals(player.getName());
+                Rating opponent = start.get(won ? game.loser : game.winner);
+                double opponentMu = (opponent.getRating() - Rating.DEFAULT_RATING) / SCALE;
+                double g = g(opponent.getDeviation() / SCALE);
+                double expected = 1 / (1 + Math.exp(-g * (mu - opponentMu)));
+                inverseV += g * g * expected * (1 - expected);
+                improvement += g * ((won ? 1 : 0) - expected);
+            }
+            double v = 1 / inverseV;
+            double delta = v * improvement;
+
+            sigma = volatility(delta, phi, v, sigma);
+            double phiStar = Math.sqrt(phi * phi + sigma * sigma);
+            phi = 1 / Math.sqrt(1 / (phiStar * phiStar) + 1 / v);
+            mu = mu + phi * phi * improvement;
+        } else {
+            idleAfter++;
+        }
+
+        // Each period without games makes the rating less certain
+        phi = Math.sqrt(phi * phi + idleAfter * sigma * sigma);
+        double deviation = Math.min(phi * SCALE, Rating.DEFAULT_DEVIATION);
+        return new double[]{mu * SCALE + Rating.DEFAULT_RATING, deviation, sigma};
+    }
+
+    private static double g(double phi) {
+        return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    /**
+     * The new volatility, by the Illinois algorithm
+     */
+    private static double volatility(double delta, double phi, double v, double sigma) {
+        double a = Math.log(sigma * sigma);
+        double lower = a;
+        double upper;
+        if (delta * delta > phi * phi + v) {
+            upper = Math.log(delta * delta - phi * phi - v);
+        } else {
+            int i = 1;
+            while (f(a - i * TAU, delta, phi, v, a) < 0) {
+                i++;
+            }
+            upper = a - i * TAU;
+        }
+
+        double fLower = f(lower, delta, phi, v, a);
+        double fUpper = f(upper, delta, phi, v, a);
+        while (Math.abs(upper - lower) > EPSILON) {
+            double next = lower + (lower - upper) * fLower / (fUpper - fLower);
+            double fNext = f(next, delta, phi, v, a);
+            if (fNext * fUpper <= 0) {
+                lower = upper;
+                fLower = fUpper;
+            } else {
+                fLower /= 2;
+            }
+            upper = next;
+            fUpper = fNext;
+        }
+        return Math.exp(lower / 2);
+    }
+
+    private static double f(double x, double delta, double phi, double v, double a) {
+        double ex = Math.exp(x);
+        double denominator = phi * phi + v + ex;
+        return ex * (delta * delta - phi * phi - v - ex) / (2 * denominator * denominator) - (x - a) / (TAU * TAU);
+    }
+
+    /**
+     * Replaces the ranking with a sorted copy of the ratings
+     */
+    private void publish() {
+        List<Rating> sorted = new ArrayList<>(ratings.values());
+        sorted.sort(RANKING);
+        ranking = Collections.unmodifiableList(sorted);
+    }
+}
@@ -0,0 +1,72 @@
+package com.webcheckers.model;
+
+import java.util.List;
+
+/**
+ * Counts the positions reachable in a number of turns by playing them through Turn and MoveValidator
+ *
+ * This is the reference any faster move generator is checked against: every turn is started from
+ * MoveValidator's first moves, played one step at a time with Turn.validateMove, continued with every
+ * jump MoveValidator offers until Turn says it is finalized, and kinged as CheckersGame kings at the end
+ * of a turn. Branches are undone with Turn.backupMove. A turn counts as one ply, however many jumps it
+ * has, and only the positions at the full depth are counted.
+ */
+public final class RulesPerft {
+
+    private static final Player PLAYER = new Player("perft", Player.GameType.NORMAL);
+
+    private RulesPerft() {
+    }
+
+    /**
+     * Counts the positions a number of turns from a board
+     *
+     * @param board - the board; it is not changed
+     * @param color - color of the player to move
+     * @param depth - turns to play
+     * @return - number of positions at that depth, counting every way of reaching them
+     * @throws IllegalStateException - if Turn rejects a move MoveValidator offers
+     */
+    public static long perft(Space[][] board, Piece.Color color, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long count = 0;
+        for (Move move : MoveValidator.getMovesForPlayer(board, color)) {
+            count += play(new Turn(board, PLAYER, color), move, color, depth);
+        }
+        return count;
+    }
+
+    /**
+     * Plays one step of a turn and every way of finishing it
+     */
+    private static long play(Turn turn, Move move, Piece.Color color, int depth) {
+        Message validated = turn.validateMove(move);
+        if (validated.getType() != Message.MessageType.info) {
+            throw new IllegalStateException(String.format("Turn rejected %s, which MoveValidator offered: %s",
+                    move, validated.getText()));
+        }
+
+        long count = 0;
+        if (turn.isFinalized().getType() == Message.MessageType.info) {
+            Space[][] next = CheckersBoardBuilder.cloneBoard(turn.getLatestBoard());
+            CheckersGame.makeKings(next);
+            count = perft(next, opponent(color), depth - 1);
+        } else {
+            List<Move> jumps = MoveValidator.getJumpsFrom(turn.getLatestBoard(), move.getEnd(), color);
+            if (jumps.isEmpty()) {
+                throw new IllegalStateException("Turn is not finalized but MoveValidator has no jump after " + move);
+            }
+            for (Move jump : jumps) {
+                count += play(turn, jump, color, depth);
+            }
+        }
+        turn.backupMove();
+        return count;
+    }
+
+    private static Piece.Color opponent(Piece.Color color) {
+        return (color == Piece.Color.RED) ? Piece.Color.WHITE : Piece.Color.RED;
+    }
+}
@@ -0,0 +1,201 @@
+package com.webcheckers.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Every player's wins and losses across a cluster of nodes, as grow-only counters that merge without coordination
+ *
+ * Each node counts the games that end on it in its own slot of the winner's and loser's counters, and
+ * from time to time sends its counters to other nodes, which merge them into theirs. However the
+ * exchanges are ordered, repeated or delayed, nodes that have heard from each other agree on the totals.
+ * A node's own slots are seeded from its score log on start, and a node that lost them is sent them
+ * back by the others.
+ */
+public final class ScoreCounters {
+
+    static final int MAGIC = 0x434B5343; // "CKSC"
+    static final byte VERSION = 1;
+
+    private final String node;
+
+    // Guarded by this
+    private final Map<String, GCounter> wins = new HashMap<>();
+    private final Map<String, GCounter> losses = new HashMap<>();
+
+    /**
+     * Parameterized constructor
+     *
+     * @param node - name of this node, the same across restarts and different from every other node's
+     */
+    public ScoreCounters(String node) {
+        this.node = Objects.requireNonNull(node, "node must not be null");
+    }
+
+    /**
+     * Counters whose own slots hold the results a score log has kept
+     *
+     * @param node     - name of this node
+     * @param scoreLog - the results of the games that ended on this node
+     * @return - the counters
+     */
+    public static ScoreCounters seeded(String node, ScoreLog scoreLog) {
+        ScoreCounters counters = new ScoreCounters(node);
+        for (String name : scoreLog.getNames()) {
+            counters.counter(counters.wins, name).raise(node, scoreLog.getWins(name));
+            counters.counter(counters.losses, name).raise(node, scoreLog.getLosses(name));
+        }
+        return counters;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Counts a game that ended on this node
+     *
+     * @param winner - name of the player who won
+     * @param loser  - name of the player who lost, or null if there was none
+     */
+    public synchronized void recordResult(String winner, String loser) {
+        counter(wins, winner).increment(node);
+        if (loser != null) {
+            counter(losses, loser).increment(node);
+        }
+    }
+
+    /**
+     * @param name - name of a player
+     * @return - games the player has won on every node heard from
+     */
+    public synchronized int getWins(String name) {
+        GCounter counter = wins.get(name);
+        return (counter == null) ? 0 : (int) counter.value();
+    }
+
+    /**
+     * @param name - name of a player
+     * @return - games the player has lost on every node heard from
+     */
+    public synchronized int getLosses(String name) {
+        GCounter counter = losses.get(name);
+        return (counter == null) ? 0 : (int) counter.value();
+    }
+
+    /**
+     * @return - names of the players who have won or lost a game
+     */
+    public synchronized Set<String> getNames() {
+        Set<String> names = new HashSet<>(wins.keySet());
+        names.addAll(losses.keySet());
+        return names;
+    }
+
+    /**
+     * Takes in another node's counters
+     *
+     * @param other - the counters
+     * @return - true if any total went up
+     */
+    public boolean merge(ScoreCounters other) {
+        try {
+            return merge(other.encode());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Takes in counters sent by another node
+     *
+     * @param state - the counters, as encode() wrote them
+     * @return - true if any total went up
+     * @throws IOException - if the state is not counters
+     */
+    public boolean merge(byte[] state) throws IOException {
+        Map<String, GCounter> otherWins = new HashMap<>();
+        Map<String, GCounter> otherLosses = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Not score counters");
+            }
+            for (int players = in.readInt(); players > 0; players--) {
+                String name = in.readUTF();
+                otherWins.put(name, readCounter(in));
+                otherLosses.put(name, readCounter(in));
+            }
+        }
+
+        // Decoded first, so the lock is held only while the counts are raised
+        boolean changed = false;
+        synchronized (this) {
+            for (Map.Entry<String, GCounter> entry : otherWins.entrySet()) {
+                changed |= counter(wins, entry.getKey()).merge(entry.getValue());
+                changed |= counter(losses, entry.getKey()).merge(otherLosses.get(entry.getKey()));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return - the counters, to send to other nodes
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            synchronized (this) {
+                Set<String> names = getNames();
+                out.writeInt(names.size());
+                for (String name : names) {
+                    out.writeUTF(name);
+                    writeCounter(out, wins.get(name));
+                    writeCounter(out, losses.get(name));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeCounter(DataOutputStream out, GCounter counter) throws IOException {
+        if (counter == null) {
+            out.writeInt(0);
+            return;
+        }
+        out.writeInt(counter.getSlots().size());
+        for (Map.Entry<String, Long> slot : counter.getSlots().entrySet()) {
+            out.writeUTF(slot.getKey());
+            out.writeLong(slot.getValue());
+        }
+    }
+
+    private static GCounter readCounter(DataInputStream in) throws IOException {
+        GCounter counter = new GCounter();
+        for (int slots = in.readInt(); slots > 0; slots--) {
+            counter.raise(in.readUTF(), in.readLong());
+        }
+        return counter;
+    }
+
+    private GCounter counter(Map<String, GCounter> counters, String name) {
+        return counters.computeIfAbsent(name, player -> new GCounter());
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: %d players", node, getNames().size());
+    }
+}
@@ -0,0 +1,419 @@
+package com.webcheckers.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Win and loss totals of every player, kept on disk in a write-ahead log with compacted snapshots
+ *
+ * Every win and loss is appended to the log as a checksummed record, and record() returns once it has
+ * been forced to disk. One writer thread does the writing: the results recorded while it forces a batch
+ * wait and go to disk together in the next batch, with one fsync between them (group commit), so a burst
+ * of finished games costs a few fsyncs rather than one each.
+ *
+ * Once the log holds snapshotRecords records the totals are written to a snapshot and the log starts
+ * again. Both files carry a generation: a log only counts on top of the snapshot of the same generation,
+ * so a crash between writing the snapshot and starting the new log counts nothing twice. On open the
+ * snapshot is loaded and the log replayed, dropping a record cut short or garbled by a crash.
+ */
+public final class ScoreLog implements Closeable {
+    private static final Logger LOG = Logger.getLogger(ScoreLog.class.getName());
+
+    static final String LOG_FILE = "scores.log";
+    static final String SNAPSHOT_FILE = "scores.snapshot";
+
+    static final int LOG_MAGIC = 0x434B534C; // "CKSL"
+    static final int SNAPSHOT_MAGIC = 0x434B5353; // "CKSS"
+    static final int VERSION = 1;
+    // Magic, version and generation
+    static final int HEADER_BYTES = 16;
+
+    public static final int DEFAULT_SNAPSHOT_RECORDS = 10_000;
+
+    // Kinds of log record
+    private static final byte WIN = 1;
+    private static final byte LOSS = 2;
+
+    private final Path directory;
+    private final int snapshotRecords;
+    private final Thread writer;
+
+    // Guarded by this: the totals of the records on disk, and the records waiting for the writer
+    private final Map<String, int[]> totals = new HashMap<>();
+    private final List<byte[]> pending = new ArrayList<>();
+    private long appended;
+    private long durable;
+    private long syncs;
+    private IOException failure;
+    private boolean closed;
+
+    // Used by the writer thread only, once open
+    private FileChannel log;
+    private long generation;
+    private int records;
+
+    private ScoreLog(Path directory, int snapshotRecords) {
+        this.directory = directory;
+        this.snapshotRecords = snapshotRecords;
+        this.writer = new Thread(this::write, "score-log");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens the scores kept in a directory, creating it if needed
+     *
+     * @param directory - directory of the log and snapshot
+     * @return - the scores
+     * @throws IOException - if the files cannot be read or are not score files
+     */
+    public static ScoreLog open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SNAPSHOT_RECORDS);
+    }
+
+    static ScoreLog open(Path directory, int snapshotRecords) throws IOException {
+        Objects.requireNonNull(directory, "directory must not be null");
+        if (snapshotRecords < 1) {
+            throw new IllegalArgumentException("snapshotRecords must be positive");
+        }
+        Files.createDirectories(directory);
+
+        ScoreLog scores = new ScoreLog(directory, snapshotRecords);
+        scores.recover();
+        scores.writer.start();
+        LOG.config(String.format("Opened scores %s with %d players", directory, scores.totals.size()));
+        return scores;
+    }
+
+    /**
+     * Records the result of a game and waits until it is on disk
+     *
+     * @param winner - name of the player who won
+     * @param loser  - name of the player who lost, or null to record only the win
+     * @throws IOException - if the result cannot be written, or the log is closed
+     */
+    public void record(String winner, String loser) throws IOException {
+        Objects.requireNonNull(winner, "winner must not be null");
+        List<byte[]> results = new ArrayList<>(2);
+        results.add(encode(WIN, winner));
+        if (loser != null) {
+            results.add(encode(LOSS, loser));
+        }
+
+        boolean interrupted = false;
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("The score log is closed");
+            }
+            checkFailure();
+            pending.addAll(results);
+            appended += results.size();
+            long sequence = appended;
+            notifyAll();
+
+            while (durable < sequence && failure == null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    // The result is on its way to disk; finish waiting for it
+                    interrupted = true;
+                }
+            }
+            checkFailure();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param name - name of a player
+     * @return - games the player has won
+     */
+    public synchronized int getWins(String name) {
+        int[] total = totals.get(name);
+        return (total == null) ? 0 : total[0];
+    }
+
+    /**
+     * @param name - name of a player
+     * @return - games the player has lost
+     */
+    public synchronized int getLosses(String name) {
+        int[] total = totals.get(name);
+        return (total == null) ? 0 : total[1];
+    }
+
+    /**
+     * @return - names of the players who have won or lost a game
+     */
+    public synchronized Set<String> getNames() {
+        return new HashSet<>(totals.keySet());
+    }
+
+    /**
+     * @return - number of times the log has been forced to disk
+     */
+    synchronized long getSyncs() {
+        return syncs;
+    }
+
+    /**
+     * Writes the results still waiting and closes the files
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("The score log could not be written", failure);
+        }
+    }
+
+    /**
+     * The writer thread: forces each batch of waiting records to disk, then applies it to the totals
+     */
+    private void write() {
+        while (true) {
+            List<byte[]> batch;
+            long sequence;
+            synchronized (this) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Only close() stops the writer
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+                sequence = appended;
+            }
+
+            try {
+                int bytes = 0;
+                for (byte[] record : batch) {
+                    bytes += record.length;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(bytes);
+                batch.forEach(buffer::put);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    log.write(buffer);
+                }
+                log.force(false);
+
+                synchronized (this) {
+                    for (byte[] record : batch) {
+                        apply(ByteBuffer.wrap(record));
+                    }
+                    durable = sequence;
+                    syncs++;
+                    notifyAll();
+                }
+                records += batch.size();
+                if (records >= snapshotRecords) {
+                    snapshot();
+                }
+            } catch (IOException e) {
+                LOG.log(Level.SEVERE, "Could not write the score log", e);
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the totals to a new snapshot and starts a new, empty log of the snapshot's generation
+     */
+    private void snapshot() throws IOException {
+        ByteBuffer snapshot;
+        synchronized (this) {
+            Map<byte[], int[]> entries = new HashMap<>();
+            int bytes = HEADER_BYTES + 4 + 4;
+            for (Map.Entry<String, int[]> entry : totals.entrySet()) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                entries.put(name, entry.getValue());
+                bytes += 2 + name.length + 8;
+            }
+            snapshot = ByteBuffer.allocate(bytes);
+            snapshot.putInt(SNAPSHOT_MAGIC).putInt(VERSION).putLong(generation + 1).putInt(entries.size());
+            for (Map.Entry<byte[], int[]> entry : entries.entrySet()) {
+                snapshot.putShort((short) entry.getKey().length).put(entry.getKey())
+                        .putInt(entry.getValue()[0]).putInt(entry.getValue()[1]);
+            }
+        }
+        snapshot.putInt(checksum(snapshot.array(), 0, snapshot.position()));
+        snapshot.flip();
+        replace(SNAPSHOT_FILE, snapshot);
+
+        log.close();
+        generation++;
+        log = createLog();
+        records = 0;
+        LOG.fine(String.format("Compacted the score log into snapshot %d", generation));
+    }
+
+    private void recover() throws IOException {
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+            if (snapshot.limit() < HEADER_BYTES + 8 || snapshot.getInt(0) != SNAPSHOT_MAGIC
+                    || snapshot.getInt(4) != VERSION
+                    || snapshot.getInt(snapshot.limit() - 4) != checksum(snapshot.array(), 0, snapshot.limit() - 4)) {
+                throw new IOException("Not a score snapshot: " + snapshotFile);
+            }
+            snapshot.position(8);
+            generation = snapshot.getLong();
+            for (int count = snapshot.getInt(); count > 0; count--) {
+                String name = string(snapshot);
+                totals.put(name, new int[]{snapshot.getInt(), snapshot.getInt()});
+            }
+        }
+
+        Path logFile = directory.resolve(LOG_FILE);
+        if (!Files.exists(logFile)) {
+            log = createLog();
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(logFile));
+        if (bytes.limit() < HEADER_BYTES || bytes.getInt(0) != LOG_MAGIC || bytes.getInt(4) != VERSION) {
+            throw new IOException("Not a score log: " + logFile);
+        }
+        long logGeneration = bytes.getLong(8);
+        if (logGeneration > generation) {
+            throw new IOException(String.format("Score log %s is newer than its snapshot", logFile));
+        }
+        if (logGeneration < generation) {
+            // A crash came between the snapshot and the new log; the snapshot holds all of this log
+            log = createLog();
+            return;
+        }
+
+        int offset = HEADER_BYTES;
+        bytes.position(offset);
+        while (bytes.hasRemaining()) {
+            int length = recordLength(bytes, offset);
+            if (length < 0) {
+                LOG.warning(String.format("Dropping the incomplete score at the end of %s", logFile));
+                break;
+            }
+            apply(bytes);
+            records++;
+            offset += length;
+            bytes.position(offset);
+        }
+
+        log = FileChannel.open(logFile, StandardOpenOption.WRITE);
+        log.truncate(offset);
+        log.position(offset);
+    }
+
+    /**
+     * @return - the length of the record at offset, or -1 if it is incomplete or its checksum is wrong
+     */
+    private static int recordLength(ByteBuffer bytes, int offset) {
+        if (bytes.limit() - offset < 3) {
+            return -1;
+        }
+        int length = 3 + (bytes.getShort(offset + 1) & 0xFFFF) + 4;
+        if (bytes.limit() - offset < length
+                || bytes.getInt(offset + length - 4) != checksum(bytes.array(), offset, length - 4)) {
+            return -1;
+        }
+        return length;
+    }
+
+    /**
+     * Adds a record, a kind byte and a name, to the totals
+     */
+    private void apply(ByteBuffer record) {
+        byte kind = record.get();
+        int[] total = totals.computeIfAbsent(string(record), name -> new int[2]);
+        total[(kind == WIN) ? 0 : 1]++;
+    }
+
+    private static byte[] encode(byte kind, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Name is too long: " + name);
+        }
+        ByteBuffer record = ByteBuffer.allocate(3 + bytes.length + 4);
+        record.put(kind).putShort((short) bytes.length).put(bytes);
+        record.putInt(checksum(record.array(), 0, record.position()));
+        return record.array();
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private FileChannel createLog() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(LOG_MAGIC).putInt(VERSION).putLong(generation);
+        header.flip();
+        replace(LOG_FILE, header);
+
+        FileChannel channel = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.WRITE);
+        channel.position(HEADER_BYTES);
+        return channel;
+    }
+
+    /**
+     * Writes a file in full beside the old one, forces it to disk and only then moves it over the old one
+     */
+    private void replace(String name, ByteBuffer contents) throws IOException {
+        Path temporary = directory.resolve(name + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
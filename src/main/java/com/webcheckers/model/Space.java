@@ -127,6 +127,16 @@ public class Space{
         }
     }
 
+    /**
+     * Replaces the piece on this Space with the king of its color
+     * Pieces are shared between boards, so the piece itself is never changed.
+     */
+    public void kingMe() {
+        if (state == State.OCCUPIED) {
+            currPiece = currPiece.kingMe();
+        }
+    }
+
     /**
      * This method checks if the space is valid
      *
@@ -192,7 +202,7 @@ public class Space{
     /**
      * clone method
      * This method return a cloned copy of the space object
-     * Note: enums are apparently passed by reference
+     * Pieces are immutable, so the clone shares this Space's piece
      * @return cloned copy of the Space object
      */
     public Space clone()
@@ -203,7 +213,7 @@ public class Space{
         else if(state == State.INVALID)
             return new Space(cellIdx, State.INVALID);
 
-        return new Space(cellIdx, currPiece.clone());
+        return new Space(cellIdx, currPiece);
     }
 
 
@@ -0,0 +1,194 @@
+package com.webcheckers.model;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed neighbour tables for the 32 playable (dark) squares of a checkers board.
+ *
+ * Squares are numbered 0-31 using the standard checkers numbering (1-32, minus one) as seen from
+ * the RED player, who moves first: square 0 is RED's back row, on the right hand side of our board,
+ * and square 31 is the far corner of WHITE's back row.
+ *
+ *   0 1 2 3 4 5 6 7      (cells of our Space[][] board)
+ * 0 . 31. 30. 29. 28
+ * 1 27. 26. 25. 24.
+ * 2 . 23. 22. 21. 20
+ * 3 19. 18. 17. 16.
+ * 4 . 15. 14. 13. 12
+ * 5 11. 10. 9 . 8 .
+ * 6 . 7 . 6 . 5 . 4
+ * 7 3 . 2 . 1 . 0 .
+ *
+ * For every square and kind of piece (a RED single, a WHITE single or a king of either color)
+ * the tables list the squares a step can reach, and the (jumped, landing) square pairs of a jump,
+ * so move detection walks plain int arrays instead of probing the board with Positions and Moves.
+ */
+public final class SquareTables {
+
+    public static final int SQUARES = 32;
+
+    // Kinds of piece, indexing the step and jump tables
+    public static final int RED_SINGLE = 0;
+    public static final int WHITE_SINGLE = 1;
+    public static final int KING = 2;
+
+    private static final int ROWS = CheckersBoardBuilder.ROWS;
+    private static final int CELLS = CheckersBoardBuilder.CELLS;
+
+    // Row and cell of each square on our Space[][] board
+    private static final int[] ROW = new int[SQUARES];
+    private static final int[] CELL = new int[SQUARES];
+
+    // Square at each row * CELLS + cell, or -1 for a light square
+    private static final int[] SQUARE = new int[ROWS * CELLS];
+
+    // [kind][square] -> squares reachable with a single step
+    private static final int[][][] STEPS = new int[3][SQUARES][];
+
+    // [kind][square] -> squares jumped over, and the matching landing squares
+    private static final int[][][] JUMPED = new int[3][SQUARES][];
+    private static final int[][][] LANDING = new int[3][SQUARES][];
+
+    static {
+        Arrays.fill(SQUARE, -1);
+
+        for (int square = 0; square < SQUARES; square++) {
+            // Rank and file counted from RED's side of the board
+            int rank = square >> 2;
+            int file = ((square & 3) << 1) + ((rank & 1) == 0 ? 1 : 0);
+
+            ROW[square] = ROWS - 1 - rank;
+            CELL[square] = CELLS - 1 - file;
+            SQUARE[ROW[square] * CELLS + CELL[square]] = square;
+        }
+
+        for (int square = 0; square < SQUARES; square++) {
+            // RED singles move up the board, WHITE singles move down, kings move both ways
+            buildTables(RED_SINGLE, square, -1, -1);
+            buildTables(WHITE_SINGLE, square, 1, 1);
+            buildTables(KING, square, -1, 1);
+        }
+    }
+
+    private SquareTables() {
+    }
+
+    /**
+     * Fills the step and jump tables of one kind of piece on one square
+     *
+     * @param kind        - kind of piece
+     * @param square      - starting square
+     * @param firstRowDir - first row direction the piece may move in
+     * @param lastRowDir  - last row direction the piece may move in
+     */
+    private static void buildTables(int kind, int square, int firstRowDir, int lastRowDir) {
+        int[] steps = new int[4];
+        int[] jumped = new int[4];
+        int[] landing = new int[4];
+        int stepCount = 0;
+        int jumpCount = 0;
+
+        for (int rowDir = firstRowDir; rowDir <= lastRowDir; rowDir += 2) {
+            for (int cellDir = -1; cellDir <= 1; cellDir += 2) {
+                int near = squareAt(ROW[square] + rowDir, CELL[square] + cellDir);
+                int far = squareAt(ROW[square] + 2 * rowDir, CELL[square] + 2 * cellDir);
+
+                if (near >= 0) {
+                    steps[stepCount++] = near;
+                }
+                if (far >= 0) {
+                    jumped[jumpCount] = near;
+                    landing[jumpCount++] = far;
+                }
+            }
+        }
+
+        STEPS[kind][square] = Arrays.copyOf(steps, stepCount);
+        JUMPED[kind][square] = Arrays.copyOf(jumped, jumpCount);
+        LANDING[kind][square] = Arrays.copyOf(landing, jumpCount);
+    }
+
+    /**
+     * Square at the given row and cell of our board
+     *
+     * @param row  - row of the board
+     * @param cell - cell within the row
+     * @return - the square, or -1 if it is a light square or off the board
+     */
+    public static int squareAt(int row, int cell) {
+        if (row < 0 || row >= ROWS || cell < 0 || cell >= CELLS) {
+            return -1;
+        }
+        return SQUARE[row * CELLS + cell];
+    }
+
+    /**
+     * Row of the board holding the given square
+     *
+     * @param square - square 0-31
+     * @return - row index
+     */
+    public static int row(int square) {
+        return ROW[square];
+    }
+
+    /**
+     * Cell of the board holding the given square
+     *
+     * @param square - square 0-31
+     * @return - cell index
+     */
+    public static int cell(int square) {
+        return CELL[square];
+    }
+
+    /**
+     * Kind of piece used to index the step and jump tables
+     *
+     * @param color - color of the piece
+     * @param type  - type of the piece
+     * @return - RED_SINGLE, WHITE_SINGLE or KING
+     */
+    public static int kind(Piece.Color color, Piece.Type type) {
+        if (type == Piece.Type.KING) {
+            return KING;
+        }
+        return (color == Piece.Color.RED) ? RED_SINGLE : WHITE_SINGLE;
+    }
+
+    /**
+     * Squares reachable from the given square with a single step
+     * The returned array is shared and must not be modified.
+     *
+     * @param kind   - kind of piece moving
+     * @param square - starting square
+     * @return - target squares
+     */
+    public static int[] steps(int kind, int square) {
+        return STEPS[kind][square];
+    }
+
+    /**
+     * Squares jumped over by the jumps from the given square, parallel to landings()
+     * The returned array is shared and must not be modified.
+     *
+     * @param kind   - kind of piece jumping
+     * @param square - starting square
+     * @return - jumped squares
+     */
+    public static int[] jumped(int kind, int square) {
+        return JUMPED[kind][square];
+    }
+
+    /**
+     * Landing squares of the jumps from the given square, parallel to jumped()
+     * The returned array is shared and must not be modified.
+     *
+     * @param kind   - kind of piece jumping
+     * @param square - starting square
+     * @return - landing squares
+     */
+    public static int[] landings(int kind, int square) {
+        return LANDING[kind][square];
+    }
+}
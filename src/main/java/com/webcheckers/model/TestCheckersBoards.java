@@ -1,10 +1,14 @@
 package com.webcheckers.model;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public final class TestCheckersBoards {
 
-	public static final Piece RED_SINGLE_PIECE = new Piece(Piece.Type.SINGLE, Piece.Color.RED);
-	public static final Piece RED_KING_PIECE = new Piece(Piece.Type.KING, Piece.Color.RED);
-	public static final Piece WHITE_SINGLE_PIECE = new Piece(Piece.Type.SINGLE, Piece.Color.WHITE);
+	public static final Piece RED_SINGLE_PIECE = Piece.of(Piece.Type.SINGLE, Piece.Color.RED);
+	public static final Piece RED_KING_PIECE = Piece.of(Piece.Type.KING, Piece.Color.RED);
+	public static final Piece WHITE_SINGLE_PIECE = Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE);
 
 	/*
 	We define pawn in this case to mean 'piece that will be moved'
@@ -14,30 +18,30 @@ public final class TestCheckersBoards {
 	public static final int RED_PAWN_CELL = 0;
 
 	// The starting position of the RED piece moved in unit tests
-	public static final Position RED_PAWN_POSITION = new Position(RED_PAWN_ROW, RED_PAWN_CELL);
+	public static final Position RED_PAWN_POSITION = Position.at(RED_PAWN_ROW, RED_PAWN_CELL);
 
 	// The end Position of the first jump
-	public static final Position RED_PAWN_JUMP_POSITION = new Position(
+	public static final Position RED_PAWN_JUMP_POSITION = Position.at(
 			RED_PAWN_ROW - 2,
 			RED_PAWN_CELL + 2);
 
 	// The end Position of the second jump
-	public static final Position RED_PAWN_JUMP_SECOND_POSITION = new Position(
+	public static final Position RED_PAWN_JUMP_SECOND_POSITION = Position.at(
 			RED_PAWN_ROW - 4,
 			RED_PAWN_CELL + 4);
 
 	// This is the Position first WHITE piece that gets jumped
-	public static final Position WHITE_JUMPED_POSITION = new Position(
+	public static final Position WHITE_JUMPED_POSITION = Position.at(
 			RED_PAWN_ROW - 1,
 			RED_PAWN_CELL + 1);
 
 	// The end Position of a first single move
-	public static final Position RED_PAWN_SINGLE_POSITION = new Position(
+	public static final Position RED_PAWN_SINGLE_POSITION = Position.at(
 			RED_PAWN_ROW - 1,
 			RED_PAWN_CELL + 1);
 
 	// This is the Position of the WHITE piece that remains untouched
-	public static final Position WHITE_SINGLE_PIECE_POSITION= new Position(0, 3);
+	public static final Position WHITE_SINGLE_PIECE_POSITION= Position.at(0, 3);
 
 	// These are placed here for convenience. Unit tests use them.
 	public static final Move RED_FIRST_JUMP_MOVE = new Move(RED_PAWN_POSITION, RED_PAWN_JUMP_POSITION, null, Piece.Color.RED);
@@ -100,7 +104,7 @@ public final class TestCheckersBoards {
 					RED_PAWN_POSITION)
 			.withPieceAt(
 					WHITE_SINGLE_PIECE,
-					new Position(4, 3))
+					Position.at(4, 3))
 			.withPieceAt(
 					WHITE_SINGLE_PIECE,
 					WHITE_SINGLE_PIECE_POSITION);
@@ -127,7 +131,7 @@ public final class TestCheckersBoards {
 		return multiJump()
 				.withPieceAt(
                         RED_SINGLE_PIECE,
-                        new Position(7, 4));
+                        Position.at(7, 4));
 	}
 
 	/**
@@ -151,23 +155,23 @@ public final class TestCheckersBoards {
 		return forceAJump()
 				.withPieceAt(
 						WHITE_SINGLE_PIECE,
-						new Position(6, 3))
+						Position.at(6, 3))
 				.withPieceAt(
 						WHITE_SINGLE_PIECE,
-						new Position(6, 5))
+						Position.at(6, 5))
 				.withPieceAt(
 						WHITE_SINGLE_PIECE,
-						new Position(4, 5))
+						Position.at(4, 5))
 				.withPieceAt(
 						WHITE_SINGLE_PIECE,
-						new Position(2, 3))
+						Position.at(2, 3))
 				.withPieceAt(
 						WHITE_SINGLE_PIECE,
-						new Position(2, 1)
+						Position.at(2, 1)
 				)
 				.withPieceAt(
 						RED_KING_PIECE,
-						new Position(7, 4));
+						Position.at(7, 4));
 	}
 
 	/**
@@ -190,13 +194,13 @@ public final class TestCheckersBoards {
 		return CheckersBoardBuilder.aBoard()
 				.withPieceAt(
 						RED_SINGLE_PIECE,
-						new Position(7, 0))
+						Position.at(7, 0))
 				.withPieceAt(
 						WHITE_SINGLE_PIECE,
-						new Position(6, 5))
+						Position.at(6, 5))
 				.withPieceAt(
 						RED_SINGLE_PIECE,
-						new Position(1, 6))
+						Position.at(1, 6))
 				;
 	}
 
@@ -245,7 +249,7 @@ public final class TestCheckersBoards {
 		return CheckersBoardBuilder.aBoard()
 				.withPieceAt(
 						WHITE_SINGLE_PIECE,
-						new Position(RED_PAWN_ROW - 1, RED_PAWN_CELL + 1)
+						Position.at(RED_PAWN_ROW - 1, RED_PAWN_CELL + 1)
 				)
 				.withPieceAt(
 						RED_SINGLE_PIECE,
@@ -255,17 +259,17 @@ public final class TestCheckersBoards {
 
 	public static CheckersBoardBuilder noMoreMoves() {
 		return CheckersBoardBuilder.aBoard().withPieceAt(
-						new Piece(Piece.Type.SINGLE, Piece.Color.WHITE),
-						new Position(1, 2)
+						Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE),
+						Position.at(1, 2)
 				).withPieceAt(
-						new Piece(Piece.Type.SINGLE, Piece.Color.WHITE),
-						new Position(0, 3)
+						Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE),
+						Position.at(0, 3)
 				).withPieceAt(
-						new Piece(Piece.Type.SINGLE, Piece.Color.RED),
-						new Position(2, 1)
+						Piece.of(Piece.Type.SINGLE, Piece.Color.RED),
+						Position.at(2, 1)
 				).withPieceAt(
-				new Piece(Piece.Type.SINGLE, Piece.Color.WHITE),
-				new Position(0, 1)
+				Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE),
+				Position.at(0, 1)
 		);
 	}
 	/**
@@ -285,17 +289,90 @@ public final class TestCheckersBoards {
  	* @return CheckersBoardBuilder*/
 	public static CheckersBoardBuilder endGame() {
 		return CheckersBoardBuilder.aBoard().withPieceAt(
-				new Piece(Piece.Type.KING, Piece.Color.RED),
-				new Position(1, 0)
+				Piece.of(Piece.Type.KING, Piece.Color.RED),
+				Position.at(1, 0)
 				).withPieceAt(
-					new Piece(Piece.Type.SINGLE, Piece.Color.WHITE),
-					new Position(2, 1));
+					Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE),
+					Position.at(2, 1));
+	}
+
+	/**
+	 * A lone WHITE piece hemmed in by RED pieces. Once RED moves <5,2> to <4,3>
+	 * WHITE still has a piece, but it has no move, so RED wins.
+	 *
+	 *   0 1 2 3 4 5 6 7
+	 * 0 . _ . _ . _ . _
+	 * 1 _ . _ . _ . _ .
+	 * 2 . _ . _ . _ . _
+	 * 3 _ . _ . _ . _ .
+	 * 4 . _ . _ . _ . _
+	 * 5 R . R . _ . _ .
+	 * 6 . W . _ . _ . _
+	 * 7 R . R . _ . _ .
+	 *
+	 * @return CheckersBoardBuilder
+	 */
+	public static CheckersBoardBuilder blockedOpponent() {
+		return CheckersBoardBuilder.aBoard()
+				.withPieceAt(WHITE_SINGLE_PIECE, Position.at(6, 1))
+				.withPieceAt(RED_SINGLE_PIECE, Position.at(7, 0))
+				.withPieceAt(RED_SINGLE_PIECE, Position.at(7, 2))
+				.withPieceAt(RED_SINGLE_PIECE, Position.at(5, 0))
+				.withPieceAt(RED_SINGLE_PIECE, Position.at(5, 2));
 	}
 
 	public static CheckersBoardBuilder noPieces() {
 		return CheckersBoardBuilder.aBoard().withPieceAt(
-				new Piece(Piece.Type.SINGLE, Piece.Color.RED),
-				new Position(1, 0));
+				Piece.of(Piece.Type.SINGLE, Piece.Color.RED),
+				Position.at(1, 0));
+	}
+
+	/**
+	 * The position of a test board, RED to move, by the name of the method building it
+	 *
+	 * A game whose RED player is named "Tester" starts from the board named after its WHITE player.
+	 *
+	 * @param name - name of a board, such as "kingMe"
+	 * @return PositionString, or null if there is no board of that name
+	 */
+	public static PositionString position(String name) {
+		return Positions.BY_NAME.get(name);
+	}
+
+	/**
+	 * Every test board position, RED to move, by name
+	 *
+	 * @return Map in name order
+	 */
+	public static Map<String, PositionString> positions() {
+		return Positions.BY_NAME;
+	}
+
+	/**
+	 * Built on first use, so the boards are only converted once
+	 */
+	private static final class Positions {
+		private static final Map<String, PositionString> BY_NAME;
+
+		static {
+			Map<String, PositionString> byName = new LinkedHashMap<>();
+			add(byName, "blockedOpponent", blockedOpponent());
+			add(byName, "endGame", endGame());
+			add(byName, "forceAJump", forceAJump());
+			add(byName, "forceAJumpWithOptions", forceAJumpWithOptions());
+			add(byName, "kingMe", kingMe());
+			add(byName, "multiJump", multiJump());
+			add(byName, "multiJumpToEnd", multiJumpToEnd());
+			add(byName, "noMoreMoves", noMoreMoves());
+			add(byName, "noPieces", noPieces());
+			add(byName, "singleJumpToEnd", singleJumpToEnd());
+			add(byName, "singleMove", singleMove());
+			BY_NAME = Collections.unmodifiableMap(byName);
+		}
+
+		private static void add(Map<String, PositionString> byName, String name, CheckersBoardBuilder builder) {
+			byName.put(name, PositionString.of(builder.getBoard(), Piece.Color.RED));
+		}
 	}
 
 }
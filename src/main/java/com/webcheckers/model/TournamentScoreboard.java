@@ -1,71 +1,214 @@
 package com.webcheckers.model;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class TournamentScoreboard {
 
     private static final Logger LOG = Logger.getLogger(TournamentScoreboard.class.getName());
 
+    /**
+     * A line of the scoreboard: a player's results and ratings
+     */
+    public static final class Standing {
+        private final String name;
+        private final int wins;
+        private final int losses;
+        private final Rating rating;
+
+        Standing(Player player, Rating rating) {
+            this.name = player.getName();
+            this.wins = player.getWins();
+            this.losses = player.getLosses();
+            this.rating = rating;
+        }
+
+        public String getName() { return name; }
+
+        public int getWins() { return wins; }
+
+        public int getLosses() { return losses; }
+
+        public Rating getRating() { return rating; }
+    }
+
     private static LinkedList<Player> players;
 
+    // Where results are kept across restarts, or null to keep them in memory only
+    private static ScoreLog scores;
+
+    // Games can end before any scoreboard is built, e.g. in the simulator, so there are always ratings
+    private static Ratings ratings = new Ratings();
+
+    // Wins and losses across every node of a cluster, or null if this is the only node
+    private static ScoreCounters counters;
+
+    // The scoreboard as last sorted, replaced rather than changed so readers need no lock
+    private static volatile List<Standing> standings = Collections.emptyList();
+
     /**
-     * Initializes the list of players
+     * Initializes the list of players, keeping results in memory only
      */
     public TournamentScoreboard() {
-        players = new LinkedList<>();
+        synchronized (TournamentScoreboard.class) {
+            players = new LinkedList<>();
+            scores = null;
+            ratings = new Ratings();
+            counters = null;
+            standings = Collections.emptyList();
+        }
         LOG.info("Tournament Scoreboard has been created.");
     }
 
     /**
-     * Sorts the list of players so the most wins comes first and the players follow in descending order
+     * Initializes the list of players, keeping results in a score log
+     *
+     * @param scoreLog - where results are kept across restarts
+     */
+    public TournamentScoreboard(ScoreLog scoreLog) {
+        this(Objects.requireNonNull(scoreLog, "scoreLog must not be null"), new Ratings());
+    }
+
+    /**
+     * Initializes the list of players, rating them from their results
+     *
+     * @param scoreLog      - where results are kept across restarts, or null to keep them in memory only
+     * @param playerRatings - rates the players; the scoreboard is ranked by it
      */
-    public static void sortPlayers() {
-        LOG.info("Sorting...");
-        int size = players.size();
-        LinkedList<Player> newList = new LinkedList<>();
-
-        // Iterates through newList
-        for (int newbies = 0; newbies < size; newbies++) {
-            int biggest = -1;   // highest number of wins
-            int index = 0;      // index of the player with the most wins
-
-            // Iterates through players
-            for (int playas = 0; playas < players.size(); playas++) {
-
-                if (players.get(playas).getWins() > biggest) {
-                    biggest = players.get(playas).getWins();
-                    index = playas;
-                }
+    public TournamentScoreboard(ScoreLog scoreLog, Ratings playerRatings) {
+        this(scoreLog, playerRatings, null);
+    }
+
+    /**
+     * Initializes the list of players, counting their results across a cluster of nodes
+     *
+     * @param scoreLog      - where results are kept across restarts, or null to keep them in memory only
+     * @param playerRatings - rates the players; the scoreboard is ranked by it
+     * @param clusterScores - wins and losses on every node, or null if this is the only node
+     */
+    public TournamentScoreboard(ScoreLog scoreLog, Ratings playerRatings, ScoreCounters clusterScores) {
+        this();
+        Objects.requireNonNull(playerRatings, "playerRatings must not be null");
+        synchronized (TournamentScoreboard.class) {
+            scores = scoreLog;
+            ratings = playerRatings;
+            counters = clusterScores;
+        }
+    }
+
+    /**
+     * Records the result of a game: a win for the winner and a loss for the loser
+     * With a score log this waits until the result is on disk; results recorded at the same time are
+     * written together, so the lock is not held while waiting. Both players' ratings are updated.
+     *
+     * @param winner - player who won
+     * @param loser  - player who lost, or null if there was none
+     */
+    public static void recordResult(Player winner, Player loser) {
+        winner.wonAGame();
+        if (loser != null) {
+            loser.lostAGame();
+        }
+
+        ScoreLog log;
+        Ratings rater;
+        ScoreCounters cluster;
+        synchronized (TournamentScoreboard.class) {
+            log = scores;
+            rater = ratings;
+            cluster = counters;
+        }
+        if (cluster != null) {
+            cluster.recordResult(winner.getName(), (loser == null) ? null : loser.getName());
+        }
+        if (loser != null) {
+            rater.recordResult(winner.getName(), loser.getName());
+        }
+        if (log != null) {
+            try {
+                log.record(winner.getName(), (loser == null) ? null : loser.getName());
+            } catch (IOException e) {
+                LOG.log(Level.SEVERE, String.format("Could not record %s's win", winner.getName()), e);
             }
+        }
+        if (cluster != null) {
+            refreshCounts();
+        } else {
+            sortPlayers();
+        }
+    }
 
-            newList.add(players.get(index));
-            players.remove(index);
+    /**
+     * Sorts the list of players by their ratings, best first, then by their wins, and publishes the standings
+     * Games end on many request threads at once, so every change to the list is synchronized.
+     */
+    public static synchronized void sortPlayers() {
+        if (players == null) {
+            return;
         }
+        LOG.fine("Sorting...");
+        Comparator<Player> byRating = Comparator.comparing(player -> ratings.getRating(player.getName()),
+                Ratings.BY_RATING);
+        players.sort(byRating.thenComparing(Comparator.comparing(Player::getWins).reversed()));
 
-        players = newList;
-        LOG.info("Sorted.");
+        List<Standing> sorted = new ArrayList<>(players.size());
+        for (Player player : players) {
+            sorted.add(new Standing(player, ratings.getRating(player.getName())));
+        }
+        standings = Collections.unmodifiableList(sorted);
+        LOG.fine("Sorted.");
     }
 
     /**
-     * Adds a player to the list
+     * Adds a player to the list, with the wins and losses recorded for them so far
      *
      * @param player - player to be added
      */
-    public static void newPlayer(Player player) {
+    public static synchronized void newPlayer(Player player) {
         LOG.info(String.format("Adding %s to the tournament scoreboard", player.getName()));
+        if (counters != null) {
+            // Games won and lost on the other nodes count too
+            player.wins = counters.getWins(player.getName());
+            player.losses = counters.getLosses(player.getName());
+        } else if (scores != null) {
+            // Standings carry over from before the player signed out, or the server restarted
+            player.wins = scores.getWins(player.getName());
+            player.losses = scores.getLosses(player.getName());
+        }
         players.add(player);
         sortPlayers();
     }
 
+    /**
+     * Takes every player's wins and losses from the cluster's counters, after other nodes' counts came in
+     */
+    public static synchronized void refreshCounts() {
+        if (counters == null || players == null) {
+            return;
+        }
+        for (Player player : players) {
+            player.wins = counters.getWins(player.getName());
+            player.losses = counters.getLosses(player.getName());
+        }
+        sortPlayers();
+    }
+
     /**
      * Removes a player from the list
      * Called when a player signs out
      *
      * @param player - player to be removed
      */
-    public static void removePlayer(Player player) {
+    public static synchronized void removePlayer(Player player) {
         players.remove(player);
+        sortPlayers();
     }
 
     /**
@@ -75,4 +218,17 @@ public class TournamentScoreboard {
      */
     public static LinkedList<Player> getPlayers() { return players; }
 
+    /**
+     * The scoreboard, best first, as it was when a result or player last changed it
+     * Never waits for games that are ending.
+     *
+     * @return - the standings
+     */
+    public static List<Standing> getStandings() { return standings; }
+
+    /**
+     * @return - the ratings the scoreboard is ranked by
+     */
+    public static synchronized Ratings getRatings() { return ratings; }
+
 }
@@ -1,5 +1,7 @@
 package com.webcheckers.model;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Stack;
 import java.util.logging.Logger;
 import static com.webcheckers.model.CheckersBoardHelper.getSpace;
@@ -40,6 +42,8 @@ public class Turn {
     private Player player;
     private Piece.Color playerColor;
     private Stack<Space[][]> pendingMoves;
+    // The moves that made each pending board
+    private Stack<Move> moves;
     private State state;
     private Move lastValidMove;
 
@@ -60,6 +64,7 @@ public class Turn {
         this.playerColor = color;
 
         pendingMoves = new Stack<>();
+        moves = new Stack<>();
         state = State.EMPTY_TURN;
 
         LOG.fine(String.format("Turn initialized in [%s] state", state));
@@ -79,8 +84,7 @@ public class Turn {
                 player.getName(),
                 move.toString()));
 
-        move.setPieceColor(playerColor);
-        move.setPlayer(player);
+        move = move.withPlayer(player, playerColor);
 
         Space[][] board = getLatestBoard();
 
@@ -159,6 +163,7 @@ public class Turn {
 		LOG.finest("Move successfully made on board");
 
 		pendingMoves.push(matrix);
+		moves.push(move);
 		lastValidMove = move;
 
 		setStateAfterMove(move);
@@ -188,6 +193,7 @@ public class Turn {
     public boolean backupMove() {
         if (!pendingMoves.isEmpty()) {
             pendingMoves.pop();
+            moves.pop();
 
             LOG.info(String.format("Removing last move from %s's history",
                     player.getName()));
@@ -272,4 +278,13 @@ public class Turn {
     public Space[][] getLatestBoard() {
         return (pendingMoves.empty()) ? startingBoard : pendingMoves.peek();
     }
+
+    /**
+     * The moves made so far this turn
+     *
+     * @return - the moves, in order
+     */
+    List<Move> getMoves() {
+        return Collections.unmodifiableList(moves);
+    }
 }
@@ -0,0 +1,529 @@
+package com.webcheckers.tools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.webcheckers.ai.AlphaBetaEngine;
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.Engine;
+import com.webcheckers.ai.MctsEngine;
+import com.webcheckers.ai.MoveList;
+import com.webcheckers.ai.SearchLimits;
+import com.webcheckers.ai.SearchResult;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Turn;
+
+/**
+ * Engine against engine matches, to tell whether a change made an engine stronger or faster
+ *
+ * Every game is played through CheckersGame and Turn, as the server plays them, from one of a suite of
+ * balanced openings: the positions a few plies from the start that a shallow deterministic search scores
+ * close to even. Each opening is played twice with the colors swapped, so neither engine profits from
+ * a lopsided opening. Games run in parallel, each worker thread with its own engines searching on one
+ * thread, so nodes/s and think times are per CPU. A game that reaches the ply limit is a draw.
+ *
+ * The report gives the candidate's wins, draws and losses with 95% confidence intervals, its score and
+ * Elo difference against the baseline, and nodes/s and average think time of both. With --save the
+ * results are written to a file; with --check the run fails if the candidate's score is significantly
+ * below the saved score or its nodes/s dropped by more than the tolerance.
+ *
+ * Run with: mvn compile exec:java@arena -Dexec.args="--engine alphabeta --baseline mcts --games 400"
+ */
+public class Arena {
+
+    // Held so the quieted level is not lost when the logger is garbage collected
+    private static final Logger APP_LOG = Logger.getLogger("com.webcheckers");
+
+    public static final int DEFAULT_GAMES = 200;
+    public static final int DEFAULT_DEPTH = 6;
+    public static final int DEFAULT_OPENING_PLIES = 3;
+    public static final int DEFAULT_MAX_PLIES = 200;
+    public static final double DEFAULT_TOLERANCE = 0.10;
+
+    // Openings scored within this of even, in hundredths of a piece, at this depth are balanced
+    static final int BALANCE = 30;
+    static final int BALANCE_DEPTH = 8;
+
+    private static final double Z_95 = 1.96;
+
+    private static final String USAGE = "Usage: Arena [--engine NAME] [--baseline NAME] [--games N] "
+            + "[--threads N] [--depth N | --millis N] [--opening-plies N] [--max-plies N] "
+            + "[--save FILE] [--check FILE] [--tolerance F]\n"
+            + "Engines: " + engines().keySet();
+
+    /**
+     * Engines the arena can play, each built on the single-thread pool of a worker
+     */
+    static Map<String, Function<ForkJoinPool, Engine>> engines() {
+        Map<String, Function<ForkJoinPool, Engine>> engines = new LinkedHashMap<>();
+        engines.put("alphabeta", pool -> new AlphaBetaEngine(pool, 18));
+        engines.put("mcts", pool -> new MctsEngine(pool, 1 << 18));
+        return engines;
+    }
+
+    /**
+     * How a game ended for the candidate
+     */
+    enum Outcome {
+        WIN,
+        DRAW,
+        LOSS
+    }
+
+    /**
+     * Totals of a match, from the candidate's point of view
+     */
+    public static class Result {
+        private int wins;
+        private int draws;
+        private int losses;
+        // [0] candidate, [1] baseline
+        private final long[] nodes = new long[2];
+        private final long[] nanos = new long[2];
+        private final long[] moves = new long[2];
+
+        public int getWins() { return wins; }
+
+        public int getDraws() { return draws; }
+
+        public int getLosses() { return losses; }
+
+        public int getGames() { return wins + draws + losses; }
+
+        /**
+         * @return - points per game, a win being 1 and a draw 1/2
+         */
+        public double getScore() {
+            return (getGames() == 0) ? 0.5 : (wins + draws / 2.0) / getGames();
+        }
+
+        /**
+         * 95% confidence interval of the score, from the variance of the game results
+         *
+         * @return - lower and upper bound
+         */
+        public double[] getScoreInterval() {
+            int games = getGames();
+            if (games == 0) {
+                return new double[]{0, 1};
+            }
+            double score = getScore();
+            double variance = (wins * square(1 - score) + draws * square(0.5 - score) + losses * square(score)) / games;
+            double margin = Z_95 * Math.sqrt(variance / games);
+            return new double[]{Math.max(0, score - margin), Math.min(1, score + margin)};
+        }
+
+        /**
+         * 95% Wilson interval of the share of games with an outcome
+         *
+         * @param outcome - WIN, DRAW or LOSS
+         * @return - lower and upper bound
+         */
+        double[] getRateInterval(Outcome outcome) {
+            int count = (outcome == Outcome.WIN) ? wins : (outcome == Outcome.DRAW) ? draws : losses;
+            return wilson(count, getGames());
+        }
+
+        /**
+         * @param candidate - true for the candidate, false for the baseline
+         * @return - nodes searched per second of think time
+         */
+        public long getNodesPerSecond(boolean candidate) {
+            int side = candidate ? 0 : 1;
+            return (nanos[side] == 0) ? 0 : (long) (nodes[side] * 1e9 / nanos[side]);
+        }
+
+        /**
+         * @param candidate - true for the candidate, false for the baseline
+         * @return - average think time of a move, in milliseconds
+         */
+        public double getAverageThinkMillis(boolean candidate) {
+            int side = candidate ? 0 : 1;
+            return (moves[side] == 0) ? 0 : nanos[side] / 1e6 / moves[side];
+        }
+
+        private void add(Game game) {
+            switch (game.outcome) {
+                case WIN:
+                    wins++;
+                    break;
+                case DRAW:
+                    draws++;
+                    break;
+                default:
+                    losses++;
+            }
+            for (int side = 0; side < 2; side++) {
+                nodes[side] += game.nodes[side];
+                nanos[side] += game.nanos[side];
+                moves[side] += game.moves[side];
+            }
+        }
+    }
+
+    /**
+     * One game's outcome and the work each engine did
+     */
+    private static final class Game {
+        private Outcome outcome;
+        private final long[] nodes = new long[2];
+        private final long[] nanos = new long[2];
+        private final long[] moves = new long[2];
+    }
+
+    private final Function<ForkJoinPool, Engine> candidate;
+    private final Function<ForkJoinPool, Engine> baseline;
+    private final SearchLimits limits;
+    private final int maxPlies;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param candidate - builds the engine being tested on a pool
+     * @param baseline  - builds the engine it plays against on a pool
+     * @param limits    - limits of every move of both engines
+     * @param maxPlies  - plies after which a game is a draw
+     */
+    public Arena(Function<ForkJoinPool, Engine> candidate, Function<ForkJoinPool, Engine> baseline,
+                 SearchLimits limits, int maxPlies) {
+        this.candidate = Objects.requireNonNull(candidate, "candidate must not be null");
+        this.baseline = Objects.requireNonNull(baseline, "baseline must not be null");
+        this.limits = Objects.requireNonNull(limits, "limits must not be null");
+        this.maxPlies = maxPlies;
+    }
+
+    /**
+     * The balanced openings: positions a number of plies from the start that are close to even
+     *
+     * @param plies - plies from the start
+     * @return - the moves of each opening, in a fixed order
+     */
+    public static List<long[]> openings(int plies) {
+        List<long[]> openings = new ArrayList<>();
+        AlphaBetaEngine judge = new AlphaBetaEngine(ForkJoinPool.commonPool(), 16);
+        collect(Board.startingPosition(), new long[plies], 0, judge, openings);
+        return openings;
+    }
+
+    private static void collect(Board board, long[] line, int ply, Engine judge, List<long[]> openings) {
+        MoveList moves = new MoveList();
+        if (board.generateMoves(moves) == 0) {
+            return;
+        }
+        if (ply == line.length) {
+            SearchResult result = judge.search(board, SearchLimits.deterministic(BALANCE_DEPTH));
+            if (Math.abs(result.getScore()) <= BALANCE) {
+                openings.add(line.clone());
+            }
+            return;
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            line[ply] = moves.get(i);
+            collect(board.play(moves.get(i)), line, ply + 1, judge, openings);
+        }
+    }
+
+    /**
+     * Plays a match on a number of threads
+     * Game 2n and 2n+1 play opening n, with the candidate RED and then WHITE.
+     *
+     * @param openings - the opening suite, reused from the start if there are more games than openings
+     * @param games    - number of games
+     * @param threads  - games played at once
+     * @return - the totals
+     * @throws InterruptedException - if interrupted while waiting for the games
+     */
+    public Result play(List<long[]> openings, int games, int threads) throws InterruptedException {
+        if (openings.isEmpty()) {
+            throw new IllegalArgumentException("No openings to play");
+        }
+        List<ForkJoinPool> pools = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<Engine[]> engines = ThreadLocal.withInitial(() -> {
+            ForkJoinPool pool = new ForkJoinPool(1);
+            pools.add(pool);
+            return new Engine[]{candidate.apply(pool), baseline.apply(pool)};
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Game>> played = new ArrayList<>();
+        Result result = new Result();
+        try {
+            for (int i = 0; i < games; i++) {
+                long[] opening = openings.get((i / 2) % openings.size());
+                boolean candidateRed = (i % 2) == 0;
+                played.add(executor.submit(() -> {
+                    Engine[] mine = engines.get();
+                    return play(mine[0], mine[1], candidateRed, opening);
+                }));
+            }
+            for (Future<Game> game : played) {
+                result.add(game.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            for (ForkJoinPool pool : pools) {
+                pool.shutdown();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays one game through CheckersGame
+     */
+    private Game play(Engine candidateEngine, Engine baselineEngine, boolean candidateRed, long[] opening) {
+        Player red = new Player(candidateRed ? "candidate" : "baseline", Player.GameType.NORMAL);
+        Player white = new Player(candidateRed ? "baseline" : "candidate", Player.GameType.NORMAL);
+        CheckersGame game = new CheckersGame(red, white);
+        Game record = new Game();
+
+        for (int ply = 0; game.getTurn() != null; ply++) {
+            if (ply == maxPlies) {
+                record.outcome = Outcome.DRAW;
+                return record;
+            }
+            Player active = game.getPlayerActive();
+            Board board = Board.of(game.getBoard(), game.getPlayerColor(active));
+            boolean candidateToMove = (active == red) == candidateRed;
+            long move;
+
+            if (ply < opening.length) {
+                move = opening[ply];
+            } else {
+                // Timed here rather than by the engines, whose millisecond clocks read 0 for quick moves
+                long start = System.nanoTime();
+                SearchResult result = (candidateToMove ? candidateEngine : baselineEngine).search(board, limits);
+                int side = candidateToMove ? 0 : 1;
+                record.nanos[side] += System.nanoTime() - start;
+                record.nodes[side] += result.getNodes();
+                record.moves[side]++;
+                move = result.getMove();
+            }
+            submit(game, active, board, move);
+        }
+
+        boolean redWon = game.getWinner() == red;
+        record.outcome = (redWon == candidateRed) ? Outcome.WIN : Outcome.LOSS;
+        return record;
+    }
+
+    private static void submit(CheckersGame game, Player player, Board board, long move) {
+        Turn turn = game.getTurn();
+        for (Move step : board.toMoves(move)) {
+            Message validated = turn.validateMove(step);
+            if (validated.getType() != Message.MessageType.info) {
+                throw new IllegalStateException(String.format("Move %s was rejected: %s",
+                        Board.format(move), validated.getText()));
+            }
+        }
+        Message submitted = game.submitTurn(player);
+        if (submitted.getType() != Message.MessageType.info) {
+            throw new IllegalStateException(String.format("Turn %s was not submitted: %s",
+                    Board.format(move), submitted.getText()));
+        }
+    }
+
+    // REGRESSION GATE
+
+    /**
+     * Writes the results a later run is checked against
+     *
+     * @param result - the results
+     * @param file   - file to write
+     * @throws IOException - if the file cannot be written
+     */
+    public static void save(Result result, Path file) throws IOException {
+        Properties saved = new Properties();
+        saved.setProperty("score", Double.toString(result.getScore()));
+        saved.setProperty("nodesPerSecond", Long.toString(result.getNodesPerSecond(true)));
+        saved.setProperty("thinkMillis", Double.toString(result.getAverageThinkMillis(true)));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            saved.store(out, "Arena results");
+        }
+    }
+
+    /**
+     * Checks results against saved ones
+     *
+     * @param result    - the results of this run
+     * @param file      - results saved by an earlier run
+     * @param tolerance - share of the saved nodes/s that may be lost, e.g. 0.1
+     * @return - the regressions found, empty if there are none
+     * @throws IOException - if the file cannot be read
+     */
+    public static List<String> check(Result result, Path file, double tolerance) throws IOException {
+        Properties saved = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            saved.load(in);
+        }
+        List<String> regressions = new ArrayList<>();
+
+        double score = Double.parseDouble(saved.getProperty("score"));
+        if (result.getScoreInterval()[1] < score) {
+            regressions.add(String.format("Score %.3f is below the saved %.3f", result.getScore(), score));
+        }
+        long nodesPerSecond = Long.parseLong(saved.getProperty("nodesPerSecond"));
+        if (result.getNodesPerSecond(true) < nodesPerSecond * (1 - tolerance)) {
+            regressions.add(String.format("Speed %d nodes/s is below the saved %d nodes/s",
+                    result.getNodesPerSecond(true), nodesPerSecond));
+        }
+        return regressions;
+    }
+
+    // STATISTICS
+
+    /**
+     * Elo difference that scores the given share of the points
+     *
+     * @param score - points per game, strictly between 0 and 1
+     * @return - the difference; infinite at 0 or 1
+     */
+    static double elo(double score) {
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    static double[] wilson(int count, int total) {
+        if (total == 0) {
+            return new double[]{0, 1};
+        }
+        double p = count / (double) total;
+        double z2 = Z_95 * Z_95;
+        double centre = (p + z2 / (2 * total)) / (1 + z2 / total);
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / total + z2 / (4.0 * total * total)) / (1 + z2 / total);
+        return new double[]{Math.max(0, centre - margin), Math.min(1, centre + margin)};
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    /**
+     * Prints a match's results
+     */
+    static void print(Result result, String candidateName, String baselineName) {
+        System.out.println(String.format("%s vs. %s: %d games", candidateName, baselineName, result.getGames()));
+        for (Outcome outcome : Outcome.values()) {
+            int count = (outcome == Outcome.WIN) ? result.getWins()
+                    : (outcome == Outcome.DRAW) ? result.getDraws() : result.getLosses();
+            double[] interval = result.getRateInterval(outcome);
+            System.out.println(String.format("  %-5s %5d  %5.1f%%  [%5.1f%%, %5.1f%%]", outcome.name().toLowerCase(),
+                    count, 100.0 * count / Math.max(1, result.getGames()), 100 * interval[0], 100 * interval[1]));
+        }
+        double[] score = result.getScoreInterval();
+        System.out.println(String.format("  score %.3f [%.3f, %.3f], Elo %+.0f [%+.0f, %+.0f]",
+                result.getScore(), score[0], score[1], elo(result.getScore()), elo(score[0]), elo(score[1])));
+        System.out.println(String.format("  %-10s %12d nodes/s %9.1f ms/move", candidateName,
+                result.getNodesPerSecond(true), result.getAverageThinkMillis(true)));
+        System.out.println(String.format("  %-10s %12d nodes/s %9.1f ms/move", baselineName,
+                result.getNodesPerSecond(false), result.getAverageThinkMillis(false)));
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        String candidateName = "alphabeta";
+        String baselineName = "mcts";
+        int games = DEFAULT_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        SearchLimits limits = SearchLimits.depth(DEFAULT_DEPTH);
+        int openingPlies = DEFAULT_OPENING_PLIES;
+        int maxPlies = DEFAULT_MAX_PLIES;
+        Path saveFile = null;
+        Path checkFile = null;
+        double tolerance = DEFAULT_TOLERANCE;
+
+        Map<String, Function<ForkJoinPool, Engine>> engines = engines();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--engine":
+                        candidateName = args[++i];
+                        break;
+                    case "--baseline":
+                        baselineName = args[++i];
+                        break;
+                    case "--games":
+                        games = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--depth":
+                        limits = SearchLimits.depth(Integer.parseInt(args[++i]));
+                        break;
+                    case "--millis":
+                        limits = SearchLimits.time(Long.parseLong(args[++i]), SearchLimits.MAX_DEPTH);
+                        break;
+                    case "--opening-plies":
+                        openingPlies = Integer.parseInt(args[++i]);
+                        break;
+                    case "--max-plies":
+                        maxPlies = Integer.parseInt(args[++i]);
+                        break;
+                    case "--save":
+                        saveFile = Paths.get(args[++i]);
+                        break;
+                    case "--check":
+                        checkFile = Paths.get(args[++i]);
+                        break;
+                    case "--tolerance":
+                        tolerance = Double.parseDouble(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (!engines.containsKey(candidateName) || !engines.containsKey(baselineName)) {
+                throw new IllegalArgumentException("Unknown engine");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        APP_LOG.setLevel(Level.WARNING);
+
+        List<long[]> openings = openings(openingPlies);
+        System.out.println(String.format("%d balanced openings of %d plies, %s, %d threads",
+                openings.size(), openingPlies, limits, threads));
+
+        Arena arena = new Arena(engines.get(candidateName), engines.get(baselineName), limits, maxPlies);
+        Result result = arena.play(openings, games, threads);
+        print(result, candidateName, baselineName);
+
+        if (saveFile != null) {
+            save(result, saveFile);
+            System.out.println("Saved the results to " + saveFile);
+        }
+        if (checkFile != null) {
+            List<String> regressions = check(result, checkFile, tolerance);
+            if (!regressions.isEmpty()) {
+                regressions.forEach(System.out::println);
+                System.exit(1);
+            }
+            System.out.println("No regression against " + checkFile);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.webcheckers.tools;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.webcheckers.model.Message;
+
+/**
+ * A simulated user of the web site, driven by a LoadTest
+ * A bot repeats sessions (sign in, do something, sign out) until the load test stops.
+ */
+abstract class Bot implements Runnable {
+
+    private static final Logger LOG = Logger.getLogger(Bot.class.getName());
+
+    private static final Gson GSON = new Gson();
+
+    protected final LoadTest harness;
+    protected final BotClient client;
+    protected final Random random;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param harness - load test driving the bot
+     * @param seed    - seed of the bot's random choices
+     */
+    Bot(LoadTest harness, long seed) {
+        this.harness = harness;
+        this.client = new BotClient(harness.getBaseUrl(), harness);
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        while (harness.isRunning()) {
+            try {
+                session();
+            } catch (IOException e) {
+                if (LOG.isLoggable(Level.FINE)) {
+                    LOG.fine(String.format("%s: %s", Thread.currentThread().getName(), e));
+                }
+                if (!pause(harness.getPollMillis())) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * One sign in to sign out visit of the site
+     *
+     * @throws IOException - if a request fails; the bot pauses and starts a new session
+     */
+    protected abstract void session() throws IOException;
+
+    /**
+     * Signs in as a casual player and loads the home page the sign-in redirects to
+     *
+     * @param name - player name
+     * @return - true if the server accepted the name
+     */
+    protected boolean signIn(String name) throws IOException {
+        BotClient.Response response = client.post("/signin", "name=" + encode(name) + "&casual=on", BotClient.FORM);
+
+        if (!response.isRedirectTo("/")) {
+            harness.recordError("POST /signin");
+            return false;
+        }
+        client.get("/");
+        return true;
+    }
+
+    /**
+     * Signs out and loads the home page the sign-out redirects to
+     */
+    protected void signOut() throws IOException {
+        client.get("/signout");
+        client.get("/");
+    }
+
+    /**
+     * Text of a JSON Message returned by an Ajax route
+     *
+     * @param response - the response
+     * @return - the message, or null if the body is not a Message
+     */
+    protected static Message message(BotClient.Response response) {
+        try {
+            return GSON.fromJson(response.body, Message.class);
+        } catch (JsonSyntaxException e) {
+            return null;
+        }
+    }
+
+    protected static boolean isInfo(Message message) {
+        return message != null && message.getType() == Message.MessageType.info;
+    }
+
+    protected <T> T pick(List<T> choices) {
+        return choices.get(random.nextInt(choices.size()));
+    }
+
+    /**
+     * Sleeps for a while, unless the load test is stopping
+     *
+     * @param millis - time to sleep
+     * @return - true if the bot should carry on, false if it was interrupted
+     */
+    protected boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    protected static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
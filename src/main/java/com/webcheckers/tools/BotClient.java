@@ -0,0 +1,169 @@
+package com.webcheckers.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client of one load test bot, standing in for one browser
+ * It keeps the bot's session cookie, never follows redirects on its own so every hop is timed,
+ * and records the latency of each request with the LoadTest under its method and path.
+ */
+class BotClient {
+
+    static final String FORM = "application/x-www-form-urlencoded; charset=UTF-8";
+    static final String JSON = "application/json; charset=UTF-8";
+
+    private static final int TIMEOUT_MILLIS = 30000;
+
+    /**
+     * Status, redirect target and body of a response
+     */
+    static class Response {
+        final int status;
+        final String location;
+        final String body;
+
+        Response(int status, String location, String body) {
+            this.status = status;
+            this.location = location;
+            this.body = body;
+        }
+
+        boolean isRedirectTo(String path) {
+            return status / 100 == 3 && location != null && location.endsWith(path);
+        }
+    }
+
+    private final String baseUrl;
+    private final LoadTest harness;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    /**
+     * Parameterized constructor
+     *
+     * @param baseUrl - server address, e.g. http://localhost:4568
+     * @param harness - load test recording the latencies
+     */
+    BotClient(String baseUrl, LoadTest harness) {
+        this.baseUrl = baseUrl;
+        this.harness = harness;
+    }
+
+    Response get(String pathAndQuery) throws IOException {
+        return send("GET", pathAndQuery, null, null);
+    }
+
+    Response post(String path, String body, String contentType) throws IOException {
+        return send("POST", path, body, contentType);
+    }
+
+    /**
+     * Sends one request with the session cookie and records its latency
+     * Failed connections and server errors are recorded as errors of the route.
+     */
+    private Response send(String method, String pathAndQuery, String body, String contentType) throws IOException {
+        int query = pathAndQuery.indexOf('?');
+        String route = method + " " + ((query < 0) ? pathAndQuery : pathAndQuery.substring(0, query));
+
+        long start = System.nanoTime();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + pathAndQuery).openConnection();
+            connection.setRequestMethod(method);
+            connection.setInstanceFollowRedirects(false);
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+
+            if (!cookies.isEmpty()) {
+                connection.setRequestProperty("Cookie", formatCookies());
+            }
+
+            if (body != null) {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", contentType);
+                connection.setFixedLengthStreamingMode(bytes.length);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(bytes);
+                }
+            }
+
+            int status = connection.getResponseCode();
+            String responseBody = readBody(connection, status);
+            storeCookies(connection.getHeaderFields().get("Set-Cookie"));
+
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (status >= 500) {
+                harness.recordError(route);
+            } else {
+                harness.record(route, micros);
+            }
+
+            return new Response(status, connection.getHeaderField("Location"), responseBody);
+
+        } catch (IOException e) {
+            harness.recordError(route);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the whole body, so the connection goes back to the keep-alive pool
+     */
+    private static String readBody(HttpURLConnection connection, int status) throws IOException {
+        InputStream in = (status >= 400) ? connection.getErrorStream() : connection.getInputStream();
+        if (in == null) {
+            return "";
+        }
+
+        try (InputStream body = in) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void storeCookies(List<String> headers) {
+        if (headers == null) {
+            return;
+        }
+        for (String header : headers) {
+            String pair = header.split(";", 2)[0];
+            int equals = pair.indexOf('=');
+
+            if (equals > 0) {
+                String name = pair.substring(0, equals).trim();
+                String value = pair.substring(equals + 1).trim();
+
+                if (value.isEmpty() || header.toLowerCase().contains("max-age=0")) {
+                    cookies.remove(name);
+                } else {
+                    cookies.put(name, value);
+                }
+            }
+        }
+    }
+
+    private String formatCookies() {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<String, String> cookie : cookies.entrySet()) {
+            if (header.length() > 0) {
+                header.append("; ");
+            }
+            header.append(cookie.getKey()).append('=').append(cookie.getValue());
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.webcheckers.tools;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.webcheckers.ai.OpeningBookBuilder;
+
+/**
+ * Builds the opening book the computer player consults before it searches
+ *
+ * Reads recorded games, one per line in numeric notation as the simulator's scripts, optionally ending
+ * with the result, e.g. "11-15 23-19 8-11 22-17 1-0", and replays them in parallel.
+ *
+ * Run with: mvn compile exec:java@openingbook -Dexec.args="--games games.txt --out opening.book"
+ */
+public class BuildOpeningBook {
+
+    public static final String DEFAULT_FILE = "opening.book";
+    public static final int DEFAULT_MIN_WEIGHT = 2;
+
+    private static final String USAGE = "Usage: BuildOpeningBook --games FILE [--games FILE...] [--out FILE] "
+            + "[--plies N] [--min-weight N] [--threads N]";
+
+    public static void main(String[] args) throws Exception {
+        List<String> games = new ArrayList<>();
+        Path out = Paths.get(DEFAULT_FILE);
+        int plies = OpeningBookBuilder.DEFAULT_PLIES;
+        int minWeight = DEFAULT_MIN_WEIGHT;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games":
+                        games.addAll(GameSimulator.readScripts(args[++i]));
+                        break;
+                    case "--out":
+                        out = Paths.get(args[++i]);
+                        break;
+                    case "--plies":
+                        plies = Integer.parseInt(args[++i]);
+                        break;
+                    case "--min-weight":
+                        minWeight = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (games.isEmpty()) {
+                throw new IllegalArgumentException("No games");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies, minWeight).addGames(games, threads);
+        builder.write(out);
+
+        System.out.println(String.format("%d games, %d positions, %d games left the rules",
+                builder.getGames(), builder.getPositions(), builder.getRejected()));
+    }
+}
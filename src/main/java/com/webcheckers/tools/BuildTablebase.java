@@ -0,0 +1,47 @@
+package com.webcheckers.tools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.webcheckers.ai.TablebaseGenerator;
+
+/**
+ * Generates the endgame tablebase the computer player and the game adjudication read
+ *
+ * Up to 4 pieces takes seconds and about 4MB; 5 pieces takes minutes and about 100MB.
+ *
+ * Run with: mvn compile exec:java@tablebase -Dexec.args="--pieces 5 --out endgame.tb"
+ */
+public class BuildTablebase {
+
+    public static final int DEFAULT_PIECES = 4;
+    public static final String DEFAULT_FILE = "endgame.tb";
+
+    private static final String USAGE = "Usage: BuildTablebase [--pieces N] [--out FILE]";
+
+    public static void main(String[] args) throws IOException {
+        int pieces = DEFAULT_PIECES;
+        Path out = Paths.get(DEFAULT_FILE);
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--pieces":
+                        pieces = Integer.parseInt(args[++i]);
+                        break;
+                    case "--out":
+                        out = Paths.get(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        new TablebaseGenerator(pieces).generate().write(out);
+    }
+}
@@ -0,0 +1,245 @@
+package com.webcheckers.tools;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveNotation;
+import com.webcheckers.model.Player;
+
+/**
+ * Headless game simulator for throughput testing
+ *
+ * Plays complete games through PlayerLobby, GameManager, Turn and CheckersGame without the HTTP layer,
+ * in parallel on a fixed number of threads, and reports games/s, moves/s and bytes allocated per game.
+ * Game i is played with seed (seed + i) and script (i mod scripts), so the outcome totals of a run
+ * do not depend on the number of threads and can be compared between builds.
+ *
+ * Run with: mvn compile exec:java@simulate -Dexec.args="--games 1000 --threads 4"
+ */
+public class GameSimulator {
+
+    private static final Logger LOG = Logger.getLogger(GameSimulator.class.getName());
+
+    // Held so the quieted level is not lost when the logger is garbage collected
+    private static final Logger APP_LOG = Logger.getLogger("com.webcheckers");
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static final int DEFAULT_GAMES = 1000;
+    public static final int DEFAULT_WARMUP_GAMES = 200;
+    public static final int DEFAULT_MAX_TURNS = 200;
+    public static final long DEFAULT_SEED = 1;
+
+    private static final String USAGE = "Usage: GameSimulator [--games N] [--threads N] [--seed N] "
+            + "[--max-turns N] [--warmup N] [--script FILE] [--verbose]";
+
+    private final int threads;
+    private final int maxTurns;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param threads  - number of games played at once
+     * @param maxTurns - number of turns after which a game is abandoned
+     */
+    public GameSimulator(int threads, int maxTurns) {
+        if (threads < 1 || maxTurns < 1) {
+            throw new IllegalArgumentException("threads and maxTurns must be positive");
+        }
+        this.threads = threads;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Plays a number of games in a fresh lobby and game manager
+     *
+     * @param games   - number of games to play
+     * @param seed    - seed of the first game
+     * @param scripts - games in numeric notation to replay, see MoveNotation; may be empty
+     * @return - totals of the run
+     * @throws InterruptedException - if interrupted while waiting for the games
+     */
+    public SimulationReport run(int games, long seed, List<String> scripts) throws InterruptedException {
+        final PlayerLobby playerLobby = new PlayerLobby();
+        final GameManager gameManager = new GameManager();
+        final List<List<List<Move>>> parsedScripts = new ArrayList<>();
+
+        for (String script : scripts) {
+            parsedScripts.add(MoveNotation.parseGame(script));
+        }
+
+        SimulationReport report = new SimulationReport(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>(games);
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < games; i++) {
+                final int index = i;
+                final List<List<Move>> script = parsedScripts.isEmpty()
+                        ? Collections.<List<Move>>emptyList()
+                        : parsedScripts.get(i % parsedScripts.size());
+
+                results.add(pool.submit(() ->
+                        playGame(playerLobby, gameManager, report, index, seed + index, script)));
+            }
+
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    // playGame records failed games itself, so this is a lobby or simulator bug
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+
+        return report;
+    }
+
+    /**
+     * Signs in two players, plays their game and signs them out
+     */
+    private void playGame(PlayerLobby playerLobby, GameManager gameManager, SimulationReport report,
+                          int index, long seed, List<List<Move>> script) {
+        Player red = playerLobby.newPlayer("Sim Red " + index, Player.GameType.NORMAL);
+        Player white = playerLobby.newPlayer("Sim White " + index, Player.GameType.NORMAL);
+
+        SimulatedGame game = new SimulatedGame(gameManager, red, white, seed, script, maxTurns);
+        long before = allocatedBytes();
+
+        try {
+            SimulatedGame.Outcome outcome = game.play();
+            long allocated = (before < 0) ? -1 : allocatedBytes() - before;
+
+            report.record(game, outcome, allocated);
+
+        } catch (RuntimeException e) {
+            LOG.warning(String.format("Game %d (seed %d) failed: %s%n  %s",
+                    index, seed, e.getMessage(), MoveNotation.formatGame(game.getTranscript())));
+            report.recordFailure();
+
+        } finally {
+            playerLobby.destroyPlayer(red.getName());
+            playerLobby.destroyPlayer(white.getName());
+        }
+    }
+
+    /**
+     * Bytes allocated so far by the current thread
+     *
+     * @return - allocated bytes, or -1 if the JVM does not measure thread allocation
+     */
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Command line entry point
+     *
+     * @param args - options, see USAGE
+     * @throws Exception - if a script cannot be read or the run is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        int games = DEFAULT_GAMES;
+        int warmup = DEFAULT_WARMUP_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxTurns = DEFAULT_MAX_TURNS;
+        long seed = DEFAULT_SEED;
+        List<String> scripts = new ArrayList<>();
+        boolean verbose = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games":
+                        games = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--max-turns":
+                        maxTurns = Integer.parseInt(args[++i]);
+                        break;
+                    case "--warmup":
+                        warmup = Integer.parseInt(args[++i]);
+                        break;
+                    case "--script":
+                        scripts.addAll(readScripts(args[++i]));
+                        break;
+                    case "--verbose":
+                        verbose = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        if (!verbose) {
+            // Per-move logging would dominate the measurement
+            APP_LOG.setLevel(Level.WARNING);
+        }
+
+        GameSimulator simulator = new GameSimulator(threads, maxTurns);
+
+        if (warmup > 0) {
+            // Let the JIT compile the hot paths before measuring
+            simulator.run(warmup, seed, scripts);
+        }
+
+        SimulationReport report = simulator.run(games, seed, scripts);
+        System.out.print(report);
+
+        if (report.getFailures() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads one game per non-blank line of a file, skipping lines starting with '#'
+     */
+    static List<String> readScripts(String path) throws IOException {
+        List<String> scripts = new ArrayList<>();
+
+        for (String line : Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8)) {
+            String script = line.trim();
+            if (!script.isEmpty() && !script.startsWith("#")) {
+                scripts.add(script);
+            }
+        }
+        return scripts;
+    }
+}
@@ -0,0 +1,138 @@
+package com.webcheckers.tools;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets
+ *
+ * Latencies are recorded in microseconds. Values below 16 get a bucket each; above that every power of two
+ * is split into 16 buckets, so a percentile is reported within about 6% of the recorded value while the
+ * whole histogram stays a fixed array of counters that any number of bot threads can record into.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records one successful request
+     *
+     * @param micros - latency in microseconds
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+
+        counts.incrementAndGet(bucket(value));
+        count.incrementAndGet();
+        totalMicros.addAndGet(value);
+
+        long max;
+        do {
+            max = maxMicros.get();
+        } while (value > max && !maxMicros.compareAndSet(max, value));
+    }
+
+    /**
+     * Records one failed request: an exception, or a response the route should never give
+     */
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    /**
+     * Bucket holding a value
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Smallest value that falls into a bucket
+     */
+    static long lowestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Latency at a percentile of the recorded requests
+     *
+     * @param percentile - percentile between 0 and 100
+     * @return - latency in microseconds, the lowest value of the bucket holding the percentile; 0 if empty
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(lowestValue(bucket), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * Adds every recorded request of another histogram to this one
+     *
+     * @param other - histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long bucketCount = other.counts.get(bucket);
+            if (bucketCount > 0) {
+                counts.addAndGet(bucket, bucketCount);
+            }
+        }
+        count.addAndGet(other.count.get());
+        errors.addAndGet(other.errors.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+
+        long otherMax = other.maxMicros.get();
+        long max;
+        do {
+            max = maxMicros.get();
+        } while (otherMax > max && !maxMicros.compareAndSet(max, otherMax));
+    }
+
+    public long getCount() { return count.get(); }
+
+    public long getErrors() { return errors.get(); }
+
+    public long getMaxMicros() { return maxMicros.get(); }
+
+    /**
+     * Mean latency of the recorded requests
+     *
+     * @return - mean in microseconds, 0 if empty
+     */
+    public long getMeanMicros() {
+        long total = count.get();
+        return (total == 0) ? 0 : totalMicros.get() / total;
+    }
+}
@@ -0,0 +1,127 @@
+package com.webcheckers.tools;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms of every route hit during one window of a load test
+ * Routes are keyed by method and path without the query string, e.g. "POST /checkTurn".
+ */
+public class LoadStats {
+
+    private final ConcurrentHashMap<String, LatencyHistogram> routes = new ConcurrentHashMap<>();
+    private final LatencyHistogram all = new LatencyHistogram();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    /**
+     * Records a completed request
+     *
+     * @param route  - method and path of the request
+     * @param micros - latency in microseconds
+     */
+    public void record(String route, long micros) {
+        histogram(route).record(micros);
+        all.record(micros);
+    }
+
+    /**
+     * Records a failed request
+     *
+     * @param route - method and path of the request
+     */
+    public void recordError(String route) {
+        histogram(route).recordError();
+        all.recordError();
+    }
+
+    private LatencyHistogram histogram(String route) {
+        return routes.computeIfAbsent(route, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Closes the window; later requests are still recorded but no longer count towards its duration
+     */
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Histogram of every route together
+     *
+     * @return - the combined histogram
+     */
+    public LatencyHistogram getAll() {
+        return all;
+    }
+
+    /**
+     * Histograms by route, sorted by route
+     *
+     * @return - route to histogram
+     */
+    public Map<String, LatencyHistogram> getRoutes() {
+        return new TreeMap<>(routes);
+    }
+
+    /**
+     * Completed requests per second over the window
+     *
+     * @return - requests per second, 0 for an empty window
+     */
+    public double getRequestsPerSecond() {
+        long end = (endNanos == 0) ? System.nanoTime() : endNanos;
+        long elapsed = end - startNanos;
+
+        return (elapsed <= 0) ? 0 : all.getCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Adds every request recorded in another window to this one
+     *
+     * @param other - window to add
+     */
+    public void add(LoadStats other) {
+        for (Map.Entry<String, LatencyHistogram> route : other.routes.entrySet()) {
+            histogram(route.getKey()).add(route.getValue());
+        }
+        all.add(other.all);
+    }
+
+    /**
+     * Formats the per-route table: requests, errors, mean and percentiles in milliseconds
+     *
+     * @return - the table
+     */
+    public String formatRoutes() {
+        StringBuilder table = new StringBuilder();
+
+        table.append(String.format("  %-20s %9s %7s %8s %8s %8s %8s %8s%n",
+                "route", "requests", "errors", "mean", "p50", "p90", "p99", "max"));
+
+        for (Map.Entry<String, LatencyHistogram> route : getRoutes().entrySet()) {
+            table.append(formatRow(route.getKey(), route.getValue()));
+        }
+        table.append(formatRow("all", all));
+
+        return table.toString();
+    }
+
+    private static String formatRow(String name, LatencyHistogram histogram) {
+        return String.format("  %-20s %9d %7d %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                name,
+                histogram.getCount(),
+                histogram.getErrors(),
+                millis(histogram.getMeanMicros()),
+                millis(histogram.getPercentile(50)),
+                millis(histogram.getPercentile(90)),
+                millis(histogram.getPercentile(99)),
+                millis(histogram.getMaxMicros()));
+    }
+
+    static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
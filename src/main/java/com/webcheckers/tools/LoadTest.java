@@ -0,0 +1,395 @@
+package com.webcheckers.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.webcheckers.ai.AlphaBetaEngine;
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.appl.PositionAnalyzer;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveTypeAdapter;
+import com.webcheckers.model.TournamentScoreboard;
+import com.webcheckers.ui.WebServer;
+
+import spark.Spark;
+import spark.template.freemarker.FreeMarkerEngine;
+
+/**
+ * HTTP load test with bot players
+ *
+ * Starts the real WebServer on a local port (or targets a running server) and ramps up bot players in steps,
+ * doubling the players each step. Player bots sign in, get paired, poll /checkTurn, validate and submit legal
+ * moves and sign out through the real routes, each with its own session cookie; spectator bots watch games.
+ * Every step reports requests/s and latency percentiles, and the run ends with the percentiles per route and
+ * the saturation point: the last step after which doubling the players stopped raising the throughput.
+ *
+ * Run with: mvn compile exec:java@loadtest -Dexec.args="--players 128 --step-seconds 20"
+ */
+public class LoadTest {
+
+    private static final Logger LOG = Logger.getLogger(LoadTest.class.getName());
+
+    // Held so the quieted level is not lost when the logger is garbage collected
+    private static final Logger APP_LOG = Logger.getLogger("com.webcheckers");
+
+    public static final int DEFAULT_PORT = 4568;
+    public static final int DEFAULT_START_PLAYERS = 2;
+    public static final int DEFAULT_MAX_PLAYERS = 64;
+    public static final int DEFAULT_STEP_SECONDS = 15;
+    public static final int DEFAULT_SPECTATOR_PERCENT = 10;
+    public static final int DEFAULT_POLL_MILLIS = 500;
+    public static final int DEFAULT_THINK_MILLIS = 100;
+    public static final int DEFAULT_SPECTATE_MILLIS = 1000;
+    public static final int DEFAULT_MAX_TURNS = 200;
+
+    // A step still scales if it adds at least this share of the throughput its extra players should add
+    static final double SCALING_EFFICIENCY = 0.5;
+
+    // A step is saturated if more than this share of its requests fail
+    static final double ERROR_RATE = 0.01;
+
+    private static final String USAGE = "Usage: LoadTest [--players N] [--start-players N] [--spectators PERCENT] "
+            + "[--step-seconds N] [--poll-ms N] [--think-ms N] [--max-turns N] [--seed N] "
+            + "[--port N] [--server-threads N] [--url URL]";
+
+    /**
+     * Bots running during one step of the ramp and what they measured
+     */
+    public static class Step {
+        private final int players;
+        private final int spectators;
+        private final LoadStats stats;
+
+        Step(int players, int spectators, LoadStats stats) {
+            this.players = players;
+            this.spectators = spectators;
+            this.stats = stats;
+        }
+
+        public int getPlayers() { return players; }
+
+        public int getSpectators() { return spectators; }
+
+        public LoadStats getStats() { return stats; }
+
+        /**
+         * Share of the step's requests that failed
+         *
+         * @return - failed requests over all requests, 0 if there were none
+         */
+        public double getErrorRate() {
+            LatencyHistogram all = stats.getAll();
+            long requests = all.getCount() + all.getErrors();
+
+            return (requests == 0) ? 0 : all.getErrors() / (double) requests;
+        }
+
+        @Override
+        public String toString() {
+            LatencyHistogram all = stats.getAll();
+
+            return String.format("  %7d %10d %10.1f %8.2f %8.2f %8.2f %7.2f%%",
+                    players, spectators, stats.getRequestsPerSecond(),
+                    LoadStats.millis(all.getPercentile(50)),
+                    LoadStats.millis(all.getPercentile(90)),
+                    LoadStats.millis(all.getPercentile(99)),
+                    getErrorRate() * 100);
+        }
+    }
+
+    private final String baseUrl;
+    private final int pollMillis;
+    private final int thinkMillis;
+    private final int spectateMillis;
+    private final int maxTurns;
+    private final long seed;
+
+    private final List<Thread> bots = new ArrayList<>();
+    private final AtomicInteger names = new AtomicInteger();
+    private final LoadStats total = new LoadStats();
+    private volatile LoadStats window = new LoadStats();
+    private volatile boolean running = true;
+    private int players;
+    private int spectators;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param baseUrl        - server address, e.g. http://localhost:4568
+     * @param pollMillis     - delay between polls of /checkTurn and the home page
+     * @param thinkMillis    - delay before a bot plays its turn
+     * @param spectateMillis - delay between refreshes of a spectated game
+     * @param maxTurns       - turns a bot plays before resigning
+     * @param seed           - seed of the bots' random moves
+     */
+    public LoadTest(String baseUrl, int pollMillis, int thinkMillis, int spectateMillis, int maxTurns, long seed) {
+        this.baseUrl = baseUrl;
+        this.pollMillis = pollMillis;
+        this.thinkMillis = thinkMillis;
+        this.spectateMillis = spectateMillis;
+        this.maxTurns = maxTurns;
+        this.seed = seed;
+    }
+
+    /**
+     * Grows the bots to the given numbers and measures them for a while
+     * Bots keep running from one step to the next.
+     *
+     * @param targetPlayers    - player bots to run, rounded up to a whole number of pairs
+     * @param targetSpectators - spectator bots to run
+     * @param millis           - length of the measurement
+     * @return - the measured step
+     * @throws InterruptedException - if interrupted while measuring
+     */
+    public synchronized Step runStep(int targetPlayers, int targetSpectators, long millis) throws InterruptedException {
+        while (players < targetPlayers) {
+            BlockingQueue<String> partner = new ArrayBlockingQueue<>(1);
+            startBot(new PlayerBot(this, seed + players, false, partner));
+            startBot(new PlayerBot(this, seed + players + 1, true, partner));
+            players += 2;
+        }
+        while (spectators < targetSpectators) {
+            startBot(new SpectatorBot(this, seed - spectators - 1));
+            spectators++;
+        }
+
+        LoadStats stats = new LoadStats();
+        window = stats;
+        Thread.sleep(millis);
+        stats.finish();
+
+        return new Step(players, spectators, stats);
+    }
+
+    private void startBot(Bot bot) {
+        Thread thread = new Thread(bot, String.format("bot-%d", bots.size()));
+        thread.setDaemon(true);
+        bots.add(thread);
+        thread.start();
+    }
+
+    /**
+     * Stops every bot; bots finish their current request and sign out
+     *
+     * @param millis - time to wait for the bots
+     * @throws InterruptedException - if interrupted while waiting
+     */
+    public synchronized void stop(long millis) throws InterruptedException {
+        running = false;
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        for (Thread bot : bots) {
+            bot.interrupt();
+        }
+        for (Thread bot : bots) {
+            bot.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+    }
+
+    /**
+     * Index of the saturation point: the last step before throughput stopped scaling with the players
+     * or requests started failing
+     *
+     * @param steps - measured steps, with a growing number of players
+     * @return - index of the saturation step, or -1 if every step still scaled
+     */
+    public static int findSaturation(List<Step> steps) {
+        for (int i = 1; i < steps.size(); i++) {
+            Step previous = steps.get(i - 1);
+            Step current = steps.get(i);
+
+            double expectedGain = current.getPlayers() / (double) previous.getPlayers() - 1;
+            double gain = current.getStats().getRequestsPerSecond() / previous.getStats().getRequestsPerSecond() - 1;
+
+            if (current.getErrorRate() > ERROR_RATE || gain < expectedGain * SCALING_EFFICIENCY) {
+                return i - 1;
+            }
+        }
+        return -1;
+    }
+
+    // Used by the bots
+
+    void record(String route, long micros) {
+        window.record(route, micros);
+        total.record(route, micros);
+    }
+
+    void recordError(String route) {
+        window.recordError(route);
+        total.recordError(route);
+    }
+
+    String nextName(String role) {
+        return role + " " + names.incrementAndGet();
+    }
+
+    boolean isRunning() { return running; }
+
+    String getBaseUrl() { return baseUrl; }
+
+    int getPollMillis() { return pollMillis; }
+
+    int getThinkMillis() { return thinkMillis; }
+
+    int getSpectateMillis() { return spectateMillis; }
+
+    int getMaxTurns() { return maxTurns; }
+
+    /**
+     * Every request recorded since the load test started
+     *
+     * @return - the totals
+     */
+    public LoadStats getTotal() {
+        return total;
+    }
+
+    /**
+     * Starts the application's WebServer in this JVM with the routes Application serves
+     * Only what the routes need is wired: there is no computer opponent, cluster, score log or archive,
+     * and sign-ins are kept in the HTTP session, so the load measured is the routes' own.
+     *
+     * @param port    - port to listen on
+     * @param threads - maximum server threads, 0 for the Spark default
+     * @return - base URL of the server
+     */
+    public static String startServer(int port, int threads) {
+        Spark.port(port);
+        if (threads > 0) {
+            Spark.threadPool(threads);
+        }
+
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapter(Move.class, new MoveTypeAdapter())
+                .create();
+
+        PositionAnalyzer analyzer = new PositionAnalyzer(new AlphaBetaEngine(),
+                PositionAnalyzer.DEFAULT_BUDGET_MILLIS, PositionAnalyzer.DEFAULT_CAPACITY, 1);
+        new WebServer(new FreeMarkerEngine(), new GameManager(), new PlayerLobby(), gson, new TournamentScoreboard(),
+                analyzer).initialize();
+        Spark.awaitInitialization();
+
+        return "http://localhost:" + port;
+    }
+
+    /**
+     * Command line entry point
+     *
+     * @param args - options, see USAGE
+     * @throws InterruptedException - if interrupted while measuring
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int maxPlayers = DEFAULT_MAX_PLAYERS;
+        int startPlayers = DEFAULT_START_PLAYERS;
+        int spectatorPercent = DEFAULT_SPECTATOR_PERCENT;
+        int stepSeconds = DEFAULT_STEP_SECONDS;
+        int pollMillis = DEFAULT_POLL_MILLIS;
+        int thinkMillis = DEFAULT_THINK_MILLIS;
+        int maxTurns = DEFAULT_MAX_TURNS;
+        int port = DEFAULT_PORT;
+        int serverThreads = 0;
+        long seed = 1;
+        String url = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--players":
+                        maxPlayers = Integer.parseInt(args[++i]);
+                        break;
+                    case "--start-players":
+                        startPlayers = Integer.parseInt(args[++i]);
+                        break;
+                    case "--spectators":
+                        spectatorPercent = Integer.parseInt(args[++i]);
+                        break;
+                    case "--step-seconds":
+                        stepSeconds = Integer.parseInt(args[++i]);
+                        break;
+                    case "--poll-ms":
+                        pollMillis = Integer.parseInt(args[++i]);
+                        break;
+                    case "--think-ms":
+                        thinkMillis = Integer.parseInt(args[++i]);
+                        break;
+                    case "--max-turns":
+                        maxTurns = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(args[++i]);
+                        break;
+                    case "--server-threads":
+                        serverThreads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--url":
+                        url = args[++i];
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (startPlayers < 2 || maxPlayers < startPlayers) {
+                throw new IllegalArgumentException("need 2 <= start players <= players");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        // Per-request logging would dominate the measurement
+        APP_LOG.setLevel(Level.WARNING);
+        System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "warn");
+
+        if (url == null) {
+            url = startServer(port, serverThreads);
+        }
+        LOG.warning(String.format("Load testing %s", url));
+
+        LoadTest loadTest = new LoadTest(url, pollMillis, thinkMillis, DEFAULT_SPECTATE_MILLIS, maxTurns, seed);
+        List<Step> steps = new ArrayList<>();
+
+        System.out.println(String.format("  %7s %10s %10s %8s %8s %8s %8s",
+                "players", "spectators", "req/s", "p50 ms", "p90 ms", "p99 ms", "errors"));
+
+        for (int players = startPlayers; players <= maxPlayers; players *= 2) {
+            Step step = loadTest.runStep(players, players * spectatorPercent / 100,
+                    TimeUnit.SECONDS.toMillis(stepSeconds));
+            steps.add(step);
+            System.out.println(step);
+        }
+
+        loadTest.stop(TimeUnit.SECONDS.toMillis(stepSeconds));
+
+        System.out.println();
+        System.out.println("Latency by route, whole run (ms)");
+        System.out.print(loadTest.getTotal().formatRoutes());
+        System.out.println();
+
+        int saturation = findSaturation(steps);
+        if (saturation < 0) {
+            System.out.println(String.format("Not saturated: throughput still scaled at %d players",
+                    steps.get(steps.size() - 1).getPlayers()));
+        } else {
+            Step step = steps.get(saturation);
+            System.out.println(String.format("Saturation point: %d players, %.1f req/s, p99 %.2f ms",
+                    step.getPlayers(), step.getStats().getRequestsPerSecond(),
+                    LoadStats.millis(step.getStats().getAll().getPercentile(99))));
+        }
+
+        Spark.stop();
+        System.exit(0);
+    }
+}
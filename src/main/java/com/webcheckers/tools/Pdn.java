@@ -0,0 +1,169 @@
+package com.webcheckers.tools;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.webcheckers.appl.ArchivedGame;
+import com.webcheckers.appl.GameArchive;
+import com.webcheckers.appl.PdnImporter;
+import com.webcheckers.model.PdnReader;
+import com.webcheckers.model.PdnWriter;
+
+/**
+ * Pdn: imports Portable Draughts Notation files into the game archive, and exports the archive as PDN
+ *
+ * Imported games are replayed through the model's rules on several threads (see PdnImporter) and only
+ * the legal ones are archived; they are archived as ending when they are imported. Exports stream the
+ * archive a block at a time, so neither direction holds more than a few games in memory. "-" reads
+ * from or writes to the console.
+ *
+ * Run with: mvn compile exec:java@pdn -Dexec.args="--import games.pdn"
+ *           mvn compile exec:java@pdn -Dexec.args="--export games.pdn --player Ann"
+ */
+public class Pdn {
+
+    // Held so the quieted level is not lost when the logger is garbage collected
+    private static final Logger APP_LOG = Logger.getLogger("com.webcheckers");
+
+    public static final String DEFAULT_ARCHIVE = "archive";
+
+    private static final String USAGE = "Usage: Pdn [--archive DIR] [--threads N] "
+            + "(--import FILE... | --export FILE [--player NAME])";
+
+    /**
+     * Imports PDN files into an archive
+     *
+     * @param archive - the archive
+     * @param files   - the files, "-" for the console
+     * @param threads - number of threads replaying games
+     * @return - counts of the games of every file
+     * @throws IOException          - if a file or the archive cannot be read or written
+     * @throws InterruptedException - if interrupted while importing
+     */
+    static List<PdnImporter.Result> importFiles(GameArchive archive, List<String> files, int threads)
+            throws IOException, InterruptedException {
+        PdnImporter importer = new PdnImporter(threads);
+        List<PdnImporter.Result> results = new ArrayList<>();
+        for (String file : files) {
+            try (PdnReader reader = new PdnReader(open(file))) {
+                results.add(importer.importGames(reader, (record, game) -> archive.archive(game)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Exports the games of an archive as PDN
+     *
+     * @param archive - the archive
+     * @param out     - where the PDN text goes
+     * @param player  - only the games this player played, or null for every game
+     * @return - number of games written
+     * @throws IOException - if the archive cannot be read or the text cannot be written
+     */
+    static int exportGames(GameArchive archive, Writer out, String player) throws IOException {
+        PdnWriter writer = new PdnWriter(out);
+        if (player != null) {
+            for (ArchivedGame game : archive.getGames(player)) {
+                writer.write(game.toPdn());
+            }
+        } else {
+            try {
+                archive.forEach(game -> {
+                    try {
+                        writer.write(game.toPdn());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        writer.flush();
+        return writer.getGames();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String archiveDir = DEFAULT_ARCHIVE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> imports = new ArrayList<>();
+        String export = null;
+        String player = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--archive":
+                        archiveDir = args[++i];
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--import":
+                        while (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                            imports.add(args[++i]);
+                        }
+                        break;
+                    case "--export":
+                        export = args[++i];
+                        break;
+                    case "--player":
+                        player = args[++i];
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (imports.isEmpty() == (export == null) || threads < 1) {
+                throw new IllegalArgumentException("Import or export");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        // Turn logs every move
+        APP_LOG.setLevel(Level.WARNING);
+
+        try (GameArchive archive = GameArchive.open(Paths.get(archiveDir))) {
+            if (export == null) {
+                List<PdnImporter.Result> results = importFiles(archive, imports, threads);
+                for (int i = 0; i < imports.size(); i++) {
+                    PdnImporter.Result result = results.get(i);
+                    System.out.printf("%s: %s%n", imports.get(i), result);
+                    result.getErrors().forEach(error -> System.out.println("  " + error));
+                }
+            } else if (export.equals("-")) {
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                exportGames(archive, out, player);
+            } else {
+                try (Writer out = Files.newBufferedWriter(Paths.get(export), StandardCharsets.UTF_8)) {
+                    System.out.printf("%s: %d games written%n", export, exportGames(archive, out, player));
+                }
+            }
+        }
+    }
+
+    /**
+     * PDN files are read as UTF-8; unlike Files.newBufferedReader, an InputStreamReader replaces the
+     * bytes of other encodings rather than failing, so an odd name does not stop an import
+     */
+    private static Reader open(String file) throws IOException {
+        InputStream in = file.equals("-") ? System.in : Files.newInputStream(Paths.get(file));
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,227 @@
+package com.webcheckers.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.MoveList;
+import com.webcheckers.model.CheckersBoardBuilder;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.PositionString;
+import com.webcheckers.model.RulesPerft;
+import com.webcheckers.model.Space;
+import com.webcheckers.model.TestCheckersBoards;
+
+/**
+ * Perft: counts the positions reachable to a depth with each move generator, to check and time them
+ *
+ * Every generator counts the same positions: the starting position and each TestCheckersBoards setup,
+ * with either color to move. The "rules" generator plays the turns through Turn and MoveValidator (see
+ * RulesPerft) and is the reference; the others must count exactly the same, or the run fails. The
+ * report gives the counts and the nodes/s of each generator. --fen counts from any position string
+ * instead.
+ *
+ * Run with: mvn compile exec:java@perft -Dexec.args="--depth 7"
+ */
+public class Perft {
+
+    // Held so the quieted level is not lost when the logger is garbage collected
+    private static final Logger APP_LOG = Logger.getLogger("com.webcheckers");
+
+    public static final int DEFAULT_DEPTH = 6;
+
+    private static final String USAGE = "Usage: Perft [--depth N] [--position NAME] [--fen POSITION]";
+
+    /**
+     * A move generator that can count positions
+     */
+    public interface Generator {
+        String getName();
+
+        /**
+         * @param board - the board, which must not be changed
+         * @param color - color of the player to move
+         * @param depth - turns to play
+         * @return - number of positions at that depth
+         */
+        long count(Space[][] board, Piece.Color color, int depth);
+    }
+
+    /**
+     * A position counted from, with the color to move
+     */
+    public static class Position {
+        private final String name;
+        private final Space[][] board;
+        private final Piece.Color color;
+
+        Position(String name, Space[][] board, Piece.Color color) {
+            this.name = name;
+            this.board = board;
+            this.color = color;
+        }
+
+        public String getName() { return name; }
+
+        public Space[][] getBoard() { return board; }
+
+        public Piece.Color getColor() { return color; }
+    }
+
+    /**
+     * The generators, the reference first
+     *
+     * @return - the generators
+     */
+    public static List<Generator> generators() {
+        return Arrays.asList(
+                generator("rules", RulesPerft::perft),
+                generator("board", (board, color, depth) -> perft(Board.of(board, color), depth, new MoveList())));
+    }
+
+    private interface Counter {
+        long count(Space[][] board, Piece.Color color, int depth);
+    }
+
+    private static Generator generator(String name, Counter counter) {
+        return new Generator() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public long count(Space[][] board, Piece.Color color, int depth) {
+                return counter.count(board, color, depth);
+            }
+        };
+    }
+
+    /**
+     * Perft of the computer player's Board
+     *
+     * @param board - the position
+     * @param depth - turns to play
+     * @param moves - move stack shared by the levels
+     * @return - number of positions at that depth
+     */
+    static long perft(Board board, int depth, MoveList moves) {
+        if (depth == 0) {
+            return 1;
+        }
+        int base = moves.size();
+        int count = board.generateMoves(moves);
+        if (depth == 1) {
+            moves.truncate(base);
+            return count;
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            nodes += perft(board.play(moves.get(base + i)), depth - 1, moves);
+        }
+        moves.truncate(base);
+        return nodes;
+    }
+
+    /**
+     * The starting position and every TestCheckersBoards setup, each with either color to move
+     *
+     * @return - the positions, in a fixed order
+     */
+    public static List<Position> positions() {
+        List<Position> positions = new ArrayList<>();
+        positions.add(new Position("start", CheckersBoardBuilder.aStartingBoard().getBoard(), Piece.Color.RED));
+
+        for (Map.Entry<String, PositionString> setup : TestCheckersBoards.positions().entrySet()) {
+            for (Piece.Color color : Piece.Color.values()) {
+                positions.add(new Position(setup.getKey() + "/" + color, setup.getValue().getBoard(), color));
+            }
+        }
+        return positions;
+    }
+
+    public static void main(String[] args) {
+        int depth = DEFAULT_DEPTH;
+        String only = null;
+        PositionString fen = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--depth":
+                        depth = Integer.parseInt(args[++i]);
+                        break;
+                    case "--position":
+                        only = args[++i];
+                        break;
+                    case "--fen":
+                        fen = PositionString.parse(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        // Turn logs every move
+        APP_LOG.setLevel(Level.WARNING);
+
+        List<Generator> generators = generators();
+        long[] nodes = new long[generators.size()];
+        long[] nanos = new long[generators.size()];
+        boolean agree = true;
+
+        StringBuilder header = new StringBuilder(String.format("%-28s", "position, depth " + depth));
+        for (Generator generator : generators) {
+            header.append(String.format(" %12s", generator.getName()));
+        }
+        System.out.println(header);
+
+        List<Position> positions = (fen == null)
+                ? positions()
+                : Collections.singletonList(new Position(fen.toString(), fen.getBoard(), fen.getColorToMove()));
+        for (Position position : positions) {
+            if (only != null && !position.getName().startsWith(only)) {
+                continue;
+            }
+            StringBuilder line = new StringBuilder(String.format("%-28s", position.getName()));
+            long reference = -1;
+            boolean same = true;
+
+            for (int i = 0; i < generators.size(); i++) {
+                long start = System.nanoTime();
+                long count = generators.get(i).count(position.getBoard(), position.getColor(), depth);
+                nanos[i] += System.nanoTime() - start;
+                nodes[i] += count;
+
+                if (reference < 0) {
+                    reference = count;
+                }
+                same &= count == reference;
+                line.append(String.format(" %12d", count));
+            }
+            agree &= same;
+            System.out.println(same ? line : line.append("  MISMATCH"));
+        }
+
+        StringBuilder speed = new StringBuilder(String.format("%-28s", "nodes/s"));
+        for (int i = 0; i < generators.size(); i++) {
+            speed.append(String.format(" %12d", (nanos[i] == 0) ? 0 : (long) (nodes[i] * 1e9 / nanos[i])));
+        }
+        System.out.println(speed);
+
+        System.out.println(agree ? "Every generator agrees with the rules" : "Generators disagree with the rules");
+        if (!agree) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.webcheckers.tools;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.webcheckers.model.CheckersBoardBuilder;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Position;
+import com.webcheckers.model.Space;
+
+import static com.webcheckers.model.CheckersBoardHelper.getSpace;
+
+/**
+ * A bot that plays casual games, one game per session
+ *
+ * Bots play in pairs. The white bot signs in, hands its name to its red partner and refreshes the home page
+ * until it is redirected into a game. The red bot finds the white bot in the lobby and challenges it.
+ * In the game both bots poll /checkTurn like the game view does, reload /game when it is their turn,
+ * read the board from the page and validate and submit random legal moves, finishing every multi-jump.
+ */
+class PlayerBot extends Bot {
+
+    private static final Pattern PIECE = Pattern.compile(
+            "id=\"piece-(\\d)-(\\d)\"\\s+data-type=\"(\\w+)\"\\s+data-color=\"(\\w+)\"");
+    private static final Pattern CURRENT_PLAYER = Pattern.compile("\"currentPlayer\" : \"([^\"]*)\"");
+    private static final Pattern RED_PLAYER = Pattern.compile("\"redPlayer\" : \"([^\"]*)\"");
+    private static final Pattern ACTIVE_COLOR = Pattern.compile("\"activeColor\" : \"(\\w+)\"");
+
+    // Polls before a bot gives up on its partner and starts a new session
+    private static final int PAIRING_ATTEMPTS = 50;
+
+    private static final String THIS_PLAYERS_TURN = "true";
+    private static final String OTHER_PLAYERS_TURN = "false";
+
+    private final boolean red;
+    private final BlockingQueue<String> partner;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param harness - load test driving the bot
+     * @param seed    - seed of the bot's random moves
+     * @param red     - true for the bot that challenges, false for the bot that is challenged
+     * @param partner - hands the white bot's name to the red bot
+     */
+    PlayerBot(LoadTest harness, long seed, boolean red, BlockingQueue<String> partner) {
+        super(harness, seed);
+        this.red = red;
+        this.partner = partner;
+    }
+
+    @Override
+    protected void session() throws IOException {
+        String name = harness.nextName(red ? "Red" : "White");
+
+        if (!signIn(name)) {
+            return;
+        }
+        try {
+            boolean paired = red ? challenge() : awaitChallenge(name);
+            if (paired) {
+                play();
+            }
+        } finally {
+            signOut();
+        }
+    }
+
+    /**
+     * Waits for the partner's name, finds it in the lobby and starts a game with it
+     */
+    private boolean challenge() throws IOException {
+        String opponent = null;
+
+        while (opponent == null && harness.isRunning()) {
+            try {
+                opponent = partner.poll(harness.getPollMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        for (int attempt = 0; opponent != null && attempt < PAIRING_ATTEMPTS && harness.isRunning(); attempt++) {
+            BotClient.Response home = client.get("/?search=" + encode(opponent));
+
+            if (home.body.contains(">" + opponent + "</a>")) {
+                BotClient.Response game = client.get("/game?whitePlayer=" + encode(opponent));
+                return game.status == 200;
+            }
+            if (!pause(harness.getPollMillis())) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hands this bot's name to its partner and refreshes the home page until redirected into the game
+     */
+    private boolean awaitChallenge(String name) throws IOException {
+        try {
+            partner.put(name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        for (int attempt = 0; attempt < PAIRING_ATTEMPTS && harness.isRunning(); attempt++) {
+            if (client.get("/").isRedirectTo("/game")) {
+                return client.get("/game").status == 200;
+            }
+            if (!pause(harness.getPollMillis())) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plays until the game is over, resigning once the turn limit is reached
+     */
+    private void play() throws IOException {
+        int turns = 0;
+
+        while (harness.isRunning()) {
+            Message check = message(client.post("/checkTurn", "", BotClient.FORM));
+
+            if (check != null && OTHER_PLAYERS_TURN.equals(check.getText())) {
+                if (!pause(harness.getPollMillis())) {
+                    return;
+                }
+                continue;
+            }
+
+            // Our turn, or the game is over: either way the game view reloads
+            BotClient.Response page = client.get("/game");
+            if (page.status != 200 || isGameOver(page.body)
+                    || check == null || !THIS_PLAYERS_TURN.equals(check.getText())) {
+                return;
+            }
+
+            Piece.Color color = colorOf(page.body);
+            if (color != activeColor(page.body)) {
+                if (!pause(harness.getPollMillis())) {
+                    return;
+                }
+                continue;
+            }
+
+            if (turns == harness.getMaxTurns()) {
+                client.post("/resignGame", "", BotClient.FORM);
+                client.get("/game");
+                return;
+            }
+
+            if (!pause(harness.getThinkMillis()) || !playTurn(readBoard(page.body), color)) {
+                return;
+            }
+            turns++;
+        }
+    }
+
+    /**
+     * Validates random legal moves until the turn is complete, then submits it
+     *
+     * @return - true if the turn was submitted
+     */
+    private boolean playTurn(Space[][] board, Piece.Color color) throws IOException {
+        List<Move> moves = MoveValidator.getMovesForPlayer(board, color);
+
+        while (!moves.isEmpty()) {
+            Move move = pick(moves);
+
+            if (!isInfo(message(client.post("/validateMove", toJson(move), BotClient.JSON)))) {
+                harness.recordError("POST /validateMove");
+                return false;
+            }
+
+            // Mirror the move on our copy of the board to find the rest of a multi-jump
+            if (move.isJump()) {
+                getSpace(board, move.getMidpoint()).removePiece();
+            }
+            getSpace(board, move.getEnd()).movePieceFrom(getSpace(board, move.getStart()));
+
+            if (!move.isJump()) {
+                break;
+            }
+            moves = MoveValidator.getJumpsFrom(board, move.getEnd(), color);
+        }
+
+        if (!isInfo(message(client.post("/submitTurn", "", BotClient.FORM)))) {
+            harness.recordError("POST /submitTurn");
+            return false;
+        }
+        return true;
+    }
+
+    private static Piece.Color colorOf(String page) {
+        Matcher currentPlayer = CURRENT_PLAYER.matcher(page);
+        Matcher redPlayer = RED_PLAYER.matcher(page);
+
+        if (currentPlayer.find() && redPlayer.find() && currentPlayer.group(1).equals(redPlayer.group(1))) {
+            return Piece.Color.RED;
+        }
+        return Piece.Color.WHITE;
+    }
+
+    private static Piece.Color activeColor(String page) {
+        Matcher activeColor = ACTIVE_COLOR.matcher(page);
+        return activeColor.find() ? Piece.Color.valueOf(activeColor.group(1)) : null;
+    }
+
+    private static boolean isGameOver(String page) {
+        return page.contains("Game won by") || page.contains("has resigned");
+    }
+
+    /**
+     * Rebuilds the board from the pieces rendered by game.ftl, which always uses board coordinates
+     */
+    static Space[][] readBoard(String page) {
+        CheckersBoardBuilder builder = CheckersBoardBuilder.aBoard();
+        Matcher piece = PIECE.matcher(page);
+
+        while (piece.find()) {
+            builder.withPieceAt(
+                    Piece.of(Piece.Type.valueOf(piece.group(3)), Piece.Color.valueOf(piece.group(4))),
+                    Position.at(Integer.parseInt(piece.group(1)), Integer.parseInt(piece.group(2))));
+        }
+        return builder.getBoard();
+    }
+
+    private static String toJson(Move move) {
+        return String.format("{\"start\":{\"row\":%d,\"cell\":%d},\"end\":{\"row\":%d,\"cell\":%d}}",
+                move.getStartRow(), move.getStartCell(), move.getEndRow(), move.getEndCell());
+    }
+}
@@ -0,0 +1,217 @@
+package com.webcheckers.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.webcheckers.ai.AlphaBetaEngine;
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.MoveList;
+import com.webcheckers.ai.SearchLimits;
+import com.webcheckers.ai.SearchResult;
+
+/**
+ * Benchmark of the parallel alpha-beta search
+ *
+ * Searches the same positions to a fixed depth on pools of 1, 2, 4... threads, each with a fresh
+ * transposition table, and reports time, nodes/s and the speedup over one thread. The positions are
+ * the starting position and positions reached by random moves from a fixed seed, so runs compare.
+ * With --deterministic it also checks that every thread count found the same moves and scores.
+ *
+ * Run with: mvn compile exec:java@searchbench -Dexec.args="--depth 14 --threads 8"
+ */
+public class SearchBench {
+
+    // Held so the quieted level is not lost when the logger is garbage collected
+    private static final Logger APP_LOG = Logger.getLogger("com.webcheckers");
+
+    public static final int DEFAULT_DEPTH = 12;
+    public static final int DEFAULT_POSITIONS = 8;
+    public static final int DEFAULT_TABLE_BITS = 22;
+    public static final long DEFAULT_SEED = 1;
+
+    // Random moves played to reach each benchmark position
+    private static final int MAX_OPENING_PLIES = 24;
+
+    private static final String USAGE = "Usage: SearchBench [--depth N] [--threads N] [--positions N] "
+            + "[--seed N] [--deterministic]";
+
+    /**
+     * One thread count's run over every position
+     */
+    public static class Run {
+        private final int threads;
+        private final List<SearchResult> results = new ArrayList<>();
+        private long millis;
+        private long nodes;
+
+        Run(int threads) {
+            this.threads = threads;
+        }
+
+        public int getThreads() { return threads; }
+
+        public List<SearchResult> getResults() { return results; }
+
+        public long getMillis() { return millis; }
+
+        public long getNodes() { return nodes; }
+
+        /**
+         * Whether every position got the same move and score as in another run
+         *
+         * @param other - the run to compare with
+         * @return - true if the results match
+         */
+        public boolean sameResults(Run other) {
+            for (int i = 0; i < results.size(); i++) {
+                SearchResult mine = results.get(i);
+                SearchResult theirs = other.results.get(i);
+
+                if (mine.getMove() != theirs.getMove() || mine.getScore() != theirs.getScore()) {
+                    return false;
+                }
+            }
+            return results.size() == other.results.size();
+        }
+    }
+
+    /**
+     * Benchmark positions: the start and positions reached with random moves
+     *
+     * @param count - number of positions
+     * @param seed  - seed of the random moves
+     * @return - positions that still have moves
+     */
+    public static List<Board> positions(int count, long seed) {
+        Random random = new Random(seed);
+        List<Board> positions = new ArrayList<>();
+        positions.add(Board.startingPosition());
+
+        while (positions.size() < count) {
+            Board board = Board.startingPosition();
+            int plies = 1 + random.nextInt(MAX_OPENING_PLIES);
+            MoveList moves = new MoveList();
+
+            for (int ply = 0; ply < plies; ply++) {
+                moves.clear();
+                if (board.generateMoves(moves) == 0) {
+                    break;
+                }
+                board = board.play(moves.get(random.nextInt(moves.size())));
+            }
+
+            moves.clear();
+            if (board.generateMoves(moves) > 0) {
+                positions.add(board);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Searches every position on a pool of the given size
+     *
+     * @param positions - positions to search
+     * @param limits    - limits of each search
+     * @param threads   - pool parallelism
+     * @param tableBits - log2 of the transposition table entries
+     * @return - the run
+     */
+    public static Run run(List<Board> positions, SearchLimits limits, int threads, int tableBits) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        Run run = new Run(threads);
+
+        try {
+            AlphaBetaEngine engine = new AlphaBetaEngine(pool, tableBits);
+            for (Board board : positions) {
+                SearchResult result = engine.search(board, limits);
+                run.results.add(result);
+                run.millis += result.getMillis();
+                run.nodes += result.getNodes();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return run;
+    }
+
+    public static void main(String[] args) {
+        int depth = DEFAULT_DEPTH;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        int count = DEFAULT_POSITIONS;
+        long seed = DEFAULT_SEED;
+        boolean deterministic = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--depth":
+                        depth = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        maxThreads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--positions":
+                        count = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--deterministic":
+                        deterministic = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        APP_LOG.setLevel(Level.WARNING);
+
+        List<Board> positions = positions(count, seed);
+        SearchLimits limits = deterministic ? SearchLimits.deterministic(depth) : SearchLimits.depth(depth);
+
+        // Warm up the JIT on a shallower search
+        run(positions, deterministic ? SearchLimits.deterministic(Math.min(depth, 8)) : SearchLimits.depth(Math.min(depth, 8)),
+                maxThreads, DEFAULT_TABLE_BITS);
+
+        System.out.println(String.format("%d positions, %s", positions.size(), limits));
+        System.out.println("  threads    time ms     nodes/s   speedup");
+
+        Run serial = null;
+        boolean reproducible = true;
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            Run run = run(positions, limits, threads, DEFAULT_TABLE_BITS);
+            if (serial == null) {
+                serial = run;
+            }
+            reproducible &= run.sameResults(serial);
+
+            System.out.println(String.format("  %7d %10d %11d %8.2fx",
+                    threads, run.getMillis(),
+                    (run.getMillis() == 0) ? 0 : run.getNodes() * 1000 / run.getMillis(),
+                    (run.getMillis() == 0) ? 0 : serial.getMillis() / (double) run.getMillis()));
+
+            if (threads >= maxThreads) {
+                break;
+            }
+        }
+
+        if (deterministic) {
+            System.out.println(reproducible
+                    ? "Every thread count found the same moves and scores"
+                    : "Thread counts disagreed on moves or scores");
+            if (!reproducible) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.webcheckers.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveNotation;
+import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Turn;
+
+/**
+ * Plays one complete game through GameManager, Turn and CheckersGame, the same calls the routes make
+ * Each turn follows the next turn of the game's script, if it has one, or else a random legal move.
+ * The random moves are drawn from a seeded generator, so a game is fully determined by its script and seed.
+ */
+public class SimulatedGame {
+
+    // How a simulated game ended
+    public enum Outcome {
+        RED_WON,
+        WHITE_WON,
+        TURN_LIMIT
+    }
+
+    private final GameManager gameManager;
+    private final Player playerRed;
+    private final Player playerWhite;
+    private final Random random;
+    private final List<List<Move>> script;
+    private final int maxTurns;
+
+    private final List<List<Move>> transcript;
+    private int moveCount;
+    private boolean scriptRejected;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param gameManager - game manager the game is played in
+     * @param playerRed   - red player, who moves first
+     * @param playerWhite - white player
+     * @param seed        - seed of the random moves
+     * @param script      - turns to play before moving at random, may be empty
+     * @param maxTurns    - number of turns after which the player to move resigns
+     */
+    public SimulatedGame(GameManager gameManager, Player playerRed, Player playerWhite,
+                         long seed, List<List<Move>> script, int maxTurns) {
+        this.gameManager = Objects.requireNonNull(gameManager, "gameManager must not be null");
+        this.playerRed = Objects.requireNonNull(playerRed, "playerRed must not be null");
+        this.playerWhite = Objects.requireNonNull(playerWhite, "playerWhite must not be null");
+        this.script = Objects.requireNonNull(script, "script must not be null");
+        this.random = new Random(seed);
+        this.maxTurns = maxTurns;
+        this.transcript = new ArrayList<>();
+    }
+
+    /**
+     * Plays the game to the end and removes it from the game manager
+     *
+     * @return - how the game ended
+     * @throws IllegalStateException - if the application rejects a legal move or turn
+     */
+    public Outcome play() {
+        CheckersGame game = gameManager.getNewGame(playerRed, playerWhite);
+
+        if (game == null) {
+            throw new IllegalStateException(String.format("Could not start %s vs. %s",
+                    playerRed.getName(), playerWhite.getName()));
+        }
+
+        try {
+            while (game.getTurn() != null) {
+                Player activePlayer = game.getPlayerActive();
+
+                if (transcript.size() == maxTurns) {
+                    gameManager.resignGame(activePlayer);
+                    return Outcome.TURN_LIMIT;
+                }
+
+                Turn turn = gameManager.getPlayerTurn(activePlayer);
+                Piece.Color color = game.getPlayerColor(activePlayer);
+
+                List<Move> moves = playScriptedTurn(turn);
+                if (moves == null) {
+                    moves = playRandomTurn(turn, color);
+                }
+
+                Message submitted = gameManager.submitTurn(game, activePlayer);
+                if (submitted.getType() != Message.MessageType.info) {
+                    throw new IllegalStateException(String.format("Turn %s was not submitted: %s",
+                            MoveNotation.formatTurn(moves), submitted.getText()));
+                }
+
+                transcript.add(moves);
+                moveCount += moves.size();
+            }
+
+            return game.getWinner().equals(playerRed) ? Outcome.RED_WON : Outcome.WHITE_WON;
+
+        } finally {
+            gameManager.clearGame(playerRed);
+        }
+    }
+
+    /**
+     * Plays the next turn of the script
+     * A turn the application rejects is backed out, and the rest of the script is abandoned.
+     *
+     * @param turn - the active turn
+     * @return - the moves played, or null if no scripted turn was played
+     */
+    private List<Move> playScriptedTurn(Turn turn) {
+        if (scriptRejected || transcript.size() >= script.size()) {
+            return null;
+        }
+
+        List<Move> moves = script.get(transcript.size());
+
+        for (Move move : moves) {
+            if (turn.validateMove(move).getType() != Message.MessageType.info) {
+                scriptRejected = true;
+                break;
+            }
+        }
+
+        if (!scriptRejected && turn.isFinalized().getType() != Message.MessageType.info) {
+            scriptRejected = true;
+        }
+
+        if (scriptRejected) {
+            while (turn.backupMove()) {
+                // back out every move of the rejected turn
+            }
+            return null;
+        }
+        return moves;
+    }
+
+    /**
+     * Plays random legal moves until the turn can be submitted, finishing every multi-jump
+     *
+     * @param turn  - the active turn
+     * @param color - color of the active player's pieces
+     * @return - the moves played
+     */
+    private List<Move> playRandomTurn(Turn turn, Piece.Color color) {
+        List<Move> moves = new ArrayList<>(1);
+        Move move = pick(MoveValidator.getMovesForPlayer(turn.getLatestBoard(), color));
+
+        while (true) {
+            Message validated = turn.validateMove(move);
+            if (validated.getType() != Message.MessageType.info) {
+                throw new IllegalStateException(String.format("Legal move %s was rejected: %s",
+                        move, validated.getText()));
+            }
+            moves.add(move);
+
+            if (turn.isFinalized().getType() == Message.MessageType.info) {
+                return moves;
+            }
+            move = pick(MoveValidator.getJumpsFrom(turn.getLatestBoard(), move.getEnd(), color));
+        }
+    }
+
+    private Move pick(List<Move> moves) {
+        if (moves.isEmpty()) {
+            throw new IllegalStateException(String.format("No legal move after %s",
+                    MoveNotation.formatGame(transcript)));
+        }
+        return moves.get(random.nextInt(moves.size()));
+    }
+
+    /**
+     * Turns played so far
+     *
+     * @return - number of submitted turns
+     */
+    public int getTurnCount() {
+        return transcript.size();
+    }
+
+    /**
+     * Moves played so far, counting every hop of a multi-jump
+     *
+     * @return - number of validated moves in submitted turns
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Determines whether the application rejected a turn of the script
+     *
+     * @return - true if the script was abandoned, false otherwise
+     */
+    public boolean isScriptRejected() {
+        return scriptRejected;
+    }
+
+    /**
+     * Turns played so far, used to replay or report a game
+     *
+     * @return - the submitted turns, in order
+     */
+    public List<List<Move>> getTranscript() {
+        return Collections.unmodifiableList(transcript);
+    }
+}
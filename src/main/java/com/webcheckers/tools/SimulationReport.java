@@ -0,0 +1,154 @@
+package com.webcheckers.tools;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals of a GameSimulator run
+ * Games are recorded from every worker thread, so recording is synchronized.
+ */
+public class SimulationReport {
+
+    private final int threads;
+
+    private int games;
+    private int redWins;
+    private int whiteWins;
+    private int turnLimited;
+    private int scriptsRejected;
+    private int failures;
+    private long turns;
+    private long moves;
+    private long allocatedBytes;
+    private boolean allocationMeasured = true;
+    private long elapsedNanos;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param threads - number of threads the games were played on
+     */
+    public SimulationReport(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Adds a finished game to the totals
+     *
+     * @param game      - the finished game
+     * @param outcome   - how the game ended
+     * @param allocated - bytes allocated while playing the game, or -1 if allocation is not measured
+     */
+    public synchronized void record(SimulatedGame game, SimulatedGame.Outcome outcome, long allocated) {
+        games++;
+        turns += game.getTurnCount();
+        moves += game.getMoveCount();
+
+        switch (outcome) {
+            case RED_WON:
+                redWins++;
+                break;
+            case WHITE_WON:
+                whiteWins++;
+                break;
+            case TURN_LIMIT:
+                turnLimited++;
+                break;
+        }
+
+        if (game.isScriptRejected()) {
+            scriptsRejected++;
+        }
+
+        if (allocated < 0) {
+            allocationMeasured = false;
+        } else {
+            allocatedBytes += allocated;
+        }
+    }
+
+    /**
+     * Counts a game that failed because the application rejected a legal move or turn
+     */
+    public synchronized void recordFailure() {
+        failures++;
+    }
+
+    /**
+     * Records the wall clock time of the whole run
+     *
+     * @param elapsedNanos - elapsed time in nanoseconds
+     */
+    synchronized void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public synchronized int getGames() { return games; }
+
+    public synchronized int getRedWins() { return redWins; }
+
+    public synchronized int getWhiteWins() { return whiteWins; }
+
+    public synchronized int getTurnLimited() { return turnLimited; }
+
+    public synchronized int getScriptsRejected() { return scriptsRejected; }
+
+    public synchronized int getFailures() { return failures; }
+
+    public synchronized long getTurns() { return turns; }
+
+    public synchronized long getMoves() { return moves; }
+
+    /**
+     * Games finished per second of wall clock time
+     *
+     * @return - games per second, 0 if no time was recorded
+     */
+    public synchronized double getGamesPerSecond() {
+        return perSecond(games);
+    }
+
+    /**
+     * Moves validated per second of wall clock time
+     *
+     * @return - moves per second, 0 if no time was recorded
+     */
+    public synchronized double getMovesPerSecond() {
+        return perSecond(moves);
+    }
+
+    /**
+     * Average bytes allocated by the thread playing a game
+     *
+     * @return - bytes per game, or -1 if the JVM does not measure thread allocation
+     */
+    public synchronized long getBytesPerGame() {
+        if (!allocationMeasured || games == 0) {
+            return -1;
+        }
+        return allocatedBytes / games;
+    }
+
+    private double perSecond(long count) {
+        return (elapsedNanos == 0) ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("Simulated %d games on %d threads in %.3f s%n",
+                games, threads, elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        report.append(String.format("  RED won %d, WHITE won %d, turn limit %d, scripts rejected %d, failed %d%n",
+                redWins, whiteWins, turnLimited, scriptsRejected, failures));
+        report.append(String.format("  %d turns, %d moves%n", turns, moves));
+        report.append(String.format("  %.1f games/s, %.1f moves/s%n", getGamesPerSecond(), getMovesPerSecond()));
+
+        long bytesPerGame = getBytesPerGame();
+        if (bytesPerGame < 0) {
+            report.append(String.format("  allocation per game not measured on this JVM%n"));
+        } else {
+            report.append(String.format("  %.1f KB allocated per game%n", bytesPerGame / 1024.0));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.webcheckers.tools;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A bot that watches games
+ * Each session it picks a game from the home page, spectates it for a few refreshes of the
+ * game view, leaves through /exitSpectate and signs out.
+ */
+class SpectatorBot extends Bot {
+
+    private static final Pattern SPECTATE_LINK = Pattern.compile("href=\"/spectate\\?redPlayer=([^\"]+)\"");
+
+    // Game view refreshes per spectated game
+    private static final int VIEWS = 5;
+
+    SpectatorBot(LoadTest harness, long seed) {
+        super(harness, seed);
+    }
+
+    @Override
+    protected void session() throws IOException {
+        if (!signIn(harness.nextName("Spectator"))) {
+            return;
+        }
+        try {
+            List<String> games = new ArrayList<>();
+            Matcher link = SPECTATE_LINK.matcher(client.get("/").body);
+            while (link.find()) {
+                games.add(link.group(1));
+            }
+
+            if (games.isEmpty()) {
+                pause(harness.getSpectateMillis());
+                return;
+            }
+
+            if (client.get("/spectate?redPlayer=" + pick(games)).isRedirectTo("/game")) {
+                for (int view = 0; view < VIEWS && harness.isRunning(); view++) {
+                    if (client.get("/game").status != 200 || !pause(harness.getSpectateMillis())) {
+                        break;
+                    }
+                }
+            }
+
+            client.post("/exitSpectate", "", BotClient.FORM);
+            client.get("/");
+        } finally {
+            signOut();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.appl.GameRouter;
+import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.appl.PlayerReference;
+import com.webcheckers.model.Player;
+import spark.Filter;
+import spark.Request;
+import spark.Response;
+
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import static spark.Spark.halt;
+
+/**
+ * Sends both players of a game to the node of the cluster that owns the game
+ *
+ * Runs before the {@code GET /} and {@code GET /game} routes. A request to start a game is sent to its
+ * owner, signed by this node, and the opponent is sent after it on their next visit home here. The
+ * owner takes in an opponent it has not seen yet only from a request another node signed, as anyone
+ * can write the parameters of a request. A game started on its owner is played there to the end, as
+ * the game page's requests go back to the server that rendered it.
+ */
+public class GameRoutingFilter implements Filter {
+    private static final Logger LOG = Logger.getLogger(GameRoutingFilter.class.getName());
+
+    // Name the node that sent a request to start a game, when it sent it and its signature
+    static final String ROUTED_PARAM = "routedFrom";
+    static final String ROUTED_AT_PARAM = "routedAt";
+    static final String SIGNATURE_PARAM = "routeSignature";
+
+    private final GameRouter gameRouter;
+    private final PlayerLobby playerLobby;
+
+    /**
+     * Initializes the GameRoutingFilter
+     *
+     * @param gameRouter  - decides which node owns a game
+     * @param playerLobby - this node's signed-in players
+     */
+    GameRoutingFilter(final GameRouter gameRouter, final PlayerLobby playerLobby) {
+        Objects.requireNonNull(gameRouter, "gameRouter must not be null");
+        Objects.requireNonNull(playerLobby, "playerLobby must not be null");
+
+        this.gameRouter = gameRouter;
+        this.playerLobby = playerLobby;
+    }
+
+    /**
+     * Redirects to the owner of the game the request would start or the player was handed off to,
+     * unless that is this node
+     *
+     * @param request  - the HTTP request
+     * @param response - the HTTP response
+     */
+    @Override
+    public void handle(Request request, Response response) {
+        final Player currentPlayer = request.session().attribute("Player");
+        if (currentPlayer == null) {
+            return;
+        }
+        final String opponent = request.queryParams("whitePlayer");
+        if (opponent == null) {
+            final String owner = gameRouter.takeHandOff(currentPlayer);
+            if (owner != null) {
+                LOG.fine(String.format("Sending %s to their game on %s", currentPlayer.getName(), owner));
+                response.redirect(owner + WebServer.GAME_URL);
+                halt();
+            }
+            return;
+        }
+
+        if (request.queryParams(ROUTED_PARAM) != null) {
+            admit(request, currentPlayer, opponent);
+            return;
+        }
+        final Player opponentPlayer = playerLobby.getPlayer(opponent);
+        if (opponentPlayer == null || opponentPlayer.getType() != currentPlayer.getType()) {
+            // Not a game anyone can play; this node says why
+            return;
+        }
+        final String owner = gameRouter.route(currentPlayer, opponent);
+        if (owner != null) {
+            LOG.fine(String.format("Sending %s's game with %s to %s", currentPlayer.getName(), opponent, owner));
+            gameRouter.handOff(opponent, owner);
+            final long now = System.currentTimeMillis();
+            final String signature = gameRouter.sign(GameRouter.gameId(currentPlayer.getName(), opponent), now);
+            response.redirect(owner + WebServer.GAME_URL + "?" + request.queryString()
+                    + "&" + ROUTED_PARAM + "=" + gameRouter.getSelf()
+                    + "&" + ROUTED_AT_PARAM + "=" + now
+                    + "&" + SIGNATURE_PARAM + "=" + signature);
+            halt();
+        }
+    }
+
+    /**
+     * Takes in the opponent of a game another node of the cluster sent here, who is signed in there
+     */
+    private void admit(Request request, Player currentPlayer, String opponent) {
+        if (playerLobby.getPlayer(opponent) != null) {
+            return;
+        }
+        final String node = request.queryParams(ROUTED_PARAM);
+        final long millis;
+        try {
+            millis = Long.parseLong(request.queryParams(ROUTED_AT_PARAM));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (!gameRouter.verify(GameRouter.gameId(currentPlayer.getName(), opponent), node, millis,
+                request.queryParams(SIGNATURE_PARAM))) {
+            LOG.warning(String.format("%s named %s as sending their game with %s, which it did not sign",
+                    currentPlayer.getName(), node, opponent));
+            return;
+        }
+        SessionFilter.join(playerLobby, new PlayerReference(opponent, currentPlayer.getType()));
+        LOG.fine(String.format("%s joined this server's lobby to play %s, sent by %s",
+                opponent, currentPlayer.getName(), node));
+    }
+}
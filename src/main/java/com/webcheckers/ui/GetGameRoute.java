@@ -1,5 +1,6 @@
 package com.webcheckers.ui;
 
+import com.webcheckers.ai.Difficulty;
 import com.webcheckers.appl.BoardViewGen;
 import com.webcheckers.appl.GameManager;
 import com.webcheckers.appl.PlayerLobby;
@@ -38,6 +39,7 @@ public class GetGameRoute implements Route {
     private static String PLAYER_INVALID_SELECT = "You cannot play a game with yourself";
     private static String PLAYER_LEFT_GAME = "The other player is not in the game";
     private static String PLAYERS_DIFFERENT_TYPES = "You cannot play a game with someone in a different mode.";
+    static final String COMPUTER_BUSY_MESSAGE = "The computer is playing too many games, please try again later.";
 
     /**
      * Initializes the GetGameRoute
@@ -97,6 +99,19 @@ public class GetGameRoute implements Route {
                     return renderGame(vm, game.getPlayerRed(), game.getPlayerWhite());
                 }
 
+        } else if (currentPlayer != null && haveParam(request, "computer")) {
+            // A game against the computer, which plays WHITE, with the default engine unless one is named
+            final Difficulty difficulty = difficulty(request.queryParams("computer"));
+            final CheckersGame game = haveParam(request, "engine")
+                    ? gameManager.getNewComputerGame(currentPlayer, difficulty, request.queryParams("engine"))
+                    : gameManager.getNewComputerGame(currentPlayer, difficulty);
+
+            if (game == null) {
+                redirectWithType(request, response, new Message(COMPUTER_BUSY_MESSAGE, Message.MessageType.error), WebServer.HOME_URL);
+                return null;
+            }
+            return renderGame(vm, currentPlayer, game.getPlayerWhite());
+
         } else if (currentPlayer != null && haveParam(request, "whitePlayer")) {
             // We are setting up a new game
 
@@ -146,6 +161,18 @@ public class GetGameRoute implements Route {
         return param != null;
     }
 
+    /**
+     * Difficulty named by a request parameter, MEDIUM if it names none
+     */
+    private static Difficulty difficulty(String name) {
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.name().equalsIgnoreCase(name)) {
+                return difficulty;
+            }
+        }
+        return Difficulty.MEDIUM;
+    }
+
     /**
      * Helper function used to redirect to a route and show the user an message
      *
@@ -1,12 +1,16 @@
 package com.webcheckers.ui;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Logger;
 
 import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.LobbyPage;
 import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Message;
 import com.webcheckers.model.Player;
 
@@ -24,6 +28,14 @@ import spark.TemplateEngine;
 public class GetHomeRoute implements Route {
     private static final Logger LOG = Logger.getLogger(GetHomeRoute.class.getName());
 
+    // Query parameters driving the paged lobby listing
+    static final String SEARCH_PARAM = "search";
+    static final String CASUAL_CURSOR_PARAM = "casualAfter";
+    static final String TOURNAMENT_CURSOR_PARAM = "tournamentAfter";
+    static final String GAMES_CURSOR_PARAM = "gamesAfter";
+    private static final String[] PAGE_PARAMS = {SEARCH_PARAM, CASUAL_CURSOR_PARAM, TOURNAMENT_CURSOR_PARAM,
+            GAMES_CURSOR_PARAM};
+
     private final TemplateEngine templateEngine;
     private final PlayerLobby playerLobby;
     private final GameManager gameManager;
@@ -76,11 +88,26 @@ public class GetHomeRoute implements Route {
         }
 
         if (currentPlayer != null) {
+            final String search = request.queryParams(SEARCH_PARAM);
+
+            // Only a page of each listing is rendered, so the view costs the same however big the lobby gets
+            final LobbyPage<Player> casualPlayers = playerLobby.getPlayersPage(Player.GameType.NORMAL, search,
+                    request.queryParams(CASUAL_CURSOR_PARAM), LobbyPage.DEFAULT_PAGE_SIZE);
+            final LobbyPage<Player> tournamentPlayers = playerLobby.getPlayersPage(Player.GameType.TOURNAMENT,
+                    search, request.queryParams(TOURNAMENT_CURSOR_PARAM), LobbyPage.DEFAULT_PAGE_SIZE);
+            final LobbyPage<CheckersGame> activeGames = gameManager.getGamesPage(
+                    request.queryParams(GAMES_CURSOR_PARAM), LobbyPage.DEFAULT_PAGE_SIZE);
             vm.put("currentPlayer", currentPlayer);
-            vm.put("activePlayers", playerLobby.getActivePlayers());
+            vm.put("search", search);
+            vm.put("casualPlayers", casualPlayers);
+            vm.put("casualMoreUrl", pageUrl(request, CASUAL_CURSOR_PARAM, casualPlayers.getNextCursor()));
+            vm.put("tournamentPlayers", tournamentPlayers);
+            vm.put("tournamentMoreUrl",
+                    pageUrl(request, TOURNAMENT_CURSOR_PARAM, tournamentPlayers.getNextCursor()));
             vm.put("gameRoute", WebServer.GAME_URL);
-            vm.put("hasGames", gameManager.getGameList().size() > 0);
-            vm.put("activeGames", gameManager.getGameList());
+            vm.put("hasGames", gameManager.hasGames());
+            vm.put("activeGames", activeGames);
+            vm.put("gamesMoreUrl", pageUrl(request, GAMES_CURSOR_PARAM, activeGames.getNextCursor()));
             vm.put("spectatorRoute", WebServer.SPECTATE_URL);
 
             if(!gameManager.isPlayerASpectator(currentPlayer) && gameManager.isPlayerInAGame(currentPlayer) && !gameManager.getGame(currentPlayer).isResigned()){
@@ -101,4 +128,34 @@ public class GetHomeRoute implements Route {
         return templateEngine.render(new ModelAndView(vm , "home.ftl"));
     }
 
+    /**
+     * The home page with one listing moved to its next page, and the search and the other listings' pages
+     * kept as they are
+     *
+     * @param request - the HTTP request for the page shown now
+     * @param param   - the cursor parameter of the listing to move
+     * @param cursor  - where its next page starts
+     * @return - the URL of the page
+     */
+    static String pageUrl(Request request, String param, String cursor) {
+        final StringBuilder url = new StringBuilder(WebServer.HOME_URL);
+        char separator = '?';
+        for (String name : PAGE_PARAMS) {
+            final String value = name.equals(param) ? cursor : request.queryParams(name);
+            if (value != null) {
+                url.append(separator).append(name).append('=').append(encode(value));
+                separator = '&';
+            }
+        }
+        return url.toString();
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
\ No newline at end of file
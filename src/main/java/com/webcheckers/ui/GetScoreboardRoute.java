@@ -48,7 +48,8 @@ public class GetScoreboardRoute implements Route {
         Map<String, Object> vm = new HashMap<>();
 
         vm.put(TITLE_ATTR, TITLE);
-        vm.put("players", tournamentScoreboard.getPlayers().iterator());
+        // A published copy, so rendering never waits for games that are ending
+        vm.put("standings", TournamentScoreboard.getStandings());
 
         return templateEngine.render(new ModelAndView(vm, VIEW_NAME));
     }
@@ -54,10 +54,10 @@ public class GetSignOutRoute implements Route {
 
         if (!playerLobby.isPlayerInLobby(player)) {
             // Remove the player from the session
-            request.session().removeAttribute(playerName);
+            request.session().removeAttribute("Player");
             player = null;
             if(game != null) {
-                gameManager.resignGame(new Player(playerName, type));
+                gameManager.leaveGame(new Player(playerName, type));
             }
         }
         // Redirect to homepage which should show the Signed Out page
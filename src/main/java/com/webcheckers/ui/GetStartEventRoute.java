@@ -0,0 +1,172 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.appl.EventFormat;
+import com.webcheckers.appl.EventRunner;
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.Knockout;
+import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.appl.RoundRobin;
+import com.webcheckers.appl.SwissTournament;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Ratings;
+import com.webcheckers.model.TournamentScoreboard;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * GetStartEventRoute is an admin only route that starts an event for the lobby's tournament players
+ * <p>
+ * To use this route your player name must start with 'admin', case-insensitive. The event's games are
+ * paired and started by the server, round after round, so its players do not pick their opponents.
+ * <p>
+ * The {@code format} parameter chooses a Swiss tournament ({@code swiss}, the default), round-robin pools
+ * ({@code roundRobin}) or a knockout ({@code knockout}); {@code rounds} sets the Swiss rounds and
+ * {@code pools} the number of pools. Players are seeded by rating. One event runs at a time.
+ */
+public class GetStartEventRoute implements Route {
+    private static final Logger LOG = Logger.getLogger(GetStartEventRoute.class.getName());
+
+    static final String FORMAT_PARAM = "format";
+    static final String ROUNDS_PARAM = "rounds";
+    static final String POOLS_PARAM = "pools";
+
+    static final String STARTED_MESSAGE = "[ADMIN] The %s has started with %d players";
+    static final String RUNNING_MESSAGE = "[ADMIN] An event is still running";
+    static final String INVALID_MESSAGE = "[ADMIN] Could not start the event: %s";
+
+    private static String META_REFRESH_HOME = "<meta http-equiv=\"refresh\" content=\"0;URL='/'\" />";
+
+    private final PlayerLobby playerLobby;
+    private final GameManager gameManager;
+
+    // The event started last, null before the first
+    private EventRunner event;
+
+    /**
+     * Initializes GetStartEventRoute
+     *
+     * @param playerLobby - the players who can enter
+     * @param gameManager - plays the event's games
+     */
+    GetStartEventRoute(PlayerLobby playerLobby, GameManager gameManager) {
+        Objects.requireNonNull(playerLobby, "playerLobby must not be null");
+        Objects.requireNonNull(gameManager, "gameManager must not be null");
+
+        this.playerLobby = playerLobby;
+        this.gameManager = gameManager;
+        LOG.finer("GetStartEventRoute initialized");
+    }
+
+    /**
+     * If the player is an admin, start an event for the tournament players signed in
+     *
+     * @param request  - the HTTP request
+     * @param response - the HTTP response
+     * @return - a redirect home, where the admin sees how it went
+     */
+    @Override
+    public synchronized Object handle(Request request, Response response) {
+        final Player currentPlayer = request.session().attribute("Player");
+        if (currentPlayer == null || !currentPlayer.getName().toLowerCase().startsWith("admin")) {
+            return META_REFRESH_HOME;
+        }
+        if (event != null && !event.isFinished()) {
+            return redirectWithMessage(request, RUNNING_MESSAGE, Message.MessageType.error);
+        }
+
+        final List<Player> players = entrants();
+        final String format = request.queryParams(FORMAT_PARAM);
+        final EventFormat eventFormat;
+        try {
+            eventFormat = format(format, players, request);
+        } catch (IllegalArgumentException e) {
+            return redirectWithMessage(request, String.format(INVALID_MESSAGE, e.getMessage()),
+                    Message.MessageType.error);
+        }
+
+        event = new EventRunner(gameManager, eventFormat);
+        event.start();
+        LOG.info(String.format("%s started a %s of %d players", currentPlayer.getName(),
+                eventFormat.getClass().getSimpleName(), players.size()));
+        return redirectWithMessage(request,
+                String.format(STARTED_MESSAGE, eventFormat.getClass().getSimpleName(), players.size()),
+                Message.MessageType.info);
+    }
+
+    /**
+     * The lobby's tournament players, strongest first
+     */
+    private List<Player> entrants() {
+        final Ratings ratings = TournamentScoreboard.getRatings();
+        final List<Player> players = new ArrayList<>();
+        for (Player player : playerLobby.getActivePlayers().values()) {
+            if (player.getType() == Player.GameType.TOURNAMENT) {
+                players.add(player);
+            }
+        }
+        players.sort(Comparator.comparing((Player player) -> ratings.getRating(player.getName()), Ratings.BY_RATING)
+                .thenComparing(Player::getName));
+        return players;
+    }
+
+    /**
+     * The format a request names, for the players
+     *
+     * @throws IllegalArgumentException - if the format cannot be played
+     */
+    private static EventFormat format(String format, List<Player> players, Request request) {
+        if (format == null || format.equalsIgnoreCase("swiss")) {
+            return new SwissTournament(players, intParam(request, ROUNDS_PARAM, swissRounds(players.size())));
+        } else if (format.equalsIgnoreCase("roundRobin")) {
+            return new RoundRobin(players, intParam(request, POOLS_PARAM, 1));
+        } else if (format.equalsIgnoreCase("knockout")) {
+            return new Knockout(players);
+        }
+        throw new IllegalArgumentException("there is no format " + format);
+    }
+
+    /**
+     * Enough Swiss rounds to leave one player with a perfect score
+     */
+    static int swissRounds(int players) {
+        int rounds = 1;
+        while ((1 << rounds) < players) {
+            rounds++;
+        }
+        return rounds;
+    }
+
+    private static int intParam(Request request, String name, int otherwise) {
+        final String value = request.queryParams(name);
+        if (value == null) {
+            return otherwise;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    /**
+     * Redirects the admin to the lobby with a message
+     *
+     * @param req     - the HTTP request
+     * @param message - the message getting passed
+     * @param type    - whether it went well
+     * @return
+     */
+    private Object redirectWithMessage(Request req, String message, Message.MessageType type) {
+        req.session().attribute("message", new Message(message, type));
+
+        return META_REFRESH_HOME;
+    }
+}
@@ -0,0 +1,131 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.Evaluator;
+import com.webcheckers.ai.SearchResult;
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.PositionAnalyzer;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Player;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Suggests a move and says who is winning, for the players and the spectators of a game
+ *
+ * Tournament games are rated, so their players get no help, and their spectators are told who is
+ * winning but not the best move, which they could pass on.
+ */
+public class PostAnalysisRoute implements Route {
+    private static final Logger LOG = Logger.getLogger(PostAnalysisRoute.class.getName());
+
+    static final String NO_GAME_MESSAGE = "You are not playing or watching a game";
+    static final String GAME_OVER_MESSAGE = "The game has ended";
+    static final String BUSY_MESSAGE = "The analysis is busy, try again in a moment";
+    static final String TOURNAMENT_MESSAGE = "Moves are not suggested in tournament games";
+
+    private final GameManager gameManager;
+    private final PositionAnalyzer analyzer;
+
+    /**
+     * Initializes the PostAnalysisRoute
+     *
+     * @param gameManager - used to find the game
+     * @param analyzer    - analyzes its position
+     */
+    public PostAnalysisRoute(GameManager gameManager, PositionAnalyzer analyzer) {
+        Objects.requireNonNull(gameManager, "gameManager must not be null");
+        Objects.requireNonNull(analyzer, "analyzer must not be null");
+
+        this.gameManager = gameManager;
+        this.analyzer = analyzer;
+
+        LOG.config("PostAnalysisRoute is initialized");
+    }
+
+    /**
+     * Analyzes the position of the game the session's player plays or watches
+     *
+     * @param request  - the HTTP request
+     * @param response - the HTTP response
+     * @return - a Json message with the best move and the evaluation
+     */
+    @Override
+    public Object handle(Request request, Response response) {
+        LOG.finer("PostAnalysisRoute is invoked.");
+        Player player = request.session().attribute("Player");
+
+        CheckersGame game = null;
+        boolean spectator = false;
+        if (player != null) {
+            spectator = gameManager.isPlayerASpectator(player);
+            game = spectator ? gameManager.getSpectatorGame(player) : gameManager.getGame(player);
+        }
+        if (game == null) {
+            return new Message(NO_GAME_MESSAGE, Message.MessageType.error).toJson();
+        }
+        boolean tournament = game.getPlayerRed().getType() == Player.GameType.TOURNAMENT;
+        if (tournament && !spectator) {
+            return new Message(TOURNAMENT_MESSAGE, Message.MessageType.error).toJson();
+        }
+
+        Board board;
+        synchronized (game) {
+            if (game.isWon() || game.isResigned()) {
+                return new Message(GAME_OVER_MESSAGE, Message.MessageType.error).toJson();
+            }
+            board = Board.of(game.getBoard(), game.getPlayerColor(game.getPlayerActive()));
+        }
+
+        SearchResult result = analyzer.analyze(board);
+        if (result == null) {
+            return new Message(BUSY_MESSAGE, Message.MessageType.error).toJson();
+        }
+        return new Message(describe(board, result, !tournament), Message.MessageType.info).toJson();
+    }
+
+    /**
+     * Describes an analysis for people, naming the best move and the side that is ahead
+     *
+     * @param board  - the position analyzed
+     * @param result - its analysis
+     * @return - the best move and who is winning
+     */
+    static String describe(Board board, SearchResult result) {
+        return describe(board, result, true);
+    }
+
+    /**
+     * Describes an analysis for people, naming the side that is ahead
+     *
+     * @param board    - the position analyzed
+     * @param result   - its analysis
+     * @param withMove - whether to name the best move too
+     * @return - who is winning, after the best move if asked for
+     */
+    static String describe(Board board, SearchResult result, boolean withMove) {
+        String side = (board.getSideToMove() == Board.RED) ? "RED" : "WHITE";
+        String other = (board.getSideToMove() == Board.RED) ? "WHITE" : "RED";
+        int score = result.getScore();
+
+        String evaluation;
+        if (Evaluator.isWinOrLoss(score) || Math.abs(score) >= Evaluator.KNOWN_WIN) {
+            evaluation = String.format("%s can force a win", (score > 0) ? side : other);
+        } else if (Math.abs(score) < Evaluator.SINGLE / 10) {
+            evaluation = "The game is even";
+        } else {
+            evaluation = String.format("%s is ahead by %.1f pieces", (score > 0) ? side : other,
+                    Math.abs(score) / (double) Evaluator.SINGLE);
+        }
+
+        if (!withMove || !result.hasMove()) {
+            return evaluation + ".";
+        }
+        return String.format("Best move for %s: %s. %s.", side, Board.format(result.getMove()), evaluation);
+    }
+}
@@ -47,7 +47,8 @@ public class PostBackupMoveRoute implements Route {
 
         Turn turn = gameManager.getPlayerTurn(sessionPlayer);
 
-        if(turn.backupMove()){
+        // The game may have ended, e.g. the opponent resigned, while this request was on its way
+        if(turn != null && turn.backupMove()){
             return (new Gson()).toJson(new Message("Backed a move", Message.MessageType.info));
         } else {
             return (new Gson()).toJson(new Message("Backup failed", Message.MessageType.error));
@@ -22,6 +22,8 @@ public class PostSubmitTurnRoute implements Route {
     //need gameManager to get the game
     //need the player to get the specific game
     private static final Logger LOG = Logger.getLogger(PostSubmitTurnRoute.class.getName());
+
+    static final String GAME_ENDED_MESSAGE = "The game has ended!";
     private final GameManager gameManager;
 
     /**
@@ -51,6 +53,11 @@ public class PostSubmitTurnRoute implements Route {
         Player sessionPlayer = request.session().attribute("Player");
         CheckersGame game = gameManager.getGame(sessionPlayer);
 
-        return game.submitTurn(sessionPlayer).toJson();
+        // The game may have ended, e.g. the opponent resigned, while this turn was on its way
+        if (game == null) {
+            return new Message(GAME_ENDED_MESSAGE, Message.MessageType.error).toJson();
+        }
+
+        return gameManager.submitTurn(game, sessionPlayer).toJson();
     }
 }
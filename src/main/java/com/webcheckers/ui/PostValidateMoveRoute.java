@@ -19,6 +19,7 @@ public class PostValidateMoveRoute implements Route {
 
     private final String NO_POSITION_PROVIDED_MESSAGE = "No position was provided for validation.";
     private final String INVALID_MOVE_MESSAGE = "The move you requested is not valid!";
+    static final String NOT_YOUR_TURN_MESSAGE = "It is not your turn";
 
     private final Gson gson;
     private final GameManager gameManager;
@@ -60,6 +61,11 @@ public class PostValidateMoveRoute implements Route {
             Player sessionPlayer = request.session().attribute("Player");
             Turn turn = gameManager.getPlayerTurn(sessionPlayer);
             String positionAsJson = request.body();
+
+            // The game may have ended, e.g. the opponent resigned, while this move was on its way
+            if (turn == null) {
+                return formatMessageJson(Message.MessageType.error, NOT_YOUR_TURN_MESSAGE);
+            }
             LOG.finest(String.format("JSON body: [%s]", positionAsJson));
 
             if (positionAsJson.isEmpty()) {
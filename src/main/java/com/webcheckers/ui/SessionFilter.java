@@ -0,0 +1,168 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.appl.PlayerLobbyException;
+import com.webcheckers.appl.PlayerReference;
+import com.webcheckers.appl.SessionStore;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.TournamentScoreboard;
+import spark.Request;
+import spark.Response;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps who a browser is signed in as in a session store, so any server can serve its requests
+ *
+ * The browser is given a session id cookie of its own, which every server understands. Before each
+ * request the player the store names is put in the request's session, where the routes look for it,
+ * after joining this server's lobby if it signed in on another. After each request a sign-in or
+ * sign-out the routes made in the session is written to the store.
+ *
+ * Only ids a server handed out are taken up: a cookie that is malformed, or that neither the store
+ * nor this browser's session knows, is replaced with a new id. Signing in always moves the browser
+ * to a new id, so an id someone else saw or planted beforehand never names the player.
+ */
+public class SessionFilter {
+    private static final Logger LOG = Logger.getLogger(SessionFilter.class.getName());
+
+    static final String COOKIE = "webcheckers-session";
+    static final String PLAYER_ATTR = "Player";
+    // Who the store named before the request, for the step after it
+    static final String REFERENCE_ATTR = "webcheckers.session.player";
+    // The id this server gave the browser, known before anyone signs in under it
+    static final String ISSUED_ATTR = "webcheckers.session.issued";
+    private static final int ID_BYTES = 18;
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{24}");
+
+    private final SessionStore sessionStore;
+    private final PlayerLobby playerLobby;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Initializes the SessionFilter
+     *
+     * @param sessionStore - who each session is signed in as
+     * @param playerLobby  - this server's signed-in players
+     */
+    SessionFilter(final SessionStore sessionStore, final PlayerLobby playerLobby) {
+        Objects.requireNonNull(sessionStore, "sessionStore must not be null");
+        Objects.requireNonNull(playerLobby, "playerLobby must not be null");
+
+        this.sessionStore = sessionStore;
+        this.playerLobby = playerLobby;
+    }
+
+    /**
+     * Puts the player the store names in the request's session, giving the browser a new session id
+     * when it has none of ours or is signing in
+     * The cookie is set before the route runs, as a route that redirects sends the response at once.
+     *
+     * @param request  - the HTTP request
+     * @param response - the HTTP response
+     */
+    public void before(Request request, Response response) {
+        String sessionId = request.cookie(COOKIE);
+        PlayerReference reference = isWellFormed(sessionId) ? sessionStore.get(sessionId) : null;
+        if (reference == null && !isIssued(request, sessionId)) {
+            sessionId = issue(request, response);
+        } else if (isSignIn(request)) {
+            final String previous = sessionId;
+            sessionId = issue(request, response);
+            if (reference != null) {
+                // Signing in again: whoever the old id named moves with the browser
+                sessionStore.remove(previous);
+                sessionStore.put(sessionId, reference);
+            }
+        }
+
+        request.attribute(REFERENCE_ATTR, reference);
+        final Player current = request.session().attribute(PLAYER_ATTR);
+        if (reference == null) {
+            if (current != null) {
+                // Signed out on another server
+                request.session().removeAttribute(PLAYER_ATTR);
+            }
+        } else if (!reference.refersTo(current)) {
+            request.session().attribute(PLAYER_ATTR, join(playerLobby, reference));
+        }
+    }
+
+    /**
+     * Writes a sign-in or sign-out made during the request to the store
+     *
+     * @param request  - the HTTP request
+     * @param response - the HTTP response
+     */
+    public void after(Request request, Response response) {
+        final String sessionId = sessionId(request);
+        if (!isWellFormed(sessionId)) {
+            return;
+        }
+        final PlayerReference before = request.attribute(REFERENCE_ATTR);
+        final Player player = request.session().attribute(PLAYER_ATTR);
+        if (player == null) {
+            if (before != null) {
+                sessionStore.remove(sessionId);
+            }
+        } else if (!PlayerReference.of(player).equals(before)) {
+            sessionStore.put(sessionId, PlayerReference.of(player));
+        }
+    }
+
+    /**
+     * The player a reference names in this server's lobby, joining it if they signed in elsewhere
+     */
+    static Player join(PlayerLobby playerLobby, PlayerReference reference) {
+        final Player found = playerLobby.getPlayer(reference.getName());
+        if (found != null) {
+            return found;
+        }
+        try {
+            final Player player = playerLobby.newPlayer(reference.getName(), reference.getType());
+            if (player.getType() == Player.GameType.TOURNAMENT) {
+                TournamentScoreboard.newPlayer(player);
+            }
+            LOG.fine(String.format("%s joined this server's lobby", reference));
+            return player;
+        } catch (PlayerLobbyException e) {
+            // Another request of the same player joined first
+            return playerLobby.getPlayer(reference.getName());
+        }
+    }
+
+    private static String sessionId(Request request) {
+        final String assigned = request.attribute(COOKIE);
+        return (assigned != null) ? assigned : request.cookie(COOKIE);
+    }
+
+    private static boolean isIssued(Request request, String sessionId) {
+        final String issued = request.session().attribute(ISSUED_ATTR);
+        return issued != null && issued.equals(sessionId);
+    }
+
+    private static boolean isWellFormed(String sessionId) {
+        return sessionId != null && SESSION_ID.matcher(sessionId).matches();
+    }
+
+    private static boolean isSignIn(Request request) {
+        return "POST".equals(request.requestMethod()) && WebServer.SIGNIN_URL.equals(request.pathInfo());
+    }
+
+    /**
+     * Gives the browser a new session id, for this request and those after it
+     */
+    private String issue(Request request, Response response) {
+        final byte[] bytes = new byte[ID_BYTES];
+        random.nextBytes(bytes);
+        final String sessionId = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        response.cookie("/", COOKIE, sessionId, -1, false, true);
+        request.attribute(COOKIE, sessionId);
+        request.session().attribute(ISSUED_ATTR, sessionId);
+        return sessionId;
+    }
+}
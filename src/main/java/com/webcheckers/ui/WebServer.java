@@ -8,7 +8,10 @@ import java.util.logging.Logger;
 import com.google.gson.Gson;
 
 import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.GameRouter;
 import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.appl.PositionAnalyzer;
+import com.webcheckers.appl.SessionStore;
 import com.webcheckers.model.TournamentScoreboard;
 import spark.TemplateEngine;
 
@@ -48,6 +51,8 @@ public class WebServer {
 	public static final String SCOREBOARD_URL = "/scoreboard";
 	public static final String SPECTATE_URL = "/spectate";
 	public static final String ENDSPECTATE_URL = "/exitSpectate";
+	public static final String ANALYSIS_URL = "/analysis";
+	public static final String START_EVENT_URL = "/startEvent";
 
 	//
 	// Attributes
@@ -58,6 +63,11 @@ public class WebServer {
 	private final PlayerLobby playerLobby;
 	private final Gson gson;
 	private final TournamentScoreboard tournamentScoreboard;
+	private final PositionAnalyzer analyzer;
+	// Sends games to the node of a cluster that owns them, or null if this is the only node
+	private final GameRouter gameRouter;
+	// Who each browser is signed in as, shared with the other nodes, or null to keep it in the session
+	private final SessionStore sessionStore;
 
 
 	//
@@ -75,19 +85,62 @@ public class WebServer {
 					 final GameManager gameManager,
 					 final PlayerLobby playerLobby,
 					 final Gson gson,
-					 final TournamentScoreboard tournamentScoreboard) {
+					 final TournamentScoreboard tournamentScoreboard,
+					 final PositionAnalyzer analyzer) {
+		this(templateEngine, gameManager, playerLobby, gson, tournamentScoreboard, analyzer, null);
+	}
+
+	/**
+	 * The constructor for a Web Server that is one node of a cluster.
+	 *
+	 * @param templateEngine The default {@link TemplateEngine} to render page-level HTML views.
+	 * @param gson           The Google JSON parser object used to render Ajax responses.
+	 * @param gameRouter     Sends games to the node that owns them, or {@code null} if this is the only node.
+	 * @throws NullPointerException If any of the other parameters are {@code null}.
+	 */
+	public WebServer(final TemplateEngine templateEngine,
+					 final GameManager gameManager,
+					 final PlayerLobby playerLobby,
+					 final Gson gson,
+					 final TournamentScoreboard tournamentScoreboard,
+					 final PositionAnalyzer analyzer,
+					 final GameRouter gameRouter) {
+		this(templateEngine, gameManager, playerLobby, gson, tournamentScoreboard, analyzer, gameRouter, null);
+	}
+
+	/**
+	 * The constructor for a Web Server whose sign-ins are kept in a session store.
+	 *
+	 * @param templateEngine The default {@link TemplateEngine} to render page-level HTML views.
+	 * @param gson           The Google JSON parser object used to render Ajax responses.
+	 * @param gameRouter     Sends games to the node that owns them, or {@code null} if this is the only node.
+	 * @param sessionStore   Keeps who each browser is signed in as, or {@code null} to keep it in the HTTP session.
+	 * @throws NullPointerException If any of the other parameters are {@code null}.
+	 */
+	public WebServer(final TemplateEngine templateEngine,
+					 final GameManager gameManager,
+					 final PlayerLobby playerLobby,
+					 final Gson gson,
+					 final TournamentScoreboard tournamentScoreboard,
+					 final PositionAnalyzer analyzer,
+					 final GameRouter gameRouter,
+					 final SessionStore sessionStore) {
 
 		Objects.requireNonNull(templateEngine, "templateEngine must not be null");
 		Objects.requireNonNull(gameManager, "gameManager must not be null");
 		Objects.requireNonNull(playerLobby, "playerLobby must not be null");
 		Objects.requireNonNull(gson, "gson must not be null");
 		Objects.requireNonNull(tournamentScoreboard, "tournamentScoreboard must not be null");
+		Objects.requireNonNull(analyzer, "analyzer must not be null");
 
 		this.templateEngine = templateEngine;
 		this.gameManager = gameManager;
 		this.playerLobby = playerLobby;
 		this.gson = gson;
 		this.tournamentScoreboard = tournamentScoreboard;
+		this.analyzer = analyzer;
+		this.gameRouter = gameRouter;
+		this.sessionStore = sessionStore;
 	}
 
 	//
@@ -108,6 +161,20 @@ public class WebServer {
 		// Configuration to serve static files
 		staticFileLocation("/public");
 
+		// Sessions, before any route looks for the player
+		if (sessionStore != null) {
+			final SessionFilter sessionFilter = new SessionFilter(sessionStore, playerLobby);
+			before(sessionFilter::before);
+			after(sessionFilter::after);
+		}
+
+		// Games of a cluster, and their players, go to the node that owns them
+		if (gameRouter != null) {
+			final GameRoutingFilter gameRoutingFilter = new GameRoutingFilter(gameRouter, playerLobby);
+			before(HOME_URL, gameRoutingFilter);
+			before(GAME_URL, gameRoutingFilter);
+		}
+
 		// Login and Player Lobby
 		get(HOME_URL, new GetHomeRoute(templateEngine, playerLobby, gameManager));
 		get(SIGNIN_URL, new GetSignInRoute(templateEngine));
@@ -124,9 +191,11 @@ public class WebServer {
 		post(SUBMIT_MOVE_URL, new PostSubmitTurnRoute(gameManager));
 		post(CHECK_TURN_URL, new PostCheckTurnRoute(gameManager, gson));
 		post(RESIGN_URL, new PostResignGameRoute(gameManager, tournamentScoreboard));
+		post(ANALYSIS_URL, new PostAnalysisRoute(gameManager, analyzer));
 
 		// Admin functionality
 		get(CLEAR_URL, new GetClearRoute(playerLobby, gameManager));
+		get(START_EVENT_URL, new GetStartEventRoute(playerLobby, gameManager));
 
 		LOG.config("WebServer is initialized.");
 	}
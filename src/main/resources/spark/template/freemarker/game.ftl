@@ -69,6 +69,17 @@
             <legend>Controls</legend>
             <div class="toolbar"></div>
           </fieldset>
+
+          <#-- Players of tournament games get no help -->
+          <#if viewMode == "SPECTATOR" || !redPlayer.tournament>
+          <fieldset id="game-analysis">
+            <legend>Analysis</legend>
+            <button id="analysis-button" type="button">
+              <#if viewMode == "SPECTATOR">Who is winning?<#else>Suggest a move</#if>
+            </button>
+            <div id="analysis" class="info" style="display:none"></div>
+          </fieldset>
+          </#if>
           
         </div>
   
@@ -105,6 +116,14 @@
   <audio id="audio" src="http://www.soundjay.com/button/beep-07.mp3" autostart="false" ></audio>
   
   <script data-main="js/game/index" src="js/require.js"></script>
+  <script>
+  $('#analysis-button').click(function() {
+    $.post('/analysis', function(data) {
+      var message = JSON.parse(data);
+      $('#analysis').attr('class', message.type).text(message.text).show();
+    });
+  });
+  </script>
   
 </body>
 </html>
@@ -1,3 +1,4 @@
+<#setting url_escaping_charset="UTF-8">
 <!DOCTYPE html>
     <head>
         <meta http-equiv="Content-Type" content="text/html; charset=UTF-8" />
@@ -32,6 +33,22 @@
                 </div>
             </#if>
 
+            <form action="/" method="GET">
+                <input type="text" name="search" value="${search!}" placeholder="Find a player"/>
+                <input type="submit" value="Search"/>
+            </form>
+
+            <p>Play the computer:
+                <a href="${gameRoute}?computer=easy">easy</a>
+                <a href="${gameRoute}?computer=medium">medium</a>
+                <a href="${gameRoute}?computer=hard">hard</a>
+            </p>
+            <p>Play the Monte Carlo computer:
+                <a href="${gameRoute}?computer=easy&amp;engine=mcts">easy</a>
+                <a href="${gameRoute}?computer=medium&amp;engine=mcts">medium</a>
+                <a href="${gameRoute}?computer=hard&amp;engine=mcts">hard</a>
+            </p>
+
             <table width ="80%">
             <tr>
                 <th align="left">Casual Players</th>
@@ -44,41 +61,47 @@
                 <td>
                     <p>
                         <ul>
-                        <#list activePlayers?keys as key>
-                        <#if activePlayers[key].name != currentPlayer.name>
-                            <#if activePlayers[key].isTournament() == false>
-                            <li><a href="${gameRoute}?whitePlayer=${activePlayers[key].name}">${activePlayers[key].name}</a></li>
-                            </#if>
+                        <#list casualPlayers.items as player>
+                        <#if player.name != currentPlayer.name>
+                            <li><a href="${gameRoute}?whitePlayer=${player.name?url}">${player.name}</a></li>
+                        </#if>
+                        </#list>
+                    </ul>
+                    <#if casualPlayers.hasNext()>
+                        <a href="${casualMoreUrl}">more</a>
+                    </#if>
+                    </p>
+                </td>
+                <td>
+                    <p>
+                        <ul>
+                        <#list tournamentPlayers.items as player>
+                        <#if player.name != currentPlayer.name>
+                            <li><a href="${gameRoute}?whitePlayer=${player.name?url}">${player.name}</a></li>
                         </#if>
                         </#list>
                     </ul>
+                    <#if tournamentPlayers.hasNext()>
+                        <a href="${tournamentMoreUrl}">more</a>
+                    </#if>
                     </p>
                 </td>
-                                <td>
-                                    <p>
-                                        <ul>
-                                        <#list activePlayers?keys as key>
-                                        <#if activePlayers[key].name != currentPlayer.name>
-                                            <#if activePlayers[key].isTournament() == true>
-                                            <li><a href="${gameRoute}?whitePlayer=${activePlayers[key].name}">${activePlayers[key].name}</a></li>
-                                            </#if>
-                                            </#if>
-                                        </#list>
-                                    </ul>
-                                    </p>
-                                </td>
                 <td>
                     <p>
                         <ul>
                             <#if hasGames == true>
-                                <#list activeGames?keys as key>
-                                    <li><a href="${spectatorRoute}?redPlayer=${activeGames[key].getPlayerRed().getName()}">${activeGames[key].toString()}</a></li>
+                                <#list activeGames.items as game>
+                                    <li><a href="${spectatorRoute}?redPlayer=${game.getPlayerRed().getName()?url}">${game.toString()}</a></li>
                                 </#list>
                             </#if>
                         </ul>
+                    <#if activeGames.hasNext()>
+                        <a href="${gamesMoreUrl}">more</a>
+                    </#if>
                     </p>
                 </td>
             </tr>
+            </table>
         <#else>
             <p>Welcome to the world of online Checkers.</p>
         </#if>
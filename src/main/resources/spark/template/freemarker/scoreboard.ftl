@@ -16,8 +16,10 @@
       <h2>Tournament Standings:</h2>
 
         <ol>
-        <#list players as player>
-            <li>${player.getName()} - ${player.getWins()}</li>
+        <#list standings as standing>
+            <li>${standing.getName()} - ${standing.getRating().getRating()?round}
+                (&plusmn;${(2 * standing.getRating().getDeviation())?round}) -
+                ${standing.getWins()} won, ${standing.getLosses()} lost</li>
             <br>
         </#list>
         </ol>
@@ -0,0 +1,136 @@
+package com.webcheckers.ai;
+
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.TestCheckersBoards;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class AlphaBetaEngineTest {
+
+    private static ForkJoinPool single;
+    private static ForkJoinPool parallel;
+
+    @BeforeAll
+    public static void pools() {
+        single = new ForkJoinPool(1);
+        parallel = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void shutdown() {
+        single.shutdown();
+        parallel.shutdown();
+    }
+
+    /**
+     * A position a few moves into a game, so the search has choices to make
+     */
+    private static Board middleGame() {
+        Board board = Board.startingPosition();
+        for (int ply = 0; ply < 8; ply++) {
+            MoveList moves = new MoveList();
+            board.generateMoves(moves);
+            board = board.play(moves.get((ply * 3) % moves.size()));
+        }
+        return board;
+    }
+
+    @Test
+    public void findsTheWinningJump() {
+        Board board = Board.of(TestCheckersBoards.multiJumpToEnd().getBoard(), Piece.Color.RED);
+
+        SearchResult result = new AlphaBetaEngine(parallel, 12).search(board, SearchLimits.depth(4));
+
+        assertTrue(result.hasMove());
+        assertEquals(2, Integer.bitCount(Board.captured(result.getMove())));
+        assertTrue(Evaluator.isWinOrLoss(result.getScore()));
+        assertTrue(result.getScore() > 0);
+    }
+
+    @Test
+    public void noMoveWhenLost() {
+        Board board = Board.of(TestCheckersBoards.noPieces().getBoard(), Piece.Color.WHITE);
+
+        SearchResult result = new AlphaBetaEngine(single, 10).search(board, SearchLimits.depth(4));
+
+        assertFalse(result.hasMove());
+        assertEquals(Evaluator.lost(0), result.getScore());
+    }
+
+    @Test
+    public void deterministicWhateverTheThreads() {
+        Board board = middleGame();
+        SearchLimits limits = SearchLimits.deterministic(7);
+
+        SearchResult serial = new AlphaBetaEngine(single, 16).search(board, limits);
+        AlphaBetaEngine engine = new AlphaBetaEngine(parallel, 16);
+        SearchResult first = engine.search(board, limits);
+        // Again, with the table full of the first search
+        SearchResult second = engine.search(board, limits);
+
+        assertEquals(serial.getMove(), first.getMove());
+        assertEquals(serial.getScore(), first.getScore());
+        assertEquals(serial.getMove(), second.getMove());
+        assertEquals(serial.getScore(), second.getScore());
+        assertEquals(7, serial.getDepth());
+        assertTrue(serial.getNodes() > 0);
+    }
+
+    @Test
+    public void parallelSearchPlaysLegalMoves() {
+        AlphaBetaEngine engine = new AlphaBetaEngine(parallel, 16);
+        Board board = Board.startingPosition();
+
+        for (int ply = 0; ply < 10; ply++) {
+            SearchResult result = engine.search(board, SearchLimits.depth(6));
+            if (!result.hasMove()) {
+                break;
+            }
+            MoveList moves = new MoveList();
+            board.generateMoves(moves);
+            assertTrue(contains(moves, result.getMove()), Board.format(result.getMove()));
+            board = board.play(result.getMove());
+        }
+    }
+
+    @Test
+    public void stopsWhenTimeIsUp() {
+        AlphaBetaEngine engine = new AlphaBetaEngine(parallel, 16);
+
+        SearchResult result = engine.search(middleGame(), SearchLimits.time(50, SearchLimits.MAX_DEPTH));
+
+        assertTrue(result.hasMove());
+        assertTrue(result.getDepth() >= 1);
+        assertTrue(result.getMillis() < 2000, result.toString());
+    }
+
+    @Test
+    public void stopsWhenAsked() {
+        AlphaBetaEngine engine = new AlphaBetaEngine(parallel, 16);
+        long start = System.currentTimeMillis();
+
+        // A search without a time limit ends when the stop request does
+        SearchResult result = engine.search(middleGame(), SearchLimits.depth(SearchLimits.MAX_DEPTH),
+                () -> System.currentTimeMillis() - start > 100);
+
+        assertTrue(result.hasMove());
+        assertTrue(result.getDepth() < SearchLimits.MAX_DEPTH);
+        assertTrue(result.getMillis() < 2000, result.toString());
+    }
+
+    private static boolean contains(MoveList moves, long move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+package com.webcheckers.ai;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class BoardTest {
+
+    private static MoveList movesOf(Board board) {
+        MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        return moves;
+    }
+
+    @Test
+    public void startingPosition() {
+        Board start = Board.of(CheckersBoardBuilder.aStartingBoard().getBoard(), Piece.Color.RED);
+
+        assertEquals(Board.startingPosition(), start);
+        assertEquals(Board.startingPosition().getHash(), start.getHash());
+        assertEquals(24, start.getPieceCount());
+        assertEquals(7, movesOf(start).size());
+        assertFalse(start.hasJump());
+    }
+
+    @Test
+    public void rejectsOverlappingPieces() {
+        assertThrows(IllegalArgumentException.class, () -> new Board(1, 1, 0, Board.RED));
+        assertThrows(IllegalArgumentException.class, () -> new Board(1, 2, 4, Board.RED));
+        assertThrows(IllegalArgumentException.class, () -> new Board(1, 2, 0, 2));
+    }
+
+    /**
+     * Every move the engine generates starts with a move MoveValidator allows, and the other way round
+     */
+    @Test
+    public void agreesWithMoveValidator() throws Exception {
+        for (Method method : TestCheckersBoards.class.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers()) || method.getReturnType() != CheckersBoardBuilder.class) {
+                continue;
+            }
+            Space[][] spaces = ((CheckersBoardBuilder) method.invoke(null)).getBoard();
+
+            for (Piece.Color color : Piece.Color.values()) {
+                Board board = Board.of(spaces, color);
+                MoveList moves = movesOf(board);
+
+                Set<Move> firstSteps = new HashSet<>();
+                for (int i = 0; i < moves.size(); i++) {
+                    firstSteps.add(board.toMoves(moves.get(i)).get(0));
+                }
+                assertEquals(new HashSet<>(MoveValidator.getMovesForPlayer(spaces, color)), firstSteps,
+                        method.getName() + " " + color);
+            }
+        }
+    }
+
+    @Test
+    public void multiJump() {
+        Board board = Board.of(TestCheckersBoards.multiJump().getBoard(), Piece.Color.RED);
+        MoveList moves = movesOf(board);
+
+        assertEquals(1, moves.size());
+        long move = moves.get(0);
+        assertTrue(Board.isJump(move));
+        assertEquals(2, Integer.bitCount(Board.captured(move)));
+
+        List<Move> steps = board.toMoves(move);
+        assertEquals(2, steps.size());
+        assertEquals(Move.between(Position.at(7, 0), Position.at(5, 2)), steps.get(0));
+        assertEquals(Move.between(Position.at(5, 2), Position.at(3, 4)), steps.get(1));
+
+        Board after = board.play(move);
+        assertEquals(Board.WHITE, after.getSideToMove());
+        assertEquals(2, after.getPieceCount());
+    }
+
+    @Test
+    public void playUpdatesHash() {
+        Board board = Board.startingPosition();
+
+        for (int ply = 0; ply < 40; ply++) {
+            MoveList moves = movesOf(board);
+            if (moves.size() == 0) {
+                break;
+            }
+            board = board.play(moves.get(ply % moves.size()));
+
+            Board fresh = new Board(board.getRed(), board.getWhite(), board.getKings(), board.getSideToMove());
+            assertEquals(fresh.getHash(), board.getHash());
+        }
+        assertEquals(board.withSideSwitched().withSideSwitched().getHash(), board.getHash());
+    }
+
+    @Test
+    public void kingsAtTheEnd() {
+        Board board = Board.of(TestCheckersBoards.kingMe().getBoard(), Piece.Color.RED);
+        MoveList moves = movesOf(board);
+        boolean kinged = false;
+
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (SquareTables.row(Board.to(move)) == 0) {
+                assertNotEquals(0, board.play(move).getKings() & (1 << Board.to(move)));
+                kinged = true;
+            }
+        }
+        assertTrue(kinged);
+    }
+
+    @Test
+    public void format() {
+        assertEquals("11-15", Board.format(Board.encode(10, 14, 0)));
+        assertEquals("15x24", Board.format(Board.encode(14, 23, 1 << 18)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.webcheckers.ai;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class BookEngineTest {
+
+    private Path file;
+    private ForkJoinPool pool;
+    private BookEngine CuT;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        file = Files.createTempFile("opening", ".book");
+        new OpeningBookBuilder(2, 1).addGames(OpeningBookTest.GAMES, 1).write(file);
+        pool = new ForkJoinPool(1);
+        CuT = new BookEngine(OpeningBook.open(file), new AlphaBetaEngine(pool, 16));
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void playsFromTheBook() {
+        SearchResult result = CuT.search(Board.startingPosition(), SearchLimits.deterministic(6));
+
+        assertEquals("11-15", Board.format(result.getMove()));
+        assertEquals(0, result.getDepth());
+        assertEquals(0, result.getNodes());
+    }
+
+    @Test
+    public void searchesOutOfTheBook() {
+        Board board = Board.startingPosition();
+        board = board.play(OpeningBookTest.move(board, "10-14"));
+
+        SearchResult result = CuT.search(board, SearchLimits.deterministic(4));
+        assertEquals(4, result.getDepth());
+        assertTrue(result.getNodes() > 0);
+    }
+
+    @Test
+    public void name() {
+        assertEquals("book+alphabeta", CuT.getName());
+        assertThrows(NullPointerException.class, () -> new BookEngine(null, CuT));
+    }
+}
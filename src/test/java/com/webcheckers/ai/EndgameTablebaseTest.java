@@ -0,0 +1,135 @@
+package com.webcheckers.ai;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class EndgameTablebaseTest {
+
+    private static Path file;
+    private static EndgameTablebase CuT;
+
+    @BeforeAll
+    public static void generate() throws IOException {
+        file = Files.createTempFile("endgame", ".tb");
+        new TablebaseGenerator(3).generate().write(file);
+        CuT = EndgameTablebase.open(file);
+    }
+
+    @AfterAll
+    public static void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static int bits(int... squares) {
+        int bits = 0;
+        for (int square : squares) {
+            bits |= 1 << square;
+        }
+        return bits;
+    }
+
+    @Test
+    public void empty() {
+        EndgameTablebase empty = EndgameTablebase.empty();
+
+        assertEquals(0, empty.getMaxPieces());
+        assertEquals(EndgameTablebase.Result.UNKNOWN, empty.probe(new Board(bits(0), bits(31), bits(0, 31), Board.RED)));
+    }
+
+    @Test
+    public void tooManyPieces() {
+        assertEquals(3, CuT.getMaxPieces());
+        assertEquals(EndgameTablebase.Result.UNKNOWN, CuT.probe(Board.startingPosition()));
+    }
+
+    @Test
+    public void knownEndgames() {
+        // Two kings beat one
+        Board twoKings = new Board(bits(0, 1), bits(31), bits(0, 1, 31), Board.RED);
+        assertEquals(EndgameTablebase.Result.WIN, CuT.probe(twoKings));
+        assertEquals(EndgameTablebase.Result.LOSS, CuT.probe(twoKings.withSideSwitched()));
+
+        // One king cannot catch another
+        assertEquals(EndgameTablebase.Result.DRAW, CuT.probe(new Board(bits(0), bits(31), bits(0, 31), Board.RED)));
+
+        // Whoever has no pieces has lost
+        assertEquals(EndgameTablebase.Result.LOSS, CuT.probe(new Board(0, bits(31), 0, Board.RED)));
+        assertEquals(EndgameTablebase.Result.WIN, CuT.probe(new Board(0, bits(31), 0, Board.WHITE)));
+    }
+
+    /**
+     * Every result agrees with the results of the position's moves
+     */
+    @Test
+    public void resultsAreConsistent() {
+        TablebaseIndex index = new TablebaseIndex(3);
+        MoveList moves = new MoveList();
+
+        for (TablebaseIndex.Slice slice : index.getSlices()) {
+            for (long entry = 0; entry < slice.getEntries(); entry++) {
+                Board board = TablebaseIndex.board(slice, entry);
+                EndgameTablebase.Result result = CuT.probe(board);
+
+                if (!TablebaseIndex.isLegal(board)) {
+                    continue;
+                }
+                moves.clear();
+                int count = board.generateMoves(moves);
+                boolean childLost = false;
+                boolean childDrawn = false;
+
+                for (int i = 0; i < count; i++) {
+                    EndgameTablebase.Result child = CuT.probe(board.play(moves.get(i)));
+                    assertNotEquals(EndgameTablebase.Result.UNKNOWN, child);
+                    childLost |= child == EndgameTablebase.Result.LOSS;
+                    childDrawn |= child == EndgameTablebase.Result.DRAW;
+                }
+
+                if (childLost) {
+                    assertEquals(EndgameTablebase.Result.WIN, result, board::toString);
+                } else if (childDrawn) {
+                    assertEquals(EndgameTablebase.Result.DRAW, result, board::toString);
+                } else {
+                    // No moves, or every move leads to a won position for the opponent
+                    assertEquals(EndgameTablebase.Result.LOSS, result, board::toString);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        Path other = Files.createTempFile("endgame", ".txt");
+        try {
+            Files.write(other, "not a tablebase, but long enough to have a header".getBytes());
+            assertThrows(IOException.class, () -> EndgameTablebase.open(other));
+        } finally {
+            Files.delete(other);
+        }
+    }
+
+    @Test
+    public void engineUsesTablebase() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            AlphaBetaEngine engine = new AlphaBetaEngine(pool, 16, CuT);
+            Board twoKings = new Board(bits(0, 1), bits(31), bits(0, 1, 31), Board.RED);
+
+            SearchResult result = engine.search(twoKings, SearchLimits.depth(4));
+            assertTrue(result.getScore() > Evaluator.KNOWN_WIN / 2);
+            assertEquals(EndgameTablebase.Result.LOSS, CuT.probe(twoKings.play(result.getMove())));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
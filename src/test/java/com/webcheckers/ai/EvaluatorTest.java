@@ -0,0 +1,42 @@
+package com.webcheckers.ai;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class EvaluatorTest {
+
+    @Test
+    public void symmetric() {
+        Board start = Board.startingPosition();
+
+        assertEquals(0, Evaluator.evaluate(start));
+        assertEquals(0, Evaluator.evaluate(start.withSideSwitched()));
+    }
+
+    @Test
+    public void sideToMovesPointOfView() {
+        // Two RED singles against one WHITE single
+        Board board = new Board(0x3, 0x80000000, 0, Board.RED);
+
+        assertTrue(Evaluator.evaluate(board) > 0);
+        assertEquals(-Evaluator.evaluate(board), Evaluator.evaluate(board.withSideSwitched()));
+    }
+
+    @Test
+    public void kingsAreWorthMore() {
+        Board singles = new Board(0x1000, 0x80000000, 0, Board.RED);
+        Board king = new Board(0x1000, 0x80000000, 0x1000, Board.RED);
+
+        assertTrue(Evaluator.evaluate(king) > Evaluator.evaluate(singles));
+    }
+
+    @Test
+    public void wins() {
+        assertTrue(Evaluator.isWinOrLoss(Evaluator.lost(10)));
+        assertFalse(Evaluator.isWinOrLoss(Evaluator.SINGLE * 12));
+        assertTrue(Evaluator.lost(3) > Evaluator.lost(1));
+    }
+}
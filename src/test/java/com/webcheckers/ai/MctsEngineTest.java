@@ -0,0 +1,114 @@
+package com.webcheckers.ai;
+
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.TestCheckersBoards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class MctsEngineTest {
+
+    private ForkJoinPool parallel;
+
+    @BeforeEach
+    public void setup() {
+        parallel = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        parallel.shutdown();
+    }
+
+    @Test
+    public void playsLegalMoves() {
+        MctsEngine engine = new MctsEngine(parallel, MctsEngine.DEFAULT_MAX_NODES);
+        Board board = Board.startingPosition();
+        MoveList legal = new MoveList();
+        board.generateMoves(legal);
+
+        SearchResult result = engine.search(board, SearchLimits.depth(2));
+
+        assertTrue(contains(legal, result.getMove()), result.toString());
+        assertEquals(2 * MctsEngine.PLAYOUTS_PER_DEPTH, result.getNodes());
+        assertTrue(result.getDepth() >= 1);
+    }
+
+    @Test
+    public void findsTheWinningJump() {
+        Board board = Board.of(TestCheckersBoards.multiJumpToEnd().getBoard(), Piece.Color.RED);
+
+        SearchResult result = new MctsEngine(parallel, 1000).search(board, SearchLimits.depth(4));
+
+        assertEquals(2, Integer.bitCount(Board.captured(result.getMove())));
+        assertTrue(result.getScore() > 0, result.toString());
+    }
+
+    @Test
+    public void noMoveWhenLost() {
+        Board board = Board.of(TestCheckersBoards.noPieces().getBoard(), Piece.Color.WHITE);
+
+        SearchResult result = new MctsEngine().search(board, SearchLimits.depth(1));
+
+        assertFalse(result.hasMove());
+    }
+
+    @Test
+    public void deterministic() {
+        Board board = Board.startingPosition().play(firstMove(Board.startingPosition()));
+
+        SearchResult one = new MctsEngine(ForkJoinPool.commonPool(), 5000).search(board, SearchLimits.deterministic(4));
+        SearchResult other = new MctsEngine(parallel, 5000).search(board, SearchLimits.deterministic(4));
+
+        assertEquals(one.getMove(), other.getMove());
+        assertEquals(one.getScore(), other.getScore());
+    }
+
+    @Test
+    public void stopsWhenTimeIsUpOrAsked() {
+        MctsEngine engine = new MctsEngine(parallel, MctsEngine.DEFAULT_MAX_NODES);
+
+        SearchResult timed = engine.search(Board.startingPosition(), SearchLimits.time(50, SearchLimits.MAX_DEPTH));
+        assertTrue(timed.hasMove());
+        assertTrue(timed.getMillis() < 2000, timed.toString());
+
+        SearchResult stopped = engine.search(Board.startingPosition(), SearchLimits.depth(SearchLimits.MAX_DEPTH),
+                () -> true);
+        assertTrue(stopped.hasMove());
+        assertTrue(stopped.getNodes() <= parallel.getParallelism(), stopped.toString());
+    }
+
+    @Test
+    public void playoutsReachAResult() {
+        Playout playout = new Playout(42);
+
+        for (int i = 0; i < 100; i++) {
+            int result = playout.play(Board.startingPosition());
+            assertTrue(result == Playout.WIN || result == Playout.DRAW || result == Playout.LOSS);
+        }
+        // The side to move without pieces has lost
+        assertEquals(Playout.LOSS,
+                playout.play(Board.of(TestCheckersBoards.noPieces().getBoard(), Piece.Color.WHITE)));
+    }
+
+    private static long firstMove(Board board) {
+        MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        return moves.get(0);
+    }
+
+    private static boolean contains(MoveList moves, long move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+package com.webcheckers.ai;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class OpeningBookTest {
+
+    static final List<String> GAMES = Arrays.asList(
+            "11-15 23-19 1-0",
+            "11-15 22-18 0-1",
+            "9-13 23-19 1/2-1/2",
+            "1. 11-15 23-19 2. 8-11 1-0",
+            "11-18 23-19 1-0");
+
+    private Path file;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        file = Files.createTempFile("opening", ".book");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    static long move(Board board, String turn) {
+        MoveList moves = new MoveList();
+        int count = board.generateMoves(moves);
+
+        for (int i = 0; i < count; i++) {
+            if (Board.format(moves.get(i)).equals(turn)) {
+                return moves.get(i);
+            }
+        }
+        throw new IllegalArgumentException(turn);
+    }
+
+    @Test
+    public void weightsFollowResults() throws Exception {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2, 1).addGames(GAMES, 2);
+        Board start = Board.startingPosition();
+        long firstMove = move(start, "11-15");
+        Board afterFirst = start.play(firstMove);
+
+        // Two RED wins count 2 each, the RED loss nothing
+        assertEquals(4, builder.getWeight(start, firstMove));
+        assertEquals(1, builder.getWeight(start, move(start, "9-13")));
+        // WHITE lost with 23-19 and won with 22-18
+        assertEquals(0, builder.getWeight(afterFirst, move(afterFirst, "23-19")));
+        assertEquals(2, builder.getWeight(afterFirst, move(afterFirst, "22-18")));
+
+        // 11-18 is not a move
+        assertEquals(5, builder.getGames());
+        assertEquals(1, builder.getRejected());
+    }
+
+    @Test
+    public void lookup() throws Exception {
+        new OpeningBookBuilder(4, 1).addGames(GAMES, 3).write(file);
+        OpeningBook CuT = OpeningBook.open(file);
+        Board start = Board.startingPosition();
+
+        List<OpeningBook.Candidate> candidates = CuT.lookup(start);
+        assertEquals(2, candidates.size());
+        assertEquals("11-15", Board.format(candidates.get(0).getMove()));
+        assertEquals(4, candidates.get(0).getWeight());
+        assertEquals("9-13", Board.format(candidates.get(1).getMove()));
+
+        assertEquals(candidates.get(0).getMove(), CuT.choose(start, null));
+
+        // Chosen in proportion to the weights
+        Map<Long, Integer> chosen = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            chosen.merge(CuT.choose(start, random), 1, Integer::sum);
+        }
+        assertEquals(2, chosen.size());
+        assertTrue(chosen.get(candidates.get(0).getMove()) > 700);
+
+        // The book stops where the games do
+        Board outOfBook = start.play(move(start, "10-14"));
+        assertTrue(CuT.lookup(outOfBook).isEmpty());
+        assertEquals(0, CuT.choose(outOfBook, random));
+    }
+
+    @Test
+    public void leavesOutMovesWithoutWeight() throws Exception {
+        Board start = Board.startingPosition();
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + OpeningBook.RECORD_BYTES)
+                .putInt(OpeningBook.MAGIC)
+                .putInt(OpeningBook.VERSION)
+                .putInt(1)
+                .putInt(0)
+                .putLong(start.getHash())
+                .putLong(move(start, "11-15"))
+                .putInt(0);
+        Files.write(file, buffer.array());
+        OpeningBook CuT = OpeningBook.open(file);
+
+        assertTrue(CuT.lookup(start).isEmpty());
+        assertEquals(0, CuT.choose(start, new Random(1)));
+        assertEquals(0, CuT.choose(start, null));
+    }
+
+    @Test
+    public void minimumWeight() throws Exception {
+        assertEquals(2, new OpeningBookBuilder(2, 2).addGames(GAMES, 1).write(file));
+        OpeningBook CuT = OpeningBook.open(file);
+
+        assertEquals(2, CuT.size());
+        assertEquals(1, CuT.lookup(Board.startingPosition()).size());
+    }
+
+    @Test
+    public void sameBookOnAnyThreads() throws Exception {
+        Path other = Files.createTempFile("opening", ".book");
+        try {
+            new OpeningBookBuilder(4, 1).addGames(GAMES, 1).write(file);
+            new OpeningBookBuilder(4, 1).addGames(GAMES, 4).write(other);
+
+            assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(other));
+        } finally {
+            Files.delete(other);
+        }
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(0, OpeningBook.empty().size());
+        assertTrue(OpeningBook.empty().lookup(Board.startingPosition()).isEmpty());
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        Files.write(file, "not an opening book".getBytes());
+        assertThrows(IOException.class, () -> OpeningBook.open(file));
+    }
+}
@@ -0,0 +1,84 @@
+package com.webcheckers.ai;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class TablebaseIndexTest {
+
+    @Test
+    public void sizes() {
+        // One piece a side, each a single or a king, on 32 * 31 pairs of squares, either side to move
+        assertEquals(4 * 32 * 31 * 2, new TablebaseIndex(2).getEntries());
+        assertEquals(16594176, new TablebaseIndex(4).getEntries());
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseIndex(1));
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseIndex(TablebaseIndex.MAX_PIECES + 1));
+    }
+
+    /**
+     * Every entry of every slice maps to a position that maps back to it
+     */
+    @Test
+    public void entriesRoundTrip() {
+        TablebaseIndex index = new TablebaseIndex(3);
+        Set<Board> seen = new HashSet<>();
+        long expectedOffset = 0;
+
+        for (TablebaseIndex.Slice slice : index.getSlices()) {
+            assertEquals(expectedOffset, slice.offset);
+            expectedOffset += slice.getEntries();
+
+            for (long entry = 0; entry < slice.getEntries(); entry++) {
+                Board board = TablebaseIndex.board(slice, entry);
+
+                assertSame(slice, index.slice(board));
+                assertEquals(entry, TablebaseIndex.entry(board, slice));
+                assertTrue(seen.add(board));
+            }
+        }
+        assertEquals(index.getEntries(), seen.size());
+    }
+
+    /**
+     * A capture or promotion always leads to an earlier slice
+     */
+    @Test
+    public void slicesAreOrdered() {
+        TablebaseIndex index = new TablebaseIndex(4);
+        int previousPieces = 0;
+        int previousSingles = -1;
+
+        for (TablebaseIndex.Slice slice : index.getSlices()) {
+            if (slice.getPieces() == previousPieces) {
+                assertTrue(slice.getSingles() >= previousSingles);
+            } else {
+                assertTrue(slice.getPieces() > previousPieces);
+            }
+            previousPieces = slice.getPieces();
+            previousSingles = slice.getSingles();
+        }
+    }
+
+    @Test
+    public void tooManyPieces() {
+        TablebaseIndex index = new TablebaseIndex(4);
+
+        assertNull(index.slice(Board.startingPosition()));
+        assertNull(index.slice(new Board(1, 0, 0, Board.RED)));
+    }
+
+    @Test
+    public void illegalPositions() {
+        // A RED single on the row RED kings on
+        assertFalse(TablebaseIndex.isLegal(new Board(1 << 28, 1 << 4, 0, Board.WHITE)));
+        assertTrue(TablebaseIndex.isLegal(new Board(1 << 28, 1 << 4, 1 << 28, Board.WHITE)));
+        // A WHITE single on the row WHITE kings on
+        assertFalse(TablebaseIndex.isLegal(new Board(1 << 8, 1, 0, Board.RED)));
+        assertTrue(TablebaseIndex.isLegal(new Board(1 << 8, 1 << 4, 0, Board.RED)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.webcheckers.ai;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class TranspositionTableTest {
+
+    private static final long HASH = 0x123456789ABCDEF0L;
+
+    @Test
+    public void storeAndProbe() {
+        TranspositionTable CuT = new TranspositionTable(8);
+        long move = Board.encode(10, 14, 0);
+
+        assertEquals(TranspositionTable.NO_ENTRY, CuT.probe(HASH));
+        CuT.store(HASH, 6, -250, TranspositionTable.LOWER, move);
+
+        long entry = CuT.probe(HASH);
+        assertEquals(-250, TranspositionTable.score(entry));
+        assertEquals(6, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        assertTrue(TranspositionTable.isBestMove(entry, move));
+        assertFalse(TranspositionTable.isBestMove(entry, Board.encode(10, 15, 0)));
+
+        // Same slot, different position
+        assertEquals(TranspositionTable.NO_ENTRY, CuT.probe(HASH ^ (1L << 40)));
+    }
+
+    @Test
+    public void keepsDeeperResultsOfTheSameSearch() {
+        TranspositionTable CuT = new TranspositionTable(8);
+
+        CuT.store(HASH, 6, 10, TranspositionTable.EXACT, 0);
+        CuT.store(HASH, 2, 20, TranspositionTable.EXACT, 0);
+        assertEquals(10, TranspositionTable.score(CuT.probe(HASH)));
+        assertFalse(TranspositionTable.isBestMove(CuT.probe(HASH), Board.encode(0, 4, 0)));
+
+        CuT.newSearch();
+        CuT.store(HASH, 2, 20, TranspositionTable.EXACT, 0);
+        assertEquals(20, TranspositionTable.score(CuT.probe(HASH)));
+
+        CuT.clear();
+        assertEquals(TranspositionTable.NO_ENTRY, CuT.probe(HASH));
+    }
+
+    @Test
+    public void winScoresFit() {
+        TranspositionTable CuT = new TranspositionTable(4);
+
+        CuT.store(HASH, 1, Evaluator.WIN, TranspositionTable.EXACT, 0);
+        assertEquals(Evaluator.WIN, TranspositionTable.score(CuT.probe(HASH)));
+        CuT.store(HASH, 1, -Evaluator.WIN, TranspositionTable.EXACT, 0);
+        assertEquals(-Evaluator.WIN, TranspositionTable.score(CuT.probe(HASH)));
+    }
+
+    @Test
+    public void size() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(29));
+    }
+}
@@ -0,0 +1,253 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.ai.*;
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class ComputerMoveSchedulerTest {
+
+    private ComputerMoveScheduler CuT;
+    private ForkJoinPool pool;
+
+    @AfterEach
+    public void shutdown() {
+        if (CuT != null) {
+            CuT.shutdown();
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays the first legal move, after waiting for a latch
+     */
+    private static Engine firstMove(CountDownLatch go) {
+        return new Engine() {
+            @Override
+            public SearchResult search(Board board, SearchLimits limits) {
+                try {
+                    go.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                MoveList moves = new MoveList();
+                board.generateMoves(moves);
+                return new SearchResult(moves.get(0), 0, 1, 1, 0);
+            }
+
+            @Override
+            public String getName() {
+                return "first";
+            }
+        };
+    }
+
+    /**
+     * Plays the first legal move at once; while pondering, keeps searching until stopped
+     */
+    private static Engine ponderUntilStopped(AtomicInteger ponders) {
+        Engine first = firstMove(new CountDownLatch(0));
+        return new Engine() {
+            @Override
+            public SearchResult search(Board board, SearchLimits limits) {
+                return first.search(board, limits);
+            }
+
+            @Override
+            public SearchResult search(Board board, SearchLimits limits, BooleanSupplier stop) {
+                ponders.incrementAndGet();
+                long deadline = System.currentTimeMillis() + 10000;
+                while (!stop.getAsBoolean() && System.currentTimeMillis() < deadline) {
+                    Thread.yield();
+                }
+                return first.search(board, limits);
+            }
+
+            @Override
+            public String getName() {
+                return "ponder";
+            }
+        };
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void sharesThinkTime() {
+        CuT = new ComputerMoveScheduler(firstMove(new CountDownLatch(0)), 2, 8);
+
+        SearchLimits depth = SearchLimits.depth(4);
+        assertSame(depth, CuT.limits(depth, 5000, 10));
+
+        SearchLimits time = SearchLimits.time(1000, 12);
+        assertEquals(1000, CuT.limits(time, 0, 1).getMillis());
+        assertEquals(12, CuT.limits(time, 0, 1).getDepth());
+        // Four requests on two workers get half the time each
+        assertEquals(500, CuT.limits(time, 0, 4).getMillis());
+        // Waiting counts against the deadline
+        assertEquals(100, CuT.limits(time, 900, 1).getMillis());
+        assertEquals(ComputerMoveScheduler.MIN_THINK_MILLIS, CuT.limits(time, 5000, 1).getMillis());
+    }
+
+    @Test
+    public void admission() {
+        CuT = new ComputerMoveScheduler(firstMove(new CountDownLatch(0)), 1, 2);
+
+        assertTrue(CuT.admit(1));
+        assertFalse(CuT.admit(2));
+        assertEquals(1, CuT.getRefusedGames());
+        assertThrows(IllegalArgumentException.class, () -> new ComputerMoveScheduler(firstMove(null), 0, 1));
+    }
+
+    @Test
+    public void oneRequestPerGame() throws InterruptedException {
+        CountDownLatch go = new CountDownLatch(1);
+        CuT = new ComputerMoveScheduler(firstMove(go), 1, 4);
+
+        ComputerPlayer computer1 = new ComputerPlayer("Computer 1", Player.GameType.NORMAL, Difficulty.EASY);
+        ComputerPlayer computer2 = new ComputerPlayer("Computer 2", Player.GameType.NORMAL, Difficulty.EASY);
+        CheckersGame game1 = new CheckersGame(computer1, new Player("human1", Player.GameType.NORMAL));
+        CheckersGame game2 = new CheckersGame(computer2, new Player("human2", Player.GameType.NORMAL));
+
+        assertTrue(CuT.submit(game1, computer1, CheckersGame::submitTurn));
+        await(() -> CuT.getSearching() == 1);
+        assertTrue(CuT.submit(game2, computer2, CheckersGame::submitTurn));
+        assertFalse(CuT.submit(game1, computer1, CheckersGame::submitTurn));
+        assertEquals(1, CuT.getQueueDepth());
+        assertEquals(1, CuT.getMaxQueueDepth());
+
+        go.countDown();
+        await(() -> CuT.getMoves() == 2);
+        assertEquals(0, CuT.getQueueDepth());
+        assertEquals(0, CuT.getFailures());
+        assertEquals(Piece.Color.WHITE, game1.getPlayerColor(game1.getPlayerActive()));
+        assertEquals(Piece.Color.WHITE, game2.getPlayerColor(game2.getPlayerActive()));
+        assertNotNull(CuT.toString());
+    }
+
+    @Test
+    public void keepsRequestsTheFullQueueTurnsAway() throws InterruptedException {
+        CountDownLatch go = new CountDownLatch(1);
+        // Room for two requests behind the one being searched
+        CuT = new ComputerMoveScheduler(firstMove(go), 1, 1);
+
+        List<CheckersGame> games = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ComputerPlayer computer = new ComputerPlayer("Computer " + i, Player.GameType.NORMAL, Difficulty.EASY);
+            CheckersGame game = new CheckersGame(computer, new Player("human" + i, Player.GameType.NORMAL));
+            games.add(game);
+            assertTrue(CuT.submit(game, computer, CheckersGame::submitTurn));
+            if (i == 0) {
+                await(() -> CuT.getSearching() == 1);
+            }
+        }
+        assertEquals(4, CuT.getQueueDepth());
+
+        go.countDown();
+        await(() -> CuT.getMoves() == 5);
+        assertEquals(0, CuT.getQueueDepth());
+        for (CheckersGame game : games) {
+            assertEquals(Piece.Color.WHITE, game.getPlayerColor(game.getPlayerActive()));
+        }
+    }
+
+    @Test
+    public void answersHumanTurns() throws InterruptedException {
+        pool = new ForkJoinPool(1);
+        CuT = new ComputerMoveScheduler(new AlphaBetaEngine(pool, 16), 1, 4);
+        GameManager gameManager = new GameManager(EndgameTablebase.empty(), CuT);
+        Player human = new Player("human", Player.GameType.NORMAL);
+
+        CheckersGame game = gameManager.getNewComputerGame(human, Difficulty.EASY);
+        assertTrue(game.getPlayerWhite() instanceof ComputerPlayer);
+
+        gameManager.getPlayerTurn(human).validateMove(new Move(new Position(5, 0), new Position(4, 1)));
+        assertEquals(Message.MessageType.info, gameManager.submitTurn(game, human).getType());
+
+        await(() -> human.equals(game.getPlayerActive()));
+        assertEquals(1, CuT.getMoves());
+        assertNotNull(gameManager.getPlayerTurn(human));
+    }
+
+    @Test
+    public void answersPredictedReplyAtOnce() throws InterruptedException {
+        CuT = new ComputerMoveScheduler(firstMove(new CountDownLatch(0)), 1, 4, true);
+        ComputerPlayer computer = new ComputerPlayer("Computer", Player.GameType.NORMAL, Difficulty.MEDIUM);
+        Player human = new Player("human", Player.GameType.NORMAL);
+        CheckersGame game = new CheckersGame(computer, human);
+
+        assertTrue(CuT.submit(game, computer, CheckersGame::submitTurn));
+        await(() -> CuT.getPondered() == 1);
+
+        // The engine predicts its own first move for the human
+        Board board = Board.of(game.getBoard(), Piece.Color.WHITE);
+        MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        for (Move move : board.toMoves(moves.get(0))) {
+            game.getTurn().validateMove(move);
+        }
+        game.submitTurn(human);
+
+        assertTrue(CuT.submit(game, computer, CheckersGame::submitTurn));
+        await(() -> CuT.getMoves() == 2);
+        assertEquals(1, CuT.getPonderHits());
+        assertEquals(human, game.getPlayerActive());
+    }
+
+    @Test
+    public void ponderingYieldsToRequests() throws InterruptedException {
+        AtomicInteger ponders = new AtomicInteger();
+        CuT = new ComputerMoveScheduler(ponderUntilStopped(ponders), 1, 4, true);
+        ComputerPlayer computer1 = new ComputerPlayer("Computer 1", Player.GameType.NORMAL, Difficulty.MEDIUM);
+        ComputerPlayer computer2 = new ComputerPlayer("Computer 2", Player.GameType.NORMAL, Difficulty.MEDIUM);
+        CheckersGame game1 = new CheckersGame(computer1, new Player("human1", Player.GameType.NORMAL));
+        CheckersGame game2 = new CheckersGame(computer2, new Player("human2", Player.GameType.NORMAL));
+
+        assertTrue(CuT.submit(game1, computer1, CheckersGame::submitTurn));
+        await(() -> ponders.get() == 1);
+
+        // The only worker is pondering game1 until game2 needs it
+        assertTrue(CuT.submit(game2, computer2, CheckersGame::submitTurn));
+        await(() -> CuT.getMoves() == 2);
+        assertEquals(0, CuT.getPondered());
+        assertEquals(Piece.Color.WHITE, game2.getPlayerColor(game2.getPlayerActive()));
+    }
+
+    @Test
+    public void choosesEngineByName() {
+        Engine first = firstMove(new CountDownLatch(0));
+        Engine mcts = new MctsEngine();
+        Map<String, Engine> engines = new LinkedHashMap<>();
+        engines.put("first", first);
+        engines.put("mcts", mcts);
+        CuT = new ComputerMoveScheduler(engines, 1, 4, false);
+
+        assertEquals(Arrays.asList("first", "mcts"), new ArrayList<>(CuT.getEngineNames()));
+        assertSame(mcts, CuT.engine(new ComputerPlayer("Computer 1", Player.GameType.NORMAL, Difficulty.EASY, "mcts")));
+        assertSame(first, CuT.engine(new ComputerPlayer("Computer 2", Player.GameType.NORMAL, Difficulty.EASY)));
+        assertSame(first, CuT.engine(new ComputerPlayer("Computer 3", Player.GameType.NORMAL, Difficulty.EASY, "none")));
+    }
+}
@@ -0,0 +1,141 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class EventRunnerTest {
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player" + i, Player.GameType.TOURNAMENT));
+        }
+        return players;
+    }
+
+    /**
+     * RED resigns every game of the runner's current round
+     */
+    private static void resignRound(GameManager gameManager, EventRunner runner) {
+        for (Pairing pairing : runner.getPairings(runner.getRound())) {
+            if (!pairing.isBye()) {
+                assertTrue(gameManager.resignGame(pairing.getRed()), "resigning " + pairing);
+            }
+        }
+    }
+
+    @Test
+    public void runsARoundRobinRoundByRound() {
+        GameManager gameManager = new GameManager();
+        RoundRobin roundRobin = new RoundRobin(players(6), 1);
+        EventRunner runner = new EventRunner(gameManager, roundRobin);
+
+        runner.start();
+
+        Set<String> met = new HashSet<>();
+        for (int round = 1; round <= 5; round++) {
+            assertEquals(round, runner.getRound());
+            assertFalse(runner.isFinished());
+            for (Pairing pairing : runner.getPairings(round)) {
+                assertNotNull(gameManager.getGame(pairing.getRed()));
+                assertTrue(met.add(pairing.getRed().getName() + "|" + pairing.getWhite().getName()));
+            }
+            resignRound(gameManager, runner);
+        }
+
+        assertTrue(runner.isFinished());
+        assertEquals(15, met.size());
+        int wins = 0;
+        for (Player player : roundRobin.getStandings(0)) {
+            wins += roundRobin.getWins(player);
+        }
+        assertEquals(15, wins);
+    }
+
+    @Test
+    public void runsAKnockoutToItsChampion() {
+        GameManager gameManager = new GameManager();
+        List<Player> players = players(5);
+        Knockout knockout = new Knockout(players);
+        EventRunner runner = new EventRunner(gameManager, knockout);
+
+        runner.start();
+        while (!runner.isFinished()) {
+            resignRound(gameManager, runner);
+        }
+
+        // RED, the better seed, resigns: 4 beats 3, 4 beats 0 and 2 beats 1, then 4 beats 2
+        assertEquals(3, runner.getRound());
+        assertEquals(players.get(4), knockout.getChampion());
+    }
+
+    @Test
+    public void startsTheNextRoundInMillisecondsWithHundredsOfBoards() {
+        GameManager gameManager = new GameManager();
+        List<Player> players = players(600);
+        EventRunner runner = new EventRunner(gameManager, new SwissTournament(players, 2));
+
+        runner.start();
+        assertEquals(300, runner.getPairings(1).size());
+        resignRound(gameManager, runner);
+
+        assertEquals(2, runner.getRound());
+        for (Player player : players) {
+            CheckersGame game = gameManager.getGame(player);
+            assertNotNull(game.getTurn(), player.getName() + " is playing round 2");
+        }
+        assertTrue(runner.getTransitionNanos() < TimeUnit.SECONDS.toNanos(1),
+                TimeUnit.NANOSECONDS.toMillis(runner.getTransitionNanos()) + " ms between rounds");
+    }
+
+    @Test
+    public void countsDownGamesEndingOnManyThreads() {
+        GameManager gameManager = new GameManager();
+        RoundRobin roundRobin = new RoundRobin(players(40), 2);
+        EventRunner runner = new EventRunner(gameManager, roundRobin);
+
+        runner.start();
+        while (!runner.isFinished()) {
+            runner.getPairings(runner.getRound()).parallelStream()
+                    .forEach(pairing -> assertTrue(gameManager.resignGame(pairing.getRed())));
+        }
+
+        assertEquals(19, runner.getRound());
+        int wins = 0;
+        for (int pool = 0; pool < 2; pool++) {
+            for (Player player : roundRobin.getStandings(pool)) {
+                wins += roundRobin.getWins(player);
+            }
+        }
+        assertEquals(2 * 190, wins);
+    }
+
+    @Test
+    public void ignoresGamesOutsideTheEvent() {
+        GameManager gameManager = new GameManager();
+        List<Player> players = players(2);
+        Player outsider = new Player("outsider", Player.GameType.TOURNAMENT);
+        Player other = new Player("other", Player.GameType.TOURNAMENT);
+        EventRunner runner = new EventRunner(gameManager, new Knockout(players));
+        runner.start();
+
+        gameManager.getNewGame(outsider, other);
+        assertTrue(gameManager.resignGame(outsider));
+
+        assertFalse(runner.isFinished());
+        resignRound(gameManager, runner);
+        assertTrue(runner.isFinished());
+        assertThrows(IllegalStateException.class, runner::start);
+    }
+}
@@ -0,0 +1,92 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class FileSessionStoreTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("sessions");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void sharesSessionsBetweenServers() throws IOException {
+        FileSessionStore one = FileSessionStore.open(directory, 60_000);
+        FileSessionStore other = FileSessionStore.open(directory, 60_000);
+        PlayerReference ann = new PlayerReference("ann", Player.GameType.TOURNAMENT);
+
+        one.put("abc", ann);
+        assertEquals(ann, other.get("abc"));
+        // The reference is a type byte and the name
+        assertEquals(4, Files.size(directory.resolve("abc" + FileSessionStore.SUFFIX)));
+
+        other.put("abc", new PlayerReference("bob", Player.GameType.NORMAL));
+        assertEquals("bob", one.get("abc").getName());
+
+        one.remove("abc");
+        assertNull(other.get("abc"));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void signsOutIdleSessions() throws IOException {
+        FileSessionStore store = FileSessionStore.open(directory, 60_000);
+        store.put("idle", new PlayerReference("ann", Player.GameType.NORMAL));
+        store.put("stale", new PlayerReference("bob", Player.GameType.NORMAL));
+        store.put("fresh", new PlayerReference("cat", Player.GameType.NORMAL));
+        FileTime hourAgo = FileTime.fromMillis(System.currentTimeMillis() - 3_600_000);
+        Files.setLastModifiedTime(directory.resolve("idle" + FileSessionStore.SUFFIX), hourAgo);
+        Files.setLastModifiedTime(directory.resolve("stale" + FileSessionStore.SUFFIX), hourAgo);
+
+        assertNull(store.get("idle"));
+        assertFalse(Files.exists(directory.resolve("idle" + FileSessionStore.SUFFIX)));
+
+        FileSessionStore.open(directory, 60_000);
+        assertFalse(Files.exists(directory.resolve("stale" + FileSessionStore.SUFFIX)));
+        assertEquals("cat", store.get("fresh").getName());
+    }
+
+    @Test
+    public void rejectsIdsThatAreNotFileNames() throws IOException {
+        FileSessionStore store = FileSessionStore.open(directory, 60_000);
+
+        assertNull(store.get("../abc"));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.put("../abc", new PlayerReference("ann", Player.GameType.NORMAL)));
+    }
+
+    @Test
+    public void ignoresAFileThatIsNotAReference() throws IOException {
+        FileSessionStore store = FileSessionStore.open(directory, 60_000);
+        Files.write(directory.resolve("abc" + FileSessionStore.SUFFIX), new byte[]{9, 'a'});
+
+        assertNull(store.get("abc"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class GameArchiveTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("archive");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void storesOneByteAMove() {
+        List<List<Move>> turns = Arrays.asList(
+                Arrays.asList(Move.between(Position.at(5, 0), Position.at(4, 1))),
+                Arrays.asList(Move.between(Position.at(2, 3), Position.at(3, 2))),
+                Arrays.asList(Move.between(Position.at(7, 0), Position.at(5, 2)),
+                        Move.between(Position.at(5, 2), Position.at(3, 4))),
+                Arrays.asList(Move.between(Position.at(1, 6), Position.at(3, 4)),
+                        Move.between(Position.at(3, 4), Position.at(5, 6))));
+
+        byte[] bytes = GameArchive.encode(turns);
+
+        assertEquals(6, bytes.length);
+        assertEquals(turns, GameArchive.decode(ByteBuffer.wrap(bytes), bytes.length));
+    }
+
+    @Test
+    public void readsBackWhatItArchived() throws IOException {
+        CheckersGame won = new CheckersGame(new Player("Tester", Player.GameType.NORMAL),
+                new Player("multiJump", Player.GameType.NORMAL));
+        won.getTurn().validateMove(TestCheckersBoards.RED_FIRST_JUMP_MOVE);
+        won.getTurn().validateMove(TestCheckersBoards.RED_SECOND_JUMP_MOVE);
+        assertEquals(Message.MessageType.info, won.submitTurn(won.getPlayerRed()).getType());
+
+        CheckersGame resigned = resignedGame("ann", "bob");
+
+        try (GameArchive archive = GameArchive.open(directory)) {
+            long wonId = archive.archive(won);
+            long resignedId = archive.archive(resigned);
+            assertEquals(2, archive.size());
+
+            ArchivedGame first = archive.get(wonId);
+            assertEquals("Tester", first.getRed());
+            assertEquals("multiJump", first.getWhite());
+            assertEquals(MoveNotation.formatGame(won.getTurns()), MoveNotation.formatGame(first.getTurns()));
+            assertEquals(1, first.getTurns().size());
+            assertEquals(TestCheckersBoards.position("multiJump"), first.getStart());
+
+            ArchivedGame second = archive.get(resignedId);
+            assertEquals(Piece.Color.WHITE, second.getWinner());
+            assertEquals(MoveNotation.formatGame(resigned.getTurns()), MoveNotation.formatGame(second.getTurns()));
+            assertEquals(PositionString.parse(PositionString.STARTING), second.getStart());
+            assertTrue(second.getEndMillis() >= first.getEndMillis());
+
+            assertNull(archive.get(resignedId + 1));
+        }
+    }
+
+    @Test
+    public void looksUpOnlyTheBlocksItNeeds() throws IOException {
+        try (GameArchive archive = GameArchive.open(directory, 1 << 20, 128)) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                ids.add(archive.archive(resignedGame("player" + (i % 8), "rare" + (i / 20))));
+            }
+            int blocks = archive.getBlockCount();
+            assertTrue(blocks > 10);
+
+            long read = archive.getBlocksRead();
+            assertEquals(ids.get(17).longValue(), archive.get(ids.get(17)).getId());
+            assertEquals(read + 1, archive.getBlocksRead());
+
+            read = archive.getBlocksRead();
+            List<ArchivedGame> games = archive.getGames("rare1");
+            assertEquals(20, games.size());
+            assertTrue(archive.getBlocksRead() - read <= blocks / 2 + 1);
+
+            read = archive.getBlocksRead();
+            assertEquals(5, archive.getGames("player3").size());
+            assertTrue(archive.getBlocksRead() - read <= 5);
+
+            assertTrue(archive.getGames("nobody").isEmpty());
+            assertEquals(40, archive.getGamesEnded(0, Long.MAX_VALUE).size());
+            assertTrue(archive.getGamesEnded(Long.MAX_VALUE - 1, Long.MAX_VALUE).isEmpty());
+        }
+    }
+
+    @Test
+    public void reopensAcrossSegmentsAndDropsATornRecord() throws IOException {
+        try (GameArchive archive = GameArchive.open(directory, 256, 128)) {
+            for (int i = 0; i < 10; i++) {
+                archive.archive(resignedGame("red" + i, "white" + i));
+            }
+        }
+
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.sorted().forEach(segments::add);
+        }
+        assertTrue(segments.size() > 1);
+        // A record whose write was cut short
+        Files.write(segments.get(segments.size() - 1), new byte[]{0, 0, 1, 0, 7}, StandardOpenOption.APPEND);
+
+        try (GameArchive archive = GameArchive.open(directory, 256, 128)) {
+            assertEquals(10, archive.size());
+            assertEquals("red0", archive.get(1).getRed());
+            assertEquals(1, archive.getGames("white9").size());
+
+            long id = archive.archive(resignedGame("red10", "white10"));
+            assertEquals(11, id);
+            assertEquals("red10", archive.get(id).getRed());
+        }
+    }
+
+    @Test
+    public void streamsEveryGameAsPdn() throws IOException {
+        try (GameArchive archive = GameArchive.open(directory, 256, 128)) {
+            for (int i = 0; i < 10; i++) {
+                archive.archive(resignedGame("red" + i, "white" + i));
+            }
+
+            List<PdnGame> games = new ArrayList<>();
+            archive.forEach(game -> games.add(game.toPdn()));
+
+            assertEquals(10, games.size());
+            assertEquals("red3", games.get(3).getTag(PdnGame.BLACK_TAG));
+            assertEquals("white3", games.get(3).getTag(PdnGame.WHITE_TAG));
+            assertEquals(PdnGame.WHITE_WINS, games.get(3).getResult());
+            assertNull(games.get(3).getTag(PdnGame.FEN_TAG));
+            assertEquals("12-16 24-19", MoveNotation.formatGame(games.get(3).getTurns()));
+        }
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        Files.write(directory.resolve("games-000001.seg"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> GameArchive.open(directory));
+    }
+
+    /**
+     * A game of one turn each, after which RED resigns
+     */
+    private static CheckersGame resignedGame(String red, String white) {
+        Player redPlayer = new Player(red, Player.GameType.NORMAL);
+        Player whitePlayer = new Player(white, Player.GameType.NORMAL);
+        CheckersGame game = new CheckersGame(redPlayer, whitePlayer);
+
+        game.getTurn().validateMove(Move.between(Position.at(5, 0), Position.at(4, 1)));
+        game.submitTurn(redPlayer);
+        game.getTurn().validateMove(Move.between(Position.at(2, 1), Position.at(3, 2)));
+        game.submitTurn(whitePlayer);
+        assertTrue(game.resignGame(redPlayer));
+        return game;
+    }
+}
@@ -0,0 +1,133 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class GameEventTest {
+
+    private GameManager primary;
+    private GameManager replica;
+    private List<GameEvent> events;
+    private Player red;
+    private Player white;
+
+    @BeforeEach
+    public void setup() {
+        // The primary records the games that end on it
+        new TournamentScoreboard();
+        primary = new GameManager();
+        replica = new GameManager();
+        events = new ArrayList<>();
+        primary.addGameEventListener(events::add);
+        red = new Player("ann", Player.GameType.NORMAL);
+        white = new Player("bob", Player.GameType.NORMAL);
+    }
+
+    @Test
+    public void replaysAGameFromItsEvents() throws IOException {
+        CheckersGame game = playTwoTurns();
+        assertTrue(primary.resignGame(red));
+        primary.clearGame(red);
+
+        assertEquals(5, events.size());
+        assertEquals(GameEvent.Kind.STARTED, events.get(0).getKind());
+        assertEquals(GameEvent.Kind.TURN, events.get(1).getKind());
+        assertEquals(GameEvent.Kind.RESIGNED, events.get(3).getKind());
+        assertEquals(GameEvent.Kind.CLEARED, events.get(4).getKind());
+
+        assertEquals(1, TournamentScoreboard.getRatings().getRating("bob").getGames());
+
+        List<GameEvent> read = roundTrip(events);
+        for (GameEvent event : read.subList(0, 4)) {
+            assertTrue(event.apply(replica));
+        }
+        // Only the primary records the result
+        assertEquals(1, TournamentScoreboard.getRatings().getRating("bob").getGames());
+        CheckersGame copy = replica.getGame(red);
+        assertEquals(game.toString(), copy.toString());
+        assertEquals(MoveNotation.formatGame(game.getTurns()), MoveNotation.formatGame(copy.getTurns()));
+        assertTrue(copy.isResigned());
+        assertEquals(white, copy.getWinner());
+
+        assertTrue(read.get(4).apply(replica));
+        assertFalse(replica.isPlayerInAGame(red));
+    }
+
+    @Test
+    public void rebuildsAGameFromASnapshot() throws IOException {
+        CheckersGame game = playTwoTurns();
+
+        List<GameEvent> snapshot = roundTrip(GameEvent.snapshot(game));
+        assertEquals(3, snapshot.size());
+        for (GameEvent event : snapshot) {
+            assertTrue(event.apply(replica));
+        }
+        CheckersGame copy = replica.getGame(red);
+        assertEquals(MoveNotation.formatGame(game.getTurns()), MoveNotation.formatGame(copy.getTurns()));
+        assertEquals(red, copy.getTurn().getPlayer());
+    }
+
+    @Test
+    public void appliesAnEventOnlyOnce() {
+        CheckersGame game = playTwoTurns();
+
+        // The snapshot and the events that raced with it overlap
+        for (GameEvent event : GameEvent.snapshot(game)) {
+            assertTrue(event.apply(replica));
+        }
+        for (GameEvent event : events) {
+            assertTrue(event.apply(replica));
+        }
+        assertEquals(2, replica.getGame(red).getTurns().size());
+        assertEquals(1, replica.getGameList().size());
+    }
+
+    @Test
+    public void reportsATurnThatDoesNotFit() {
+        playTwoTurns();
+
+        assertTrue(events.get(0).apply(replica));
+        // The first turn was missed
+        assertFalse(events.get(2).apply(replica));
+        // A turn of a game the replica does not have
+        assertFalse(events.get(1).apply(new GameManager()));
+    }
+
+    private CheckersGame playTwoTurns() {
+        CheckersGame game = primary.getNewGame(red, white);
+        game.getTurn().validateMove(Move.between(Position.at(5, 0), Position.at(4, 1)));
+        assertEquals(Message.MessageType.info, primary.submitTurn(game, red).getType());
+        game.getTurn().validateMove(Move.between(Position.at(2, 1), Position.at(3, 2)));
+        assertEquals(Message.MessageType.info, primary.submitTurn(game, white).getType());
+        return game;
+    }
+
+    private static List<GameEvent> roundTrip(List<GameEvent> events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (GameEvent event : events) {
+                event.write(out);
+            }
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        List<GameEvent> read = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            read.add(GameEvent.read(in));
+        }
+        assertEquals(-1, in.read());
+        return read;
+    }
+}
@@ -1,11 +1,29 @@
 package com.webcheckers.appl;
 
+import com.webcheckers.ai.AlphaBetaEngine;
+import com.webcheckers.ai.Difficulty;
+import com.webcheckers.ai.EndgameTablebase;
+import com.webcheckers.ai.TablebaseGenerator;
 import com.webcheckers.model.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -13,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.*;
 public class GameManagerTest {
 
     private static ArrayList<CheckersGame> gameList;
+    private static Path tablebaseFile;
 
     private GameManager CuT;
     private CheckersGame game;
@@ -23,6 +42,17 @@ public class GameManagerTest {
     private Player spectator;
 
 
+    @BeforeAll
+    public static void generateTablebase() throws IOException {
+        tablebaseFile = Files.createTempFile("endgame", ".tb");
+        new TablebaseGenerator(3).generate().write(tablebaseFile);
+    }
+
+    @AfterAll
+    public static void deleteTablebase() throws IOException {
+        Files.deleteIfExists(tablebaseFile);
+    }
+
     @BeforeEach
     public void setup(){
         CuT = new GameManager();
@@ -103,4 +133,217 @@ public class GameManagerTest {
         CuT.clearGames();
         assertEquals(game.toString(), CuT.getGame(redPlayer, whitePlayer).toString());
     }
+
+    @Test
+    public void recordsAResignationOnce(){
+        new TournamentScoreboard();
+        CuT.getNewGame(redPlayer, whitePlayer);
+
+        assertTrue(CuT.resignGame(redPlayer));
+
+        assertEquals(1, whitePlayer.getWins().intValue());
+        assertEquals(1, redPlayer.getLosses().intValue());
+        assertEquals(1, TournamentScoreboard.getRatings().getRating("white").getGames());
+    }
+
+    @Test
+    public void endsAGameBeforeAnyScoreboardIsBuilt() throws Exception {
+        // The scoreboard is static, so it is loaded afresh where no test has built one yet
+        URL classes = GameManager.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader fresh = new URLClassLoader(new URL[]{classes}, null)) {
+            Class<?> playerClass = fresh.loadClass(Player.class.getName());
+            Class<?> typeClass = fresh.loadClass(Player.GameType.class.getName());
+            Constructor<?> newPlayer = playerClass.getConstructor(String.class, typeClass);
+            Object red = newPlayer.newInstance("red", typeClass.getEnumConstants()[0]);
+            Object white = newPlayer.newInstance("white", typeClass.getEnumConstants()[0]);
+            Class<?> managerClass = fresh.loadClass(GameManager.class.getName());
+            Object manager = managerClass.getConstructor().newInstance();
+
+            assertNotNull(managerClass.getMethod("getNewGame", playerClass, playerClass).invoke(manager, red, white));
+            assertEquals(true, managerClass.getMethod("resignGame", playerClass).invoke(manager, red));
+            assertEquals(1, playerClass.getMethod("getWins").invoke(white));
+        }
+    }
+
+    @Test
+    public void tellsOfAResignationWhileHoldingTheGamesLock(){
+        new TournamentScoreboard();
+        game = CuT.getNewGame(redPlayer, whitePlayer);
+        List<Boolean> heldLock = new ArrayList<>();
+        CuT.addGameEndListener(ended -> heldLock.add(Thread.holdsLock(ended)));
+
+        assertTrue(CuT.resignGame(redPlayer));
+
+        assertEquals(Collections.singletonList(true), heldLock);
+    }
+
+    @Test
+    public void noTurnWithoutAGame(){
+        assertNull(CuT.getPlayerTurn(redPlayer));
+        CuT.getNewGame(redPlayer, whitePlayer);
+        assertNotNull(CuT.getPlayerTurn(redPlayer));
+        CuT.clearGame(redPlayer);
+        assertNull(CuT.getPlayerTurn(redPlayer));
+    }
+
+    @Test
+    public void gamesPage(){
+        assertFalse(CuT.hasGames());
+        CuT.getNewGame(redPlayer, whitePlayer);
+        CuT.getNewGame(spectator, new Player("another", Player.GameType.NORMAL));
+        assertTrue(CuT.hasGames());
+
+        LobbyPage<CheckersGame> page = CuT.getGamesPage(null, 1);
+        assertEquals("red vs. white", page.getItems().get(0).toString());
+        assertTrue(page.hasNext());
+
+        page = CuT.getGamesPage(page.getNextCursor(), 1);
+        assertEquals("spectator vs. another", page.getItems().get(0).toString());
+        assertFalse(page.hasNext());
+    }
+
+    /**
+     * Kinging leaves a king and a single against a single, which the tablebase knows RED wins
+     */
+    @Test
+    public void adjudicatesSolvedEndgames() throws IOException {
+        CuT = new GameManager(EndgameTablebase.open(tablebaseFile));
+        Player tester = new Player("Tester", Player.GameType.NORMAL);
+        Player kingMe = new Player("kingMe", Player.GameType.NORMAL);
+        game = CuT.getNewGame(tester, kingMe);
+
+        assertEquals(Message.MessageType.info,
+                CuT.getPlayerTurn(tester).validateMove(new Move(new Position(1, 6), new Position(0, 5))).getType());
+        assertEquals(Message.MessageType.info, CuT.submitTurn(game, tester).getType());
+        assertTrue(game.isWon());
+        assertEquals(tester, game.getWinner());
+        assertNull(CuT.getPlayerTurn(kingMe));
+    }
+
+    @Test
+    public void archivesFinishedGames() throws IOException {
+        Path directory = Files.createTempDirectory("archive");
+        try (GameArchive archive = GameArchive.open(directory)) {
+            CuT = new GameManager(EndgameTablebase.empty(), null, archive);
+            Player tester = new Player("Tester", Player.GameType.NORMAL);
+            Player singleJumpToEnd = new Player("singleJumpToEnd", Player.GameType.NORMAL);
+            game = CuT.getNewGame(tester, singleJumpToEnd);
+
+            CuT.getPlayerTurn(tester).validateMove(new Move(new Position(7, 0), new Position(5, 2)));
+            assertEquals(Message.MessageType.info, CuT.submitTurn(game, tester).getType());
+            assertTrue(game.isWon());
+            assertEquals(1, archive.size());
+            assertEquals(Piece.Color.RED, archive.getGames("Tester").get(0).getWinner());
+
+            CuT.clearGame(tester);
+            game = CuT.getNewGame(redPlayer, whitePlayer);
+            assertTrue(CuT.resignGame(redPlayer));
+            assertEquals(2, archive.size());
+            assertTrue(archive.getGames("red").get(0).getTurns().isEmpty());
+        } finally {
+            try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void playsOnWithoutTablebase(){
+        Player tester = new Player("Tester", Player.GameType.NORMAL);
+        Player kingMe = new Player("kingMe", Player.GameType.NORMAL);
+        game = CuT.getNewGame(tester, kingMe);
+
+        CuT.getPlayerTurn(tester).validateMove(new Move(new Position(1, 6), new Position(0, 5)));
+        assertEquals(Message.MessageType.info, CuT.submitTurn(game, tester).getType());
+        assertFalse(game.isWon());
+        assertNotNull(CuT.getPlayerTurn(kingMe));
+    }
+
+    @Test
+    public void computerGames(){
+        assertNull(CuT.getNewComputerGame(redPlayer, Difficulty.EASY));
+
+        ComputerMoveScheduler computerMoves = new ComputerMoveScheduler(new AlphaBetaEngine(), 1, 1);
+        try {
+            CuT = new GameManager(EndgameTablebase.empty(), computerMoves);
+            game = CuT.getNewComputerGame(redPlayer, Difficulty.HARD);
+
+            assertEquals(redPlayer, game.getPlayerRed());
+            assertEquals(Difficulty.HARD, ((ComputerPlayer) game.getPlayerWhite()).getDifficulty());
+            assertNull(CuT.getNewComputerGame(redPlayer, Difficulty.EASY));
+            // The computer plays one game at a time
+            assertNull(CuT.getNewComputerGame(whitePlayer, Difficulty.EASY));
+            assertEquals(1, computerMoves.getRefusedGames());
+
+            CuT.clearGame(redPlayer);
+            assertNotNull(CuT.getNewComputerGame(whitePlayer, Difficulty.EASY));
+        } finally {
+            computerMoves.shutdown();
+        }
+    }
+
+    @Test
+    public void computerGamesSetUpAtOnceStayWithinTheLimit() throws InterruptedException {
+        ComputerMoveScheduler computerMoves = new ComputerMoveScheduler(new AlphaBetaEngine(), 1, 2);
+        ExecutorService setups = Executors.newFixedThreadPool(8);
+        try {
+            CuT = new GameManager(EndgameTablebase.empty(), computerMoves);
+            CountDownLatch go = new CountDownLatch(1);
+            for (int i = 0; i < 32; i++) {
+                Player player = new Player("player" + i, Player.GameType.NORMAL);
+                setups.execute(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    CuT.getNewComputerGame(player, Difficulty.EASY);
+                });
+            }
+            go.countDown();
+            setups.shutdown();
+            assertTrue(setups.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(2, CuT.getGameList().size());
+            assertEquals(30, computerMoves.getRefusedGames());
+        } finally {
+            setups.shutdownNow();
+            computerMoves.shutdown();
+        }
+    }
+
+    @Test
+    public void computerGamesGiveUpTheirPlaceWhenLeft(){
+        new TournamentScoreboard();
+        ComputerMoveScheduler computerMoves = new ComputerMoveScheduler(new AlphaBetaEngine(), 1, 1);
+        try {
+            CuT = new GameManager(EndgameTablebase.empty(), computerMoves);
+            assertNotNull(CuT.getNewComputerGame(redPlayer, Difficulty.EASY));
+
+            // Resigning clears the game, as the player goes home without looking at it
+            assertTrue(CuT.resignGame(redPlayer));
+            assertFalse(CuT.isPlayerInAGame(redPlayer));
+
+            game = CuT.getNewComputerGame(whitePlayer, Difficulty.EASY);
+            assertNotNull(game);
+            assertNull(CuT.getNewComputerGame(spectator, Difficulty.EASY));
+
+            // Signing out in the middle of a turn
+            CuT.getPlayerTurn(whitePlayer).validateMove(new Move(new Position(5, 2), new Position(4, 3)));
+            CuT.leaveGame(whitePlayer);
+            assertTrue(game.isResigned());
+            assertFalse(CuT.isPlayerInAGame(whitePlayer));
+
+            assertNotNull(CuT.getNewComputerGame(spectator, Difficulty.EASY));
+            assertEquals(1, computerMoves.getRefusedGames());
+            // Nobody's results changed, as the games were against the computer
+            assertTrue(TournamentScoreboard.getRatings().getRanking().isEmpty());
+            assertEquals(0, (int) redPlayer.getWins() + redPlayer.getLosses());
+        } finally {
+            computerMoves.shutdown();
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class GameRouterTest {
+    private static final byte[] SECRET = "cluster secret".getBytes(StandardCharsets.UTF_8);
+
+    private static Map<String, String> nodes() {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        nodes.put("a", "http://localhost:4567");
+        nodes.put("b", "http://localhost:4577");
+        nodes.put("c", "http://localhost:4587");
+        return nodes;
+    }
+
+    /**
+     * A game id the ring gives to a node
+     */
+    private static String opponentOwnedBy(GameRouter router, String red, String node) {
+        for (int i = 0; ; i++) {
+            if (router.ownerOf(GameRouter.gameId(red, "opponent" + i)).equals(node)) {
+                return "opponent" + i;
+            }
+        }
+    }
+
+    @Test
+    public void sendsBothPlayersToTheGamesOwner() {
+        GameManager gameManager = new GameManager();
+        GameRouter a = new GameRouter("a", nodes(), gameManager, SECRET);
+        GameRouter b = new GameRouter("b", nodes(), new GameManager(), SECRET);
+        Player ann = new Player("ann", Player.GameType.NORMAL);
+
+        String local = opponentOwnedBy(a, "ann", "a");
+        String remote = opponentOwnedBy(a, "ann", "b");
+
+        assertNull(a.route(ann, local));
+        assertEquals("http://localhost:4577", a.route(ann, remote));
+        // Every node agrees on the owner
+        assertNull(b.route(ann, remote));
+        assertEquals("http://localhost:4567", b.route(ann, local));
+    }
+
+    @Test
+    public void keepsAGameInPlayWhereItStarted() {
+        GameManager gameManager = new GameManager();
+        GameRouter router = new GameRouter("a", nodes(), gameManager, SECRET);
+        Player ann = new Player("ann", Player.GameType.NORMAL);
+        String remote = opponentOwnedBy(router, "ann", "c");
+        gameManager.getNewGame(ann, new Player(remote, Player.GameType.NORMAL));
+
+        assertNull(router.route(ann, remote));
+    }
+
+    @Test
+    public void verifiesTheGamesOtherNodesSign() {
+        GameRouter a = new GameRouter("a", nodes(), new GameManager(), SECRET);
+        GameRouter b = new GameRouter("b", nodes(), new GameManager(), SECRET);
+        GameRouter stranger = new GameRouter("a", nodes(), new GameManager(),
+                "another secret".getBytes(StandardCharsets.UTF_8));
+        long now = System.currentTimeMillis();
+        String signature = a.sign("ann vs. bob", now);
+
+        assertTrue(b.verify("ann vs. bob", "a", now, signature));
+        assertFalse(b.verify("ann vs. cal", "a", now, signature));
+        assertFalse(b.verify("ann vs. bob", "c", now, signature));
+        assertFalse(b.verify("ann vs. bob", "a", now + 1, signature));
+        assertFalse(b.verify("ann vs. bob", "a", now, stranger.sign("ann vs. bob", now)));
+        assertFalse(b.verify("ann vs. bob", "a", now, "not base64!"));
+        assertFalse(b.verify("ann vs. bob", "a", now, null));
+        // Too old to be a hand-off
+        long then = now - GameRouter.HAND_OFF_MILLIS - 1000;
+        assertFalse(b.verify("ann vs. bob", "a", then, a.sign("ann vs. bob", then)));
+    }
+
+    @Test
+    public void handsAnOpponentOffOnce() {
+        GameManager gameManager = new GameManager();
+        GameRouter router = new GameRouter("a", nodes(), gameManager, SECRET);
+        Player bob = new Player("bob", Player.GameType.NORMAL);
+        Player cal = new Player("cal", Player.GameType.NORMAL);
+
+        router.handOff("bob", "http://localhost:4577");
+        router.handOff("cal", "http://localhost:4587");
+        gameManager.getNewGame(cal, new Player("dee", Player.GameType.NORMAL));
+
+        assertEquals("http://localhost:4577", router.takeHandOff(bob));
+        assertNull(router.takeHandOff(bob));
+        // Already playing here
+        assertNull(router.takeHandOff(cal));
+    }
+
+    @Test
+    public void rebalancesAsNodesLeaveAndJoin() {
+        GameRouter router = new GameRouter("a", nodes(), new GameManager(), SECRET);
+        Player ann = new Player("ann", Player.GameType.NORMAL);
+        String onB = opponentOwnedBy(router, "ann", "b");
+        String onC = opponentOwnedBy(router, "ann", "c");
+        Set<String> down = new HashSet<>(Collections.singleton("http://localhost:4577"));
+
+        router.checkNodes(url -> !down.contains(url));
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), router.getRing().getNodes());
+        assertNotEquals("b", router.ownerOf(GameRouter.gameId("ann", onB)));
+        assertEquals("http://localhost:4587", router.route(ann, onC));
+
+        down.clear();
+        router.checkNodes(url -> !down.contains(url));
+
+        assertEquals("http://localhost:4577", router.route(ann, onB));
+        assertFalse(router.leave("a"));
+        assertFalse(router.join("z"));
+    }
+
+    @Test
+    public void probesWhetherANodeAnswers() throws IOException {
+        int port;
+        try (ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+            assertTrue(GameRouter.answers("http://localhost:" + port));
+        }
+        assertFalse(GameRouter.answers("http://localhost:" + port));
+    }
+
+    @Test
+    public void mustBeOneOfItsNodes() {
+        assertThrows(IllegalArgumentException.class, () -> new GameRouter("z", nodes(), new GameManager(), SECRET));
+    }
+}
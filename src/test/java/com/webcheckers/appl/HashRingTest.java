@@ -0,0 +1,60 @@
+package com.webcheckers.appl;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class HashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    private static HashRing ring(String... nodes) {
+        return new HashRing(new HashSet<>(Arrays.asList(nodes)), HashRing.DEFAULT_REPLICAS);
+    }
+
+    @Test
+    public void spreadsKeysEvenly() {
+        HashRing ring = ring("a", "b", "c", "d");
+        Map<String, Integer> counts = new HashMap<>();
+        for (int key = 0; key < KEYS; key++) {
+            counts.merge(ring.owner("player" + key + " vs. player" + (key + 1)), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(Math.abs(count - KEYS / 4) < KEYS / 4 / 4, counts.toString());
+        }
+    }
+
+    @Test
+    public void movesOnlyTheKeysOfTheNodeThatJoinsOrLeaves() {
+        HashRing three = ring("a", "b", "c");
+        HashRing four = three.with("d");
+        int moved = 0;
+        for (int key = 0; key < KEYS; key++) {
+            String before = three.owner("game" + key);
+            String after = four.owner("game" + key);
+            if (!before.equals(after)) {
+                assertEquals("d", after);
+                moved++;
+            }
+            assertEquals(before, four.without("d").owner("game" + key));
+        }
+
+        assertTrue(moved > KEYS / 8 && moved < KEYS * 3 / 8, moved + " keys moved");
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c", "d")), four.getNodes());
+    }
+
+    @Test
+    public void needsANode() {
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(new HashSet<>(), 1));
+        assertEquals("a", ring("a").owner("anything"));
+    }
+}
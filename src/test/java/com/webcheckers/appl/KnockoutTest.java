@@ -0,0 +1,78 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class KnockoutTest {
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player" + i, Player.GameType.TOURNAMENT));
+        }
+        return players;
+    }
+
+    @Test
+    public void keepsTheBestSeedsApartUntilTheEnd() {
+        assertArrayEquals(new int[]{0, 1}, Knockout.bracketOrder(2));
+        assertArrayEquals(new int[]{0, 7, 3, 4, 1, 6, 2, 5}, Knockout.bracketOrder(5));
+        assertEquals(16, Knockout.bracketOrder(9).length);
+    }
+
+    @Test
+    public void givesTheByesToTheTopSeeds() {
+        List<Player> players = players(5);
+        Knockout knockout = new Knockout(players);
+
+        List<Pairing> first = knockout.pairRound();
+
+        assertEquals(4, first.size());
+        assertEquals("player0 has a bye", first.get(0).toString());
+        assertEquals("player3 vs. player4", first.get(1).toString());
+        assertEquals("player1 has a bye", first.get(2).toString());
+        assertEquals("player2 has a bye", first.get(3).toString());
+        assertEquals(3, knockout.getRounds());
+    }
+
+    @Test
+    public void playsDownToAChampion() {
+        List<Player> players = players(6);
+        Knockout knockout = new Knockout(players);
+
+        for (List<Pairing> round = knockout.pairRound(); !round.isEmpty(); round = knockout.pairRound()) {
+            assertNull(knockout.getChampion());
+            for (Pairing pairing : round) {
+                // WHITE, the weaker seed, always wins
+                knockout.score(pairing, pairing.isBye() ? pairing.getRed() : pairing.getWhite());
+            }
+        }
+
+        // 0 and 1 have byes, 4 beats 3 and 5 beats 2, 4 beats 0 and 5 beats 1, then 5 beats 4
+        assertEquals(players.get(5), knockout.getChampion());
+        assertEquals(Arrays.asList(players.get(5)), knockout.getRemaining());
+        assertEquals(3, knockout.getRound());
+    }
+
+    @Test
+    public void sendsTheBetterSeedThroughAGameNeitherPlayed() {
+        List<Player> players = players(2);
+        Knockout knockout = new Knockout(players);
+        Pairing only = knockout.pairRound().get(0);
+
+        assertThrows(IllegalStateException.class, knockout::pairRound);
+        knockout.score(only, null);
+
+        assertTrue(knockout.pairRound().isEmpty());
+        assertEquals(players.get(0), knockout.getChampion());
+        assertThrows(IllegalArgumentException.class, () -> knockout.score(only, players.get(1)));
+    }
+}
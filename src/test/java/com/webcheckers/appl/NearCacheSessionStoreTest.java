@@ -0,0 +1,78 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("Application-tier")
+public class NearCacheSessionStoreTest {
+
+    private SessionStore shared;
+    private PlayerReference ann;
+
+    @BeforeEach
+    public void setup() {
+        shared = spy(new InMemorySessionStore());
+        ann = new PlayerReference("ann", Player.GameType.NORMAL);
+    }
+
+    @Test
+    public void readsTheSharedStoreOncePerSession() {
+        shared.put("abc", ann);
+        NearCacheSessionStore CuT = new NearCacheSessionStore(shared, 10, 60_000);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(ann, CuT.get("abc"));
+        }
+
+        verify(shared, times(1)).get("abc");
+        assertEquals(4, CuT.getHits());
+        assertEquals(1, CuT.getMisses());
+    }
+
+    @Test
+    public void writesThrough() {
+        NearCacheSessionStore CuT = new NearCacheSessionStore(shared, 10, 60_000);
+
+        CuT.put("abc", ann);
+        assertEquals(ann, shared.get("abc"));
+        assertEquals(ann, CuT.get("abc"));
+        assertEquals(1, CuT.getHits());
+
+        CuT.remove("abc");
+        assertNull(shared.get("abc"));
+        assertNull(CuT.get("abc"));
+    }
+
+    @Test
+    public void seesChangesMadeElsewhereOnceAnEntryExpires() {
+        shared.put("abc", ann);
+        NearCacheSessionStore CuT = new NearCacheSessionStore(shared, 10, 0);
+        assertEquals(ann, CuT.get("abc"));
+
+        shared.remove("abc");
+        assertNull(CuT.get("abc"));
+
+        // Sessions that are not signed in are not kept
+        shared.put("abc", ann);
+        assertEquals(ann, CuT.get("abc"));
+    }
+
+    @Test
+    public void keepsOnlyTheMostRecentlyUsedSessions() {
+        NearCacheSessionStore CuT = new NearCacheSessionStore(shared, 2, 60_000);
+        CuT.put("one", ann);
+        CuT.put("two", ann);
+        CuT.get("one");
+        CuT.put("three", ann);
+
+        CuT.get("one");
+        CuT.get("two");
+        verify(shared, never()).get("one");
+        verify(shared).get("two");
+    }
+}
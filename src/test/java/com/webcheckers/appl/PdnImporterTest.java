@@ -0,0 +1,68 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class PdnImporterTest {
+
+    private static String games(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(String.format("[Black \"red%d\"]\n[White \"white%d\"]\n", i, i));
+            // Every third game has an illegal turn, every fifth cannot be read
+            if (i % 5 == 4) {
+                text.append("1. 11-15 23-99 *\n\n");
+            } else if (i % 3 == 2) {
+                text.append("1. 11-18 *\n\n");
+            } else {
+                text.append("1. 11-15 23-19 2. 8-11 22-17 1-0\n\n");
+            }
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void replaysEveryGameOnSeveralThreads() throws Exception {
+        List<String> imported = Collections.synchronizedList(new ArrayList<>());
+
+        PdnImporter.Result result = new PdnImporter(4, 2).importGames(new PdnReader(new StringReader(games(60))),
+                (record, game) -> {
+                    assertEquals(record.getTag(PdnGame.BLACK_TAG), game.getPlayerRed().getName());
+                    assertEquals(game.getPlayerRed(), game.getWinner());
+                    imported.add(MoveNotation.formatGame(game.getTurns()));
+                });
+
+        // Games 4, 9, ... cannot be read; 2, 5, 8, ... but not 14, 29, 44 and 59 are illegal
+        assertEquals(60, result.getRead());
+        assertEquals(12 + 16, result.getRejected());
+        assertEquals(32, result.getImported());
+        assertEquals(32, imported.size());
+        assertTrue(imported.stream().allMatch("11-15 23-19 8-11 22-17"::equals));
+        assertEquals(PdnImporter.MAX_ERRORS, result.getErrors().size());
+    }
+
+    @Test
+    public void stopsWhenTheSinkFails() {
+        PdnImporter importer = new PdnImporter(2, 1);
+
+        IOException e = assertThrows(IOException.class, () -> importer.importGames(
+                new PdnReader(new StringReader(games(50))),
+                (record, game) -> { throw new IOException("disk full"); }));
+        assertEquals("disk full", e.getMessage());
+    }
+
+    @Test
+    public void needsThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new PdnImporter(0));
+    }
+}
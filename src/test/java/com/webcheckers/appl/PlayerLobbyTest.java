@@ -0,0 +1,99 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class PlayerLobbyTest {
+
+    private PlayerLobby CuT;
+
+    @BeforeEach
+    public void setup(){
+        CuT = new PlayerLobby();
+    }
+
+    @Test
+    public void newPlayer(){
+        Player player = CuT.newPlayer("alice", Player.GameType.NORMAL);
+        assertEquals(player, CuT.getPlayer("alice"));
+        assertTrue(CuT.isPlayerInLobby(player));
+        assertEquals(1, (int) CuT.getActivePlayerCount());
+        assertThrows(PlayerLobbyException.class, () -> CuT.newPlayer("alice", Player.GameType.TOURNAMENT));
+        assertThrows(PlayerLobbyException.class, () -> CuT.newPlayer("al!ce", Player.GameType.NORMAL));
+    }
+
+    @Test
+    public void destroyPlayer(){
+        Player player = CuT.newPlayer("alice", Player.GameType.NORMAL);
+        CuT.destroyPlayer("alice");
+        CuT.destroyPlayer("alice");
+        assertFalse(CuT.isPlayerInLobby(player));
+        assertEquals(0, (int) CuT.getActivePlayerCount());
+        assertTrue(CuT.getPlayersPage(Player.GameType.NORMAL, null, null, 10).isEmpty());
+    }
+
+    @Test
+    public void pagesAreSortedAndChained(){
+        for (String name : new String[]{"erin", "bob", "dave", "alice", "carol"}) {
+            CuT.newPlayer(name, Player.GameType.NORMAL);
+        }
+
+        LobbyPage<Player> first = CuT.getPlayersPage(Player.GameType.NORMAL, null, null, 2);
+        assertEquals("alice", first.getItems().get(0).getName());
+        assertEquals("bob", first.getItems().get(1).getName());
+        assertTrue(first.hasNext());
+
+        LobbyPage<Player> second = CuT.getPlayersPage(Player.GameType.NORMAL, null, first.getNextCursor(), 2);
+        assertEquals("carol", second.getItems().get(0).getName());
+        assertEquals("dave", second.getItems().get(1).getName());
+
+        LobbyPage<Player> last = CuT.getPlayersPage(Player.GameType.NORMAL, null, second.getNextCursor(), 2);
+        assertEquals(1, last.getItems().size());
+        assertFalse(last.hasNext());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    public void pagesAreSplitByType(){
+        CuT.newPlayer("alice", Player.GameType.NORMAL);
+        CuT.newPlayer("bob", Player.GameType.TOURNAMENT);
+
+        LobbyPage<Player> tournament = CuT.getPlayersPage(Player.GameType.TOURNAMENT, null, null, 10);
+        assertEquals(1, tournament.getItems().size());
+        assertEquals("bob", tournament.getItems().get(0).getName());
+        assertEquals(2, CuT.getActivePlayers().size());
+    }
+
+    @Test
+    public void prefixSearch(){
+        for (String name : new String[]{"ann", "anna", "annie", "bob", "an"}) {
+            CuT.newPlayer(name, Player.GameType.NORMAL);
+        }
+
+        LobbyPage<Player> page = CuT.getPlayersPage(Player.GameType.NORMAL, "ann", null, 2);
+        assertEquals("ann", page.getItems().get(0).getName());
+        assertEquals("anna", page.getItems().get(1).getName());
+
+        page = CuT.getPlayersPage(Player.GameType.NORMAL, "ann", page.getNextCursor(), 2);
+        assertEquals(1, page.getItems().size());
+        assertEquals("annie", page.getItems().get(0).getName());
+
+        // A cursor outside of the prefix range never fails the lookup
+        assertEquals(3, CuT.getPlayersPage(Player.GameType.NORMAL, "ann", "a", 10).getItems().size());
+        assertTrue(CuT.getPlayersPage(Player.GameType.NORMAL, "ann", "zed", 10).isEmpty());
+    }
+
+    @Test
+    public void clearLobby(){
+        CuT.newPlayer("alice", Player.GameType.NORMAL);
+        CuT.newPlayer("bob", Player.GameType.TOURNAMENT);
+        CuT.clearLobby();
+        assertEquals(0, (int) CuT.getActivePlayerCount());
+        assertTrue(CuT.getPlayersPage(Player.GameType.TOURNAMENT, null, null, 10).isEmpty());
+    }
+}
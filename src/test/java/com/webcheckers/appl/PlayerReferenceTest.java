@@ -0,0 +1,24 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class PlayerReferenceTest {
+
+    @Test
+    public void encodesAReferenceInAFewBytes() {
+        PlayerReference reference = new PlayerReference("Zoë 7", Player.GameType.TOURNAMENT);
+
+        byte[] bytes = reference.encode();
+
+        assertEquals(7, bytes.length);
+        assertEquals(reference, PlayerReference.decode(bytes));
+        assertTrue(reference.refersTo(new Player("Zoë 7", Player.GameType.TOURNAMENT)));
+        assertFalse(reference.refersTo(new Player("Zoë 7", Player.GameType.NORMAL)));
+        assertThrows(IllegalArgumentException.class, () -> PlayerReference.decode(new byte[]{1}));
+    }
+}
@@ -0,0 +1,131 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.ai.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class PositionAnalyzerTest {
+
+    /**
+     * Answers the first legal move after waiting for a latch, counting its searches
+     */
+    private static Engine firstMove(CountDownLatch go, AtomicInteger searches) {
+        return new Engine() {
+            @Override
+            public SearchResult search(Board board, SearchLimits limits) {
+                searches.incrementAndGet();
+                try {
+                    go.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                MoveList moves = new MoveList();
+                board.generateMoves(moves);
+                return new SearchResult(moves.get(0), 25, 1, 1, 0);
+            }
+
+            @Override
+            public String getName() {
+                return "first";
+            }
+        };
+    }
+
+    private static void await(AtomicInteger counter, int value) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (counter.get() < value) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void viewersShareOneSearch() throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger searches = new AtomicInteger();
+        PositionAnalyzer CuT = new PositionAnalyzer(firstMove(go, searches), 100, 16, 1);
+        Board board = Board.startingPosition();
+
+        ExecutorService viewers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SearchResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(viewers.submit(() -> CuT.analyze(board)));
+            }
+            await(searches, 1);
+            go.countDown();
+
+            SearchResult first = results.get(0).get(10, TimeUnit.SECONDS);
+            assertNotNull(first);
+            for (Future<SearchResult> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            viewers.shutdownNow();
+        }
+        assertEquals(1, searches.get());
+        assertEquals(1, CuT.getMisses());
+        assertEquals(7, CuT.getHits());
+
+        // Later viewers are answered from the cache
+        assertNotNull(CuT.analyze(board));
+        assertEquals(1, searches.get());
+        assertEquals(1, CuT.getCachedPositions());
+    }
+
+    @Test
+    public void refusesWhenBusy() throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger searches = new AtomicInteger();
+        PositionAnalyzer CuT = new PositionAnalyzer(firstMove(go, searches), 100, 16, 1);
+        Board start = Board.startingPosition();
+        MoveList moves = new MoveList();
+        start.generateMoves(moves);
+        Board next = start.play(moves.get(0));
+
+        ExecutorService viewer = Executors.newSingleThreadExecutor();
+        try {
+            Future<SearchResult> busy = viewer.submit(() -> CuT.analyze(start));
+            await(searches, 1);
+
+            assertNull(CuT.analyze(next));
+            assertEquals(1, CuT.getRefused());
+
+            go.countDown();
+            assertNotNull(busy.get(10, TimeUnit.SECONDS));
+        } finally {
+            viewer.shutdownNow();
+        }
+        // A refused position is not cached and is searched on the next request
+        assertNotNull(CuT.analyze(next));
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    public void dropsLeastRecentlyUsed() {
+        AtomicInteger searches = new AtomicInteger();
+        PositionAnalyzer CuT = new PositionAnalyzer(firstMove(new CountDownLatch(0), searches), 100, 1, 1);
+        Board start = Board.startingPosition();
+        MoveList moves = new MoveList();
+        start.generateMoves(moves);
+
+        CuT.analyze(start);
+        CuT.analyze(start.play(moves.get(0)));
+        assertEquals(1, CuT.getCachedPositions());
+        CuT.analyze(start);
+        assertEquals(3, searches.get());
+        assertThrows(IllegalArgumentException.class, () -> new PositionAnalyzer(firstMove(null, searches), 100, 0, 1));
+    }
+}
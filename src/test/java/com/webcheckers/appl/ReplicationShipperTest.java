@@ -0,0 +1,152 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class ReplicationShipperTest {
+
+    private GameManager gameManager;
+    private ReplicationShipper shipper;
+    private CheckersGame game;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        gameManager = new GameManager();
+        game = gameManager.getNewGame(new Player("ann", Player.GameType.NORMAL),
+                new Player("bob", Player.GameType.NORMAL));
+        shipper = ReplicationShipper.start(gameManager, 0, 100);
+    }
+
+    @AfterEach
+    public void close() throws IOException {
+        shipper.close();
+    }
+
+    @Test
+    public void queuesNothingWithoutAStandby() {
+        shipper.gameChanged(GameEvent.cleared(game));
+
+        assertFalse(shipper.isStandbyConnected());
+        assertEquals(0, shipper.getLagChanges());
+        assertEquals(0, shipper.getOverflows());
+    }
+
+    @Test
+    public void sendsASnapshotWhenAStandbyConnects() throws IOException {
+        try (Socket standby = new Socket()) {
+            standby.connect(new InetSocketAddress("localhost", shipper.getPort()));
+            DataInputStream in = new DataInputStream(standby.getInputStream());
+
+            assertEquals(ReplicationShipper.RESET, in.readByte());
+            assertEquals(0, in.readLong());
+            assertEquals(1, in.readInt());
+            GameEvent started = GameEvent.read(in);
+            assertEquals(GameEvent.Kind.STARTED, started.getKind());
+            assertEquals("ann vs. bob", started.getGameId());
+
+            await(shipper::isStandbyConnected);
+            shipper.gameChanged(GameEvent.cleared(game));
+            assertEquals(0, in.readByte());
+            assertEquals(1, in.readLong());
+            assertEquals(1, in.readInt());
+            assertEquals(GameEvent.Kind.CLEARED, GameEvent.read(in).getKind());
+            // Not acknowledged
+            assertEquals(1, shipper.getLagChanges());
+        }
+    }
+
+    @Test
+    public void shipsChangesMadeAtOnceInSequence() throws Exception {
+        shipper.close();
+        shipper = ReplicationShipper.start(gameManager, 0, ReplicationShipper.DEFAULT_MAX_PENDING);
+        try (Socket standby = new Socket()) {
+            standby.connect(new InetSocketAddress("localhost", shipper.getPort()));
+            DataInputStream in = new DataInputStream(standby.getInputStream());
+            DataOutputStream out = new DataOutputStream(standby.getOutputStream());
+            await(shipper::isStandbyConnected);
+
+            int threads = 4;
+            int changes = 5000;
+            GameEvent event = GameEvent.cleared(game);
+            ExecutorService changers = Executors.newFixedThreadPool(threads);
+            for (int thread = 0; thread < threads; thread++) {
+                changers.execute(() -> {
+                    for (int i = 0; i < changes; i++) {
+                        shipper.gameChanged(event);
+                    }
+                });
+            }
+            changers.shutdown();
+
+            // Each frame's last sequence number is the number of changes shipped so far
+            long received = -1;
+            while (received < threads * changes) {
+                in.readByte();
+                long last = in.readLong();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    GameEvent.read(in);
+                }
+                received = (received < 0) ? 0 : received + count;
+                assertEquals(received, last);
+                out.writeLong(last);
+                out.flush();
+            }
+            assertTrue(changers.awaitTermination(10, TimeUnit.SECONDS));
+            await(() -> shipper.getLagChanges() == 0);
+        }
+    }
+
+    @Test
+    public void dropsAStandbyThatFallsTooFarBehind() throws IOException {
+        try (Socket standby = new Socket()) {
+            // A standby that never reads: once the socket's buffers are full the queue fills
+            standby.setReceiveBufferSize(1024);
+            standby.connect(new InetSocketAddress("localhost", shipper.getPort()));
+            await(shipper::isStandbyConnected);
+
+            GameEvent event = GameEvent.started(game);
+            long start = System.nanoTime();
+            for (int i = 0; i < 10_000_000 && shipper.getOverflows() == 0; i++) {
+                shipper.gameChanged(event);
+            }
+            long nanosPerChange = (System.nanoTime() - start) / 10_000_000;
+
+            assertEquals(1, shipper.getOverflows());
+            await(() -> !shipper.isStandbyConnected());
+            assertEquals(0, shipper.getLagChanges());
+            // Queuing never waited for the standby
+            assertTrue(nanosPerChange < 100_000);
+        }
+    }
+
+    static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class RoundRobinTest {
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player" + i, Player.GameType.TOURNAMENT));
+        }
+        return players;
+    }
+
+    @Test
+    public void dealsThePoolsBackAndForth() {
+        List<Player> players = players(7);
+        RoundRobin roundRobin = new RoundRobin(players, 3);
+
+        List<List<Player>> pools = roundRobin.getPools();
+        assertEquals(Arrays.asList(players.get(0), players.get(5), players.get(6)), pools.get(0));
+        assertEquals(Arrays.asList(players.get(1), players.get(4)), pools.get(1));
+        assertEquals(Arrays.asList(players.get(2), players.get(3)), pools.get(2));
+        assertEquals(3, roundRobin.getRounds());
+    }
+
+    @Test
+    public void everyoneInAPoolMeetsEveryoneElseOnce() {
+        for (int size = 2; size <= 13; size++) {
+            RoundRobin roundRobin = new RoundRobin(players(size), 1);
+            Set<String> met = new HashSet<>();
+            Map<Player, Integer> colorBalance = new HashMap<>();
+            int byes = 0;
+
+            for (List<Pairing> round = roundRobin.pairRound(); !round.isEmpty(); round = roundRobin.pairRound()) {
+                Set<Player> seen = new HashSet<>();
+                for (Pairing pairing : round) {
+                    assertTrue(seen.add(pairing.getRed()));
+                    if (pairing.isBye()) {
+                        byes++;
+                        roundRobin.score(pairing, pairing.getRed());
+                        continue;
+                    }
+                    assertTrue(seen.add(pairing.getWhite()));
+                    assertTrue(met.add(pairing.getRed().getName() + "|" + pairing.getWhite().getName())
+                            && met.add(pairing.getWhite().getName() + "|" + pairing.getRed().getName()),
+                            "a rematch among " + size);
+                    colorBalance.merge(pairing.getRed(), 1, Integer::sum);
+                    colorBalance.merge(pairing.getWhite(), -1, Integer::sum);
+                    roundRobin.score(pairing, pairing.getRed());
+                }
+                assertEquals(size, seen.size());
+            }
+
+            assertEquals(size * (size - 1), met.size());
+            assertEquals(size % 2 == 0 ? 0 : size, byes);
+            assertEquals(roundRobin.getRounds(), roundRobin.getRound());
+            for (int balance : colorBalance.values()) {
+                assertTrue(Math.abs(balance) <= 2, "colors out of balance among " + size);
+            }
+        }
+    }
+
+    @Test
+    public void ranksAPoolByWinsWithoutCountingByes() {
+        List<Player> players = players(3);
+        RoundRobin roundRobin = new RoundRobin(players, 1);
+
+        for (List<Pairing> round = roundRobin.pairRound(); !round.isEmpty(); round = roundRobin.pairRound()) {
+            for (Pairing pairing : round) {
+                // The weakest seed wins every game it plays
+                boolean weakestPlays = players.get(2).equals(pairing.getRed()) || players.get(2).equals(pairing.getWhite());
+                roundRobin.score(pairing, weakestPlays ? players.get(2) : pairing.getRed());
+            }
+        }
+
+        assertEquals(2, roundRobin.getWins(players.get(2)));
+        assertEquals(1, roundRobin.getWins(players.get(0)) + roundRobin.getWins(players.get(1)));
+        assertEquals(players.get(2), roundRobin.getStandings(0).get(0));
+    }
+
+    @Test
+    public void needsTwoPlayersAPool() {
+        assertThrows(IllegalArgumentException.class, () -> new RoundRobin(players(3), 2));
+        assertThrows(IllegalArgumentException.class, () -> new RoundRobin(players(3), 0));
+    }
+}
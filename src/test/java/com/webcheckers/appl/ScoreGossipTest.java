@@ -0,0 +1,116 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.ScoreCounters;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class ScoreGossipTest {
+
+    private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+
+    private static InetSocketAddress local(ScoreGossip gossip) {
+        return new InetSocketAddress("localhost", gossip.getPort());
+    }
+
+    @Test
+    public void nodesOnLocalhostConvergeAroundARing() throws IOException {
+        ScoreCounters[] counters = new ScoreCounters[3];
+        ScoreGossip[] nodes = new ScoreGossip[3];
+        AtomicInteger changes = new AtomicInteger();
+        try {
+            for (int i = 0; i < nodes.length; i++) {
+                counters[i] = new ScoreCounters("node" + i);
+                nodes[i] = ScoreGossip.start(counters[i], LOOPBACK, 0, Collections.emptyList(), Long.MAX_VALUE / 2,
+                        changes::incrementAndGet);
+            }
+            // Each node only talks to the next one
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i].addPeer(local(nodes[(i + 1) % nodes.length]));
+            }
+
+            for (int game = 0; game < 30; game++) {
+                counters[game % 3].recordResult("player" + (game % 4), "player" + ((game + 1) % 4));
+            }
+            nodes[0].gossip();
+            nodes[1].gossip();
+            nodes[2].gossip();
+            nodes[0].gossip();
+
+            for (ScoreCounters node : counters) {
+                int wins = 0;
+                int losses = 0;
+                for (int player = 0; player < 4; player++) {
+                    wins += node.getWins("player" + player);
+                    losses += node.getLosses("player" + player);
+                }
+                assertEquals(30, wins, node.toString());
+                assertEquals(30, losses, node.toString());
+            }
+            assertEquals(counters[0].getWins("player1"), counters[2].getWins("player1"));
+            assertTrue(changes.get() > 0);
+            assertEquals(8, nodes[0].getExchanges() + nodes[1].getExchanges() + nodes[2].getExchanges());
+        } finally {
+            for (ScoreGossip node : nodes) {
+                if (node != null) {
+                    node.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void keepsGossipingWhileAPeerIsDown() throws IOException, InterruptedException {
+        int downPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            downPort = socket.getLocalPort();
+        }
+        ScoreCounters one = new ScoreCounters("one");
+        ScoreCounters two = new ScoreCounters("two");
+        try (ScoreGossip first = ScoreGossip.start(one, LOOPBACK, 0,
+                Collections.singletonList(new InetSocketAddress("localhost", downPort)), 10, () -> { });
+             ScoreGossip second = ScoreGossip.start(two, LOOPBACK, 0, Collections.emptyList(), 10, () -> { })) {
+            first.addPeer(local(second));
+            second.addPeer(local(first));
+            two.recordResult("ann", "bob");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (one.getWins("ann") == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, one.getWins("ann"));
+            assertEquals(1, one.getLosses("bob"));
+        }
+    }
+
+    @Test
+    public void refusesScoresFromHostsThatAreNotPeers() throws IOException {
+        ScoreCounters guarded = new ScoreCounters("guarded");
+        ScoreCounters intruder = new ScoreCounters("intruder");
+        try (ScoreGossip guardedGossip = ScoreGossip.start(guarded, LOOPBACK, 0,
+                Collections.singletonList(new InetSocketAddress("192.0.2.1", 4568)), Long.MAX_VALUE / 2, () -> { });
+             ScoreGossip intruderGossip = ScoreGossip.start(intruder, LOOPBACK, 0, Collections.emptyList(),
+                     Long.MAX_VALUE / 2, () -> { })) {
+            intruderGossip.addPeer(local(guardedGossip));
+            for (int game = 0; game < 100; game++) {
+                intruder.recordResult("eve", "ann");
+            }
+
+            intruderGossip.gossip();
+
+            assertEquals(0, guarded.getWins("eve"));
+            assertEquals(0, guarded.getLosses("ann"));
+            assertEquals(0, guardedGossip.getExchanges());
+            assertEquals(0, intruderGossip.getExchanges());
+        }
+    }
+}
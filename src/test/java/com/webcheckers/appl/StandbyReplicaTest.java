@@ -0,0 +1,100 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.webcheckers.appl.ReplicationShipperTest.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class StandbyReplicaTest {
+
+    private GameManager primary;
+    private GameManager replica;
+    private Player ann;
+    private Player bob;
+
+    @BeforeEach
+    public void setup() {
+        primary = new GameManager();
+        replica = new GameManager();
+        ann = new Player("ann", Player.GameType.NORMAL);
+        bob = new Player("bob", Player.GameType.NORMAL);
+    }
+
+    @Test
+    public void keepsUpWithThePrimaryAndTakesOverWhenItStops() throws IOException {
+        CheckersGame game = primary.getNewGame(ann, bob);
+        play(game, ann, Move.between(Position.at(5, 0), Position.at(4, 1)));
+        // A game the replica has that the primary does not is dropped by the snapshot
+        replica.getNewGame(new Player("old", Player.GameType.NORMAL), new Player("gone", Player.GameType.NORMAL));
+
+        ReplicationShipper shipper = ReplicationShipper.start(primary, 0, ReplicationShipper.DEFAULT_MAX_PENDING);
+        AtomicReference<GameManager> promoted = new AtomicReference<>();
+        StandbyReplica standby = StandbyReplica.start(replica,
+                new InetSocketAddress("localhost", shipper.getPort()), 1000, promoted::set);
+        try {
+            await(() -> replica.getGame(ann) != null && replica.getGame(ann).getTurns().size() == 1);
+            assertEquals(1, replica.getGameList().size());
+
+            play(game, bob, Move.between(Position.at(2, 1), Position.at(3, 2)));
+            Player cat = new Player("cat", Player.GameType.NORMAL);
+            primary.getNewGame(cat, new Player("dan", Player.GameType.NORMAL));
+            await(() -> shipper.getLagChanges() == 0 && standby.getLastSequence() == 2);
+            assertEquals(2, replica.getGame(ann).getTurns().size());
+            assertTrue(replica.isPlayerInAGame(cat));
+            assertEquals(4, standby.getApplied());
+            assertFalse(standby.isPromoted());
+
+            shipper.close();
+            await(standby::isPromoted);
+            assertSame(replica, promoted.get());
+            assertEquals(MoveNotation.formatGame(game.getTurns()),
+                    MoveNotation.formatGame(replica.getGame(ann).getTurns()));
+            assertEquals(ann, replica.getGame(ann).getTurn().getPlayer());
+        } finally {
+            standby.close();
+            shipper.close();
+        }
+    }
+
+    @Test
+    public void doesNotTakeOverBeforeItHasHeardFromAPrimary() throws IOException {
+        ReplicationShipper shipper = ReplicationShipper.start(primary, 0, 1);
+        int port = shipper.getPort();
+        shipper.close();
+
+        AtomicReference<GameManager> promoted = new AtomicReference<>();
+        StandbyReplica standby = StandbyReplica.start(replica, new InetSocketAddress("localhost", port), 600,
+                promoted::set);
+        try {
+            long deadline = System.currentTimeMillis() + 1500;
+            while (System.currentTimeMillis() < deadline) {
+                assertFalse(standby.isPromoted());
+                Thread.yield();
+            }
+            assertNull(promoted.get());
+        } finally {
+            standby.close();
+        }
+        standby.promote();
+        assertFalse(standby.isPromoted());
+    }
+
+    @Test
+    public void needsToWaitLongerThanAHeartbeat() {
+        assertThrows(IllegalArgumentException.class, () -> StandbyReplica.start(replica,
+                new InetSocketAddress("localhost", 1), ReplicationShipper.HEARTBEAT_MILLIS, promoted -> { }));
+    }
+
+    private void play(CheckersGame game, Player player, Move move) {
+        game.getTurn().validateMove(move);
+        assertEquals(Message.MessageType.info, primary.submitTurn(game, player).getType());
+    }
+}
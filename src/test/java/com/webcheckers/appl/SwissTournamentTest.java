@@ -0,0 +1,139 @@
+package com.webcheckers.appl;
+
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class SwissTournamentTest {
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player" + i, Player.GameType.TOURNAMENT));
+        }
+        return players;
+    }
+
+    @Test
+    public void pairsThousandsOfPlayersByScoreWithoutRematches() {
+        List<Player> players = players(2001);
+        Map<Player, Integer> seeds = new HashMap<>();
+        for (int i = 0; i < players.size(); i++) {
+            seeds.put(players.get(i), i);
+        }
+        SwissTournament tournament = new SwissTournament(players, 11);
+        Map<Player, Integer> scores = new HashMap<>();
+        Set<String> met = new HashSet<>();
+        Set<Player> byes = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int round = 1; round <= 11; round++) {
+            List<Pairing> pairings = tournament.pairRound();
+            Set<Player> seen = new HashSet<>();
+            int mismatched = 0;
+
+            for (Pairing pairing : pairings) {
+                assertTrue(seen.add(pairing.getRed()));
+                if (pairing.isBye()) {
+                    assertTrue(byes.add(pairing.getRed()), "a second bye");
+                    tournament.score(pairing, pairing.getRed());
+                    scores.merge(pairing.getRed(), 1, Integer::sum);
+                    continue;
+                }
+                assertTrue(seen.add(pairing.getWhite()));
+                assertTrue(met.add(pairing.getRed().getName() + "|" + pairing.getWhite().getName())
+                        && met.add(pairing.getWhite().getName() + "|" + pairing.getRed().getName()),
+                        "a rematch in round " + round);
+                if (!scores.getOrDefault(pairing.getRed(), 0).equals(scores.getOrDefault(pairing.getWhite(), 0))) {
+                    mismatched++;
+                }
+
+                // The better seed usually wins
+                boolean redStronger = seeds.get(pairing.getRed()) < seeds.get(pairing.getWhite());
+                Player winner = (redStronger == random.nextInt(4) > 0) ? pairing.getRed() : pairing.getWhite();
+                tournament.score(pairing, winner);
+                scores.merge(winner, 1, Integer::sum);
+            }
+
+            assertEquals(players.size(), seen.size());
+            // Only floaters meet players with another score
+            assertTrue(mismatched < pairings.size() / 10, mismatched + " pairings across score groups");
+        }
+
+        List<SwissTournament.Standing> standings = tournament.getStandings();
+        assertEquals(scores.get(standings.get(0).getPlayer()).intValue(), standings.get(0).getScore());
+        for (int i = 1; i < standings.size(); i++) {
+            assertTrue(standings.get(i - 1).getScore() >= standings.get(i).getScore());
+        }
+    }
+
+    @Test
+    public void playsEveryRoundThroughTheGameManager() {
+        GameManager gameManager = new GameManager();
+        SwissTournament tournament = new SwissTournament(players(5), 3);
+        EventRunner runner = new EventRunner(gameManager, tournament);
+
+        runner.start();
+
+        for (int round = 1; round <= 3; round++) {
+            assertEquals(round, tournament.getRound());
+            assertFalse(runner.isFinished());
+            for (Pairing pairing : runner.getPairings(round)) {
+                if (!pairing.isBye()) {
+                    CheckersGame game = gameManager.getGame(pairing.getRed());
+                    assertNotNull(game, "the game of " + pairing);
+                    assertTrue(gameManager.resignGame(pairing.getRed()));
+                    assertEquals(pairing.getWhite(), pairing.getWinner());
+                }
+            }
+        }
+
+        assertTrue(runner.isFinished());
+        assertEquals(3, tournament.getRound());
+        assertTrue(tournament.pairRound().isEmpty());
+        int points = 0;
+        for (SwissTournament.Standing standing : tournament.getStandings()) {
+            points += standing.getScore();
+        }
+        // Two games and a bye a round
+        assertEquals(9, points);
+    }
+
+    @Test
+    public void forfeitsAGameAPlayerIsTooBusyToPlay() {
+        GameManager gameManager = new GameManager();
+        List<Player> players = players(2);
+        gameManager.getNewGame(players.get(0), new Player("outsider", Player.GameType.TOURNAMENT));
+        SwissTournament tournament = new SwissTournament(players, 1);
+        EventRunner runner = new EventRunner(gameManager, tournament);
+
+        runner.start();
+
+        assertTrue(runner.isFinished());
+        assertEquals(players.get(1), tournament.getStandings().get(0).getPlayer());
+        assertEquals(1, tournament.getStandings().get(0).getScore());
+    }
+
+    @Test
+    public void needsTwoDifferentPlayers() {
+        Player player = new Player("ann", Player.GameType.TOURNAMENT);
+        List<Player> twice = new ArrayList<>();
+        twice.add(player);
+        twice.add(player);
+
+        assertThrows(IllegalArgumentException.class, () -> new SwissTournament(players(1), 1));
+        assertThrows(IllegalArgumentException.class, () -> new SwissTournament(twice, 1));
+    }
+}
@@ -19,7 +19,7 @@ public class CheckersBoardHelperTest {
 	@Test
 	public void getSpace_success() {
 
-		Piece piece = new Piece(Piece.Type.SINGLE, Piece.Color.RED);
+		Piece piece = Piece.of(Piece.Type.SINGLE, Piece.Color.RED);
 		Position position = new Position(0, 1);
 
 		Space[][] board = CheckersBoardBuilder.aBoard()
@@ -48,8 +48,8 @@ public class CheckersBoardHelperTest {
             "6 . R . R . R . R",
             "7 R . R . R . R .");
 
-		Piece redKing = new Piece(Piece.Type.KING, Piece.Color.RED);
-		Piece whiteKing = new Piece(Piece.Type.KING, Piece.Color.WHITE);
+		Piece redKing = Piece.of(Piece.Type.KING, Piece.Color.RED);
+		Piece whiteKing = Piece.of(Piece.Type.KING, Piece.Color.WHITE);
 
 		Space[][] board = CheckersBoardBuilder.aStartingBoard()
 				.withPieceAt(redKing, new Position(5, 0))
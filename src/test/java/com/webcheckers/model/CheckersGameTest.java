@@ -106,6 +106,21 @@ public class CheckersGameTest {
         assertEquals(white, winner);
     }
 
+    @Test
+    public void opponentBlocked(){
+        white = new Player("blockedOpponent", Player.GameType.NORMAL);
+        CheckersGame gameTest = new CheckersGame(red, white);
+        Move move = new Move(new Position(5,2), new Position(4,3));
+
+        assertEquals(Message.MessageType.info, gameTest.getTurn().validateMove(move).getType());
+        assertEquals(Message.MessageType.info, gameTest.submitTurn(red).getType());
+
+        assertTrue(gameTest.isWon());
+        assertEquals(red, gameTest.getWinner());
+        assertEquals(white, gameTest.getLoser());
+        assertNull(gameTest.getTurn());
+    }
+
     @Test
     public void kingMe(){
         white = new Player("kingMe", Player.GameType.NORMAL);
@@ -134,4 +149,36 @@ public class CheckersGameTest {
         Message submittedTurnResponse = game.submitTurn(red);
         assertEquals(Message.MessageType.info, submittedTurnResponse.getType());
     }
+
+    @Test
+    public void startsFromAPosition() {
+        game = new CheckersGame(red, white, PositionString.parse("W:W9:B1"));
+
+        assertEquals(white, game.getPlayerActive());
+        assertTrue(game.getTurn().isMyTurn(white));
+        assertEquals(Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE), game.getBoard()[5][6].getPiece());
+        assertEquals(Piece.of(Piece.Type.SINGLE, Piece.Color.RED), game.getBoard()[7][6].getPiece());
+    }
+
+    @Test
+    public void testerStartsFromATestBoard() {
+        game = new CheckersGame(red, new Player("multiJump", Player.GameType.NORMAL));
+        assertEquals(TestCheckersBoards.position("multiJump"), PositionString.of(game.getBoard(), Piece.Color.RED));
+
+        game = new CheckersGame(red, new Player("noSuchBoard", Player.GameType.NORMAL));
+        assertEquals(PositionString.parse(PositionString.STARTING), PositionString.of(game.getBoard(), Piece.Color.RED));
+    }
+
+    @Test
+    public void recordsTheSubmittedTurns() {
+        game.getTurn().validateMove(new Move(new Position(5, 2), new Position(4, 1)));
+        game.getTurn().backupMove();
+        game.getTurn().validateMove(new Move(new Position(5, 2), new Position(4, 3)));
+        assertTrue(game.getTurns().isEmpty());
+
+        game.submitTurn(red);
+
+        assertEquals("11-15", MoveNotation.formatGame(game.getTurns()));
+        assertEquals(PositionString.parse(PositionString.STARTING), game.getStartingPosition());
+    }
 }
@@ -0,0 +1,47 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class GCounterTest {
+
+	@Test
+	public void sumsEveryNodesCount() {
+		GCounter counter = new GCounter();
+		counter.increment("a");
+		counter.increment("a");
+		counter.increment("b");
+
+		assertEquals(3, counter.value());
+		assertEquals(2, counter.get("a"));
+		assertEquals(0, counter.get("c"));
+	}
+
+	@Test
+	public void mergesInAnyOrderAnyNumberOfTimes() {
+		GCounter a = new GCounter();
+		GCounter b = new GCounter();
+		GCounter c = new GCounter();
+		a.increment("a");
+		b.increment("b");
+		b.increment("b");
+		c.raise("a", 3);
+
+		GCounter abc = new GCounter();
+		assertTrue(abc.merge(a));
+		assertTrue(abc.merge(b));
+		assertTrue(abc.merge(c));
+		GCounter cba = new GCounter();
+		cba.merge(c);
+		cba.merge(b);
+		assertFalse(cba.merge(a));
+		assertFalse(cba.merge(b));
+
+		assertEquals(5, abc.value());
+		assertEquals(abc.getSlots(), cba.getSlots());
+		assertFalse(abc.raise("b", 1));
+	}
+}
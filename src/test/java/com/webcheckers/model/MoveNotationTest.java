@@ -0,0 +1,53 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class MoveNotationTest {
+
+	@Test
+	public void parseSingleMove() {
+		List<Move> moves = MoveNotation.parseTurn("11-15");
+
+		assertEquals(1, moves.size());
+		assertSame(Move.between(Position.at(5, 2), Position.at(4, 3)), moves.get(0));
+	}
+
+	@Test
+	public void parseMultiJump() {
+		List<Move> moves = MoveNotation.parseTurn("15x22x29");
+
+		assertEquals(2, moves.size());
+		assertTrue(moves.get(0).isJump());
+		assertEquals(moves.get(0).getEnd(), moves.get(1).getStart());
+		assertEquals("15x22x29", MoveNotation.formatTurn(moves));
+	}
+
+	@Test
+	public void parseGame() {
+		List<List<Move>> turns = MoveNotation.parseGame(" 1. 11-15 22-18 2.15x22 25x18 1-0 ");
+
+		assertEquals(4, turns.size());
+		assertEquals("11-15 22-18 15x22 25x18", MoveNotation.formatGame(turns));
+	}
+
+	@Test
+	public void badTurns() {
+		for (String turn : Arrays.asList("11", "0-4", "11-33", "a-b", "11-15-19", "11--15")) {
+			assertThrows(IllegalArgumentException.class, () -> MoveNotation.parseTurn(turn), turn);
+		}
+	}
+
+	@Test
+	public void squares() {
+		assertEquals(1, MoveNotation.square(Position.at(7, 6)));
+		assertEquals(32, MoveNotation.square(Position.at(0, 1)));
+		assertThrows(IllegalArgumentException.class, () -> MoveNotation.square(Position.at(0, 0)));
+	}
+}
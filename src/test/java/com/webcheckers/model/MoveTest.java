@@ -24,12 +24,8 @@ public class MoveTest {
 		start = new Position(START_ROW, START_CELL);
 		end   = new Position(END_ROW, END_CELL);
 
-		CuT = new Move(start, end);
-		CuT.setPlayer(new Player(name, Player.GameType.NORMAL));
-		CuT.setPieceColor(Piece.Color.RED);
+		CuT = new Move(start, end).withPlayer(new Player(name, Player.GameType.NORMAL), Piece.Color.RED);
 		single = new Move(start, new Position(2,2));
-		CuT.setPieceColor(Piece.Color.RED);
-		CuT.setPlayer(new Player("test", Player.GameType.NORMAL));
 	}
 
 	@Test
@@ -104,16 +100,32 @@ public class MoveTest {
 	public void get_set(){
 		//String name = "bodkj";
 		Player test = new Player(name, Player.GameType.NORMAL);
-		CuT.setPlayer(test);
-		assertEquals(test.getName(), name);
 		Piece.Color color = Piece.Color.RED;
-		CuT.setPieceColor(color);
-		Move move = new Move(CuT.getStart(), CuT.getEnd(), test, color);
-		assertEquals(CuT.getPieceColor(), color);
-		CuT.setPieceColor(color);
-		CuT.setPlayer(test);
+		Move bare = new Move(CuT.getStart(), CuT.getEnd());
+		Move move = bare.withPlayer(test, color);
+		assertNull(bare.getPlayerName());
+		assertNull(bare.getPieceColor());
+		assertEquals(color, move.getPieceColor());
 		assertEquals(move.toString(), CuT.toString());
-		assertEquals(CuT.getPlayerName(), name);
+		assertEquals(name, move.getPlayerName());
+		assertSame(move, move.withPlayer(test, color));
+	}
+
+	@Test
+	public void cachedMoves(){
+		Move move = Move.between(Position.at(5, 2), Position.at(4, 3));
+		assertSame(move, Move.between(new Position(5, 2), new Position(4, 3)));
+		assertSame(Position.at(5, 2), move.getStart());
+		assertNull(move.getPieceColor());
+
+		// Attaching a player never changes the shared move
+		Move redMove = move.withPlayer(new Player(name, Player.GameType.NORMAL), Piece.Color.RED);
+		assertNotSame(move, redMove);
+		assertNull(move.getPieceColor());
+
+		Move offBoard = Move.between(start, new Position(-1, 0));
+		assertFalse(offBoard.isValid());
+		assertNotSame(offBoard, Move.between(start, new Position(-1, 0)));
 	}
 
 	@Test
@@ -150,8 +162,7 @@ public class MoveTest {
 
 	@Test
 	public void testFail(){
-		Move move = new Move(start,end);
-		move.setPieceColor(Piece.Color.RED);
+		Move move = new Move(start,end).withPlayer(null, Piece.Color.RED);
 		assertFalse(move.isValid());
 	}
 }
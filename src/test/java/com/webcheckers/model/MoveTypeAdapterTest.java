@@ -0,0 +1,55 @@
+package com.webcheckers.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class MoveTypeAdapterTest {
+
+	private Gson gson;
+
+	@BeforeEach
+	public void setup() {
+		gson = new GsonBuilder().registerTypeAdapter(Move.class, new MoveTypeAdapter()).create();
+	}
+
+	@Test
+	public void readsSharedMove() {
+		Move move = gson.fromJson("{\"start\":{\"row\":5,\"cell\":2},\"end\":{\"row\":4,\"cell\":3}}", Move.class);
+
+		assertSame(Move.between(Position.at(5, 2), Position.at(4, 3)), move);
+	}
+
+	@Test
+	public void ignoresUnknownFields() {
+		Move move = gson.fromJson("{\"extra\":[1,2],\"start\":{\"row\":5,\"cell\":2,\"x\":1},\"end\":{\"row\":3,\"cell\":4}}", Move.class);
+
+		assertEquals(Position.at(3, 4), move.getEnd());
+		assertTrue(move.isJump());
+	}
+
+	@Test
+	public void incompleteMove() {
+		assertNull(gson.fromJson("{\"start\":{\"row\":5,\"cell\":2}}", Move.class));
+		assertNull(gson.fromJson("null", Move.class));
+	}
+
+	@Test
+	public void incompletePosition() {
+		assertNull(gson.fromJson("{\"start\":{\"row\":5},\"end\":{\"row\":4,\"cell\":3}}", Move.class));
+		assertNull(gson.fromJson("{\"start\":{\"row\":5,\"cell\":2},\"end\":{\"cell\":3}}", Move.class));
+		assertNull(gson.fromJson("{\"start\":{},\"end\":{\"row\":4,\"cell\":3}}", Move.class));
+	}
+
+	@Test
+	public void roundTrip() {
+		Move move = Move.between(Position.at(2, 1), Position.at(3, 0));
+
+		assertSame(move, gson.fromJson(gson.toJson(move), Move.class));
+	}
+}
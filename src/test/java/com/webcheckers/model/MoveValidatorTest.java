@@ -2,6 +2,8 @@ package com.webcheckers.model;
 
 import org.junit.jupiter.api.*;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 
@@ -25,7 +27,7 @@ public class MoveValidatorTest {
 		player = new Player(WHITE_PLAYER_NAME, Player.GameType.NORMAL);
 		jumpOne = new Move(new Position(0,0), new Position(2,2));
 		jumpTwo = new Move(jumpOne.getEnd(), new Position(4,4));
-		jumpOne.setPieceColor(Piece.Color.RED);
+		jumpOne = jumpOne.withPlayer(null, Piece.Color.RED);
 
 		boardBuilder = CheckersBoardBuilder.aStartingBoard();
 
@@ -54,7 +56,7 @@ public class MoveValidatorTest {
 		// red pieces on bottom
 		// so a white KING piece starting down on row 4 should be able to move up to row 3
 
-		Piece king = new Piece(Piece.Type.KING, Piece.Color.WHITE);
+		Piece king = Piece.of(Piece.Type.KING, Piece.Color.WHITE);
 		Position kingPosition = new Position(4, 1);
 
 		Space[][] boardWithKing = CheckersBoardBuilder.aBoard().withPieceAt(king, kingPosition).getBoard();
@@ -77,6 +79,34 @@ public class MoveValidatorTest {
 		assertFalse(MoveValidator.areMovesAvailableForPlayer(board, new Player(RED_PLAYER_NAME, Player.GameType.NORMAL), Piece.Color.RED));
 	}
 
+	@Test
+	public void test_getMovesForPlayer(){
+		Space[][] board = boardBuilder.getBoard();
+		// Both players open with one of seven single moves
+		assertEquals(7, MoveValidator.getMovesForPlayer(board, Piece.Color.RED).size());
+		assertEquals(7, MoveValidator.getMovesForPlayer(board, Piece.Color.WHITE).size());
+		assertTrue(MoveValidator.getMovesForPlayer(board, Piece.Color.RED)
+				.contains(Move.between(Position.at(5, 2), Position.at(4, 3))));
+
+		// A jump is mandatory, so it is the only move listed
+		board = TestCheckersBoards.multiJump().getBoard();
+		List<Move> moves = MoveValidator.getMovesForPlayer(board, Piece.Color.RED);
+		assertEquals(1, moves.size());
+		assertSame(Move.between(TestCheckersBoards.RED_PAWN_POSITION, TestCheckersBoards.RED_PAWN_JUMP_POSITION), moves.get(0));
+
+		assertTrue(MoveValidator.getMovesForPlayer(CheckersBoardBuilder.aBoard().getBoard(), Piece.Color.RED).isEmpty());
+	}
+
+	@Test
+	public void test_getJumpsFrom(){
+		Space[][] board = TestCheckersBoards.multiJump().getBoard();
+		assertEquals(1, MoveValidator.getJumpsFrom(board, TestCheckersBoards.RED_PAWN_POSITION, Piece.Color.RED).size());
+		// Wrong color, an empty space and a light square have no jumps
+		assertTrue(MoveValidator.getJumpsFrom(board, TestCheckersBoards.RED_PAWN_POSITION, Piece.Color.WHITE).isEmpty());
+		assertTrue(MoveValidator.getJumpsFrom(board, TestCheckersBoards.RED_PAWN_JUMP_POSITION, Piece.Color.RED).isEmpty());
+		assertTrue(MoveValidator.getJumpsFrom(board, Position.at(0, 0), Piece.Color.RED).isEmpty());
+	}
+
 	@Test
 	public void test_jumpMove(){
 		Space[][] board = TestCheckersBoards.multiJumpToEnd().getBoard();
@@ -89,22 +119,18 @@ public class MoveValidatorTest {
 	public void test_fail(){
 		Space[][] board = boardBuilder.getBoard();
 		Move test = new Move(new Position(2,5), new Position(4,5));
-		test.setPieceColor(Piece.Color.WHITE);
-		test.setPlayer(player);
+		test = test.withPlayer(player, Piece.Color.WHITE);
 		assertFalse(MoveValidator.validateMove(board, test));
 		test = new Move(new Position(2,3), new Position(5,2));
-		test.setPieceColor(Piece.Color.WHITE);
-		test.setPlayer(player);
+		test = test.withPlayer(player, Piece.Color.WHITE);
 		assertFalse(MoveValidator.validateMove(board, test));
 		test = new Move(new Position(2,3), new Position(3,4));
-		test.setPieceColor(Piece.Color.RED);
-		test.setPlayer(new Player(RED_PLAYER_NAME, Player.GameType.NORMAL));
+		test = test.withPlayer(new Player(RED_PLAYER_NAME, Player.GameType.NORMAL), Piece.Color.RED);
 		assertFalse(MoveValidator.validateMove(board, test));
 		test = new Move(new Position(6,1), new Position(4,3));
-		test.setPieceColor(Piece.Color.RED);
-		test.setPlayer(new Player(RED_PLAYER_NAME, Player.GameType.NORMAL));
+		test = test.withPlayer(new Player(RED_PLAYER_NAME, Player.GameType.NORMAL), Piece.Color.RED);
 		assertFalse(MoveValidator.validateMove(board, test));
-		Piece king = new Piece(Piece.Type.KING, Piece.Color.WHITE);
+		Piece king = Piece.of(Piece.Type.KING, Piece.Color.WHITE);
 		Position kingPosition = new Position(4, 1);
 
 		Space[][] boardWithKing = CheckersBoardBuilder.aBoard().withPieceAt(king, kingPosition).getBoard();
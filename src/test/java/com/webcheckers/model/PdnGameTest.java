@@ -0,0 +1,64 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class PdnGameTest {
+
+	private static PdnGame game(String turns, String result) {
+		Map<String, String> tags = new HashMap<>();
+		tags.put(PdnGame.BLACK_TAG, "Ann");
+		tags.put(PdnGame.WHITE_TAG, "Bob");
+		return new PdnGame(tags, MoveNotation.parseGame(turns), result);
+	}
+
+	@Test
+	public void replaysLegalTurns() {
+		CheckersGame game = game("11-15 24-20 15-19 23x16 12x19", PdnGame.NO_RESULT).replay();
+
+		assertEquals("11-15 24-20 15-19 23x16 12x19", MoveNotation.formatGame(game.getTurns()));
+		assertEquals("Ann", game.getPlayerRed().getName());
+		assertNotNull(game.getTurn());
+	}
+
+	@Test
+	public void adjudicatesADecisiveResult() {
+		CheckersGame game = game("11-15 23-19", PdnGame.WHITE_WINS).replay();
+
+		assertNull(game.getTurn());
+		assertEquals("Bob", game.getWinner().getName());
+	}
+
+	@Test
+	public void rejectsIllegalTurns() {
+		// 23x16 is a jump that was not taken
+		assertThrows(IllegalArgumentException.class, () -> game("11-15 24-20 15-19 27-24", "*").replay());
+		assertThrows(IllegalArgumentException.class, () -> game("11-18", "*").replay());
+		assertThrows(IllegalArgumentException.class, () -> game("23-19", "*").replay());
+	}
+
+	@Test
+	public void startsFromTheFenTag() {
+		Map<String, String> tags = Collections.singletonMap(PdnGame.FEN_TAG, "W:W18,24,27:B12,15,22");
+
+		CheckersGame game = new PdnGame(tags, MoveNotation.parseGame("18x11"), null).replay();
+
+		assertEquals(PdnGame.NO_RESULT, new PdnGame(tags, Collections.emptyList(), null).getResult());
+		assertEquals("18x11", MoveNotation.formatGame(game.getTurns()));
+	}
+
+	@Test
+	public void readsDraughtsResults() {
+		assertEquals(PdnGame.RED_WINS, PdnGame.normalizeResult("2-0"));
+		assertEquals(PdnGame.WHITE_WINS, PdnGame.normalizeResult("0-2"));
+		assertEquals(PdnGame.DRAW, PdnGame.normalizeResult("1-1"));
+		assertNull(PdnGame.normalizeResult("11-15"));
+	}
+}
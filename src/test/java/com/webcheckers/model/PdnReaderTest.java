@@ -0,0 +1,83 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class PdnReaderTest {
+
+	private static final String GAMES =
+			"[Event \"Club match\"]\n" +
+			"[Black \"Ann\"]\n" +
+			"[White \"Bob \\\"the wall\\\"\"]\n" +
+			"[Result \"2-0\"]\n" +
+			"\n" +
+			"1. 11-15 23-19 {a quiet start} 2. 8-11! (2. 9-14 27-23) 22-17?\n" +
+			"; a line comment 3. 1-5\n" +
+			"3. 4-8 17-13 1-0\n" +
+			"\n" +
+			"% an escaped line\n" +
+			"[Black \"Cy\"]\n" +
+			"[White \"Di\"]\n" +
+			"1.9-13 22-18\n" +
+			"[Black \"Ed\"]\n" +
+			"1... 22-18 *\n";
+
+	@Test
+	public void readsTagsTurnsAndResults() throws IOException {
+		PdnReader reader = new PdnReader(new StringReader(GAMES));
+
+		PdnGame first = reader.next();
+		assertEquals("Ann", first.getTag(PdnGame.BLACK_TAG));
+		assertEquals("Bob \"the wall\"", first.getTag(PdnGame.WHITE_TAG));
+		assertEquals(PdnGame.RED_WINS, first.getResult());
+		assertEquals("11-15 23-19 8-11 22-17 4-8 17-13", MoveNotation.formatGame(first.getTurns()));
+
+		// Ends at the next game's tags, without a result
+		PdnGame second = reader.next();
+		assertEquals("Cy", second.getTag(PdnGame.BLACK_TAG));
+		assertEquals(PdnGame.NO_RESULT, second.getResult());
+		assertEquals("9-13 22-18", MoveNotation.formatGame(second.getTurns()));
+
+		PdnGame third = reader.next();
+		assertEquals("Ed", third.getTag(PdnGame.BLACK_TAG));
+		assertEquals("22-18", MoveNotation.formatGame(third.getTurns()));
+
+		assertNull(reader.next());
+		assertEquals(3, reader.getGames());
+	}
+
+	@Test
+	public void carriesOnAfterABadGame() throws IOException {
+		PdnReader reader = new PdnReader(new StringReader(
+				"[Black \"Ann\"]\n1. 11-15 23-99 2. 8-11 0-1\n[Black \"Cy\"]\n1. 9-13 *\n"));
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next);
+		assertTrue(e.getMessage().startsWith("Game 1:"), e.getMessage());
+		assertEquals("Cy", reader.next().getTag(PdnGame.BLACK_TAG));
+		assertNull(reader.next());
+	}
+
+	@Test
+	public void rejectsTokensLongerThanTheLimit() throws IOException {
+		StringBuilder text = new StringBuilder("[Black \"");
+		for (int i = 0; i <= PdnReader.MAX_TOKEN; i++) {
+			text.append('a');
+		}
+		text.append("\"]\n1. 11-15 *\n[Black \"Cy\"]\n1. 9-13 *\n");
+		PdnReader reader = new PdnReader(new StringReader(text.toString()));
+
+		assertThrows(IllegalArgumentException.class, reader::next);
+		assertEquals("Cy", reader.next().getTag(PdnGame.BLACK_TAG));
+	}
+
+	@Test
+	public void readsNothingFromAnEmptyStream() throws IOException {
+		assertNull(new PdnReader(new StringReader(" \n; nothing here\n")).next());
+	}
+}
@@ -0,0 +1,60 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class PdnWriterTest {
+
+	@Test
+	public void readsBackWhatItWrites() throws IOException {
+		Map<String, String> tags = new LinkedHashMap<>();
+		tags.put(PdnGame.RESULT_TAG, PdnGame.WHITE_WINS);
+		tags.put(PdnGame.BLACK_TAG, "Ann \"the wall\"");
+		tags.put(PdnGame.WHITE_TAG, "Bob");
+		List<List<Move>> turns = MoveNotation.parseGame(
+				"11-15 23-19 8-11 22-17 9-13 17x10 7x14 25-22 14-18 22-17 18x25 29x22 11-16 27-23 4-8 32-27");
+		PdnGame game = new PdnGame(tags, turns, null);
+
+		StringWriter text = new StringWriter();
+		PdnWriter writer = new PdnWriter(text);
+		writer.write(game);
+		writer.write(game);
+		assertEquals(2, writer.getGames());
+
+		PdnReader reader = new PdnReader(new StringReader(text.toString()));
+		for (int i = 0; i < 2; i++) {
+			PdnGame read = reader.next();
+			assertEquals("Ann \"the wall\"", read.getTag(PdnGame.BLACK_TAG));
+			assertEquals(PdnGame.WHITE_WINS, read.getResult());
+			assertEquals(MoveNotation.formatGame(turns), MoveNotation.formatGame(read.getTurns()));
+		}
+		assertNull(reader.next());
+
+		for (String line : text.toString().split("\n")) {
+			assertTrue(line.length() <= PdnWriter.LINE_WIDTH, line);
+		}
+		// The result tag comes last
+		assertTrue(text.toString().startsWith("[Black \"Ann \\\"the wall\\\"\"]\n[White \"Bob\"]\n[Result \"0-1\"]\n\n1. 11-15 23-19 2. 8-11"));
+	}
+
+	@Test
+	public void numbersAGameWhiteStarts() throws IOException {
+		Map<String, String> tags = new LinkedHashMap<>();
+		tags.put(PdnGame.FEN_TAG, "W:W18,24,27:B12,15,22");
+		StringWriter text = new StringWriter();
+
+		new PdnWriter(text).write(new PdnGame(tags, MoveNotation.parseGame("18x11 12-16 27-23"), PdnGame.NO_RESULT));
+
+		assertTrue(text.toString().endsWith("\n1... 18x11 2. 12-16 27-23 *\n\n"), text.toString());
+	}
+}
@@ -17,8 +17,8 @@ public class PieceTest {
     private Piece.Color redColor = Piece.Color.RED;
     private Piece.Color whiteColor = Piece.Color.WHITE;
 
-    public Piece singleRed = new Piece(singleType, redColor);
-    public Piece kingWhite = new Piece(kingType, whiteColor);
+    public Piece singleRed = Piece.of(singleType, redColor);
+    public Piece kingWhite = Piece.of(kingType, whiteColor);
 
 
     /*
@@ -44,21 +44,31 @@ public class PieceTest {
     @Test
     public void testClone()
     {
-        Piece toClone = new Piece(Piece.Type.SINGLE, Piece.Color.RED);
+        Piece toClone = Piece.of(Piece.Type.SINGLE, Piece.Color.RED);
         Piece clone = toClone.clone();
         assertEquals(toClone, clone);
         assertFalse(clone.equals(null));
         assertFalse(clone.equals(new Object()));
-        Piece test = new Piece(Piece.Type.KING, Piece.Color.RED);
+        Piece test = Piece.of(Piece.Type.KING, Piece.Color.RED);
         assertFalse(toClone.equals(test));
-        test = new Piece(Piece.Type.SINGLE, Piece.Color.WHITE);
+        test = Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE);
         assertFalse(toClone.equals(test));
 
     }
 
     @Test
     public void testKing(){
-        singleRed.kingMe();
-        assertEquals(singleRed.getType(), kingType);
+        Piece king = singleRed.kingMe();
+        assertEquals(king.getType(), kingType);
+        assertEquals(king.getColor(), redColor);
+        assertEquals(singleRed.getType(), singleType);
+        assertSame(kingWhite, kingWhite.kingMe());
+    }
+
+    @Test
+    public void testFlyweight(){
+        assertSame(singleRed, Piece.of(singleType, redColor));
+        assertSame(singleRed, singleRed.clone());
+        assertEquals(singleRed.hashCode(), Piece.of(singleType, redColor).hashCode());
     }
 }
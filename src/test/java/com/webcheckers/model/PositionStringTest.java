@@ -0,0 +1,79 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class PositionStringTest {
+
+	@Test
+	public void startingPositionMatchesTheStartingBoard() {
+		PositionString start = PositionString.parse(PositionString.STARTING);
+
+		assertEquals(Piece.Color.RED, start.getColorToMove());
+		assertEquals(CheckersBoardHelper.formatBoardString(CheckersBoardBuilder.aStartingBoard().getBoard()),
+				CheckersBoardHelper.formatBoardString(start.getBoard()));
+		assertEquals(PositionString.STARTING, start.toString());
+		assertEquals(start, PositionString.of(CheckersBoardBuilder.aStartingBoard().getBoard(), Piece.Color.RED));
+	}
+
+	@Test
+	public void readsKingsRangesAndTheColorToMove() {
+		PositionString position = PositionString.parse("W:WK1,6-7:R25,K30.");
+		Space[][] board = position.getBoard();
+
+		assertEquals(Piece.Color.WHITE, position.getColorToMove());
+		// Square 1 is the right hand corner of RED's back row
+		assertEquals(Piece.of(Piece.Type.KING, Piece.Color.WHITE), board[7][6].getPiece());
+		assertEquals(Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE), board[6][5].getPiece());
+		assertEquals(Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE), board[6][3].getPiece());
+		assertEquals(Piece.of(Piece.Type.SINGLE, Piece.Color.RED), board[1][6].getPiece());
+		assertEquals(Piece.of(Piece.Type.KING, Piece.Color.RED), board[0][5].getPiece());
+		assertEquals("W:WK1,6,7:B25,K30", position.toString());
+	}
+
+	@Test
+	public void writesWhatItReads() {
+		for (PositionString position : TestCheckersBoards.positions().values()) {
+			assertEquals(position, PositionString.parse(position.toString()));
+			assertEquals(position, PositionString.of(position.getBoard(), Piece.Color.RED));
+		}
+		PositionString empty = PositionString.parse("B:W:B");
+		assertEquals("B:W:B", empty.toString());
+		assertEquals(empty, PositionString.parse("B"));
+	}
+
+	@Test
+	public void rejectsWhatIsNotAPosition() {
+		String[] invalid = {"", "X:W1:B2", "B:W5:B5", "B:W33:B1", "B:W0", "B:W1:W2", "B:W1;B2", "B:WK:B1",
+				"B:W5-2", "B:WA", "B:W1", "B:W8:B29", "B:W1,2 ,3"};
+
+		for (String text : invalid) {
+			assertThrows(IllegalArgumentException.class, () -> PositionString.parse(text), text);
+		}
+	}
+
+	@Test
+	public void boardsAreNotShared() {
+		PositionString position = PositionString.load(PositionString.STARTING);
+		Space[][] board = position.getBoard();
+		board[5][0].removePiece();
+
+		assertNotSame(board, position.getBoard());
+		assertTrue(position.getBoard()[5][0].isOccupied());
+	}
+
+	@Test
+	public void loadsEachStringOnce() {
+		String text = "W:W12:B20";
+		PositionString first = PositionString.load(text);
+
+		assertSame(first, PositionString.load(text));
+		assertTrue(PositionString.cachedPositions() <= PositionString.CACHE_CAPACITY);
+		assertNotSame(first, PositionString.parse(text));
+		assertSame(first, first.withColorToMove(Piece.Color.WHITE));
+		assertEquals(PositionString.parse("B:W12:B20"), first.withColorToMove(Piece.Color.RED));
+	}
+}
@@ -67,4 +67,13 @@ public class PositionTest {
 		assertFalse(test4.isOnBoard());
 		assertTrue(new Position(ROW, CELL).isOnBoard());
 	}
+
+	@Test
+	public void interned(){
+		assertSame(Position.at(ROW, CELL), Position.at(ROW, CELL));
+		assertEquals(new Position(ROW, CELL), Position.at(ROW, CELL));
+		assertEquals(new Position(ROW, CELL).hashCode(), Position.at(ROW, CELL).hashCode());
+		assertNotEquals(Position.at(CELL, ROW), Position.at(ROW, CELL));
+		assertFalse(Position.at(-1, CELL).isOnBoard());
+	}
 }
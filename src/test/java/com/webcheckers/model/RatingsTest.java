@@ -0,0 +1,121 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class RatingsTest {
+
+	private static final long DAY = Ratings.DEFAULT_PERIOD_MILLIS;
+
+	@Test
+	public void followsGlickmansExample() {
+		Map<String, Rating> start = new HashMap<>();
+		start.put("player", new Rating("player", 1500, 1500, 200, 0.06, 0));
+		start.put("a", new Rating("a", 1500, 1400, 30, 0.06, 0));
+		start.put("b", new Rating("b", 1500, 1550, 100, 0.06, 0));
+		start.put("c", new Rating("c", 1500, 1700, 300, 0.06, 0));
+		List<Ratings.Result> games = Arrays.asList(
+				new Ratings.Result("player", "a"),
+				new Ratings.Result("b", "player"),
+				new Ratings.Result("c", "player"));
+
+		double[] rated = Ratings.glicko(start.get("player"), games, start, 0);
+
+		assertEquals(1464.06, rated[0], 0.01);
+		assertEquals(151.52, rated[1], 0.01);
+		assertEquals(0.05999, rated[2], 0.00001);
+	}
+
+	@Test
+	public void movesEloAfterEveryGame() {
+		Ratings ratings = new Ratings();
+
+		ratings.recordResult("ann", "bob", 0);
+
+		assertEquals(1516, ratings.getRating("ann").getElo(), 0.001);
+		assertEquals(1484, ratings.getRating("bob").getElo(), 0.001);
+		assertEquals(1, ratings.getRating("ann").getGames());
+		// Glicko-2 waits for the end of the period
+		assertEquals(Rating.DEFAULT_RATING, ratings.getRating("ann").getRating());
+		assertEquals(0, ratings.getPeriods());
+
+		ratings.recordResult("ann", "bob", 1);
+		assertTrue(ratings.getRating("ann").getElo() - 1516 < 16, "an expected win gains less");
+	}
+
+	@Test
+	public void ratesEachPeriodWhenItEnds() {
+		Ratings ratings = new Ratings();
+		ratings.recordResult("ann", "bob", 10);
+		ratings.recordResult("ann", "cy", 20);
+
+		ratings.recordResult("bob", "cy", DAY + 10);
+
+		assertEquals(1, ratings.getPeriods());
+		Rating ann = ratings.getRating("ann");
+		assertTrue(ann.getRating() > Rating.DEFAULT_RATING);
+		assertTrue(ann.getDeviation() < Rating.DEFAULT_DEVIATION);
+		assertTrue(ratings.getRating("cy").getRating() < Rating.DEFAULT_RATING);
+		// The game of the new period is not rated yet
+		assertEquals(ratings.getRating("bob").getRating(), ratings.getRating("cy").getRating(), 0.001);
+		assertEquals("ann", ratings.getRanking().get(0).getName());
+	}
+
+	@Test
+	public void makesIdlePlayersLessCertain() {
+		Ratings ratings = new Ratings();
+		for (int i = 0; i < 20; i++) {
+			ratings.recordResult("ann", "bob", i * DAY);
+		}
+		double deviation = ratings.getRating("ann").getDeviation();
+
+		ratings.closePeriods(100 * DAY);
+
+		assertTrue(ratings.getRating("ann").getDeviation() > deviation);
+		assertTrue(ratings.getRating("ann").getDeviation() <= Rating.DEFAULT_DEVIATION);
+	}
+
+	@Test
+	public void publishesTheRankingWithoutChangingItForReaders() {
+		Ratings ratings = new Ratings();
+		ratings.recordResult("ann", "bob", 0);
+		List<Rating> read = ratings.getRanking();
+
+		ratings.recordResult("bob", "ann", 1);
+		ratings.closePeriod();
+
+		assertEquals(2, read.size());
+		assertEquals("ann", read.get(0).getName());
+		assertNotSame(read, ratings.getRanking());
+		assertThrows(UnsupportedOperationException.class, () -> read.remove(0));
+	}
+
+	@Test
+	public void ratesManyPlayersInParallel() {
+		Ratings ratings = new Ratings();
+		for (int i = 0; i < 1000; i++) {
+			// Every player meets the ten players after it
+			ratings.recordResult("player" + (i % 100), "player" + ((i % 100 + 1 + i / 100) % 100), i);
+		}
+		ratings.closePeriod();
+
+		assertEquals(100, ratings.getRanking().size());
+		List<Rating> ranking = ratings.getRanking();
+		for (int i = 1; i < ranking.size(); i++) {
+			assertTrue(Ratings.RANKING.compare(ranking.get(i - 1), ranking.get(i)) <= 0);
+		}
+	}
+
+	@Test
+	public void rejectsPlayingOneself() {
+		assertThrows(IllegalArgumentException.class, () -> new Ratings().recordResult("ann", "ann"));
+	}
+}
@@ -0,0 +1,48 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class RulesPerftTest {
+
+	@Test
+	public void countsTheKnownStartingPositions() {
+		Space[][] board = CheckersBoardBuilder.aStartingBoard().getBoard();
+
+		assertEquals(1, RulesPerft.perft(board, Piece.Color.RED, 0));
+		assertEquals(7, RulesPerft.perft(board, Piece.Color.RED, 1));
+		assertEquals(49, RulesPerft.perft(board, Piece.Color.RED, 2));
+		assertEquals(302, RulesPerft.perft(board, Piece.Color.RED, 3));
+		assertEquals(1469, RulesPerft.perft(board, Piece.Color.RED, 4));
+	}
+
+	@Test
+	public void countsAMultiJumpAsOneTurn() {
+		// RED's only turn jumps twice
+		Space[][] board = TestCheckersBoards.multiJump().getBoard();
+
+		assertEquals(1, RulesPerft.perft(board, Piece.Color.RED, 1));
+	}
+
+	@Test
+	public void leavesTheBoardUnchanged() {
+		Space[][] board = TestCheckersBoards.kingMe().getBoard();
+		Space[][] copy = CheckersBoardBuilder.cloneBoard(board);
+
+		RulesPerft.perft(board, Piece.Color.RED, 3);
+
+		for (int row = 0; row < board.length; row++) {
+			for (int cell = 0; cell < board[row].length; cell++) {
+				assertEquals(copy[row][cell].getPiece(), board[row][cell].getPiece());
+			}
+		}
+	}
+
+	@Test
+	public void countsNothingWithoutMoves() {
+		assertEquals(0, RulesPerft.perft(TestCheckersBoards.noPieces().getBoard(), Piece.Color.WHITE, 1));
+	}
+}
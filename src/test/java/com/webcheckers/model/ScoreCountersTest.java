@@ -0,0 +1,77 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class ScoreCountersTest {
+
+	@Test
+	public void convergesWhicheverWayTheCountsTravel() throws IOException {
+		ScoreCounters one = new ScoreCounters("one");
+		ScoreCounters two = new ScoreCounters("two");
+		ScoreCounters three = new ScoreCounters("three");
+		one.recordResult("ann", "bob");
+		two.recordResult("ann", "cy");
+		two.recordResult("bob", null);
+		three.recordResult("cy", "ann");
+
+		// One way round, and the other, with a repeat
+		two.merge(one.encode());
+		three.merge(two.encode());
+		one.merge(three.encode());
+		two.merge(one.encode());
+		assertFalse(one.merge(three));
+		three.merge(one);
+
+		for (ScoreCounters counters : new ScoreCounters[]{one, two, three}) {
+			assertEquals(2, counters.getWins("ann"), counters.toString());
+			assertEquals(1, counters.getLosses("ann"));
+			assertEquals(1, counters.getWins("bob"));
+			assertEquals(1, counters.getLosses("bob"));
+			assertEquals(1, counters.getWins("cy"));
+			assertEquals(1, counters.getLosses("cy"));
+			assertEquals(3, counters.getNames().size());
+		}
+	}
+
+	@Test
+	public void takesItsOwnCountsFromTheScoreLog() throws IOException {
+		Path directory = Files.createTempDirectory("scores");
+		try (ScoreLog scores = ScoreLog.open(directory)) {
+			scores.record("ann", "bob");
+			scores.record("ann", "bob");
+
+			ScoreCounters restarted = ScoreCounters.seeded("one", scores);
+			ScoreCounters other = new ScoreCounters("two");
+			other.recordResult("bob", "ann");
+			restarted.merge(other);
+
+			assertEquals(2, restarted.getWins("ann"));
+			assertEquals(1, restarted.getWins("bob"));
+			assertEquals(2, restarted.getLosses("bob"));
+		} finally {
+			try (Stream<Path> files = Files.walk(directory)) {
+				for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void rejectsOtherBytes() {
+		ScoreCounters counters = new ScoreCounters("one");
+
+		assertThrows(IOException.class, () -> counters.merge(new byte[]{1, 2, 3, 4, 5}));
+		assertThrows(IOException.class, () -> counters.merge(new byte[]{1}));
+	}
+}
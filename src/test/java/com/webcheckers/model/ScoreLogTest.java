@@ -0,0 +1,161 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class ScoreLogTest {
+
+	private Path directory;
+
+	@BeforeEach
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("scores");
+	}
+
+	@AfterEach
+	public void deleteDirectory() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Test
+	public void keepsResultsAcrossRestarts() throws IOException {
+		try (ScoreLog scores = ScoreLog.open(directory)) {
+			scores.record("ann", "bob");
+			scores.record("ann", "cy");
+			scores.record("bob", null);
+
+			assertEquals(2, scores.getWins("ann"));
+			assertEquals(1, scores.getLosses("bob"));
+		}
+
+		try (ScoreLog scores = ScoreLog.open(directory)) {
+			assertEquals(2, scores.getWins("ann"));
+			assertEquals(0, scores.getLosses("ann"));
+			assertEquals(1, scores.getWins("bob"));
+			assertEquals(1, scores.getLosses("bob"));
+			assertEquals(1, scores.getLosses("cy"));
+			assertEquals(0, scores.getWins("nobody"));
+		}
+	}
+
+	@Test
+	public void compactsTheLogIntoSnapshots() throws IOException {
+		try (ScoreLog scores = ScoreLog.open(directory, 10)) {
+			for (int i = 0; i < 25; i++) {
+				scores.record("player" + (i % 3), "loser");
+			}
+		}
+		assertTrue(Files.exists(directory.resolve(ScoreLog.SNAPSHOT_FILE)));
+		assertTrue(Files.size(directory.resolve(ScoreLog.LOG_FILE)) < 10 * 20);
+
+		try (ScoreLog scores = ScoreLog.open(directory, 10)) {
+			assertEquals(9, scores.getWins("player0"));
+			assertEquals(8, scores.getWins("player2"));
+			assertEquals(25, scores.getLosses("loser"));
+		}
+	}
+
+	@Test
+	public void countsNothingTwiceAfterACrashDuringCompaction() throws IOException {
+		Path oldLog = directory.resolveSibling(directory.getFileName() + ".log");
+		try (ScoreLog scores = ScoreLog.open(directory, 4)) {
+			scores.record("ann", "bob");
+			Files.copy(directory.resolve(ScoreLog.LOG_FILE), oldLog);
+			// The fourth record compacts the log
+			scores.record("ann", "bob");
+		}
+		// As if the crash came after the snapshot was written, before the new log was
+		Files.move(oldLog, directory.resolve(ScoreLog.LOG_FILE), StandardCopyOption.REPLACE_EXISTING);
+
+		try (ScoreLog scores = ScoreLog.open(directory, 4)) {
+			assertEquals(2, scores.getWins("ann"));
+			assertEquals(2, scores.getLosses("bob"));
+		}
+	}
+
+	@Test
+	public void dropsATornRecord() throws IOException {
+		try (ScoreLog scores = ScoreLog.open(directory)) {
+			scores.record("ann", "bob");
+		}
+		// A record whose write was cut short
+		Files.write(directory.resolve(ScoreLog.LOG_FILE), new byte[]{1, 0, 3, 'c'}, StandardOpenOption.APPEND);
+
+		try (ScoreLog scores = ScoreLog.open(directory)) {
+			assertEquals(1, scores.getWins("ann"));
+			scores.record("cy", null);
+		}
+		try (ScoreLog scores = ScoreLog.open(directory)) {
+			assertEquals(1, scores.getWins("ann"));
+			assertEquals(1, scores.getWins("cy"));
+		}
+	}
+
+	@Test
+	public void commitsResultsOfManyThreadsTogether() throws Exception {
+		int threads = 16;
+		int results = 50;
+		try (ScoreLog scores = ScoreLog.open(directory)) {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Thread> workers = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				String name = "player" + t;
+				Thread worker = new Thread(() -> {
+					try {
+						start.await();
+						for (int i = 0; i < results; i++) {
+							scores.record(name, "loser");
+						}
+					} catch (InterruptedException | IOException e) {
+						throw new AssertionError(e);
+					}
+				});
+				worker.start();
+				workers.add(worker);
+			}
+			start.countDown();
+			for (Thread worker : workers) {
+				worker.join();
+			}
+
+			assertEquals(threads * results, scores.getLosses("loser"));
+			assertEquals(results, scores.getWins("player7"));
+			assertTrue(scores.getSyncs() < threads * results, "fsyncs: " + scores.getSyncs());
+		}
+	}
+
+	@Test
+	public void rejectsOtherFiles() throws IOException {
+		Files.write(directory.resolve(ScoreLog.LOG_FILE), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+		assertThrows(IOException.class, () -> ScoreLog.open(directory));
+	}
+
+	@Test
+	public void refusesResultsOnceClosed() throws IOException {
+		ScoreLog scores = ScoreLog.open(directory);
+		scores.close();
+
+		assertThrows(IOException.class, () -> scores.record("ann", "bob"));
+	}
+}
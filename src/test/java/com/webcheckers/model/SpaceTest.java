@@ -221,7 +221,7 @@ public class SpaceTest {
 	@Test
 	public void testClone()
 	{
-		Space toClone = new Space(SPACE_ID, new Piece(Piece.Type.SINGLE, Piece.Color.RED));
+		Space toClone = new Space(SPACE_ID, Piece.of(Piece.Type.SINGLE, Piece.Color.RED));
 		Space clone = toClone.clone();
 		assertEquals(toClone, clone);
 
@@ -239,8 +239,8 @@ public class SpaceTest {
 		assertFalse(test.equals(test2));
 		assertFalse(test.equals(new Object()));
 		assertFalse(test.equals(null));
-		test = new Space(SPACE_ID, new Piece(Piece.Type.SINGLE, Piece.Color.RED));
-		test2 = new Space(SPACE_ID, new Piece(Piece.Type.SINGLE, Piece.Color.WHITE));
+		test = new Space(SPACE_ID, Piece.of(Piece.Type.SINGLE, Piece.Color.RED));
+		test2 = new Space(SPACE_ID, Piece.of(Piece.Type.SINGLE, Piece.Color.WHITE));
 		assertFalse(test2.equals(test));
 		test = new Space(SPACE_ID, Space.State.OPEN);
 		test2 = new Space(SPACE_ID, Space.State.INVALID);
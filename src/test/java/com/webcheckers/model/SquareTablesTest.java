@@ -0,0 +1,88 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Model-tier")
+public class SquareTablesTest {
+
+    @Test
+    public void squaresMapToDarkSpaces(){
+        Space[][] board = CheckersBoardBuilder.aBoard().getBoard();
+
+        for (int square = 0; square < SquareTables.SQUARES; square++) {
+            int row = SquareTables.row(square);
+            int cell = SquareTables.cell(square);
+
+            assertNotEquals(Space.State.INVALID, board[row][cell].getState());
+            assertEquals(square, SquareTables.squareAt(row, cell));
+        }
+
+        assertEquals(-1, SquareTables.squareAt(0, 0));
+        assertEquals(-1, SquareTables.squareAt(-1, 1));
+        assertEquals(-1, SquareTables.squareAt(7, 8));
+    }
+
+    @Test
+    public void standardNumbering(){
+        // Square 1 (0 here) is on RED's back row and 32 (31 here) in WHITE's far corner
+        assertEquals(0, SquareTables.squareAt(7, 6));
+        assertEquals(3, SquareTables.squareAt(7, 0));
+        assertEquals(31, SquareTables.squareAt(0, 1));
+
+        // The classic opening 11-15 is RED moving <5,2> to <4,3>
+        assertEquals(10, SquareTables.squareAt(5, 2));
+        assertEquals(14, SquareTables.squareAt(4, 3));
+    }
+
+    @Test
+    public void stepsFollowTheDirectionOfPlay(){
+        int square = SquareTables.squareAt(5, 2);
+
+        for (int target : SquareTables.steps(SquareTables.RED_SINGLE, square)) {
+            assertEquals(4, SquareTables.row(target));
+        }
+        for (int target : SquareTables.steps(SquareTables.WHITE_SINGLE, square)) {
+            assertEquals(6, SquareTables.row(target));
+        }
+        assertEquals(2, SquareTables.steps(SquareTables.RED_SINGLE, square).length);
+        assertEquals(4, SquareTables.steps(SquareTables.KING, square).length);
+
+        // Edge and corner squares have fewer neighbours
+        assertEquals(1, SquareTables.steps(SquareTables.RED_SINGLE, SquareTables.squareAt(7, 0)).length);
+        assertEquals(0, SquareTables.steps(SquareTables.RED_SINGLE, SquareTables.squareAt(0, 1)).length);
+    }
+
+    @Test
+    public void jumpsPairJumpedAndLandingSquares(){
+        for (int kind = 0; kind < 3; kind++) {
+            for (int square = 0; square < SquareTables.SQUARES; square++) {
+                int[] jumped = SquareTables.jumped(kind, square);
+                int[] landings = SquareTables.landings(kind, square);
+
+                assertEquals(jumped.length, landings.length);
+                for (int i = 0; i < landings.length; i++) {
+                    int row = SquareTables.row(square);
+                    int cell = SquareTables.cell(square);
+
+                    assertEquals(2, Math.abs(SquareTables.row(landings[i]) - row));
+                    assertEquals(2, Math.abs(SquareTables.cell(landings[i]) - cell));
+                    assertEquals((row + SquareTables.row(landings[i])) / 2, SquareTables.row(jumped[i]));
+                    assertEquals((cell + SquareTables.cell(landings[i])) / 2, SquareTables.cell(jumped[i]));
+                }
+            }
+        }
+
+        assertEquals(1, SquareTables.landings(SquareTables.RED_SINGLE, SquareTables.squareAt(7, 0)).length);
+        assertEquals(4, SquareTables.landings(SquareTables.KING, SquareTables.squareAt(4, 3)).length);
+    }
+
+    @Test
+    public void kind(){
+        assertEquals(SquareTables.RED_SINGLE, SquareTables.kind(Piece.Color.RED, Piece.Type.SINGLE));
+        assertEquals(SquareTables.WHITE_SINGLE, SquareTables.kind(Piece.Color.WHITE, Piece.Type.SINGLE));
+        assertEquals(SquareTables.KING, SquareTables.kind(Piece.Color.WHITE, Piece.Type.KING));
+    }
+}
@@ -3,6 +3,13 @@ package com.webcheckers.model;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -48,4 +55,84 @@ public class TournamentScoreBoardTest {
 
         assertEquals(2, CuT.getPlayers().size());
     }
+
+    @Test
+    public void keepsResultsInTheScoreLog() throws IOException {
+        Path directory = Files.createTempDirectory("scores");
+        try (ScoreLog scores = ScoreLog.open(directory)) {
+            CuT = new TournamentScoreboard(scores);
+            Player winner = new Player("winner", Player.GameType.TOURNAMENT);
+            Player loser = new Player("loser", Player.GameType.TOURNAMENT);
+
+            TournamentScoreboard.recordResult(winner, loser);
+
+            assertEquals(1, (int) winner.getWins());
+            assertEquals(1, (int) loser.getLosses());
+            assertEquals(1, scores.getWins("winner"));
+
+            // Signing in again, or after a restart, brings back the standings
+            Player again = new Player("winner", Player.GameType.TOURNAMENT);
+            TournamentScoreboard.newPlayer(again);
+            assertEquals(1, (int) again.getWins());
+        } finally {
+            new TournamentScoreboard();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ranksByRating() {
+        Player often = new Player("often", Player.GameType.TOURNAMENT);
+        Player rarely = new Player("rarely", Player.GameType.TOURNAMENT);
+        Player beaten = new Player("beaten", Player.GameType.TOURNAMENT);
+        CuT.newPlayer(often);
+        CuT.newPlayer(rarely);
+        CuT.newPlayer(beaten);
+
+        TournamentScoreboard.recordResult(rarely, often);
+        for (int i = 0; i < 3; i++) {
+            TournamentScoreboard.recordResult(often, beaten);
+        }
+        TournamentScoreboard.getRatings().closePeriod();
+        TournamentScoreboard.sortPlayers();
+
+        // Losing every game puts a player last
+        List<TournamentScoreboard.Standing> standings = TournamentScoreboard.getStandings();
+        assertEquals(4, standings.size());
+        assertEquals("beaten", standings.get(standings.size() - 1).getName());
+        assertEquals(3, standings.stream().filter(s -> s.getName().equals("often")).findFirst().get().getWins());
+        assertEquals(3, standings.stream().filter(s -> s.getName().equals("beaten")).findFirst().get().getLosses());
+    }
+
+    @Test
+    public void countsTheGamesOfOtherNodes() {
+        ScoreCounters here = new ScoreCounters("here");
+        ScoreCounters there = new ScoreCounters("there");
+        try {
+            CuT = new TournamentScoreboard(null, new Ratings(), here);
+            Player ann = new Player("ann", Player.GameType.TOURNAMENT);
+            Player bob = new Player("bob", Player.GameType.TOURNAMENT);
+            TournamentScoreboard.newPlayer(ann);
+            TournamentScoreboard.newPlayer(bob);
+
+            TournamentScoreboard.recordResult(ann, bob);
+            there.recordResult("bob", "ann");
+            there.recordResult("bob", "cy");
+            assertTrue(here.merge(there));
+            TournamentScoreboard.refreshCounts();
+
+            assertEquals(2, (int) bob.getWins());
+            assertEquals(1, (int) bob.getLosses());
+            assertEquals(1, (int) ann.getWins());
+            assertEquals(1, (int) ann.getLosses());
+            assertEquals(2, TournamentScoreboard.getStandings().stream()
+                    .filter(s -> s.getName().equals("bob")).findFirst().get().getWins());
+        } finally {
+            new TournamentScoreboard();
+        }
+    }
 }
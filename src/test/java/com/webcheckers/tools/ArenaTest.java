@@ -0,0 +1,95 @@
+package com.webcheckers.tools;
+
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.MoveList;
+import com.webcheckers.ai.SearchLimits;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class ArenaTest {
+
+	@Test
+	public void openingsAreBalancedAndLegal() {
+		List<long[]> openings = Arena.openings(2);
+
+		assertFalse(openings.isEmpty());
+		assertTrue(openings.size() <= 49);
+		for (long[] opening : openings) {
+			Board board = Board.startingPosition();
+			for (long move : opening) {
+				MoveList moves = new MoveList();
+				board.generateMoves(moves);
+				assertTrue(contains(moves, move));
+				board = board.play(move);
+			}
+		}
+		assertEquals(openings.size(), Arena.openings(2).size());
+	}
+
+	@Test
+	public void playsMatchesThroughTheGame() throws Exception {
+		Arena arena = new Arena(Arena.engines().get("alphabeta"), Arena.engines().get("mcts"),
+				SearchLimits.depth(2), 60);
+
+		Arena.Result result = arena.play(Arena.openings(1), 4, 2);
+
+		assertEquals(4, result.getGames());
+		assertEquals(4, result.getWins() + result.getDraws() + result.getLosses());
+		assertTrue(result.getNodesPerSecond(true) > 0);
+		assertTrue(result.getNodesPerSecond(false) > 0);
+		assertTrue(result.getAverageThinkMillis(true) > 0);
+
+		double[] interval = result.getScoreInterval();
+		assertTrue(interval[0] <= result.getScore() && result.getScore() <= interval[1]);
+	}
+
+	@Test
+	public void statistics() {
+		assertEquals(0, Arena.elo(0.5), 1e-9);
+		assertTrue(Arena.elo(0.75) > 190 && Arena.elo(0.75) < 192);
+
+		double[] wilson = Arena.wilson(50, 100);
+		assertEquals(0.5, (wilson[0] + wilson[1]) / 2, 1e-9);
+		assertTrue(wilson[0] > 0.39 && wilson[1] < 0.61);
+		assertArrayEquals(new double[]{0, 1}, Arena.wilson(0, 0), 1e-9);
+	}
+
+	@Test
+	public void regressionGate() throws Exception {
+		Arena arena = new Arena(Arena.engines().get("alphabeta"), Arena.engines().get("alphabeta"),
+				SearchLimits.depth(2), 40);
+		Arena.Result result = arena.play(Arena.openings(1), 2, 1);
+		Path file = Files.createTempFile("arena", ".properties");
+
+		try {
+			Arena.save(result, file);
+			assertTrue(Arena.check(result, file, Arena.DEFAULT_TOLERANCE).isEmpty());
+
+			// A run that is half as fast fails the gate
+			String saved = new String(Files.readAllBytes(file), "ISO-8859-1");
+			Files.write(file, saved.replaceAll("nodesPerSecond=\\d+",
+					"nodesPerSecond=" + result.getNodesPerSecond(true) * 2).getBytes("ISO-8859-1"));
+			List<String> regressions = Arena.check(result, file, Arena.DEFAULT_TOLERANCE);
+			assertEquals(1, regressions.size());
+			assertTrue(regressions.get(0).startsWith("Speed"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static boolean contains(MoveList moves, long move) {
+		for (int i = 0; i < moves.size(); i++) {
+			if (moves.get(i) == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
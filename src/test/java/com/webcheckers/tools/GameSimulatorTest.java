@@ -0,0 +1,57 @@
+package com.webcheckers.tools;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class GameSimulatorTest {
+
+	private static final Logger APP_LOG = Logger.getLogger("com.webcheckers");
+	private static Level appLevel;
+
+	@BeforeAll
+	public static void quiet() {
+		appLevel = APP_LOG.getLevel();
+		APP_LOG.setLevel(Level.WARNING);
+	}
+
+	@AfterAll
+	public static void restore() {
+		APP_LOG.setLevel(appLevel);
+	}
+
+	@Test
+	public void reportsEveryGame() throws InterruptedException {
+		SimulationReport report = new GameSimulator(2, 200).run(10, 5, Collections.emptyList());
+
+		assertEquals(10, report.getGames());
+		assertEquals(10, report.getRedWins() + report.getWhiteWins() + report.getTurnLimited());
+		assertEquals(0, report.getFailures());
+		assertTrue(report.getMoves() >= report.getTurns());
+		assertTrue(report.getGamesPerSecond() > 0);
+		assertNotNull(report.toString());
+	}
+
+	@Test
+	public void threadCountDoesNotChangeTheGames() throws InterruptedException {
+		SimulationReport single = new GameSimulator(1, 200).run(12, 42, Collections.singletonList("11-15 22-18"));
+		SimulationReport parallel = new GameSimulator(4, 200).run(12, 42, Collections.singletonList("11-15 22-18"));
+
+		assertEquals(single.getRedWins(), parallel.getRedWins());
+		assertEquals(single.getWhiteWins(), parallel.getWhiteWins());
+		assertEquals(single.getTurns(), parallel.getTurns());
+		assertEquals(single.getMoves(), parallel.getMoves());
+		assertEquals(0, parallel.getScriptsRejected());
+	}
+
+	@Test
+	public void invalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new GameSimulator(0, 200));
+		assertThrows(IllegalArgumentException.class, () -> new GameSimulator(2, 0));
+	}
+}
@@ -0,0 +1,58 @@
+package com.webcheckers.tools;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class LatencyHistogramTest {
+
+	@Test
+	public void bucketsCoverTheirValues() {
+		for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123456, 987654321L}) {
+			int bucket = LatencyHistogram.bucket(value);
+
+			assertTrue(LatencyHistogram.lowestValue(bucket) <= value);
+			assertTrue(LatencyHistogram.lowestValue(bucket + 1) > value);
+		}
+	}
+
+	@Test
+	public void percentiles() {
+		LatencyHistogram CuT = new LatencyHistogram();
+		assertEquals(0, CuT.getPercentile(99));
+
+		for (long micros = 1; micros <= 1000; micros++) {
+			CuT.record(micros);
+		}
+		CuT.recordError();
+
+		assertEquals(1000, CuT.getCount());
+		assertEquals(1, CuT.getErrors());
+		assertEquals(1000, CuT.getMaxMicros());
+		assertEquals(500, CuT.getMeanMicros());
+		assertEquals(1, CuT.getPercentile(0));
+		assertEquals(1000, CuT.getPercentile(100), 1000 / 16.0);
+
+		// Within the precision of a bucket
+		assertEquals(500, CuT.getPercentile(50), 500 / 16.0);
+		assertEquals(990, CuT.getPercentile(99), 990 / 16.0);
+	}
+
+	@Test
+	public void add() {
+		LatencyHistogram CuT = new LatencyHistogram();
+		LatencyHistogram other = new LatencyHistogram();
+		CuT.record(10);
+		other.record(20);
+		other.recordError();
+
+		CuT.add(other);
+
+		assertEquals(2, CuT.getCount());
+		assertEquals(1, CuT.getErrors());
+		assertEquals(20, CuT.getMaxMicros());
+		assertEquals(15, CuT.getMeanMicros());
+	}
+}
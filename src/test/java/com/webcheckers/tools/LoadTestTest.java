@@ -0,0 +1,48 @@
+package com.webcheckers.tools;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class LoadTestTest {
+
+	private static LoadTest.Step step(int players, int requests, int errors) {
+		LoadStats stats = new LoadStats();
+		for (int i = 0; i < requests; i++) {
+			stats.record("GET /", 1000);
+		}
+		for (int i = 0; i < errors; i++) {
+			stats.recordError("GET /");
+		}
+		stats.finish();
+		return new LoadTest.Step(players, 0, stats);
+	}
+
+	@Test
+	public void errorRate() {
+		assertEquals(0, step(2, 0, 0).getErrorRate());
+		assertEquals(0.25, step(2, 3, 1).getErrorRate());
+	}
+
+	@Test
+	public void noSaturationWithOneStep() {
+		assertEquals(-1, LoadTest.findSaturation(Collections.singletonList(step(2, 100, 0))));
+	}
+
+	@Test
+	public void saturatedWhenRequestsFail() {
+		assertEquals(0, LoadTest.findSaturation(Arrays.asList(step(2, 100, 0), step(4, 100, 100))));
+	}
+
+	@Test
+	public void namesAreUnique() {
+		LoadTest CuT = new LoadTest("http://localhost:" + LoadTest.DEFAULT_PORT, 1, 1, 1, 1, 1);
+		assertNotEquals(CuT.nextName("Red"), CuT.nextName("Red"));
+		assertTrue(CuT.isRunning());
+	}
+}
@@ -0,0 +1,46 @@
+package com.webcheckers.tools;
+
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.MoveList;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class PerftTest {
+
+	@Test
+	public void boardCountsTheKnownStartingPositions() {
+		long[] expected = {1, 7, 49, 302, 1469, 7361, 36768};
+
+		for (int depth = 0; depth < expected.length; depth++) {
+			assertEquals(expected[depth], Perft.perft(Board.startingPosition(), depth, new MoveList()));
+		}
+	}
+
+	@Test
+	public void generatorsAgreeOnEveryPosition() {
+		List<Perft.Generator> generators = Perft.generators();
+		assertEquals("rules", generators.get(0).getName());
+
+		for (Perft.Position position : Perft.positions()) {
+			long reference = generators.get(0).count(position.getBoard(), position.getColor(), 3);
+			for (Perft.Generator generator : generators) {
+				assertEquals(reference, generator.count(position.getBoard(), position.getColor(), 3),
+						generator.getName() + " on " + position.getName());
+			}
+		}
+	}
+
+	@Test
+	public void positionsCoverEveryTestBoard() {
+		List<Perft.Position> positions = Perft.positions();
+
+		assertEquals("start", positions.get(0).getName());
+		assertTrue(positions.stream().anyMatch(position -> position.getName().equals("multiJump/WHITE")));
+		assertTrue(positions.stream().anyMatch(position -> position.getName().equals("kingMe/RED")));
+	}
+}
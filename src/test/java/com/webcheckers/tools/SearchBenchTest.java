@@ -0,0 +1,36 @@
+package com.webcheckers.tools;
+
+import com.webcheckers.ai.Board;
+import com.webcheckers.ai.SearchLimits;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class SearchBenchTest {
+
+	@Test
+	public void positionsAreReproducible() {
+		List<Board> positions = SearchBench.positions(5, 3);
+
+		assertEquals(5, positions.size());
+		assertEquals(Board.startingPosition(), positions.get(0));
+		assertEquals(positions, SearchBench.positions(5, 3));
+	}
+
+	@Test
+	public void deterministicRunsAgree() {
+		List<Board> positions = SearchBench.positions(3, 1);
+		SearchLimits limits = SearchLimits.deterministic(6);
+
+		SearchBench.Run serial = SearchBench.run(positions, limits, 1, 12);
+		SearchBench.Run parallel = SearchBench.run(positions, limits, 3, 12);
+
+		assertEquals(3, serial.getResults().size());
+		assertTrue(serial.getNodes() > 0);
+		assertTrue(parallel.sameResults(serial));
+	}
+}
@@ -0,0 +1,103 @@
+package com.webcheckers.tools;
+
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.MoveNotation;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Application-tier")
+public class SimulatedGameTest {
+
+	private static final Logger APP_LOG = Logger.getLogger("com.webcheckers");
+	private static Level appLevel;
+
+	private GameManager gameManager;
+	private Player red, white;
+
+	@BeforeAll
+	public static void quiet() {
+		appLevel = APP_LOG.getLevel();
+		APP_LOG.setLevel(Level.WARNING);
+	}
+
+	@AfterAll
+	public static void restore() {
+		APP_LOG.setLevel(appLevel);
+	}
+
+	@BeforeEach
+	public void setup() {
+		gameManager = new GameManager();
+		red = new Player("Red", Player.GameType.NORMAL);
+		white = new Player("White", Player.GameType.NORMAL);
+	}
+
+	@Test
+	public void playsToTheEnd() {
+		SimulatedGame CuT = new SimulatedGame(gameManager, red, white, 7, Collections.emptyList(), 500);
+		List<CheckersGame> ended = new ArrayList<>();
+		gameManager.addGameEndListener(ended::add);
+
+		SimulatedGame.Outcome outcome = CuT.play();
+
+		// The game ended the way the application ends every game
+		assertEquals(1, ended.size());
+		assertEquals(CuT.getTurnCount(), ended.get(0).getTurns().size());
+
+		assertNotEquals(SimulatedGame.Outcome.TURN_LIMIT, outcome);
+		assertTrue(CuT.getTurnCount() > 0);
+		assertTrue(CuT.getMoveCount() >= CuT.getTurnCount());
+		// The finished game is cleared from the manager
+		assertFalse(gameManager.isPlayerInAGame(red));
+		assertFalse(gameManager.isPlayerInAGame(white));
+	}
+
+	@Test
+	public void sameSeedSameGame() {
+		SimulatedGame first = new SimulatedGame(gameManager, red, white, 11, Collections.emptyList(), 500);
+		SimulatedGame second = new SimulatedGame(gameManager, red, white, 11, Collections.emptyList(), 500);
+
+		assertEquals(first.play(), second.play());
+		assertEquals(first.getTranscript(), second.getTranscript());
+	}
+
+	@Test
+	public void followsScript() {
+		SimulatedGame CuT = new SimulatedGame(gameManager, red, white, 3,
+				MoveNotation.parseGame("11-15 22-18 15x22"), 500);
+
+		CuT.play();
+
+		assertFalse(CuT.isScriptRejected());
+		assertEquals("11-15 22-18 15x22", MoveNotation.formatGame(CuT.getTranscript().subList(0, 3)));
+	}
+
+	@Test
+	public void rejectedScript() {
+		SimulatedGame CuT = new SimulatedGame(gameManager, red, white, 3,
+				MoveNotation.parseGame("11-19"), 500);
+
+		CuT.play();
+
+		assertTrue(CuT.isScriptRejected());
+		assertNotEquals("11-19", MoveNotation.formatTurn(CuT.getTranscript().get(0)));
+	}
+
+	@Test
+	public void turnLimit() {
+		SimulatedGame CuT = new SimulatedGame(gameManager, red, white, 7, Collections.emptyList(), 4);
+
+		assertEquals(SimulatedGame.Outcome.TURN_LIMIT, CuT.play());
+		assertEquals(4, CuT.getTurnCount());
+		assertFalse(gameManager.isPlayerInAGame(red));
+	}
+}
@@ -0,0 +1,277 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.GameRouter;
+import com.webcheckers.appl.InMemorySessionStore;
+import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.appl.PlayerReference;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.HaltException;
+import spark.Request;
+import spark.Response;
+import spark.Session;
+import spark.TemplateEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("UI-tier")
+public class GameRoutingFilterTest {
+
+    // Component under test
+    private GameRoutingFilter CuT;
+
+    private Request request;
+    private Response response;
+    private Session session;
+    private GameRouter gameRouter;
+    private PlayerLobby playerLobby;
+    private Player player;
+
+    @BeforeEach
+    public void setup() {
+        request = mock(Request.class);
+        response = mock(Response.class);
+        session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        gameRouter = mock(GameRouter.class);
+        when(gameRouter.getSelf()).thenReturn("a");
+        playerLobby = new PlayerLobby();
+        player = playerLobby.newPlayer("ann", Player.GameType.NORMAL);
+        playerLobby.newPlayer("bob", Player.GameType.NORMAL);
+
+        CuT = new GameRoutingFilter(gameRouter, playerLobby);
+    }
+
+    @Test
+    public void redirectsToTheOwner() {
+        when(session.attribute("Player")).thenReturn(player);
+        when(request.queryParams("whitePlayer")).thenReturn("bob");
+        when(request.queryString()).thenReturn("whitePlayer=bob");
+        when(gameRouter.route(player, "bob")).thenReturn("http://localhost:4577");
+        when(gameRouter.sign(eq("ann vs. bob"), anyLong())).thenReturn("signature");
+
+        assertThrows(HaltException.class, () -> CuT.handle(request, response));
+
+        verify(response).redirect(matches("http://localhost:4577/game\\?whitePlayer=bob&routedFrom=a"
+                + "&routedAt=[0-9]+&routeSignature=signature"));
+        verify(gameRouter).handOff("bob", "http://localhost:4577");
+    }
+
+    @Test
+    public void servesAGameItOwns() {
+        when(session.attribute("Player")).thenReturn(player);
+        when(request.queryParams("whitePlayer")).thenReturn("bob");
+
+        CuT.handle(request, response);
+
+        verify(gameRouter).route(player, "bob");
+        verify(response, never()).redirect(anyString());
+    }
+
+    @Test
+    public void leavesAGameNoOneCanPlayHere() {
+        when(session.attribute("Player")).thenReturn(player);
+        when(request.queryParams("whitePlayer")).thenReturn("nobody");
+
+        CuT.handle(request, response);
+
+        verify(gameRouter, never()).route(any(), anyString());
+        verify(response, never()).redirect(anyString());
+    }
+
+    @Test
+    public void sendsAHandedOffPlayerToTheirGame() {
+        when(session.attribute("Player")).thenReturn(player);
+        when(gameRouter.takeHandOff(player)).thenReturn("http://localhost:4577");
+
+        assertThrows(HaltException.class, () -> CuT.handle(request, response));
+
+        verify(response).redirect("http://localhost:4577/game");
+    }
+
+    @Test
+    public void leavesOtherRequestsAlone() {
+        when(session.attribute("Player")).thenReturn(player);
+
+        CuT.handle(request, response);
+
+        verify(gameRouter, never()).route(any(), anyString());
+        verify(response, never()).redirect(anyString());
+    }
+
+    @Test
+    public void refusesAnOpponentNoNodeSent() {
+        when(session.attribute("Player")).thenReturn(player);
+        when(request.queryParams("whitePlayer")).thenReturn("eve");
+        when(request.queryParams(GameRoutingFilter.ROUTED_PARAM)).thenReturn("a");
+        when(request.queryParams(GameRoutingFilter.ROUTED_AT_PARAM)).thenReturn("12345");
+        when(request.queryParams(GameRoutingFilter.SIGNATURE_PARAM)).thenReturn("forged");
+
+        CuT.handle(request, response);
+
+        verify(gameRouter).verify("ann vs. eve", "a", 12345, "forged");
+        assertNull(playerLobby.getPlayer("eve"));
+        verify(response, never()).redirect(anyString());
+    }
+
+    @Test
+    public void playsARoutedGameWithBothPlayers() {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        nodes.put("a", "http://localhost:4567");
+        nodes.put("b", "http://localhost:4577");
+        InMemorySessionStore sessionStore = new InMemorySessionStore();
+        Node a = new Node("a", nodes, sessionStore);
+        Node b = new Node("b", nodes, sessionStore);
+        Node stranger = new Node("b", nodes, sessionStore, "not the cluster's");
+
+        // Both signed in on a, with an opponent whose game with ann b owns
+        Player ann = a.playerLobby.newPlayer("ann", Player.GameType.NORMAL);
+        String opponent = "bob";
+        for (int i = 0; a.gameRouter.ownerOf(GameRouter.gameId("ann", opponent)).equals("a"); i++) {
+            opponent = "bob" + i;
+        }
+        Player bob = a.playerLobby.newPlayer(opponent, Player.GameType.NORMAL);
+        sessionStore.put("annSessionId000000000000", PlayerReference.of(ann));
+        sessionStore.put("bobSessionId000000000000", PlayerReference.of(bob));
+        Browser annBrowser = new Browser("annSessionId000000000000");
+        Browser bobBrowser = new Browser("bobSessionId000000000000");
+
+        // ann starts the game on a, and is sent to b
+        Map<String, String> start = new HashMap<>();
+        start.put("whitePlayer", opponent);
+        String sent = annBrowser.visitGame(a, start);
+        assertTrue(sent.startsWith("http://localhost:4577/game?whitePlayer=" + opponent + "&routedFrom=a&"));
+        Map<String, String> routed = params(sent);
+        // A node without the cluster's secret does not take the opponent's word for it
+        assertNull(annBrowser.visitFilters(stranger, routed));
+        assertNull(stranger.playerLobby.getPlayer(opponent));
+        assertNull(annBrowser.visitGame(b, routed));
+        CheckersGame game = b.gameManager.getGame(ann);
+        assertNotNull(game);
+        assertFalse(a.gameManager.isPlayerInAGame(ann));
+
+        // bob, waiting at home on a, is sent to the same game
+        assertEquals("http://localhost:4577/game", bobBrowser.visitHome(a));
+        assertNull(bobBrowser.visitGame(b, new HashMap<>()));
+        assertSame(game, b.gameManager.getGame(bob));
+        assertEquals(bob, game.getPlayerWhite());
+
+        // and is not sent again
+        assertNull(bobBrowser.visitHome(a));
+    }
+
+    private static Map<String, String> params(String url) {
+        Map<String, String> params = new HashMap<>();
+        for (String param : url.substring(url.indexOf('?') + 1).split("&")) {
+            int equals = param.indexOf('=');
+            params.put(param.substring(0, equals), param.substring(equals + 1));
+        }
+        return params;
+    }
+
+    /**
+     * A node of a cluster, with what its filters and game route see
+     */
+    private static class Node {
+        private final GameManager gameManager = new GameManager();
+        private final PlayerLobby playerLobby = new PlayerLobby();
+        private final GameRouter gameRouter;
+        private final SessionFilter sessionFilter;
+        private final GameRoutingFilter gameRoutingFilter;
+        private final GetGameRoute getGameRoute;
+
+        Node(String self, Map<String, String> nodes, InMemorySessionStore sessionStore) {
+            this(self, nodes, sessionStore, "cluster secret");
+        }
+
+        Node(String self, Map<String, String> nodes, InMemorySessionStore sessionStore, String secret) {
+            gameRouter = new GameRouter(self, nodes, gameManager, secret.getBytes(StandardCharsets.UTF_8));
+            sessionFilter = new SessionFilter(sessionStore, playerLobby);
+            gameRoutingFilter = new GameRoutingFilter(gameRouter, playerLobby);
+            getGameRoute = new GetGameRoute(mock(TemplateEngine.class), playerLobby, gameManager);
+        }
+    }
+
+    /**
+     * A browser keeping its session id, and a session of its own on each node
+     */
+    private static class Browser {
+        private final String sessionId;
+        private final Map<Node, Map<String, Object>> sessions = new HashMap<>();
+
+        Browser(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        /**
+         * Requests the home page from a node, as far as the filters
+         *
+         * @return - where the node redirected to, or null if it would serve the page
+         */
+        String visitHome(Node node) {
+            return visitFilters(node, new HashMap<>());
+        }
+
+        /**
+         * Requests a page from a node, as far as the filters
+         *
+         * @return - where the node redirected to, or null if it would serve the page
+         */
+        String visitFilters(Node node, Map<String, String> params) {
+            return visit(node, params, false);
+        }
+
+        /**
+         * Requests a game page from a node
+         *
+         * @return - where the node redirected to, or null if it served the page
+         */
+        String visitGame(Node node, Map<String, String> params) {
+            return visit(node, params, true);
+        }
+
+        private String visit(Node node, Map<String, String> params, boolean game) {
+            Map<String, Object> attributes = sessions.computeIfAbsent(node, n -> new HashMap<>());
+            attributes.put(SessionFilter.ISSUED_ATTR, sessionId);
+            Session session = mock(Session.class);
+            when(session.attribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+            doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                    .when(session).attribute(anyString(), any());
+            doAnswer(invocation -> attributes.remove(invocation.getArgument(0)))
+                    .when(session).removeAttribute(anyString());
+
+            Request request = mock(Request.class);
+            when(request.session()).thenReturn(session);
+            when(request.cookie(SessionFilter.COOKIE)).thenReturn(sessionId);
+            when(request.queryParams(anyString())).thenAnswer(invocation -> params.get(invocation.getArgument(0)));
+            when(request.queryString()).thenReturn("whitePlayer=" + params.get("whitePlayer"));
+            Response response = mock(Response.class);
+
+            node.sessionFilter.before(request, response);
+            try {
+                node.gameRoutingFilter.handle(request, response);
+                if (game) {
+                    node.getGameRoute.handle(request, response);
+                }
+            } catch (HaltException e) {
+                // Redirected by the filter
+            }
+            verify(response, atMost(1)).redirect(anyString());
+            return mockingDetails(response).getInvocations().stream()
+                    .filter(invocation -> invocation.getMethod().getName().equals("redirect"))
+                    .map(invocation -> (String) invocation.getArgument(0))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.webcheckers.ui;
 
+import com.webcheckers.ai.Difficulty;
+import com.webcheckers.appl.ComputerPlayer;
 import com.webcheckers.appl.GameManager;
 import com.webcheckers.appl.PlayerLobby;
 import com.webcheckers.model.CheckersGame;
@@ -13,6 +15,7 @@ import spark.Response;
 import spark.Session;
 import spark.TemplateEngine;
 
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @Tag("UI-tier")
@@ -108,4 +111,46 @@ public class GetGameRouteTest {
         verify(response, times(1)).redirect(WebServer.HOME_URL);
     }
 
+    @Test
+    public void computerBusy(){
+        redPlayer = new Player("redPlayer", Player.GameType.NORMAL);
+        when(session.attribute("Player")).thenReturn(redPlayer);
+        when(request.queryParams("computer")).thenReturn("hard");
+        when(gameManager.getNewComputerGame(redPlayer, Difficulty.HARD)).thenReturn(null);
+
+        assertNull(CuT.handle(request, response));
+        verify(session).attribute(eq("message"), any(Message.class));
+        verify(response).redirect(WebServer.HOME_URL);
+    }
+
+    @Test
+    public void computerGame(){
+        redPlayer = new Player("redPlayer", Player.GameType.NORMAL);
+        whitePlayer = new ComputerPlayer("Computer 1 (medium)", Player.GameType.NORMAL, Difficulty.MEDIUM);
+        game = new CheckersGame(redPlayer, whitePlayer);
+        when(session.attribute("Player")).thenReturn(redPlayer);
+        when(request.queryParams("computer")).thenReturn("no such level");
+        when(gameManager.getNewComputerGame(redPlayer, Difficulty.MEDIUM)).thenReturn(game);
+        when(gameManager.getGame(redPlayer, whitePlayer)).thenReturn(game);
+
+        CuT.handle(request, response);
+        verify(gameManager).getNewComputerGame(redPlayer, Difficulty.MEDIUM);
+        verify(templateEngine).render(any());
+    }
+
+    @Test
+    public void computerGameWithEngine(){
+        redPlayer = new Player("redPlayer", Player.GameType.NORMAL);
+        whitePlayer = new ComputerPlayer("Computer 1 (easy, mcts)", Player.GameType.NORMAL, Difficulty.EASY, "mcts");
+        game = new CheckersGame(redPlayer, whitePlayer);
+        when(session.attribute("Player")).thenReturn(redPlayer);
+        when(request.queryParams("computer")).thenReturn("easy");
+        when(request.queryParams("engine")).thenReturn("mcts");
+        when(gameManager.getNewComputerGame(redPlayer, Difficulty.EASY, "mcts")).thenReturn(game);
+        when(gameManager.getGame(redPlayer, whitePlayer)).thenReturn(game);
+
+        CuT.handle(request, response);
+        verify(gameManager).getNewComputerGame(redPlayer, Difficulty.EASY, "mcts");
+        verify(templateEngine).render(any());
+    }
 }
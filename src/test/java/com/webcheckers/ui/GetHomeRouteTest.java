@@ -1,6 +1,7 @@
 package com.webcheckers.ui;
 
 import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.LobbyPage;
 import com.webcheckers.appl.PlayerLobby;
 import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Message;
@@ -8,11 +9,17 @@ import com.webcheckers.model.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import spark.ModelAndView;
 import spark.Request;
 import spark.Response;
 import spark.Session;
 import spark.TemplateEngine;
 
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @Tag("UI-tier")
@@ -42,6 +49,9 @@ public class GetHomeRouteTest {
         playerLobby = mock(PlayerLobby.class);
         gameManager = mock(GameManager.class);
         templateEngine = mock(TemplateEngine.class);
+        when(playerLobby.getPlayersPage(any(), any(), any(), anyInt()))
+                .thenReturn(new LobbyPage<>(Collections.emptyList(), null));
+        when(gameManager.getGamesPage(any(), anyInt())).thenReturn(new LobbyPage<>(Collections.emptyList(), null));
 
         CuT = new GetHomeRoute(templateEngine, playerLobby, gameManager);
     }
@@ -96,4 +106,24 @@ public class GetHomeRouteTest {
         CuT.handle(request, response);
     }
 
+    @Test
+    public void moreLinksKeepTheSearchAndTheOtherListings() {
+        currPlayer = new Player("redPlayer", Player.GameType.NORMAL);
+        when(session.attribute("Player")).thenReturn(currPlayer);
+        when(playerLobby.isPlayerInLobby(currPlayer)).thenReturn(true);
+        when(request.queryParams(GetHomeRoute.SEARCH_PARAM)).thenReturn("b");
+        when(request.queryParams(GetHomeRoute.TOURNAMENT_CURSOR_PARAM)).thenReturn("bo");
+        when(request.queryParams(GetHomeRoute.GAMES_CURSOR_PARAM)).thenReturn("ann vs. bob");
+        when(playerLobby.getPlayersPage(Player.GameType.NORMAL, "b", null, LobbyPage.DEFAULT_PAGE_SIZE))
+                .thenReturn(new LobbyPage<>(Collections.emptyList(), "bob"));
+
+        CuT.handle(request, response);
+
+        ArgumentCaptor<ModelAndView> view = ArgumentCaptor.forClass(ModelAndView.class);
+        verify(templateEngine).render(view.capture());
+        Map<?, ?> vm = (Map<?, ?>) view.getValue().getModel();
+        assertEquals("/?search=b&casualAfter=bob&tournamentAfter=bo&gamesAfter=ann+vs.+bob", vm.get("casualMoreUrl"));
+        assertEquals("/?search=b&gamesAfter=ann+vs.+bob", vm.get("tournamentMoreUrl"));
+        assertEquals("/?search=b&tournamentAfter=bo", vm.get("gamesMoreUrl"));
+    }
 }
@@ -24,8 +24,8 @@ public class GetSpectateRouteTest {
     private PlayerLobby playerLobby;
     private GameManager gameManager;
 
-    private Player red = new Player("redPlayer");
-    private Player spectator = new Player ("spectator");
+    private Player red = new Player("redPlayer", Player.GameType.NORMAL);
+    private Player spectator = new Player ("spectator", Player.GameType.NORMAL);
 
     @BeforeEach
     public void setup(){
@@ -37,9 +37,9 @@ public class GetSpectateRouteTest {
         this.playerLobby = new PlayerLobby();
         this.gameManager = new GameManager();
 
-        playerLobby.newPlayer(red.getName());
-        playerLobby.newPlayer("white");
-        gameManager.getNewGame(red, new Player("white"));
+        playerLobby.newPlayer(red.getName(), Player.GameType.NORMAL);
+        playerLobby.newPlayer("white", Player.GameType.NORMAL);
+        gameManager.getNewGame(red, new Player("white", Player.GameType.NORMAL));
 
         CuT = new GetSpectateRoute(playerLobby, gameManager);
     }
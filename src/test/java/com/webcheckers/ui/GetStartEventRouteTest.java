@@ -0,0 +1,144 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.TournamentScoreboard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import spark.Request;
+import spark.Response;
+import spark.Session;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("UI-tier")
+public class GetStartEventRouteTest {
+
+    // Component under test
+    private GetStartEventRoute CuT;
+
+    private Request request;
+    private Response response;
+    private Session session;
+
+    private PlayerLobby playerLobby;
+    private GameManager gameManager;
+
+    @BeforeEach
+    public void setup() {
+        request = mock(Request.class);
+        response = mock(Response.class);
+        session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+
+        new TournamentScoreboard();
+        playerLobby = new PlayerLobby();
+        gameManager = new GameManager();
+        playerLobby.newPlayer("casual", Player.GameType.NORMAL);
+        for (String name : new String[] {"ann", "bob", "cal", "dee"}) {
+            playerLobby.newPlayer(name, Player.GameType.TOURNAMENT);
+        }
+
+        CuT = new GetStartEventRoute(playerLobby, gameManager);
+    }
+
+    private Message message() {
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(session, atLeastOnce()).attribute(eq("message"), message.capture());
+        return message.getValue();
+    }
+
+    @Test
+    public void startsTheFirstRoundForTheTournamentPlayers() {
+        when(session.attribute("Player")).thenReturn(new Player("admin", Player.GameType.NORMAL));
+
+        CuT.handle(request, response);
+
+        assertEquals(Message.MessageType.info, message().getType());
+        assertEquals(2, gameManager.getGameList().size());
+        for (CheckersGame game : gameManager.getGameList().values()) {
+            assertEquals(Player.GameType.TOURNAMENT, game.getPlayerRed().getType());
+            assertEquals(Player.GameType.TOURNAMENT, game.getPlayerWhite().getType());
+        }
+        assertFalse(gameManager.isPlayerInAGame(playerLobby.getPlayer("casual")));
+    }
+
+    @Test
+    public void startsRoundRobinPools() {
+        when(session.attribute("Player")).thenReturn(new Player("admin", Player.GameType.NORMAL));
+        when(request.queryParams(GetStartEventRoute.FORMAT_PARAM)).thenReturn("roundRobin");
+        when(request.queryParams(GetStartEventRoute.POOLS_PARAM)).thenReturn("2");
+
+        CuT.handle(request, response);
+
+        assertEquals(String.format(GetStartEventRoute.STARTED_MESSAGE, "RoundRobin", 4), message().getText());
+        assertEquals(2, gameManager.getGameList().size());
+    }
+
+    @Test
+    public void startsAKnockout() {
+        when(session.attribute("Player")).thenReturn(new Player("admin", Player.GameType.NORMAL));
+        when(request.queryParams(GetStartEventRoute.FORMAT_PARAM)).thenReturn("knockout");
+
+        CuT.handle(request, response);
+
+        assertEquals(String.format(GetStartEventRoute.STARTED_MESSAGE, "Knockout", 4), message().getText());
+        assertEquals(2, gameManager.getGameList().size());
+    }
+
+    @Test
+    public void refusesAnUnknownFormat() {
+        when(session.attribute("Player")).thenReturn(new Player("admin", Player.GameType.NORMAL));
+        when(request.queryParams(GetStartEventRoute.FORMAT_PARAM)).thenReturn("ladder");
+
+        CuT.handle(request, response);
+
+        assertEquals(Message.MessageType.error, message().getType());
+        assertFalse(gameManager.hasGames());
+    }
+
+    @Test
+    public void runsOneEventAtATime() {
+        when(session.attribute("Player")).thenReturn(new Player("admin", Player.GameType.NORMAL));
+        CuT.handle(request, response);
+
+        CuT.handle(request, response);
+
+        assertEquals(GetStartEventRoute.RUNNING_MESSAGE, message().getText());
+        assertEquals(2, gameManager.getGameList().size());
+    }
+
+    @Test
+    public void reportsAnEventThatCannotBePlayed() {
+        when(session.attribute("Player")).thenReturn(new Player("admin", Player.GameType.NORMAL));
+        when(request.queryParams(GetStartEventRoute.ROUNDS_PARAM)).thenReturn("many");
+
+        CuT.handle(request, response);
+
+        assertEquals(Message.MessageType.error, message().getType());
+        assertFalse(gameManager.hasGames());
+    }
+
+    @Test
+    public void onlyForAdmins() {
+        when(session.attribute("Player")).thenReturn(new Player("bro", Player.GameType.TOURNAMENT));
+
+        CuT.handle(request, response);
+
+        verify(session, never()).attribute(eq("message"), any());
+        assertFalse(gameManager.hasGames());
+    }
+
+    @Test
+    public void swissRounds() {
+        assertEquals(1, GetStartEventRoute.swissRounds(2));
+        assertEquals(2, GetStartEventRoute.swissRounds(4));
+        assertEquals(3, GetStartEventRoute.swissRounds(5));
+    }
+}
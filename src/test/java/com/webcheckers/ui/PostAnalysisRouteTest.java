@@ -0,0 +1,125 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.ai.*;
+import com.webcheckers.appl.GameManager;
+import com.webcheckers.appl.PositionAnalyzer;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Message;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.Request;
+import spark.Response;
+import spark.Session;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("UI-tier")
+public class PostAnalysisRouteTest {
+
+    private PostAnalysisRoute CuT;
+
+    private Request request;
+    private Response response;
+    private Session session;
+    private GameManager gameManager;
+    private Player red;
+    private Player white;
+
+    @BeforeEach
+    public void setup() {
+        request = mock(Request.class);
+        session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        response = mock(Response.class);
+
+        gameManager = new GameManager();
+        red = new Player("red", Player.GameType.NORMAL);
+        white = new Player("white", Player.GameType.NORMAL);
+
+        CuT = new PostAnalysisRoute(gameManager, new PositionAnalyzer(new AlphaBetaEngine(), 50, 16, 1));
+    }
+
+    private Message handle(Player player) {
+        when(session.attribute("Player")).thenReturn(player);
+        return new Gson().fromJson((String) CuT.handle(request, response), Message.class);
+    }
+
+    @Test
+    public void suggestsMoveToPlayers() {
+        gameManager.getNewGame(red, white);
+
+        Message message = handle(red);
+        assertEquals(Message.MessageType.info, message.getType());
+        assertTrue(message.getText().startsWith("Best move for RED: "), message.getText());
+    }
+
+    @Test
+    public void analyzesForSpectators() {
+        gameManager.getNewGame(red, white);
+        Player spectator = new Player("spectator", Player.GameType.NORMAL);
+        gameManager.addSpectator(spectator, red);
+
+        Message message = handle(spectator);
+        assertEquals(Message.MessageType.info, message.getType());
+        assertTrue(message.getText().startsWith("Best move for RED: "), message.getText());
+    }
+
+    @Test
+    public void helpsNoPlayerOfATournamentGame() {
+        Player ann = new Player("ann", Player.GameType.TOURNAMENT);
+        Player bob = new Player("bob", Player.GameType.TOURNAMENT);
+        gameManager.getNewGame(ann, bob);
+
+        Message message = handle(ann);
+        assertEquals(Message.MessageType.error, message.getType());
+        assertEquals(PostAnalysisRoute.TOURNAMENT_MESSAGE, message.getText());
+        assertEquals(PostAnalysisRoute.TOURNAMENT_MESSAGE, handle(bob).getText());
+    }
+
+    @Test
+    public void evaluatesATournamentGameForSpectators() {
+        Player ann = new Player("ann", Player.GameType.TOURNAMENT);
+        gameManager.getNewGame(ann, new Player("bob", Player.GameType.TOURNAMENT));
+        Player spectator = new Player("spectator", Player.GameType.TOURNAMENT);
+        gameManager.addSpectator(spectator, ann);
+
+        Message message = handle(spectator);
+        assertEquals(Message.MessageType.info, message.getType());
+        assertFalse(message.getText().contains("Best move"), message.getText());
+    }
+
+    @Test
+    public void noGame() {
+        Message message = handle(red);
+        assertEquals(Message.MessageType.error, message.getType());
+        assertEquals(PostAnalysisRoute.NO_GAME_MESSAGE, message.getText());
+    }
+
+    @Test
+    public void gameOver() {
+        CheckersGame game = gameManager.getNewGame(red, white);
+        game.resignGame(white);
+
+        Message message = handle(red);
+        assertEquals(PostAnalysisRoute.GAME_OVER_MESSAGE, message.getText());
+    }
+
+    @Test
+    public void describesEvaluation() {
+        Board board = Board.startingPosition();
+        MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        long move = moves.get(0);
+
+        assertEquals("Best move for RED: " + Board.format(move) + ". The game is even.",
+                PostAnalysisRoute.describe(board, new SearchResult(move, 5, 8, 1, 1)));
+        assertEquals("Best move for RED: " + Board.format(move) + ". WHITE is ahead by 1.5 pieces.",
+                PostAnalysisRoute.describe(board, new SearchResult(move, -150, 8, 1, 1)));
+        assertEquals("Best move for RED: " + Board.format(move) + ". RED can force a win.",
+                PostAnalysisRoute.describe(board, new SearchResult(move, Evaluator.KNOWN_WIN + 20, 8, 1, 1)));
+    }
+}
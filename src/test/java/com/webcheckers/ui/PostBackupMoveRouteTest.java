@@ -3,6 +3,8 @@ package com.webcheckers.ui;
 import com.webcheckers.appl.GameManager;
 import com.webcheckers.model.Player;
 import com.webcheckers.model.Turn;
+import com.google.gson.Gson;
+import com.webcheckers.model.Message;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,7 @@ import spark.Response;
 import spark.Session;
 
 import static org.mockito.Mockito.mock;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
 @Tag("UI-tier")
@@ -59,4 +62,13 @@ public class PostBackupMoveRouteTest {
         CuT.handle(request, response);
     }
 
+    @Test
+    public void gameEnded(){
+        currPlayer = new Player("redPlayer", Player.GameType.NORMAL);
+        when(session.attribute("Player")).thenReturn(currPlayer);
+        when(gameManager.getPlayerTurn(currPlayer)).thenReturn(null);
+
+        Message message = new Gson().fromJson((String) CuT.handle(request, response), Message.class);
+        assertEquals(Message.MessageType.error, message.getType());
+    }
 }
@@ -2,6 +2,7 @@ package com.webcheckers.ui;
 
 import com.google.gson.Gson;
 import com.webcheckers.appl.GameManager;
+import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Message;
 import com.webcheckers.model.Player;
 import com.webcheckers.model.TournamentScoreboard;
@@ -57,6 +58,23 @@ public class PostResignGameRouteTest {
         assertEquals(responseString, gson);
     }
 
+    @Test
+    public void resign_leavesTheResultToTheGameManager() {
+        Player opponent = new Player("PlayerTwo", Player.GameType.NORMAL);
+        CheckersGame game = mock(CheckersGame.class);
+        when(gameManager.resignGame(player1)).thenReturn(true);
+        when(gameManager.getGame(player1)).thenReturn(game);
+        when(game.getWinner()).thenReturn(opponent);
+        when(game.getLoser()).thenReturn(player1);
+
+        CuT.handle(request, response);
+
+        // GameManager records every game that ends, so the route must not record it again
+        verify(gameManager).resignGame(player1);
+        assertEquals(0, (int) opponent.getWins());
+        assertEquals(0, (int) player1.getLosses());
+    }
+
     @Test
     public void resign_fail() {
         when(gameManager.resignGame(player1)).thenReturn(false);
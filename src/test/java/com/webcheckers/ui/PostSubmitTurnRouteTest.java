@@ -6,6 +6,7 @@ import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Message;
 import com.webcheckers.model.Player;
 import com.webcheckers.model.Turn;
+import com.google.gson.Gson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Tag;
@@ -15,6 +16,7 @@ import spark.Response;
 import spark.Session;
 import spark.TemplateEngine;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @Tag("UI-tier")
@@ -51,9 +53,18 @@ public class PostSubmitTurnRouteTest {
     public void runCorrect(){
         when(session.attribute("Player")).thenReturn(player);
         when(gameManager.getGame(player)).thenReturn(game);
-        when(game.submitTurn(player)).thenReturn(new Message("message", Message.MessageType.info));
+        when(gameManager.submitTurn(game, player)).thenReturn(new Message("message", Message.MessageType.info));
 
-        CuT.handle(request, response);
+        Message message = new Gson().fromJson((String) CuT.handle(request, response), Message.class);
+        assertEquals(Message.MessageType.info, message.getType());
     }
 
+    @Test
+    public void gameEnded(){
+        when(gameManager.getGame(player)).thenReturn(null);
+
+        Message message = new Gson().fromJson((String) CuT.handle(request, response), Message.class);
+        assertEquals(Message.MessageType.error, message.getType());
+        assertEquals(PostSubmitTurnRoute.GAME_ENDED_MESSAGE, message.getText());
+    }
 }
@@ -5,6 +5,7 @@ import com.webcheckers.appl.GameManager;
 import com.webcheckers.model.Move;
 import com.webcheckers.model.Player;
 import com.webcheckers.model.Turn;
+import com.webcheckers.model.Message;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Tag;
@@ -13,6 +14,7 @@ import spark.Request;
 import spark.Response;
 import spark.Session;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -69,4 +71,15 @@ public class PostValidateMoveRouteTest {
         CuT.handle(request, response);
     }
 
+    @Test
+    public void notYourTurn(){
+        currPlayer = new Player("redPlayer", Player.GameType.NORMAL);
+        when(session.attribute("Player")).thenReturn(currPlayer);
+        when(gameManager.getPlayerTurn(currPlayer)).thenReturn(null);
+        when(request.body()).thenReturn("{\"start\":{\"row\":5,\"cell\":2},\"end\":{\"row\":4,\"cell\":3}}");
+
+        Message message = gson.fromJson((String) CuT.handle(request, response), Message.class);
+        assertEquals(Message.MessageType.error, message.getType());
+        assertEquals(PostValidateMoveRoute.NOT_YOUR_TURN_MESSAGE, message.getText());
+    }
 }
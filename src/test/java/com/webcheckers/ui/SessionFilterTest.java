@@ -0,0 +1,191 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.appl.InMemorySessionStore;
+import com.webcheckers.appl.PlayerLobby;
+import com.webcheckers.appl.PlayerReference;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import spark.Request;
+import spark.Response;
+import spark.Session;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("UI-tier")
+public class SessionFilterTest {
+    private static final String ID = "q3Xv7bN0sLk2Pz9-Wd_4RtYe";
+
+    // Component under test
+    private SessionFilter CuT;
+
+    private Request request;
+    private Response response;
+    private Session session;
+    private InMemorySessionStore sessionStore;
+    private PlayerLobby playerLobby;
+    private PlayerReference ann;
+
+    @BeforeEach
+    public void setup() {
+        request = mock(Request.class);
+        response = mock(Response.class);
+        session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        sessionStore = new InMemorySessionStore();
+        playerLobby = new PlayerLobby();
+        ann = new PlayerReference("ann", Player.GameType.NORMAL);
+
+        CuT = new SessionFilter(sessionStore, playerLobby);
+    }
+
+    @Test
+    public void givesANewBrowserASessionId() {
+        CuT.before(request, response);
+
+        ArgumentCaptor<String> sessionId = ArgumentCaptor.forClass(String.class);
+        verify(response).cookie(eq("/"), eq(SessionFilter.COOKIE), sessionId.capture(), eq(-1), eq(false), eq(true));
+        verify(request).attribute(SessionFilter.COOKIE, sessionId.getValue());
+        assertTrue(sessionId.getValue().matches("[A-Za-z0-9_-]{24}"));
+        verify(session, never()).attribute(eq("Player"), any());
+    }
+
+    @Test
+    public void keepsASignIn() {
+        Player player = playerLobby.newPlayer("ann", Player.GameType.NORMAL);
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+        when(session.attribute("Player")).thenReturn(player);
+
+        CuT.after(request, response);
+
+        assertEquals(ann, sessionStore.get(ID));
+    }
+
+    @Test
+    public void joinsThePlayerOfAnotherServer() {
+        sessionStore.put(ID, ann);
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+
+        CuT.before(request, response);
+
+        Player joined = playerLobby.getPlayer("ann");
+        assertNotNull(joined);
+        verify(session).attribute("Player", joined);
+        verify(request).attribute(SessionFilter.REFERENCE_ATTR, ann);
+        verify(response, never()).cookie(anyString(), anyString(), anyString(), anyInt(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    public void leavesAPlayerAlreadyInTheSession() {
+        Player player = playerLobby.newPlayer("ann", Player.GameType.NORMAL);
+        sessionStore.put(ID, ann);
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+        when(session.attribute("Player")).thenReturn(player);
+
+        CuT.before(request, response);
+
+        verify(session, never()).attribute(eq("Player"), any());
+        verify(session, never()).removeAttribute(anyString());
+    }
+
+    @Test
+    public void signsOutASessionSignedOutElsewhere() {
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+        when(session.attribute(SessionFilter.ISSUED_ATTR)).thenReturn(ID);
+        when(session.attribute("Player")).thenReturn(new Player("ann", Player.GameType.NORMAL));
+
+        CuT.before(request, response);
+
+        verify(session).removeAttribute("Player");
+        verify(response, never()).cookie(anyString(), anyString(), anyString(), anyInt(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    public void keepsAnIdItIssued() {
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+        when(session.attribute(SessionFilter.ISSUED_ATTR)).thenReturn(ID);
+
+        CuT.before(request, response);
+
+        verify(response, never()).cookie(anyString(), anyString(), anyString(), anyInt(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    public void replacesAMalformedId() {
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn("../../etc/passwd");
+
+        CuT.before(request, response);
+
+        String sessionId = issuedId();
+        when(request.attribute(SessionFilter.COOKIE)).thenReturn(sessionId);
+        when(session.attribute("Player")).thenReturn(playerLobby.newPlayer("ann", Player.GameType.NORMAL));
+        CuT.after(request, response);
+
+        assertEquals(ann, sessionStore.get(sessionId));
+        assertEquals(1, sessionStore.size());
+    }
+
+    @Test
+    public void replacesAnIdItNeverIssued() {
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+
+        CuT.before(request, response);
+
+        assertNotEquals(ID, issuedId());
+    }
+
+    @Test
+    public void givesANewIdAtSignIn() {
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+        when(session.attribute(SessionFilter.ISSUED_ATTR)).thenReturn(ID);
+        when(request.requestMethod()).thenReturn("POST");
+        when(request.pathInfo()).thenReturn(WebServer.SIGNIN_URL);
+
+        CuT.before(request, response);
+
+        String sessionId = issuedId();
+        assertNotEquals(ID, sessionId);
+        when(request.attribute(SessionFilter.COOKIE)).thenReturn(sessionId);
+        when(session.attribute("Player")).thenReturn(playerLobby.newPlayer("ann", Player.GameType.NORMAL));
+        CuT.after(request, response);
+
+        assertNull(sessionStore.get(ID));
+        assertEquals(ann, sessionStore.get(sessionId));
+    }
+
+    @Test
+    public void movesASignedInPlayerToTheNewId() {
+        sessionStore.put(ID, ann);
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+        when(request.requestMethod()).thenReturn("POST");
+        when(request.pathInfo()).thenReturn(WebServer.SIGNIN_URL);
+
+        CuT.before(request, response);
+
+        assertNull(sessionStore.get(ID));
+        assertEquals(ann, sessionStore.get(issuedId()));
+    }
+
+    @Test
+    public void forgetsASignOut() {
+        sessionStore.put(ID, ann);
+        when(request.cookie(SessionFilter.COOKIE)).thenReturn(ID);
+        when(request.attribute(SessionFilter.REFERENCE_ATTR)).thenReturn(ann);
+
+        CuT.after(request, response);
+
+        assertNull(sessionStore.get(ID));
+        assertEquals(0, sessionStore.size());
+    }
+
+    private String issuedId() {
+        ArgumentCaptor<String> sessionId = ArgumentCaptor.forClass(String.class);
+        verify(response).cookie(eq("/"), eq(SessionFilter.COOKIE), sessionId.capture(), eq(-1), eq(false), eq(true));
+        verify(request).attribute(SessionFilter.COOKIE, sessionId.getValue());
+        verify(session).attribute(SessionFilter.ISSUED_ATTR, sessionId.getValue());
+        return sessionId.getValue();
+    }
+}